@@ -1,6 +1,7 @@
 package com.ybritto.teamtempo.backend.authentication.configuration;
 
 import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,10 +18,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 public class AppAuthConfiguration {
 
     private final UserRepository userRepository;
+    private final ShardSelector shardSelector;
 
     @Bean
     UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> shardSelector.callForUser(username, () -> userRepository.findByEmail(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
@@ -1,6 +1,8 @@
 package com.ybritto.teamtempo.backend.authentication.configuration;
 
 import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.core.idempotency.IdempotencyFilter;
+import jakarta.servlet.DispatcherType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -12,6 +14,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -29,10 +32,13 @@ public class SecurityConfiguration {
 
     private final AuthenticationProvider authenticationProvider;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
-    public SecurityConfiguration(AuthenticationProvider authenticationProvider, JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfiguration(AuthenticationProvider authenticationProvider, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                 IdempotencyFilter idempotencyFilter) {
         this.authenticationProvider = authenticationProvider;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.idempotencyFilter = idempotencyFilter;
         logger.info("SecurityConfiguration initialized with JWT authentication filter");
     }
 
@@ -48,6 +54,8 @@ public class SecurityConfiguration {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/login", "/auth/signup", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // The dispatch completing an event stream was already authorized when the stream was opened
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         // KEEP ADMIN ENDPOINTS AT THE BEGINNING. ORDERING MATTERS FOR SPRING SECURITY
                         // I.E: If /teams/sync is moved after /teams/**, the first will take precedence
@@ -59,7 +67,9 @@ public class SecurityConfiguration {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // After authorization, so rejected requests never claim an idempotency key
+                .addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
         
         logger.info("Security filter chain configured successfully with JWT authentication");
         return http.build();
@@ -72,7 +82,8 @@ public class SecurityConfiguration {
 
         configuration.setAllowedOrigins(List.of("http://localhost:4200"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", IdempotencyFilter.IDEMPOTENCY_KEY_HEADER));
+        configuration.setExposedHeaders(List.of(IdempotencyFilter.REPLAYED_HEADER));
 
         logger.debug("CORS configured - Allowed origins: {}, Allowed methods: {}, Allowed headers: {}", 
                 configuration.getAllowedOrigins(), configuration.getAllowedMethods(), configuration.getAllowedHeaders());
@@ -3,6 +3,7 @@ package com.ybritto.teamtempo.backend.authentication.service;
 import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
 import com.ybritto.teamtempo.backend.authentication.mapper.AuthenticationMapper;
 import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
 import com.ybritto.teamtempo.backend.gen.model.LoginResponseDto;
 import com.ybritto.teamtempo.backend.gen.model.LoginUserDto;
 import com.ybritto.teamtempo.backend.gen.model.LogoutResponseDto;
@@ -20,6 +21,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
+import java.util.UUID;
 
 @Service
 @AllArgsConstructor
@@ -32,6 +34,7 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final AuthenticationMapper authenticationMapper;
     private final JwtService jwtService;
+    private final ShardSelector shardSelector;
 
     private UserEntity authenticate(LoginUserDto input) {
         logger.debug("Attempting to authenticate user with email: {}", input.getEmail());
@@ -66,7 +69,7 @@ public class AuthenticationService {
 
     public LoginResponseDto login(LoginUserDto loginUserDto) {
         logger.info("Authenticating user with email: {}", loginUserDto.getEmail());
-        UserEntity authenticatedUser = this.authenticate(loginUserDto);
+        UserEntity authenticatedUser = shardSelector.callForUser(loginUserDto.getEmail(), () -> this.authenticate(loginUserDto));
         LoginResponseDto response = authenticationMapper.mapDto(authenticatedUser, jwtService.generateToken(authenticatedUser), jwtService.getExpirationTime());
         logger.info("User {} authenticated successfully", authenticatedUser.getEmail());
         return response;
@@ -76,10 +79,13 @@ public class AuthenticationService {
         logger.info("Registering new user: {} with email: {}", registerUserDto.getName(), registerUserDto.getEmail());
         UserEntity entity = authenticationMapper.mapEntity(
                 registerUserDto, passwordEncoder.encode(registerUserDto.getPassword()));
+        // The uuid is assigned upfront since it decides the shard of the user
+        UUID uuid = UUID.randomUUID();
         UserDto userDto = authenticationMapper.mapDto(
-                userRepository.save(entity
+                shardSelector.callForNewUser(uuid, registerUserDto.getEmail(), () -> userRepository.save(entity
                         .toBuilder()
-                        .enabled(true).build())
+                        .uuid(uuid)
+                        .enabled(true).build()))
         );
         logger.info("User {} registered successfully with email: {}", userDto.getName(), userDto.getEmail());
         return userDto;
@@ -0,0 +1,74 @@
+package com.ybritto.teamtempo.backend.config;
+
+import com.ybritto.teamtempo.backend.TeamTempoApplication;
+import com.ybritto.teamtempo.backend.core.datasource.ReplicaLagMonitor;
+import com.ybritto.teamtempo.backend.core.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the single connection pool by a primary and a replica pool when {@code app.db.replica.enabled} is set,
+ * see {@link ReplicaRoutingDataSource} for the routing rules.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username}") String username,
+                                              @Value("${spring.datasource.password}") String password) {
+        return pool("primary", url, username, password);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.db.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.db.replica.url}") String url,
+                                              @Value("${app.db.replica.username}") String username,
+                                              @Value("${app.db.replica.password}") String password) {
+        HikariDataSource replica = pool("replica", url, username, password);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${app.db.replica.lag-query}") String lagQuery,
+                                               @Value("${app.db.replica.max-lag:5s}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 @Value("${app.db.replica.sticky-window:5s}") Duration stickyWindow,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                TeamTempoApplication.class.getPackageName(), stickyWindow, replicaLagMonitor, meterRegistry);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ybritto.teamtempo.backend.config;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardDataSources;
+import com.ybritto.teamtempo.backend.core.sharding.ShardDirectory;
+import com.ybritto.teamtempo.backend.core.sharding.ShardRebalancer;
+import com.ybritto.teamtempo.backend.core.sharding.ShardRoutingDataSource;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSequences;
+import com.ybritto.teamtempo.backend.core.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spreads users over the database configured under {@code spring.datasource} and the ones listed in
+ * {@code app.sharding.shards} when {@code app.sharding.enabled} is set, see {@link ShardRoutingDataSource}.
+ * <p>
+ * Every shard is migrated on startup and its key sequences interleaved with the other shards. Setting
+ * {@code app.sharding.rebalance-on-startup} moves the users whose placement changed, for instance after a shard was
+ * added, before the application starts serving requests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfiguration.class);
+
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties shardingProperties,
+                                             @Value("${spring.datasource.url}") String url,
+                                             @Value("${spring.datasource.username}") String username,
+                                             @Value("${spring.datasource.password}") String password,
+                                             @Value("${app.db.replica.enabled:false}") boolean replicaEnabled,
+                                             @Value("${app.sharding.maximum-pool-size:10}") int maximumPoolSize) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("app.sharding.enabled and app.db.replica.enabled can not be combined");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(pool(0, url, username, password, maximumPoolSize));
+        for (ShardingProperties.Shard shard : shardingProperties.shards()) {
+            shards.add(pool(shards.size(), shard.url(), shard.username(), shard.password(), maximumPoolSize));
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Flyway.configure()
+                    .dataSource(shards.get(shard))
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            ShardSequences.interleave(shards.get(shard), shard, shards.size());
+        }
+        logger.info("Sharding enabled over {} databases", shards.size());
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardDataSources shardDataSources,
+                                         @Value("${app.sharding.directory-cache-ttl:1m}") Duration cacheTtl,
+                                         @Value("${app.sharding.directory-cache-size:100000}") long cacheSize) {
+        List<DataSource> shards = shardDataSources.shards();
+        return new ShardDirectory(shards.get(ShardDirectory.DIRECTORY_SHARD), shards.size(), cacheTtl, cacheSize);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources,
+                                 ShardDirectory shardDirectory) {
+        return new ShardRoutingDataSource(shardDataSources.shards(), shardDirectory);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDataSources shardDataSources,
+                                           ShardDirectory shardDirectory) {
+        return new ShardRebalancer(shardDataSources.shards(), shardDirectory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.rebalance-on-startup", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(ShardRebalancer shardRebalancer) {
+        return args -> shardRebalancer.rebalance();
+    }
+
+    private static HikariDataSource pool(int shard, String url, String username, String password, int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + shard);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+}
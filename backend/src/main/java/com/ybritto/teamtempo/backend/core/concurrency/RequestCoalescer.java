@@ -0,0 +1,117 @@
+package com.ybritto.teamtempo.backend.core.concurrency;
+
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent reads.
+ * <p>
+ * Calls are keyed by operation, resource UUID and the authenticated principal. The first caller runs the
+ * computation on its own thread; callers arriving while it is in flight wait on its future and receive the
+ * same result (or the same exception). Shared results must be treated as read-only by the callers.
+ * A follower that waits longer than {@code app.coalescing.follower-timeout} stops waiting and runs the
+ * computation itself, so a slow leader never blocks other requests indefinitely. Calls made inside a read-write
+ * transaction, such as batch operations, always execute directly.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    static final String EXECUTIONS_METRIC = "teamtempo.coalescing.executions";
+    static final String SAVED_METRIC = "teamtempo.coalescing.saved";
+    static final String TIMEOUTS_METRIC = "teamtempo.coalescing.timeouts";
+
+    private static final String ANONYMOUS_SCOPE = "anonymous";
+
+    private final ConcurrentHashMap<CoalescingKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration followerTimeout;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${app.coalescing.follower-timeout:5s}") Duration followerTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.followerTimeout = followerTimeout;
+    }
+
+    public <T> T execute(String operation, UUID resourceUuid, Supplier<T> computation) {
+        if (TransactionUtils.isReadWriteTransactionActive()) {
+            // Reads inside a writing transaction must see its uncommitted changes, so they are never shared
+            return computation.get();
+        }
+        CoalescingKey key = new CoalescingKey(operation, resourceUuid, resolvePrincipalScope());
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing == null) {
+            return lead(key, future, computation);
+        }
+        return follow(key, existing, computation);
+    }
+
+    private <T> T lead(CoalescingKey key, CompletableFuture<Object> future, Supplier<T> computation) {
+        meterRegistry.counter(EXECUTIONS_METRIC, "operation", key.operation()).increment();
+        try {
+            T result = computation.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(CoalescingKey key, CompletableFuture<Object> future, Supplier<T> computation) {
+        logger.debug("Joining in-flight execution of {} for resource {}", key.operation(), key.resourceUuid());
+        try {
+            T result = (T) future.get(followerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            meterRegistry.counter(SAVED_METRIC, "operation", key.operation()).increment();
+            return result;
+        } catch (TimeoutException ex) {
+            meterRegistry.counter(TIMEOUTS_METRIC, "operation", key.operation()).increment();
+            meterRegistry.counter(EXECUTIONS_METRIC, "operation", key.operation()).increment();
+            logger.warn("Timed out after {} waiting for in-flight {} on resource {}, executing directly",
+                    followerTimeout, key.operation(), key.resourceUuid());
+            return computation.get();
+        } catch (ExecutionException ex) {
+            meterRegistry.counter(SAVED_METRIC, "operation", key.operation()).increment();
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced execution of " + key.operation() + " failed", cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced execution of " + key.operation(), ex);
+        }
+    }
+
+    private String resolvePrincipalScope() {
+        return AuthenticationUtils.findAuthenticatedUser()
+                .map(user -> String.valueOf(user.getUuid()))
+                .orElse(ANONYMOUS_SCOPE);
+    }
+
+    private record CoalescingKey(String operation, UUID resourceUuid, String principalScope) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.ybritto.teamtempo.backend.core.counter;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recounts the teams and projects whose child counters no longer match their rows, for instance
+ * after manual data fixes with the triggers disabled.
+ */
+@Component
+public class ChildCounterReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChildCounterReconciliationJob.class);
+
+    private final ChildCounterRepository childCounterRepository;
+    private final ShardSelector shardSelector;
+    private final Counter correctedCounter;
+
+    public ChildCounterReconciliationJob(ChildCounterRepository childCounterRepository, ShardSelector shardSelector,
+                                         MeterRegistry meterRegistry) {
+        this.childCounterRepository = childCounterRepository;
+        this.shardSelector = shardSelector;
+        this.correctedCounter = meterRegistry.counter("teamtempo.child-counters.corrected");
+    }
+
+    @Scheduled(initialDelayString = "${app.child-counters.reconciliation-interval:1h}",
+            fixedDelayString = "${app.child-counters.reconciliation-interval:1h}")
+    public void reconcile() {
+        logger.debug("Entering method: reconcile");
+        shardSelector.forEachShard(this::reconcileShard);
+        logger.debug("Exiting method: reconcile");
+    }
+
+    private void reconcileShard() {
+        try {
+            int teams = childCounterRepository.reconcileProjectCounts();
+            int projects = childCounterRepository.reconcileIterationCounts();
+            if (teams + projects > 0) {
+                logger.warn("Corrected the project count of {} teams and the iteration count of {} projects", teams, projects);
+                correctedCounter.increment(teams + projects);
+            }
+        } catch (DataAccessException ex) {
+            logger.error("Failed to reconcile child counters on shard {}", shardSelector.currentShard(), ex);
+        }
+    }
+}
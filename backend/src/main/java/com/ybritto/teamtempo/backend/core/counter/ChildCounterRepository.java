@@ -0,0 +1,92 @@
+package com.ybritto.teamtempo.backend.core.counter;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Corrects the child counters maintained by the triggers of {@code V7__Add_Child_Counters.sql}.
+ * <p>
+ * Drifted rows are locked before they are recounted: the count then runs on a snapshot taken after any concurrent
+ * writer that already updated the counter has committed, and writers arriving later wait for the correction before
+ * applying their own increment.
+ * <p>
+ * Iteration counts include the archived iterations of detached partitions, which stay counted like in every other
+ * aggregate of a project, see {@code V22__Count_Archived_Iterations.sql}.
+ */
+@Repository
+@AllArgsConstructor
+public class ChildCounterRepository {
+
+    private static final String DRIFTED_TEAMS_SQL = """
+            SELECT t.key_id
+            FROM team t
+            LEFT JOIN project p ON p.team_id = t.key_id
+            GROUP BY t.key_id
+            HAVING t.project_count <> count(p.key_id)
+            """;
+
+    private static final String LOCK_TEAMS_SQL = """
+            SELECT key_id FROM team WHERE key_id IN (:ids) ORDER BY key_id FOR UPDATE
+            """;
+
+    private static final String RECOUNT_TEAMS_SQL = """
+            UPDATE team t
+            SET project_count = (SELECT count(*) FROM project p WHERE p.team_id = t.key_id)
+            WHERE t.key_id IN (:ids)
+            """;
+
+    private static final String ITERATIONS_OF_PROJECT = """
+            (SELECT count(*) FROM iteration i WHERE i.project_key_id = p.key_id)
+            + (SELECT count(*) FROM iteration_archive a WHERE a.project_key_id = p.key_id)
+            """;
+
+    private static final String DRIFTED_PROJECTS_SQL = """
+            SELECT p.key_id
+            FROM project p
+            WHERE p.iteration_count <>
+            """ + ITERATIONS_OF_PROJECT;
+
+    private static final String LOCK_PROJECTS_SQL = """
+            SELECT key_id FROM project WHERE key_id IN (:ids) ORDER BY key_id FOR UPDATE
+            """;
+
+    private static final String RECOUNT_PROJECTS_SQL = """
+            UPDATE project p
+            SET iteration_count =
+            """ + ITERATIONS_OF_PROJECT + """
+            WHERE p.key_id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the number of teams whose project count was corrected
+     */
+    @Transactional
+    public int reconcileProjectCounts() {
+        return reconcile(DRIFTED_TEAMS_SQL, LOCK_TEAMS_SQL, RECOUNT_TEAMS_SQL);
+    }
+
+    /**
+     * @return the number of projects whose iteration count was corrected
+     */
+    @Transactional
+    public int reconcileIterationCounts() {
+        return reconcile(DRIFTED_PROJECTS_SQL, LOCK_PROJECTS_SQL, RECOUNT_PROJECTS_SQL);
+    }
+
+    private int reconcile(String driftedSql, String lockSql, String recountSql) {
+        List<Long> ids = jdbcTemplate.queryForList(driftedSql, new MapSqlParameterSource(), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.queryForList(lockSql, parameters, Long.class);
+        return jdbcTemplate.update(recountSql, parameters);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ybritto.teamtempo.backend.core.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far the replica is behind the primary with {@code lagQuery}, which returns the lag in seconds.
+ * A replica that can not be queried counts as lagging.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    // Unknown until the first measurement, so reads start on the primary
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        meterRegistry.gauge("teamtempo.datasource.replica.lag", this, monitor -> monitor.lagSeconds);
+    }
+
+    public boolean isLagging() {
+        return Double.isNaN(lagSeconds) || lagSeconds * 1000 > maxLag.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.db.replica.lag-check-interval:5s}")
+    public void refresh() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+            // An idle replica has nothing to replay and reports no lag
+            lagSeconds = lag == null ? 0 : lag;
+        } catch (DataAccessException ex) {
+            lagSeconds = Double.NaN;
+            logger.warn("Failed to measure the replica lag, reading from the primary: {}", ex.getMessage());
+        }
+    }
+}
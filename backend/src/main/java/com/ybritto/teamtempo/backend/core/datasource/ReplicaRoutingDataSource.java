@@ -0,0 +1,107 @@
+package com.ybritto.teamtempo.backend.core.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sends read-only transactions declared by application code to a replica and everything else to the primary.
+ * <p>
+ * The default read-only transactions of Spring Data repositories stay on the primary: they also run for the reads
+ * preceding writes in non transactional service methods and for authentication lookups, which must not see a
+ * lagging replica. Users who wrote within {@code stickyWindow} read from the primary so they see their own
+ * changes, and all reads go to the primary while the replica lags more than the configured maximum.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction
+ * managers open the connection before the read-only flag of the transaction is published.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private enum Reason {
+        READ_WRITE,
+        NO_TRANSACTION,
+        REPOSITORY_DEFAULT,
+        STICKY,
+        LAGGING,
+        READ_ONLY
+    }
+
+    private final String applicationPackage;
+    private final Cache<Long, Boolean> recentWriters;
+    private final Map<Reason, Counter> decisions = new EnumMap<>(Reason.class);
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    DataSource replica,
+                                    String applicationPackage,
+                                    Duration stickyWindow,
+                                    ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.applicationPackage = applicationPackage + ".";
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(stickyWindow)
+                .build();
+        for (Reason reason : Reason.values()) {
+            Target target = reason == Reason.READ_ONLY ? Target.REPLICA : Target.PRIMARY;
+            decisions.put(reason, meterRegistry.counter("teamtempo.datasource.routing",
+                    "target", target.name().toLowerCase(), "reason", reason.name().toLowerCase()));
+        }
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Reason reason = decide();
+        decisions.get(reason).increment();
+        return reason == Reason.READ_ONLY ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private Reason decide() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Reason.NO_TRANSACTION;
+        }
+        Optional<Long> userId = AuthenticationUtils.findAuthenticatedUser().map(UserEntity::getId);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            userId.ifPresent(this::markWriter);
+            return Reason.READ_WRITE;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null || !transactionName.startsWith(applicationPackage)) {
+            return Reason.REPOSITORY_DEFAULT;
+        }
+        if (userId.isPresent() && recentWriters.getIfPresent(userId.get()) != null) {
+            return Reason.STICKY;
+        }
+        if (lagMonitor.isLagging()) {
+            return Reason.LAGGING;
+        }
+        return Reason.READ_ONLY;
+    }
+
+    private void markWriter(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+        // The window starts again at commit, when the write becomes visible to the replica
+        TransactionUtils.afterCommit(() -> recentWriters.put(userId, Boolean.TRUE));
+    }
+}
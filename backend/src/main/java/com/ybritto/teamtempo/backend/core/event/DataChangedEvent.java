@@ -0,0 +1,18 @@
+package com.ybritto.teamtempo.backend.core.event;
+
+import java.util.UUID;
+
+/**
+ * Published after the commit of every insert, update or delete of team data, so in-memory views can be
+ * invalidated. {@code projectUuid} is null for teams and memberships.
+ */
+public record DataChangedEvent(EntityType entityType, UUID entityUuid, UUID teamUuid, UUID projectUuid) {
+
+    public enum EntityType {
+        TEAM,
+        TEAM_MEMBER,
+        PROJECT,
+        PROJECT_CONFIGURATION,
+        ITERATION
+    }
+}
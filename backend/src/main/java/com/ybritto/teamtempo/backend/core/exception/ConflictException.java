@@ -0,0 +1,7 @@
+package com.ybritto.teamtempo.backend.core.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
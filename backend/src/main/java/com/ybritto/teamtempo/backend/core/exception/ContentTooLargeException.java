@@ -0,0 +1,7 @@
+package com.ybritto.teamtempo.backend.core.exception;
+
+public class ContentTooLargeException extends RuntimeException {
+    public ContentTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ybritto.teamtempo.backend.core.exception;
+
+public class ForbiddenException extends RuntimeException {
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -35,6 +35,9 @@ public class GlobalRestExceptionHandler {
     // Business validations
     EXCEPTIONS_MAPPING.put(InvalidParameterException.class, HttpStatus.BAD_REQUEST);
     EXCEPTIONS_MAPPING.put(NotFoundException.class, HttpStatus.NOT_FOUND);
+    EXCEPTIONS_MAPPING.put(ForbiddenException.class, HttpStatus.FORBIDDEN);
+    EXCEPTIONS_MAPPING.put(ConflictException.class, HttpStatus.CONFLICT);
+    EXCEPTIONS_MAPPING.put(ContentTooLargeException.class, HttpStatus.CONTENT_TOO_LARGE);
 
     // Entity validations
     EXCEPTIONS_MAPPING.put(EntityValidationException.class, HttpStatus.UNPROCESSABLE_ENTITY);
@@ -0,0 +1,229 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.ContentTooLargeException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays the stored response of create requests retried with the same {@code Idempotency-Key} header.
+ * <p>
+ * The key is bound to a hash of the method, path and body of the first request. A retry with the same key and
+ * request gets the original response without reaching the controller; only successful responses are stored, so
+ * requests that failed downstream can be retried with the same key. The body is held in memory to be hashed, so
+ * bodies above {@code app.idempotency.max-body-size} are rejected with 413 before they are read.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<PathPattern> IDEMPOTENT_PATHS = List.of(
+            PathPatternParser.defaultInstance.parse("/teams"),
+            PathPatternParser.defaultInstance.parse("/teams/{uuid}/projects"));
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final IdempotencyService idempotencyService;
+    private final long maxBodySize;
+
+    public IdempotencyFilter(HandlerExceptionResolver handlerExceptionResolver,
+                             IdempotencyService idempotencyService,
+                             @Value("${app.idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.idempotencyService = idempotencyService;
+        this.maxBodySize = maxBodySize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Optional<UserEntity> user = AuthenticationUtils.findAuthenticatedUser();
+        if (user.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Long userId = user.get().getId();
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+
+        CachedBodyRequest cachedRequest;
+        String requestHash;
+        Optional<StoredResponse> stored;
+        try {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new InvalidParameterException(String.format("Idempotency key must have between 1 and %d characters", MAX_KEY_LENGTH));
+            }
+            cachedRequest = new CachedBodyRequest(request, maxBodySize);
+            requestHash = requestHash(cachedRequest);
+            stored = idempotencyService.findCompleted(userId, key, requestHash);
+            if (stored.isEmpty()) {
+                idempotencyService.claim(userId, key, requestHash);
+            }
+        } catch (RuntimeException exception) {
+            handlerExceptionResolver.resolveException(request, response, null, exception);
+            return;
+        }
+
+        if (stored.isPresent()) {
+            logger.info("{} {} - Replaying response of idempotency key {}", request.getMethod(), request.getRequestURI(), key);
+            replay(stored.get(), response);
+        } else {
+            execute(cachedRequest, response, filterChain, userId, key, requestHash);
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         Long userId, String key, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            idempotencyService.release(userId, key);
+            throw ex;
+        }
+
+        int status = cachingResponse.getStatus();
+        if (status >= 200 && status < 300) {
+            try {
+                idempotencyService.complete(userId, key, requestHash, status, cachingResponse.getContentType(),
+                        cachingResponse.getContentAsByteArray());
+            } catch (RuntimeException ex) {
+                // The request already succeeded, so the key is kept: freeing it would let a retry run it again
+                logger.error("Failed to store the response of idempotency key {} of user id {}", key, userId, ex);
+            }
+        } else {
+            idempotencyService.release(userId, key);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static String requestHash(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Reads the body up front so it can be hashed and still be read by the controller. A body announced or found to be
+     * larger than the limit is rejected without reading more than one byte past it.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, long maxBodySize) throws IOException {
+            super(request);
+            if (request.getContentLengthLong() > maxBodySize) {
+                throw tooLarge(maxBodySize);
+            }
+            this.body = request.getInputStream().readNBytes((int) Math.min(maxBodySize + 1, Integer.MAX_VALUE));
+            if (body.length > maxBodySize) {
+                throw tooLarge(maxBodySize);
+            }
+        }
+
+        private static ContentTooLargeException tooLarge(long maxBodySize) {
+            return new ContentTooLargeException(String.format("Idempotent requests must have a body of at most %d bytes", maxBodySize));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@AllArgsConstructor
+public class IdempotencyRepository {
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, response_status, response_content_type, response_body
+            FROM idempotency_key
+            WHERE app_user_id = :userId AND idempotency_key = :key AND expires_at > :now
+              AND (response_status IS NOT NULL OR locked_until > :now)
+            """;
+
+    // An expired key, or a key whose request lost its lease without a response, is taken over as if it had never
+    // been used
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_key (app_user_id, idempotency_key, request_hash, created_at, expires_at, locked_until)
+            VALUES (:userId, :key, :requestHash, :now, :expiresAt, :lockedUntil)
+            ON CONFLICT (app_user_id, idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash,
+                    response_status = NULL,
+                    response_content_type = NULL,
+                    response_body = NULL,
+                    created_at = EXCLUDED.created_at,
+                    expires_at = EXCLUDED.expires_at,
+                    locked_until = EXCLUDED.locked_until
+                WHERE idempotency_key.expires_at <= :now
+                   OR (idempotency_key.response_status IS NULL AND idempotency_key.locked_until <= :now)
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_key
+            SET response_status = :status, response_content_type = :contentType, response_body = :body,
+                locked_until = NULL
+            WHERE app_user_id = :userId AND idempotency_key = :key
+            """;
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM idempotency_key
+            WHERE app_user_id = :userId AND idempotency_key = :key AND response_status IS NULL
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM idempotency_key WHERE expires_at <= :now
+            """;
+
+    private static final RowMapper<StoredResponse> STORED_RESPONSE_ROW_MAPPER = (rs, rowNum) -> new StoredResponse(
+            rs.getString("request_hash"),
+            rs.getObject("response_status", Integer.class),
+            rs.getString("response_content_type"),
+            rs.getBytes("response_body"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<StoredResponse> find(Long userId, String key, LocalDateTime now) {
+        List<StoredResponse> found = jdbcTemplate.query(FIND_SQL, keyParameters(userId, key).addValue("now", now),
+                STORED_RESPONSE_ROW_MAPPER);
+        return found.stream().findFirst();
+    }
+
+    /**
+     * Marks the key as in progress until {@code lockedUntil}.
+     *
+     * @return false when the key is already used by a request that has not expired and still holds its lease
+     */
+    public boolean claim(Long userId, String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt,
+                         LocalDateTime lockedUntil) {
+        MapSqlParameterSource parameters = keyParameters(userId, key)
+                .addValue("requestHash", requestHash)
+                .addValue("now", now)
+                .addValue("expiresAt", expiresAt)
+                .addValue("lockedUntil", lockedUntil);
+        return jdbcTemplate.update(CLAIM_SQL, parameters) == 1;
+    }
+
+    public void complete(Long userId, String key, int status, String contentType, byte[] body) {
+        MapSqlParameterSource parameters = keyParameters(userId, key)
+                .addValue("status", status)
+                .addValue("contentType", contentType)
+                .addValue("body", body);
+        jdbcTemplate.update(COMPLETE_SQL, parameters);
+    }
+
+    public void release(Long userId, String key) {
+        jdbcTemplate.update(RELEASE_SQL, keyParameters(userId, key));
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, new MapSqlParameterSource("now", now));
+    }
+
+    private static MapSqlParameterSource keyParameters(Long userId, String key) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("key", key);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stored responses of requests sent with an {@code Idempotency-Key} header.
+ * <p>
+ * Keys are scoped to the user and kept in the {@code idempotency_key} table for {@code app.idempotency.ttl}.
+ * Completed responses are also kept in memory for {@code app.idempotency.cache-window}, which covers most client
+ * retries without a database round trip. A request claims its key for {@code app.idempotency.lease}; other requests
+ * with the same key are rejected with a conflict while the lease is held, and a key whose lease ran out without a
+ * response, because the instance processing it stopped, is taken over by the next retry.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final ShardSelector shardSelector;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Cache<String, StoredResponse> recentResponses;
+
+    public IdempotencyService(IdempotencyRepository idempotencyRepository,
+                              ShardSelector shardSelector,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.lease:1m}") Duration lease,
+                              @Value("${app.idempotency.cache-window:10m}") Duration cacheWindow,
+                              @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.shardSelector = shardSelector;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheWindow)
+                .build();
+    }
+
+    /**
+     * @return the response of a completed request with the same key, empty when the key is unused or expired
+     * @throws InvalidParameterException when the key was used for a different request
+     * @throws ConflictException         when the request with the same key is still in progress and holds its lease
+     */
+    public Optional<StoredResponse> findCompleted(Long userId, String key, String requestHash) {
+        StoredResponse stored = recentResponses.getIfPresent(cacheKey(userId, key));
+        if (stored == null) {
+            stored = idempotencyRepository.find(userId, key, LocalDateTime.now()).orElse(null);
+        }
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            logger.warn("Idempotency key {} of user id {} reused for a different request", key, userId);
+            throw new InvalidParameterException("Idempotency key was already used for a different request");
+        }
+        if (!stored.isCompleted()) {
+            logger.warn("Idempotency key {} of user id {} is still in progress", key, userId);
+            throw new ConflictException("A request with the same idempotency key is still in progress");
+        }
+        recentResponses.put(cacheKey(userId, key), stored);
+        return Optional.of(stored);
+    }
+
+    public void claim(Long userId, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!idempotencyRepository.claim(userId, key, requestHash, now, now.plus(ttl), now.plus(lease))) {
+            // Another request claimed the key between the lookup and the claim
+            logger.warn("Idempotency key {} of user id {} was claimed concurrently", key, userId);
+            throw new ConflictException("A request with the same idempotency key is still in progress");
+        }
+    }
+
+    /**
+     * Stores the response of a successful request. It is cached before it is written, so retries reaching this
+     * instance are still replayed when the write fails.
+     */
+    public void complete(Long userId, String key, String requestHash, int status, String contentType, byte[] body) {
+        recentResponses.put(cacheKey(userId, key), new StoredResponse(requestHash, status, contentType, body));
+        idempotencyRepository.complete(userId, key, status, contentType, body);
+    }
+
+    /**
+     * Frees a key whose request failed, so the client can retry it.
+     */
+    public void release(Long userId, String key) {
+        idempotencyRepository.release(userId, key);
+    }
+
+    @Scheduled(initialDelayString = "${app.idempotency.purge-interval:1h}",
+            fixedDelayString = "${app.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        shardSelector.forEachShard(() -> {
+            try {
+                int deleted = idempotencyRepository.deleteExpired(LocalDateTime.now());
+                logger.debug("Purged {} expired idempotency keys", deleted);
+            } catch (DataAccessException ex) {
+                logger.error("Failed to purge expired idempotency keys on shard {}", shardSelector.currentShard(), ex);
+            }
+        });
+    }
+
+    private static String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+}
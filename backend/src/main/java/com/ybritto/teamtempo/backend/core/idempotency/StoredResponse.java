@@ -0,0 +1,12 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+/**
+ * Request fingerprint of an idempotency key and, once the request completed, its response. {@code status} is null
+ * while the request is in progress.
+ */
+public record StoredResponse(String requestHash, Integer status, String contentType, byte[] body) {
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Shard explicitly selected for the current thread, taking precedence over the shard of the authenticated user.
+ * <p>
+ * Connections are bound to a shard when a transaction opens them, so the shard must be selected before the
+ * transaction starts.
+ */
+public class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    public static Optional<Integer> current() {
+        return Optional.ofNullable(CURRENT_SHARD.get());
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Connection pools of the shards, indexed by shard; the first one also holds the {@link ShardDirectory}.
+ */
+public record ShardDataSources(List<DataSource> shards) implements AutoCloseable {
+
+    public ShardDataSources {
+        shards = List.copyOf(shards);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
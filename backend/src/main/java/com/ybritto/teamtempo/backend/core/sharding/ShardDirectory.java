@@ -0,0 +1,170 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records which shard holds each user, in the {@code shard_directory} table of the first shard.
+ * <p>
+ * New users are placed by a stable hash of their uuid, and the directory is what allows the rebalancer to move
+ * them later. Lookups by email are kept in memory for {@code cacheTtl}, which bounds how long other instances keep
+ * routing a moved user to its previous shard.
+ */
+public class ShardDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardDirectory.class);
+
+    public static final int DIRECTORY_SHARD = 0;
+
+    private static final String FIND_SHARD_SQL = """
+            SELECT shard_index FROM shard_directory WHERE email = :email
+            """;
+
+    private static final String FIND_BY_UUID_SQL = """
+            SELECT user_uuid, email, shard_index FROM shard_directory WHERE user_uuid = :userUuid
+            """;
+
+    private static final String FIND_ALL_SQL = """
+            SELECT user_uuid, email, shard_index FROM shard_directory ORDER BY user_uuid
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO shard_directory (user_uuid, email, shard_index) VALUES (:userUuid, :email, :shard)
+            """;
+
+    private static final String MOVE_SQL = """
+            UPDATE shard_directory SET shard_index = :shard, updated_at = CURRENT_TIMESTAMP WHERE user_uuid = :userUuid
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM shard_directory WHERE user_uuid = :userUuid
+            """;
+
+    private static final RowMapper<Assignment> ASSIGNMENT_ROW_MAPPER = (rs, rowNum) -> new Assignment(
+            rs.getObject("user_uuid", UUID.class),
+            rs.getString("email"),
+            rs.getInt("shard_index"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int shardCount;
+    private final Cache<String, Integer> shardByEmail;
+
+    public ShardDirectory(DataSource directoryDataSource, int shardCount, Duration cacheTtl, long cacheSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(directoryDataSource);
+        this.shardCount = shardCount;
+        this.shardByEmail = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Stable placement of a user among {@code shardCount} shards, which only depends on its uuid. Uses jump
+     * consistent hashing, so adding a shard only moves the users placed on the new shard.
+     */
+    public static int placementOf(UUID userUuid, int shardCount) {
+        long key = userUuid.getMostSignificantBits() ^ userUuid.getLeastSignificantBits();
+        long bucket = -1;
+        long next = 0;
+        while (next < shardCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return the shard selected with {@link ShardContext}, else the shard of the authenticated user, else the
+     * directory shard
+     */
+    public int currentShard() {
+        return ShardContext.current()
+                .orElseGet(() -> AuthenticationUtils.findAuthenticatedUser()
+                        .map(UserEntity::getEmail)
+                        .map(this::shardOf)
+                        .orElse(DIRECTORY_SHARD));
+    }
+
+    /**
+     * @return the shard of the user, or the directory shard for unknown users and users created before sharding
+     * was enabled
+     */
+    public int shardOf(String email) {
+        Integer shard = shardByEmail.get(email, this::loadShard);
+        return shard == null ? DIRECTORY_SHARD : shard;
+    }
+
+    /**
+     * Places a new user by the hash of its uuid.
+     */
+    public int register(UUID userUuid, String email) {
+        int shard = placementOf(userUuid, shardCount);
+        register(userUuid, email, shard);
+        return shard;
+    }
+
+    /**
+     * Records a user already stored on the given shard, typically created before sharding was enabled.
+     */
+    public void register(UUID userUuid, String email, int shard) {
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("userUuid", userUuid)
+                .addValue("email", email)
+                .addValue("shard", shard));
+        shardByEmail.invalidate(email);
+        logger.debug("Registered user {} on shard {}", userUuid, shard);
+    }
+
+    public void unregister(UUID userUuid, String email) {
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("userUuid", userUuid));
+        shardByEmail.invalidate(email);
+    }
+
+    public void move(Assignment assignment, int shard) {
+        jdbcTemplate.update(MOVE_SQL, new MapSqlParameterSource()
+                .addValue("userUuid", assignment.userUuid())
+                .addValue("shard", shard));
+        shardByEmail.invalidate(assignment.email());
+        logger.info("User {} moved from shard {} to shard {}", assignment.userUuid(), assignment.shard(), shard);
+    }
+
+    public Optional<Assignment> find(UUID userUuid) {
+        return jdbcTemplate.query(FIND_BY_UUID_SQL, new MapSqlParameterSource("userUuid", userUuid),
+                        ASSIGNMENT_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    public List<Assignment> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, ASSIGNMENT_ROW_MAPPER);
+    }
+
+    private Integer loadShard(String email) {
+        return jdbcTemplate.query(FIND_SHARD_SQL, new MapSqlParameterSource("email", email),
+                        (rs, rowNum) -> rs.getInt("shard_index"))
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    public record Assignment(UUID userUuid, String email, int shard) {
+    }
+}
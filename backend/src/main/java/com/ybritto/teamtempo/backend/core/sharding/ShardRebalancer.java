@@ -0,0 +1,211 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves users between shards until each one lives on the shard given by the hash of its uuid, typically after a
+ * shard was added.
+ * <p>
+ * A move copies the rows of the user to the target shard in one transaction, points the directory to it, then
+ * deletes the rows from the source shard. Each step can be retried: rows left on the target by an interrupted copy
+ * are replaced, and rows left on the source after the directory was updated are deleted by the next run. Users
+ * should be idle while they are moved, so moves are meant for maintenance windows.
+ * <p>
+ * Users sharing a team with users of other shards can not be moved, since memberships never span shards.
+ */
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String USER_CALENDARS = "SELECT key_id FROM working_calendar WHERE app_user_id = :userId";
+    private static final String USER_TEAMS = "SELECT key_id FROM team WHERE app_user_id = :userId";
+    private static final String USER_TEAM_UUIDS = "SELECT uuid FROM team WHERE app_user_id = :userId";
+    private static final String USER_PROJECTS =
+            "SELECT p.key_id FROM project p JOIN team t ON t.key_id = p.team_id WHERE t.app_user_id = :userId";
+    private static final String USER_PROJECT_UUIDS =
+            "SELECT p.uuid FROM project p JOIN team t ON t.key_id = p.team_id WHERE t.app_user_id = :userId";
+
+    // Parents first; counters start at zero since the triggers of the target count the children as they are copied
+    private static final List<TenantTable> TENANT_TABLES = List.of(
+            new TenantTable("app_user", "key_id = :userId", Set.of(), Map.of()),
+            new TenantTable("working_calendar", "app_user_id = :userId", Set.of(), Map.of()),
+            new TenantTable("working_calendar_year", "working_calendar_id IN (" + USER_CALENDARS + ")", Set.of(), Map.of()),
+            new TenantTable("team", "app_user_id = :userId", Set.of(), Map.of("project_count", 0)),
+            new TenantTable("team_member", "team_id IN (" + USER_TEAMS + ")", Set.of(), Map.of()),
+            new TenantTable("project", "team_id IN (" + USER_TEAMS + ")", Set.of(), Map.of("iteration_count", 0)),
+            new TenantTable("project_configuration", "project_id IN (" + USER_PROJECTS + ")", Set.of(), Map.of()),
+            new TenantTable("iteration", "project_key_id IN (" + USER_PROJECTS + ")", Set.of(), Map.of()),
+            new TenantTable("change_log", "project_uuid IN (" + USER_PROJECT_UUIDS + ")"
+                    + " OR entity_uuid IN (" + USER_TEAM_UUIDS + ")", Set.of("key_id"), Map.of()));
+
+    private static final String FIND_USERS_SQL = "SELECT key_id, uuid, email FROM app_user";
+
+    private static final String FIND_USER_ID_SQL = "SELECT key_id FROM app_user WHERE uuid = :userUuid";
+
+    private static final String SHARED_TEAMS_SQL = """
+            SELECT count(*)
+            FROM team_member m
+                JOIN team t ON t.key_id = m.team_id
+            WHERE (t.app_user_id = :userId AND m.app_user_id <> :userId)
+               OR (t.app_user_id <> :userId AND m.app_user_id = :userId)
+            """;
+
+    private final List<NamedParameterJdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transactionTemplates = new ArrayList<>();
+    private final ShardDirectory shardDirectory;
+
+    public ShardRebalancer(List<DataSource> shards, ShardDirectory shardDirectory) {
+        for (DataSource shard : shards) {
+            jdbcTemplates.add(new NamedParameterJdbcTemplate(shard));
+            transactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(shard)));
+        }
+        this.shardDirectory = shardDirectory;
+    }
+
+    public Result rebalance() {
+        logger.info("Rebalancing users across {} shards", jdbcTemplates.size());
+        Result result = reconcileDirectory();
+        int moved = 0;
+        int skipped = 0;
+        for (ShardDirectory.Assignment assignment : shardDirectory.findAll()) {
+            int target = ShardDirectory.placementOf(assignment.userUuid(), jdbcTemplates.size());
+            if (assignment.shard() == target) {
+                continue;
+            }
+            try {
+                move(assignment, target);
+                moved++;
+            } catch (IllegalStateException ex) {
+                logger.warn("User {} not moved: {}", assignment.userUuid(), ex.getMessage());
+                skipped++;
+            }
+        }
+        result = new Result(moved, skipped, result.purged(), result.unreachable());
+        logger.info("Rebalancing done: {}", result);
+        return result;
+    }
+
+    public void move(ShardDirectory.Assignment assignment, int target) {
+        int source = assignment.shard();
+        Long userId = findUserId(source, assignment.userUuid());
+        if (userId == null) {
+            throw new IllegalStateException("user not found on shard " + source);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId);
+        Long sharedMemberships = jdbcTemplates.get(source).queryForObject(SHARED_TEAMS_SQL, parameters, Long.class);
+        if (sharedMemberships != null && sharedMemberships > 0) {
+            throw new IllegalStateException("user shares teams with users of other shards");
+        }
+
+        Map<TenantTable, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        for (TenantTable table : TENANT_TABLES) {
+            rows.put(table, jdbcTemplates.get(source).queryForList(table.selectSql(), parameters));
+        }
+        transactionTemplates.get(target).executeWithoutResult(status -> {
+            delete(target, parameters);
+            rows.forEach((table, tableRows) -> insert(target, table, tableRows));
+        });
+        shardDirectory.move(assignment, target);
+        transactionTemplates.get(source).executeWithoutResult(status -> delete(source, parameters));
+    }
+
+    /**
+     * Registers the users created before sharding was enabled, and deletes the rows left on a source shard by an
+     * interrupted move.
+     */
+    private Result reconcileDirectory() {
+        Map<UUID, ShardDirectory.Assignment> assignments = shardDirectory.findAll().stream()
+                .collect(Collectors.toMap(ShardDirectory.Assignment::userUuid, Function.identity()));
+        Set<String> registeredEmails = assignments.values().stream()
+                .map(ShardDirectory.Assignment::email)
+                .collect(Collectors.toSet());
+        int purged = 0;
+        int unreachable = 0;
+        for (int shard = 0; shard < jdbcTemplates.size(); shard++) {
+            for (Map<String, Object> user : jdbcTemplates.get(shard).queryForList(FIND_USERS_SQL, Map.of())) {
+                UUID userUuid = (UUID) user.get("uuid");
+                String email = (String) user.get("email");
+                ShardDirectory.Assignment assignment = assignments.get(userUuid);
+                if (assignment == null && registeredEmails.contains(email)) {
+                    // Same email under another uuid, such as the seed data of a new shard: never routed to
+                    logger.warn("User {} on shard {} is unreachable, its email belongs to another user", userUuid, shard);
+                    unreachable++;
+                } else if (assignment == null) {
+                    shardDirectory.register(userUuid, email, shard);
+                    registeredEmails.add(email);
+                } else if (assignment.shard() != shard) {
+                    int leftoverShard = shard;
+                    MapSqlParameterSource parameters = new MapSqlParameterSource("userId", user.get("key_id"));
+                    transactionTemplates.get(shard).executeWithoutResult(status -> delete(leftoverShard, parameters));
+                    logger.info("Deleted the rows left on shard {} by the move of user {}", shard, userUuid);
+                    purged++;
+                }
+            }
+        }
+        return new Result(0, 0, purged, unreachable);
+    }
+
+    private Long findUserId(int shard, UUID userUuid) {
+        return jdbcTemplates.get(shard)
+                .queryForList(FIND_USER_ID_SQL, new MapSqlParameterSource("userUuid", userUuid), Long.class)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void delete(int shard, MapSqlParameterSource parameters) {
+        for (TenantTable table : TENANT_TABLES.reversed()) {
+            jdbcTemplates.get(shard).update(table.deleteSql(), parameters);
+        }
+    }
+
+    private void insert(int shard, TenantTable table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = rows.getFirst().keySet().stream()
+                .filter(column -> !table.excludedColumns().contains(column.toLowerCase()))
+                .toList();
+        String sql = "INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> ":" + column).collect(Collectors.joining(", ")) + ")";
+        MapSqlParameterSource[] batch = rows.stream()
+                .map(row -> {
+                    MapSqlParameterSource values = new MapSqlParameterSource();
+                    columns.forEach(column -> values.addValue(column,
+                            table.resetColumns().getOrDefault(column.toLowerCase(), row.get(column))));
+                    return values;
+                })
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplates.get(shard).batchUpdate(sql, batch);
+    }
+
+    public record Result(int moved, int skipped, int purged, int unreachable) {
+    }
+
+    private record TenantTable(String name, String condition, Set<String> excludedColumns,
+                               Map<String, Object> resetColumns) {
+
+        String selectSql() {
+            return "SELECT * FROM " + name + " WHERE " + condition;
+        }
+
+        String deleteSql() {
+            return "DELETE FROM " + name + " WHERE " + condition;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens connections on the shard of the current thread, see {@link ShardDirectory#currentShard()}.
+ * <p>
+ * A user and everything reachable from it through {@code team.app_user_id} lives on a single shard, so every
+ * query of a request runs on one database.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ShardDirectory shardDirectory;
+
+    public ShardRoutingDataSource(List<DataSource> shards, ShardDirectory shardDirectory) {
+        this.shardDirectory = shardDirectory;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        // An unknown shard index is a configuration error, never silently served by the first shard
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardDirectory.currentShard();
+    }
+}
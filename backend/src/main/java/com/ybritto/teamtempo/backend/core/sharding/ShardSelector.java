@@ -0,0 +1,77 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Entry point of application code into sharding, which behaves as a single shard when
+ * {@code app.sharding.enabled} is not set.
+ */
+@Component
+public class ShardSelector {
+
+    private final ShardDirectory shardDirectory;
+
+    public ShardSelector(Optional<ShardDirectory> shardDirectory) {
+        this.shardDirectory = shardDirectory.orElse(null);
+    }
+
+    public int currentShard() {
+        return shardDirectory == null ? ShardDirectory.DIRECTORY_SHARD : shardDirectory.currentShard();
+    }
+
+    /**
+     * Runs the action on the shard of the user, for lookups made before the user is authenticated.
+     */
+    public <T> T callForUser(String email, Supplier<T> action) {
+        if (shardDirectory == null) {
+            return action.get();
+        }
+        return ShardContext.callOn(shardDirectory.shardOf(email), action);
+    }
+
+    /**
+     * Places a new user and runs the action creating it on its shard. The placement is dropped when the action
+     * fails, so the email can be registered again.
+     */
+    public <T> T callForNewUser(UUID userUuid, String email, Supplier<T> action) {
+        if (shardDirectory == null) {
+            return action.get();
+        }
+        int shard = shardDirectory.register(userUuid, email);
+        try {
+            return ShardContext.callOn(shard, action);
+        } catch (RuntimeException ex) {
+            shardDirectory.unregister(userUuid, email);
+            throw ex;
+        }
+    }
+
+    public void runOn(int shard, Runnable action) {
+        if (shardDirectory == null) {
+            action.run();
+            return;
+        }
+        ShardContext.runOn(shard, action);
+    }
+
+    public <T> T callOn(int shard, Supplier<T> action) {
+        if (shardDirectory == null) {
+            return action.get();
+        }
+        return ShardContext.callOn(shard, action);
+    }
+
+    /**
+     * Runs the action once per shard, for maintenance jobs that are not tied to a user.
+     */
+    public void forEachShard(Runnable action) {
+        int shardCount = shardDirectory == null ? 1 : shardDirectory.shardCount();
+        for (int shard = 0; shard < shardCount; shard++) {
+            runOn(shard, action);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interleaves the key sequences of the shards, so shard {@code i} of {@code n} only generates keys congruent to
+ * {@code i + 1} modulo {@code n}. Keys are then unique across shards, which lets the rebalancer copy rows without
+ * renumbering them and keeps the in-memory caches keyed by user id correct.
+ */
+public class ShardSequences {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSequences.class);
+
+    // Sequences of the entities reachable from a user, see the @SequenceGenerator of each entity
+    private static final List<String> KEY_SEQUENCES = List.of(
+            "app_user_key_id_seq",
+            "team_key_id_seq",
+            "team_member_key_id_seq",
+            "project_key_id_seq",
+            "project_configuration_key_id_seq",
+            "iteration_key_id_seq",
+            "working_calendar_key_id_seq");
+
+    private static final String SEQUENCE_STATE_SQL = """
+            SELECT last_value, increment_by FROM pg_sequences
+            WHERE schemaname = current_schema() AND sequencename = ?
+            """;
+
+    public static void interleave(DataSource shardDataSource, int shard, int shardCount) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSource);
+        long remainder = shard + 1L;
+        for (String sequence : KEY_SEQUENCES) {
+            Map<String, Object> state = jdbcTemplate.queryForMap(SEQUENCE_STATE_SQL, sequence);
+            Long lastValue = state.get("last_value") == null ? null : ((Number) state.get("last_value")).longValue();
+            long increment = ((Number) state.get("increment_by")).longValue();
+            if (lastValue != null && increment == shardCount && Math.floorMod(lastValue - remainder, shardCount) == 0) {
+                continue;
+            }
+
+            long next = lastValue == null ? 1 : lastValue + 1;
+            long offset = Math.floorMod(next - remainder, shardCount);
+            long aligned = offset == 0 ? next : next + shardCount - offset;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + shardCount);
+            jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?, false)", Long.class, sequence, aligned);
+            logger.info("Sequence {} of shard {} now starts at {} with increment {}", sequence, shard, aligned, shardCount);
+        }
+    }
+}
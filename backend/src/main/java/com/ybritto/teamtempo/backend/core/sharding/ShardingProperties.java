@@ -0,0 +1,19 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Databases added to the one configured under {@code spring.datasource}, which stays the first shard.
+ */
+@ConfigurationProperties("app.sharding")
+public record ShardingProperties(List<Shard> shards) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : List.copyOf(shards);
+    }
+
+    public record Shard(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.ybritto.teamtempo.backend.core.utils;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+public class AuthenticationUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationUtils.class);
+
+    public static UserEntity getAuthenticatedUser() {
+        return findAuthenticatedUser().orElseThrow(() -> {
+            logger.error("Attempted to access authenticated user but user is not authenticated");
+            return new IllegalStateException("User is not authenticated");
+        });
+    }
+
+    public static Optional<UserEntity> findAuthenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // The principal is set to UserEntity in JwtAuthenticationFilter
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserEntity user)) {
+            return Optional.empty();
+        }
+        logger.debug("Retrieved authenticated user: {}", user.getEmail());
+        return Optional.of(user);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.ybritto.teamtempo.backend.features.accuracy.engine;
+
+/**
+ * Planned versus actual errors of one metric, as sums so that the statistics of projects add up to the ones of their
+ * team. Errors are actual minus planned.
+ *
+ * @param iterations       iterations having both a planned and an actual value
+ * @param absoluteErrorSum sum of the absolute errors
+ * @param errorSum         sum of the errors
+ * @param hits             iterations whose error is within the hit tolerance
+ */
+public record AccuracyStats(long iterations, long absoluteErrorSum, long errorSum, long hits) {
+
+    public static final AccuracyStats EMPTY = new AccuracyStats(0, 0, 0, 0);
+
+    public AccuracyStats plus(AccuracyStats other) {
+        return new AccuracyStats(iterations + other.iterations, absoluteErrorSum + other.absoluteErrorSum,
+                errorSum + other.errorSum, hits + other.hits);
+    }
+
+    /**
+     * @return the mean absolute error, or null without iterations
+     */
+    public Double meanAbsoluteError() {
+        return iterations == 0 ? null : (double) absoluteErrorSum / iterations;
+    }
+
+    /**
+     * @return the mean error, positive when actuals exceed the plans, or null without iterations
+     */
+    public Double bias() {
+        return iterations == 0 ? null : (double) errorSum / iterations;
+    }
+
+    /**
+     * @return the share of hits, or null without iterations
+     */
+    public Double hitRate() {
+        return iterations == 0 ? null : (double) hits / iterations;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ybritto.teamtempo.backend.features.accuracy.engine;
+
+import java.util.function.Consumer;
+
+/**
+ * Computes the accuracy of projects in a single pass over their finished iterations, which must arrive grouped by
+ * project. Only the project being read is held: its accuracy is emitted when the next project starts, so memory does
+ * not grow with the number of projects or iterations.
+ * <p>
+ * An iteration is a hit when its actual differs from its plan by at most the hit tolerance times the plan. Metrics
+ * without a planned or an actual value are left out.
+ */
+public final class AccuracyStream {
+
+    private final double hitTolerance;
+    private final Consumer<ProjectAccuracy> sink;
+    private final MetricAccumulator forecast = new MetricAccumulator();
+    private final MetricAccumulator capacity = new MetricAccumulator();
+    private boolean started;
+    private long projectId;
+    private long dataVersion;
+
+    public AccuracyStream(double hitTolerance, Consumer<ProjectAccuracy> sink) {
+        if (hitTolerance < 0) {
+            throw new IllegalArgumentException("The hit tolerance must not be negative");
+        }
+        this.hitTolerance = hitTolerance;
+        this.sink = sink;
+    }
+
+    /**
+     * Adds a finished iteration of a project. A project without finished iterations is still emitted when it is
+     * accepted once with null values.
+     */
+    public void accept(long projectId, long dataVersion, Integer plannedForecast, Integer actualForecast,
+                       Integer plannedCapacity, Integer actualCapacity) {
+        if (!started || projectId != this.projectId) {
+            finish();
+            this.started = true;
+            this.projectId = projectId;
+            this.dataVersion = dataVersion;
+        }
+        forecast.add(plannedForecast, actualForecast);
+        capacity.add(plannedCapacity, actualCapacity);
+    }
+
+    /**
+     * Emits the project being read, if any. Must be called once the last iteration was accepted.
+     */
+    public void finish() {
+        if (!started) {
+            return;
+        }
+        sink.accept(new ProjectAccuracy(projectId, dataVersion, forecast.drain(), capacity.drain()));
+        started = false;
+    }
+
+    private final class MetricAccumulator {
+
+        private long iterations;
+        private long absoluteErrorSum;
+        private long errorSum;
+        private long hits;
+
+        void add(Integer planned, Integer actual) {
+            if (planned == null || actual == null) {
+                return;
+            }
+            long error = (long) actual - planned;
+            iterations++;
+            absoluteErrorSum += Math.abs(error);
+            errorSum += error;
+            if (Math.abs(error) <= hitTolerance * Math.abs(planned)) {
+                hits++;
+            }
+        }
+
+        AccuracyStats drain() {
+            AccuracyStats stats = new AccuracyStats(iterations, absoluteErrorSum, errorSum, hits);
+            iterations = 0;
+            absoluteErrorSum = 0;
+            errorSum = 0;
+            hits = 0;
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ybritto.teamtempo.backend.features.accuracy.engine;
+
+/**
+ * Accuracy of the finished iterations of a project, as of its data version.
+ */
+public record ProjectAccuracy(long projectId, long dataVersion, AccuracyStats forecast, AccuracyStats capacity) {
+}
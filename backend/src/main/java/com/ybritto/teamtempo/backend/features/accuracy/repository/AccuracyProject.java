@@ -0,0 +1,9 @@
+package com.ybritto.teamtempo.backend.features.accuracy.repository;
+
+import java.util.UUID;
+
+/**
+ * Project listed in an accuracy report.
+ */
+public record AccuracyProject(long id, UUID uuid, String name, long dataVersion) {
+}
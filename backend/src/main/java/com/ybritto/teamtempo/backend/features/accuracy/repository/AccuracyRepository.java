@@ -0,0 +1,117 @@
+package com.ybritto.teamtempo.backend.features.accuracy.repository;
+
+import com.ybritto.teamtempo.backend.features.accuracy.engine.AccuracyStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the finished iterations of projects into an {@link AccuracyStream}.
+ * <p>
+ * Rows are fetched {@code app.accuracy.fetch-size} at a time through a forward-only cursor, which PostgreSQL only
+ * opens inside a transaction, so the callers stream within one. Each statement also returns the data version of the
+ * projects, read from the same snapshot as their iterations.
+ */
+@Repository
+public class AccuracyRepository {
+
+    // Projects without finished iterations are returned once, with null values
+    private static final String OUTCOMES_SQL = """
+            SELECT p.key_id, p.data_version,
+                   i.planned_forecast, i.actual_forecast, i.planned_capacity, i.actual_capacity
+            FROM project p
+            LEFT JOIN iteration i ON i.project_key_id = p.key_id AND i.actual_end_date IS NOT NULL
+            """;
+
+    private static final String OUTCOMES_BY_PROJECTS_SQL = OUTCOMES_SQL + """
+            WHERE p.key_id = ANY (:projectIds)
+            ORDER BY p.key_id
+            """;
+
+    private static final String OUTCOMES_BY_KEY_RANGE_SQL = OUTCOMES_SQL + """
+            WHERE p.key_id >= :fromKey AND p.key_id < :toKey
+            ORDER BY p.key_id
+            """;
+
+    private static final String TEAM_PROJECTS_SQL = """
+            SELECT p.key_id, p.uuid, p.name, p.data_version
+            FROM project p
+            WHERE p.team_id = :teamId
+            ORDER BY p.name, p.key_id
+            """;
+
+    private static final String KEY_BOUNDS_SQL = "SELECT min(key_id) AS min_key, max(key_id) AS max_key FROM project";
+
+    private static final RowMapper<AccuracyProject> ACCURACY_PROJECT_ROW_MAPPER = (rs, rowNum) -> new AccuracyProject(
+            rs.getLong("key_id"),
+            rs.getObject("uuid", UUID.class),
+            rs.getString("name"),
+            rs.getLong("data_version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AccuracyRepository(DataSource dataSource, @Value("${app.accuracy.fetch-size:1000}") int fetchSize) {
+        // A template of its own, so the fetch size only applies to the streamed statements
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+    }
+
+    public List<AccuracyProject> findTeamProjects(Long teamId) {
+        return jdbcTemplate.query(TEAM_PROJECTS_SQL, new MapSqlParameterSource("teamId", teamId),
+                ACCURACY_PROJECT_ROW_MAPPER);
+    }
+
+    public Optional<KeyBounds> findProjectKeyBounds() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(KEY_BOUNDS_SQL, new MapSqlParameterSource(),
+                (rs, rowNum) -> rs.getObject("min_key") == null
+                        ? null
+                        : new KeyBounds(rs.getLong("min_key"), rs.getLong("max_key"))));
+    }
+
+    /**
+     * Streams the projects of the given keys; the stream is not finished.
+     */
+    public void streamProjects(Collection<Long> projectIds, AccuracyStream stream) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("projectIds",
+                new SqlArrayValue("int4", projectIds.stream().map(Long::intValue).toArray()));
+        jdbcTemplate.query(OUTCOMES_BY_PROJECTS_SQL, parameters, outcomeHandler(stream));
+    }
+
+    /**
+     * Streams the projects whose key is in {@code [fromKey, toKey)}; the stream is not finished.
+     */
+    public void streamKeyRange(long fromKey, long toKey, AccuracyStream stream) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("fromKey", fromKey)
+                .addValue("toKey", toKey);
+        jdbcTemplate.query(OUTCOMES_BY_KEY_RANGE_SQL, parameters, outcomeHandler(stream));
+    }
+
+    private static RowCallbackHandler outcomeHandler(AccuracyStream stream) {
+        return rs -> stream.accept(rs.getLong("key_id"), rs.getLong("data_version"),
+                integer(rs, "planned_forecast"), integer(rs, "actual_forecast"),
+                integer(rs, "planned_capacity"), integer(rs, "actual_capacity"));
+    }
+
+    private static Integer integer(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    public record KeyBounds(long min, long max) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.ybritto.teamtempo.backend.features.accuracy.service;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the forecast accuracy of the whole portfolio every night, so reports of the next day are served from the
+ * cache and the portfolio totals are logged.
+ */
+@Component
+public class AccuracyRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccuracyRefreshJob.class);
+
+    private final AccuracyService accuracyService;
+    private final ShardSelector shardSelector;
+    private final Counter projectsCounter;
+
+    public AccuracyRefreshJob(AccuracyService accuracyService, ShardSelector shardSelector, MeterRegistry meterRegistry) {
+        this.accuracyService = accuracyService;
+        this.shardSelector = shardSelector;
+        this.projectsCounter = meterRegistry.counter("teamtempo.accuracy.projects-computed");
+    }
+
+    @Scheduled(cron = "${app.accuracy.refresh-cron:0 0 2 * * *}")
+    public void refresh() {
+        logger.debug("Entering method: refresh");
+        shardSelector.forEachShard(this::refreshShard);
+        logger.debug("Exiting method: refresh");
+    }
+
+    private void refreshShard() {
+        try {
+            projectsCounter.increment(accuracyService.refreshAll());
+        } catch (DataAccessException ex) {
+            logger.error("Failed to compute the forecast accuracy on shard {}", shardSelector.currentShard(), ex);
+        }
+    }
+}
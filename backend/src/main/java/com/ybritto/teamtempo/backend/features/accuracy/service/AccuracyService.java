@@ -0,0 +1,207 @@
+package com.ybritto.teamtempo.backend.features.accuracy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.accuracy.engine.AccuracyStats;
+import com.ybritto.teamtempo.backend.features.accuracy.engine.AccuracyStream;
+import com.ybritto.teamtempo.backend.features.accuracy.engine.ProjectAccuracy;
+import com.ybritto.teamtempo.backend.features.accuracy.repository.AccuracyProject;
+import com.ybritto.teamtempo.backend.features.accuracy.repository.AccuracyRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.AccuracyMetricDto;
+import com.ybritto.teamtempo.backend.gen.model.AccuracyReportDto;
+import com.ybritto.teamtempo.backend.gen.model.ProjectAccuracyDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Forecast accuracy of teams and projects: mean absolute error, bias and hit rate of the planned forecast and
+ * capacity against the actual ones, see {@link AccuracyStream}.
+ * <p>
+ * Projects are computed in chunks of {@code app.accuracy.chunk-size}, each streamed in its own read-only transaction
+ * on a dedicated pool of {@code app.accuracy.parallelism} threads. Results are cached under the data version of their
+ * project and reused until its iterations change; the cache holds at most {@code app.accuracy.cache.max-projects}
+ * projects, so neither a report nor the nightly run over the whole portfolio grows memory with the data.
+ */
+@Service
+public class AccuracyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccuracyService.class);
+
+    private final TeamRepository teamRepository;
+    private final TeamAccessService teamAccessService;
+    private final AccuracyRepository accuracyRepository;
+    private final ShardSelector shardSelector;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final double hitTolerance;
+    private final Cache<Long, ProjectAccuracy> accuracies;
+
+    public AccuracyService(TeamRepository teamRepository,
+                           TeamAccessService teamAccessService,
+                           AccuracyRepository accuracyRepository,
+                           ShardSelector shardSelector,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.accuracy.parallelism:4}") int parallelism,
+                           @Value("${app.accuracy.chunk-size:500}") int chunkSize,
+                           @Value("${app.accuracy.hit-tolerance:0.1}") double hitTolerance,
+                           @Value("${app.accuracy.cache.max-projects:100000}") long maxCachedProjects,
+                           MeterRegistry meterRegistry) {
+        this.teamRepository = teamRepository;
+        this.teamAccessService = teamAccessService;
+        this.accuracyRepository = accuracyRepository;
+        this.shardSelector = shardSelector;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.hitTolerance = hitTolerance;
+        this.accuracies = Caffeine.newBuilder()
+                .maximumSize(maxCachedProjects)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accuracies, "accuracy");
+    }
+
+    public AccuracyReportDto getTeamAccuracy(String teamUuid) {
+        logger.debug("Entering method: getTeamAccuracy with team uuid: {}", teamUuid);
+        List<AccuracyProject> projects = readOnlyTransactionTemplate.execute(status -> {
+            TeamEntity team = teamRepository.findByUuid(UUIDValidator.validateAndTransform(teamUuid))
+                    .orElseThrow(() -> {
+                        logger.warn("Team not found with UUID: {}", teamUuid);
+                        return new NotFoundException(String.format("Team with uuid %s not found", teamUuid));
+                    });
+            teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.VIEWER);
+            return accuracyRepository.findTeamProjects(team.getId());
+        });
+
+        Map<Long, ProjectAccuracy> byProject = new ConcurrentHashMap<>();
+        List<Long> stale = new ArrayList<>();
+        for (AccuracyProject project : projects) {
+            ProjectAccuracy cached = accuracies.getIfPresent(project.id());
+            if (cached != null && cached.dataVersion() == project.dataVersion()) {
+                byProject.put(project.id(), cached);
+            } else {
+                stale.add(project.id());
+            }
+        }
+        int shard = shardSelector.currentShard();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < stale.size(); start += chunkSize) {
+            chunks.add(stale.subList(start, Math.min(start + chunkSize, stale.size())));
+        }
+        if (!chunks.isEmpty()) {
+            pool.submit(() -> chunks.parallelStream().forEach(chunk -> stream(shard,
+                    accuracy -> byProject.put(accuracy.projectId(), accuracy),
+                    stream -> accuracyRepository.streamProjects(chunk, stream)))).join();
+        }
+
+        AccuracyStats forecast = AccuracyStats.EMPTY;
+        AccuracyStats capacity = AccuracyStats.EMPTY;
+        List<ProjectAccuracyDto> projectDtos = new ArrayList<>(projects.size());
+        for (AccuracyProject project : projects) {
+            // Projects deleted since they were listed are left out
+            ProjectAccuracy accuracy = byProject.get(project.id());
+            if (accuracy == null) {
+                continue;
+            }
+            forecast = forecast.plus(accuracy.forecast());
+            capacity = capacity.plus(accuracy.capacity());
+            projectDtos.add(new ProjectAccuracyDto()
+                    .projectUuid(project.uuid().toString())
+                    .projectName(project.name())
+                    .forecast(mapToDto(accuracy.forecast()))
+                    .capacity(mapToDto(accuracy.capacity())));
+        }
+        logger.debug("Exiting method: getTeamAccuracy with {} projects, {} computed", projectDtos.size(), stale.size());
+        return new AccuracyReportDto()
+                .teamUuid(teamUuid)
+                .hitTolerance(hitTolerance)
+                .forecast(mapToDto(forecast))
+                .capacity(mapToDto(capacity))
+                .projects(projectDtos);
+    }
+
+    /**
+     * Computes every project of the current shard, key range by key range, and caches the results.
+     *
+     * @return the number of projects computed
+     */
+    public long refreshAll() {
+        logger.debug("Entering method: refreshAll");
+        AccuracyRepository.KeyBounds bounds = readOnlyTransactionTemplate.execute(status ->
+                accuracyRepository.findProjectKeyBounds().orElse(null));
+        if (bounds == null) {
+            logger.debug("Exiting method: refreshAll without projects");
+            return 0;
+        }
+        int shard = shardSelector.currentShard();
+        AtomicLong projects = new AtomicLong();
+        AtomicReference<AccuracyStats> forecast = new AtomicReference<>(AccuracyStats.EMPTY);
+        AtomicReference<AccuracyStats> capacity = new AtomicReference<>(AccuracyStats.EMPTY);
+        Consumer<ProjectAccuracy> totals = accuracy -> {
+            projects.incrementAndGet();
+            forecast.accumulateAndGet(accuracy.forecast(), AccuracyStats::plus);
+            capacity.accumulateAndGet(accuracy.capacity(), AccuracyStats::plus);
+        };
+        pool.submit(() -> LongStream.iterate(bounds.min(), key -> key <= bounds.max(), key -> key + chunkSize)
+                .parallel()
+                .forEach(fromKey -> stream(shard, totals,
+                        stream -> accuracyRepository.streamKeyRange(fromKey, fromKey + chunkSize, stream)))).join();
+
+        logger.info("Forecast accuracy of {} projects: forecast MAE {}, bias {}, hit rate {}; capacity MAE {}, bias {}, hit rate {}",
+                projects.get(), forecast.get().meanAbsoluteError(), forecast.get().bias(), forecast.get().hitRate(),
+                capacity.get().meanAbsoluteError(), capacity.get().bias(), capacity.get().hitRate());
+        logger.debug("Exiting method: refreshAll");
+        return projects.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void stream(int shard, Consumer<ProjectAccuracy> sink, Consumer<AccuracyStream> source) {
+        shardSelector.runOn(shard, () -> readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            AccuracyStream stream = new AccuracyStream(hitTolerance, accuracy -> {
+                accuracies.put(accuracy.projectId(), accuracy);
+                sink.accept(accuracy);
+            });
+            source.accept(stream);
+            stream.finish();
+        }));
+    }
+
+    private static AccuracyMetricDto mapToDto(AccuracyStats stats) {
+        return new AccuracyMetricDto()
+                .iterations(Math.toIntExact(stats.iterations()))
+                .meanAbsoluteError(stats.meanAbsoluteError())
+                .bias(stats.bias())
+                .hitRate(stats.hitRate());
+    }
+}
@@ -0,0 +1,23 @@
+package com.ybritto.teamtempo.backend.features.allocation.engine;
+
+/**
+ * Capacity of a team and demand of its projects over a number of iterations, as flat primitive arrays.
+ *
+ * @param iterations number of iterations
+ * @param capacities capacity of the team in each iteration
+ * @param priorities weight of each project, at least 1
+ * @param demand     demand of each project in each iteration, project after project: the demand of project {@code p}
+ *                   in iteration {@code i} is at {@code p * iterations + i}
+ */
+public record AllocationProblem(int iterations, int[] capacities, int[] priorities, int[] demand) {
+
+    public AllocationProblem {
+        if (iterations <= 0 || capacities.length != iterations || demand.length != priorities.length * iterations) {
+            throw new IllegalArgumentException("Capacities and demand must cover every iteration of every project");
+        }
+    }
+
+    public int projects() {
+        return priorities.length;
+    }
+}
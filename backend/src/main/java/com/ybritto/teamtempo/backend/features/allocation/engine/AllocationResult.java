@@ -0,0 +1,41 @@
+package com.ybritto.teamtempo.backend.features.allocation.engine;
+
+/**
+ * Allocation of a team capacity, laid out like the demand of its {@link AllocationProblem}.
+ *
+ * @param allocation     capacity allocated to each project in each iteration
+ * @param backlog        demand of each project carried over at the end of each iteration
+ * @param cost           sum of the squared backlogs weighted by the project priorities
+ * @param improvingMoves number of moves the local search applied to the greedy allocation
+ */
+public record AllocationResult(int iterations, int projects, int[] allocation, int[] backlog, long cost,
+                               int improvingMoves) {
+
+    public int allocated(int project, int iteration) {
+        return allocation[project * iterations + iteration];
+    }
+
+    public int backlog(int project, int iteration) {
+        return backlog[project * iterations + iteration];
+    }
+
+    public int allocatedIn(int iteration) {
+        int total = 0;
+        for (int project = 0; project < projects; project++) {
+            total += allocated(project, iteration);
+        }
+        return total;
+    }
+
+    /**
+     * @return whether every demand is served by the last iteration
+     */
+    public boolean feasible() {
+        for (int project = 0; project < projects; project++) {
+            if (backlog(project, iterations - 1) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
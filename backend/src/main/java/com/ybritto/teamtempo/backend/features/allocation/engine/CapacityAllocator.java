@@ -0,0 +1,162 @@
+package com.ybritto.teamtempo.backend.features.allocation.engine;
+
+/**
+ * Splits the capacity of a team between its projects, iteration after iteration.
+ * <p>
+ * Demand not served in an iteration is carried over to the next ones, and an allocation costs the squared backlog of
+ * each project at the end of each iteration times its priority. Squaring favours high priorities without starving
+ * the others once their backlog grows.
+ * <p>
+ * A greedy pass fills each iteration in small chunks, always serving the project whose backlog costs the most at the
+ * margin. It only sees the current iteration, so a local search then moves capacity between two projects of an
+ * iteration while this lowers the cost over the remaining iterations. Suffix sums of the backlogs make the cost of a
+ * move, and its best size, an O(1) computation. Everything works on flat {@code int} and {@code long} arrays.
+ */
+public final class CapacityAllocator {
+
+    private static final int CHUNKS_PER_PROJECT = 4;
+    private static final int MAX_PASSES = 50;
+
+    private CapacityAllocator() {
+    }
+
+    public static AllocationResult solve(AllocationProblem problem) {
+        int iterations = problem.iterations();
+        int projects = problem.projects();
+        int[] allocation = new int[projects * iterations];
+        int[] backlog = new int[projects * iterations];
+        greedy(problem, allocation, backlog);
+        int moves = localSearch(problem, allocation, backlog);
+        return new AllocationResult(iterations, projects, allocation, backlog, cost(problem, backlog), moves);
+    }
+
+    private static void greedy(AllocationProblem problem, int[] allocation, int[] backlog) {
+        int iterations = problem.iterations();
+        int projects = problem.projects();
+        int[] priorities = problem.priorities();
+        int[] demand = problem.demand();
+        int[] residual = new int[projects];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int project = 0; project < projects; project++) {
+                int carried = iteration == 0 ? 0 : backlog[project * iterations + iteration - 1];
+                residual[project] = carried + demand[project * iterations + iteration];
+            }
+            int remaining = problem.capacities()[iteration];
+            int chunk = Math.max(1, remaining / (CHUNKS_PER_PROJECT * projects));
+            while (remaining > 0) {
+                int best = -1;
+                long bestMarginal = 0;
+                for (int project = 0; project < projects; project++) {
+                    if (residual[project] > 0) {
+                        long marginal = priorities[project] * (2L * residual[project] - 1);
+                        if (marginal > bestMarginal) {
+                            bestMarginal = marginal;
+                            best = project;
+                        }
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                int given = Math.min(Math.min(chunk, remaining), residual[best]);
+                allocation[best * iterations + iteration] += given;
+                residual[best] -= given;
+                remaining -= given;
+            }
+            for (int project = 0; project < projects; project++) {
+                backlog[project * iterations + iteration] = residual[project];
+            }
+        }
+    }
+
+    /**
+     * Moves capacity of an iteration from one project to another while some move lowers the cost. Taking capacity
+     * from a project raises its backlog in every later iteration, so its later allocations stay feasible; giving it
+     * to a project lowers its later backlogs, which must stay non-negative.
+     *
+     * @return the number of moves applied
+     */
+    private static int localSearch(AllocationProblem problem, int[] allocation, int[] backlog) {
+        int iterations = problem.iterations();
+        int projects = problem.projects();
+        int[] priorities = problem.priorities();
+        // For each project, sum and minimum of the backlogs from each iteration to the last one
+        long[] suffixSums = new long[projects * (iterations + 1)];
+        int[] suffixMins = new int[projects * (iterations + 1)];
+        for (int project = 0; project < projects; project++) {
+            updateSuffixes(project, iterations, backlog, suffixSums, suffixMins);
+        }
+
+        int moves = 0;
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            boolean improved = false;
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                int remainingIterations = iterations - iteration;
+                for (int from = 0; from < projects; from++) {
+                    for (int to = 0; to < projects; to++) {
+                        int available = allocation[from * iterations + iteration];
+                        if (to == from || available == 0) {
+                            continue;
+                        }
+                        int maxDelta = Math.min(available, suffixMins[to * (iterations + 1) + iteration]);
+                        if (maxDelta <= 0) {
+                            continue;
+                        }
+                        long fromWeight = priorities[from];
+                        long toWeight = priorities[to];
+                        long fromSum = suffixSums[from * (iterations + 1) + iteration];
+                        long toSum = suffixSums[to * (iterations + 1) + iteration];
+                        // Minimum of the cost change, a parabola in the size of the move
+                        double best = (double) (toWeight * toSum - fromWeight * fromSum)
+                                / ((fromWeight + toWeight) * remainingIterations);
+                        int delta = (int) Math.max(1, Math.min(maxDelta, Math.round(best)));
+                        long change = fromWeight * (2L * delta * fromSum + (long) delta * delta * remainingIterations)
+                                + toWeight * (-2L * delta * toSum + (long) delta * delta * remainingIterations);
+                        if (change >= 0) {
+                            continue;
+                        }
+                        allocation[from * iterations + iteration] -= delta;
+                        allocation[to * iterations + iteration] += delta;
+                        for (int later = iteration; later < iterations; later++) {
+                            backlog[from * iterations + later] += delta;
+                            backlog[to * iterations + later] -= delta;
+                        }
+                        updateSuffixes(from, iterations, backlog, suffixSums, suffixMins);
+                        updateSuffixes(to, iterations, backlog, suffixSums, suffixMins);
+                        moves++;
+                        improved = true;
+                    }
+                }
+            }
+            if (!improved) {
+                break;
+            }
+        }
+        return moves;
+    }
+
+    private static void updateSuffixes(int project, int iterations, int[] backlog, long[] suffixSums,
+                                       int[] suffixMins) {
+        int offset = project * (iterations + 1);
+        suffixSums[offset + iterations] = 0;
+        suffixMins[offset + iterations] = Integer.MAX_VALUE;
+        for (int iteration = iterations - 1; iteration >= 0; iteration--) {
+            int value = backlog[project * iterations + iteration];
+            suffixSums[offset + iteration] = suffixSums[offset + iteration + 1] + value;
+            suffixMins[offset + iteration] = Math.min(suffixMins[offset + iteration + 1], value);
+        }
+    }
+
+    private static long cost(AllocationProblem problem, int[] backlog) {
+        int iterations = problem.iterations();
+        long cost = 0;
+        for (int project = 0; project < problem.projects(); project++) {
+            long weight = problem.priorities()[project];
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                long value = backlog[project * iterations + iteration];
+                cost += weight * value * value;
+            }
+        }
+        return cost;
+    }
+}
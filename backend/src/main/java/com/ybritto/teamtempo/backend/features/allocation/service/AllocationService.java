@@ -0,0 +1,208 @@
+package com.ybritto.teamtempo.backend.features.allocation.service;
+
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.allocation.engine.AllocationProblem;
+import com.ybritto.teamtempo.backend.features.allocation.engine.AllocationResult;
+import com.ybritto.teamtempo.backend.features.allocation.engine.CapacityAllocator;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.AllocationDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationProjectRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationRequestDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Splits the capacity of a team between its projects over their upcoming iterations.
+ * <p>
+ * Projects follow their own calendars, so the n-th upcoming iteration of every project makes the n-th iteration of
+ * the team. By default the team capacity of an iteration is the sum of the planned capacities of these iterations and
+ * the demand of a project is their planned forecast; the request can override both and set project priorities.
+ */
+@Service
+public class AllocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationService.class);
+
+    private static final int DEFAULT_ITERATIONS = 6;
+    private static final int DEFAULT_PRIORITY = 1;
+
+    private final TeamRepository teamRepository;
+    private final ProjectRepository projectRepository;
+    private final IterationRepository iterationRepository;
+    private final TeamAccessService teamAccessService;
+    private final int maxIterations;
+
+    public AllocationService(TeamRepository teamRepository,
+                             ProjectRepository projectRepository,
+                             IterationRepository iterationRepository,
+                             TeamAccessService teamAccessService,
+                             @Value("${app.allocation.max-iterations:26}") int maxIterations) {
+        this.teamRepository = teamRepository;
+        this.projectRepository = projectRepository;
+        this.iterationRepository = iterationRepository;
+        this.teamAccessService = teamAccessService;
+        this.maxIterations = maxIterations;
+    }
+
+    @Transactional(readOnly = true)
+    public AllocationDto allocateTeamCapacity(String teamUuid, AllocationRequestDto request) {
+        logger.debug("Entering method: allocateTeamCapacity with team uuid: {}", teamUuid);
+        int iterations = request.getIterations() == null ? DEFAULT_ITERATIONS : request.getIterations();
+        if (iterations <= 0 || iterations > maxIterations) {
+            throw new InvalidParameterException(String.format("Iterations must be between 1 and %d", maxIterations));
+        }
+        TeamEntity team = teamRepository.findByUuid(UUIDValidator.validateAndTransform(teamUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Team not found with UUID: {}", teamUuid);
+                    return new NotFoundException(String.format("Team with uuid %s not found", teamUuid));
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.VIEWER);
+
+        Map<UUID, AllocationProjectRequestDto> requested = requestedProjects(request);
+        List<ProjectEntity> projects = projectRepository.findAllByTeam(team).stream()
+                .filter(project -> project.isActive() || requested.containsKey(project.getUuid()))
+                .toList();
+        if (projects.stream().filter(project -> requested.containsKey(project.getUuid())).count() != requested.size()) {
+            logger.warn("Allocation rejected: some requested projects do not belong to team {}", teamUuid);
+            throw new InvalidParameterException("Some projects do not belong to the team");
+        }
+
+        Map<Long, List<IterationEntity>> upcoming = upcomingIterations(projects);
+        int[] capacities = new int[iterations];
+        int[] priorities = new int[projects.size()];
+        int[] demand = new int[projects.size() * iterations];
+        for (int project = 0; project < projects.size(); project++) {
+            ProjectEntity projectEntity = projects.get(project);
+            List<IterationEntity> projectIterations = upcoming.getOrDefault(projectEntity.getId(), List.of());
+            for (int iteration = 0; iteration < Math.min(iterations, projectIterations.size()); iteration++) {
+                IterationMetrics planned = projectIterations.get(iteration).getPlanned();
+                capacities[iteration] += valueOrZero(planned.getCapacity());
+                demand[project * iterations + iteration] = valueOrZero(planned.getForecast());
+            }
+            AllocationProjectRequestDto projectRequest = requested.get(projectEntity.getUuid());
+            priorities[project] = DEFAULT_PRIORITY;
+            if (projectRequest != null) {
+                if (projectRequest.getPriority() != null) {
+                    priorities[project] = projectRequest.getPriority();
+                }
+                if (projectRequest.getDemand() != null && !projectRequest.getDemand().isEmpty()) {
+                    System.arraycopy(nonNegative(projectRequest.getDemand(), iterations, "Demand"), 0,
+                            demand, project * iterations, iterations);
+                }
+            }
+        }
+        if (request.getCapacities() != null && !request.getCapacities().isEmpty()) {
+            capacities = nonNegative(request.getCapacities(), iterations, "Capacities");
+        }
+
+        AllocationResult result = CapacityAllocator.solve(new AllocationProblem(iterations, capacities, priorities, demand));
+        List<AllocationProjectDto> projectDtos = new ArrayList<>(projects.size());
+        for (int project = 0; project < projects.size(); project++) {
+            ProjectEntity projectEntity = projects.get(project);
+            int offset = project * iterations;
+            projectDtos.add(new AllocationProjectDto()
+                    .projectUuid(projectEntity.getUuid().toString())
+                    .name(projectEntity.getName())
+                    .priority(priorities[project])
+                    .demand(toList(demand, offset, iterations))
+                    .allocated(toList(result.allocation(), offset, iterations))
+                    .backlog(toList(result.backlog(), offset, iterations)));
+        }
+        int[] allocated = new int[iterations];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            allocated[iteration] = result.allocatedIn(iteration);
+        }
+        AllocationDto allocation = new AllocationDto()
+                .teamUuid(team.getUuid().toString())
+                .iterations(iterations)
+                .capacities(toList(capacities, 0, iterations))
+                .allocated(toList(allocated, 0, iterations))
+                .feasible(result.feasible())
+                .cost(result.cost())
+                .improvements(result.improvingMoves())
+                .projects(projectDtos);
+        logger.debug("Exiting method: allocateTeamCapacity with {} projects over {} iterations, feasible: {}",
+                projects.size(), iterations, allocation.getFeasible());
+        return allocation;
+    }
+
+    private static Map<UUID, AllocationProjectRequestDto> requestedProjects(AllocationRequestDto request) {
+        Map<UUID, AllocationProjectRequestDto> requested = new HashMap<>();
+        if (request.getProjects() == null) {
+            return requested;
+        }
+        for (AllocationProjectRequestDto projectRequest : request.getProjects()) {
+            UUID projectUuid = UUIDValidator.validateAndTransform(projectRequest.getProjectUuid());
+            if (projectRequest.getPriority() != null && projectRequest.getPriority() < 1) {
+                throw new InvalidParameterException("Priority must be at least 1");
+            }
+            if (requested.put(projectUuid, projectRequest) != null) {
+                throw new InvalidParameterException("Project uuid appears more than once: " + projectUuid);
+            }
+        }
+        return requested;
+    }
+
+    /**
+     * Iterations not finished yet and not planned to end before today, in the order of their planned start.
+     */
+    private Map<Long, List<IterationEntity>> upcomingIterations(List<ProjectEntity> projects) {
+        if (projects.isEmpty()) {
+            return Map.of();
+        }
+        LocalDate today = LocalDate.now();
+        return iterationRepository.findAllByProjectIn(projects).stream()
+                .filter(iteration -> iteration.getActual() == null || iteration.getActual().getEndDate() == null)
+                .filter(iteration -> iteration.getPlanned() != null
+                        && iteration.getPlanned().getEndDate() != null
+                        && !iteration.getPlanned().getEndDate().isBefore(today))
+                .collect(Collectors.groupingBy(iteration -> iteration.getProject().getId()));
+    }
+
+    private static int[] nonNegative(List<Integer> values, int iterations, String name) {
+        if (values.size() != iterations) {
+            throw new InvalidParameterException(String.format("%s must have one value per iteration", name));
+        }
+        int[] result = new int[iterations];
+        for (int i = 0; i < iterations; i++) {
+            Integer value = values.get(i);
+            if (value == null || value < 0) {
+                throw new InvalidParameterException(String.format("%s can not be negative", name));
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value == null || value < 0 ? 0 : value;
+    }
+
+    private static List<Integer> toList(int[] values, int offset, int length) {
+        return Arrays.stream(values, offset, offset + length).boxed().toList();
+    }
+}
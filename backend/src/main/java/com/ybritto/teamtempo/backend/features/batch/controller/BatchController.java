@@ -0,0 +1,27 @@
+package com.ybritto.teamtempo.backend.features.batch.controller;
+
+import com.ybritto.teamtempo.backend.features.batch.service.BatchService;
+import com.ybritto.teamtempo.backend.gen.api.BatchApi;
+import com.ybritto.teamtempo.backend.gen.model.BatchRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchResponseDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class BatchController implements BatchApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchController.class);
+    private final BatchService batchService;
+
+    @Override
+    public ResponseEntity<BatchResponseDto> executeBatch(BatchRequestDto batchRequestDto) {
+        logger.info("POST /batch - Executing {} operations", batchRequestDto.getOperations().size());
+        BatchResponseDto response = batchService.executeBatch(batchRequestDto);
+        logger.info("POST /batch - {} operations executed successfully", response.getResults().size());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,324 @@
+package com.ybritto.teamtempo.backend.features.batch.service;
+
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.features.history.service.ChangeLogService;
+import com.ybritto.teamtempo.backend.features.project.service.ProjectService;
+import com.ybritto.teamtempo.backend.features.search.service.SearchService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamMemberService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamSuggestionService;
+import com.ybritto.teamtempo.backend.gen.model.BatchMethodEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchOperationDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchOperationResultDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchResponseDto;
+import com.ybritto.teamtempo.backend.gen.model.ProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a list of calls to the existing team, project, member, history and search operations in one transaction.
+ * <p>
+ * Operations are dispatched to the services directly instead of going through HTTP, so the whole batch is
+ * authenticated once. Path and body strings can contain {@code $ref:<operation id>.<field>} placeholders, resolved
+ * against the responses of the operations executed before. Bodies get the same bean validation as the {@code @Valid}
+ * bodies of the controllers.
+ */
+@Service
+public class BatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchService.class);
+
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\$ref:([A-Za-z0-9_-]+)((?:\\.[A-Za-z0-9_]+)+)");
+
+    private final List<BatchRoute> routes = new ArrayList<>();
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final int maxOperations;
+
+    public BatchService(TeamService teamService,
+                        TeamMemberService teamMemberService,
+                        TeamSuggestionService teamSuggestionService,
+                        ProjectService projectService,
+                        ChangeLogService changeLogService,
+                        SearchService searchService,
+                        TransactionTemplate transactionTemplate,
+                        JsonMapper jsonMapper,
+                        Validator validator,
+                        @Value("${app.batch.max-operations:50}") int maxOperations) {
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.maxOperations = maxOperations;
+
+        // Specific paths first, /teams/my-teams would otherwise match /teams/{uuid}
+        route(BatchMethodEnumDto.GET, "/teams/my-teams", call -> teamService.getMyTeams());
+        route(BatchMethodEnumDto.GET, "/teams/suggest", call -> teamSuggestionService.suggest(
+                call.query("prefix"), call.intQuery("limit")));
+        route(BatchMethodEnumDto.POST, "/teams", call -> teamService.createTeam(call.body(TeamDto.class)));
+        route(BatchMethodEnumDto.DELETE, "/teams", call -> {
+            teamService.deleteSelectedTeams(call.stringListBody());
+            return null;
+        });
+        route(BatchMethodEnumDto.PUT, "/teams/{uuid}", call -> teamService.updateTeam(
+                call.path("uuid"), call.body(TeamDto.class)));
+        route(BatchMethodEnumDto.DELETE, "/teams/{uuid}", call -> {
+            teamService.deleteTeam(call.path("uuid"));
+            return null;
+        });
+        route(BatchMethodEnumDto.GET, "/teams/{uuid}/projects", call -> projectService.getProjectsByTeamUuid(call.path("uuid")));
+        route(BatchMethodEnumDto.POST, "/teams/{uuid}/projects", call -> projectService.createProjectForTeam(
+                call.path("uuid"), call.body(ProjectDto.class)));
+        route(BatchMethodEnumDto.GET, "/teams/{uuid}/members", call -> teamMemberService.getTeamMembers(call.path("uuid")));
+        route(BatchMethodEnumDto.POST, "/teams/{uuid}/members", call -> teamMemberService.addTeamMember(
+                call.path("uuid"), call.body(TeamMemberDto.class)));
+        route(BatchMethodEnumDto.DELETE, "/teams/{uuid}/members/{memberUuid}", call -> {
+            teamMemberService.removeTeamMember(call.path("uuid"), call.path("memberUuid"));
+            return null;
+        });
+        route(BatchMethodEnumDto.PUT, "/projects/{uuid}", call -> projectService.updateProject(
+                call.path("uuid"), call.body(ProjectDto.class)));
+        route(BatchMethodEnumDto.DELETE, "/projects/{uuid}", call -> {
+            projectService.deleteProject(call.path("uuid"));
+            return null;
+        });
+        route(BatchMethodEnumDto.GET, "/projects/{uuid}/history", call -> changeLogService.getProjectHistory(
+                call.path("uuid"), call.intQuery("page"), call.intQuery("size")));
+        route(BatchMethodEnumDto.GET, "/search", call -> searchService.search(
+                call.query("q"), call.intQuery("page"), call.intQuery("size")));
+    }
+
+    public BatchResponseDto executeBatch(BatchRequestDto batchRequestDto) {
+        List<BatchOperationDto> operations = batchRequestDto.getOperations();
+        logger.debug("Entering method: executeBatch with {} operations", operations == null ? 0 : operations.size());
+        validate(operations);
+
+        List<BatchOperationResultDto> results = transactionTemplate.execute(status -> executeAll(operations));
+
+        BatchResponseDto response = new BatchResponseDto();
+        response.setResults(results);
+        logger.debug("Exiting method: executeBatch with {} results", results == null ? 0 : results.size());
+        return response;
+    }
+
+    private List<BatchOperationResultDto> executeAll(List<BatchOperationDto> operations) {
+        Map<String, Object> responses = new HashMap<>();
+        List<BatchOperationResultDto> results = new ArrayList<>(operations.size());
+
+        for (BatchOperationDto operation : operations) {
+            String path = resolveReferences(operation.getPath(), responses).toString();
+            Object body = resolveReferences(operation.getBody(), responses);
+            logger.debug("Batch operation {}: {} {}", operation.getId(), operation.getMethod(), path);
+
+            Object response;
+            try {
+                response = dispatch(operation.getMethod(), path, body);
+            } catch (RuntimeException ex) {
+                logger.warn("Batch operation {} ({} {}) failed, rolling back the batch: {}",
+                        operation.getId(), operation.getMethod(), path, ex.getMessage());
+                throw ex;
+            }
+
+            Object responseBody = response == null ? null : jsonMapper.convertValue(response, Object.class);
+            responses.put(operation.getId(), responseBody);
+
+            BatchOperationResultDto result = new BatchOperationResultDto();
+            result.setId(operation.getId());
+            result.setStatus(response == null ? HttpStatus.NO_CONTENT.value() : HttpStatus.OK.value());
+            result.setBody(responseBody);
+            results.add(result);
+        }
+        return results;
+    }
+
+    private Object dispatch(BatchMethodEnumDto method, String path, Object body) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+        PathContainer pathContainer = PathContainer.parsePath(uri.getPath() == null ? "" : uri.getPath());
+
+        for (BatchRoute route : routes) {
+            if (route.method() != method) {
+                continue;
+            }
+            PathPattern.PathMatchInfo matchInfo = route.pattern().matchAndExtract(pathContainer);
+            if (matchInfo != null) {
+                return route.handler().handle(new BatchCall(matchInfo.getUriVariables(), uri.getQueryParams(), body));
+            }
+        }
+        throw new InvalidParameterException(String.format("Operation %s %s is not supported in a batch", method, path));
+    }
+
+    private void validate(List<BatchOperationDto> operations) {
+        if (operations == null || operations.isEmpty()) {
+            logger.warn("Batch rejected: no operations");
+            throw new InvalidParameterException("Batch must contain at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            logger.warn("Batch rejected: {} operations exceed {}", operations.size(), maxOperations);
+            throw new InvalidParameterException(String.format("Batch can not contain more than %d operations", maxOperations));
+        }
+
+        Set<String> previousIds = new HashSet<>();
+        for (BatchOperationDto operation : operations) {
+            if (!StringUtils.hasText(operation.getId()) || operation.getMethod() == null
+                    || !StringUtils.hasText(operation.getPath())) {
+                throw new InvalidParameterException("Every batch operation needs an id, a method and a path");
+            }
+            // References can only point backwards, which also rules out cycles
+            checkReferences(operation.getPath(), operation.getId(), previousIds);
+            checkReferences(operation.getBody(), operation.getId(), previousIds);
+            if (!previousIds.add(operation.getId())) {
+                throw new InvalidParameterException("Duplicated batch operation id: " + operation.getId());
+            }
+        }
+    }
+
+    private static void checkReferences(Object value, String operationId, Set<String> previousIds) {
+        switch (value) {
+            case String text -> {
+                Matcher matcher = REFERENCE_PATTERN.matcher(text);
+                while (matcher.find()) {
+                    if (!previousIds.contains(matcher.group(1))) {
+                        throw new InvalidParameterException(String.format(
+                                "Operation %s references %s, which is not an earlier operation", operationId, matcher.group(1)));
+                    }
+                }
+            }
+            case Map<?, ?> map -> map.values().forEach(item -> checkReferences(item, operationId, previousIds));
+            case List<?> list -> list.forEach(item -> checkReferences(item, operationId, previousIds));
+            case null, default -> {
+            }
+        }
+    }
+
+    private static Object resolveReferences(Object value, Map<String, Object> responses) {
+        return switch (value) {
+            case String text -> resolveReferences(text, responses);
+            case Map<?, ?> map -> {
+                Map<Object, Object> resolved = new LinkedHashMap<>();
+                map.forEach((key, item) -> resolved.put(key, resolveReferences(item, responses)));
+                yield resolved;
+            }
+            case List<?> list -> list.stream().map(item -> resolveReferences(item, responses)).toList();
+            case null, default -> value;
+        };
+    }
+
+    private static String resolveReferences(String text, Map<String, Object> responses) {
+        Matcher matcher = REFERENCE_PATTERN.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            Object current = responses.get(matcher.group(1));
+            for (String field : matcher.group(2).substring(1).split("\\.")) {
+                current = current instanceof Map<?, ?> map ? map.get(field) : null;
+            }
+            if (current == null) {
+                throw new InvalidParameterException(String.format("Reference %s does not resolve to a value", matcher.group()));
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(current.toString()));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private void route(BatchMethodEnumDto method, String pattern, BatchHandler handler) {
+        routes.add(new BatchRoute(method, PathPatternParser.defaultInstance.parse(pattern), handler));
+    }
+
+    @FunctionalInterface
+    private interface BatchHandler {
+        Object handle(BatchCall call);
+    }
+
+    private record BatchRoute(BatchMethodEnumDto method, PathPattern pattern, BatchHandler handler) {
+    }
+
+    private class BatchCall {
+
+        private final Map<String, String> pathVariables;
+        private final MultiValueMap<String, String> queryParams;
+        private final Object body;
+
+        BatchCall(Map<String, String> pathVariables, MultiValueMap<String, String> queryParams, Object body) {
+            this.pathVariables = pathVariables;
+            this.queryParams = queryParams;
+            this.body = body;
+        }
+
+        String path(String name) {
+            return pathVariables.get(name);
+        }
+
+        String query(String name) {
+            return queryParams.getFirst(name);
+        }
+
+        List<String> stringListBody() {
+            if (!(body instanceof List<?> values)) {
+                throw new InvalidParameterException("Request body must be a list");
+            }
+            return values.stream().map(String::valueOf).toList();
+        }
+
+        Integer intQuery(String name) {
+            String value = query(name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new InvalidParameterException(String.format("Query parameter %s must be a number", name));
+            }
+        }
+
+        <T> T body(Class<T> type) {
+            if (body == null) {
+                throw new InvalidParameterException("Request body is required");
+            }
+            T value;
+            try {
+                value = jsonMapper.convertValue(body, type);
+            } catch (IllegalArgumentException | JacksonException ex) {
+                throw new InvalidParameterException("Request body is not a valid " + type.getSimpleName());
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                throw new InvalidParameterException(String.format("Request body is not a valid %s: %s",
+                        type.getSimpleName(), violations.stream()
+                                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining(", "))));
+            }
+            return value;
+        }
+    }
+}
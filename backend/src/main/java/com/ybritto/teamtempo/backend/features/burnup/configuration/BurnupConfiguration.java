@@ -0,0 +1,21 @@
+package com.ybritto.teamtempo.backend.features.burnup.configuration;
+
+import com.ybritto.teamtempo.backend.features.burnup.service.BurnupService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Setting {@code app.burnup.rebuild-on-startup} recomputes the burn-up of every project before the application
+ * starts serving requests.
+ */
+@Configuration
+public class BurnupConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.burnup.rebuild-on-startup", havingValue = "true")
+    public ApplicationRunner burnupRebuildRunner(BurnupService burnupService) {
+        return args -> burnupService.rebuildAll();
+    }
+}
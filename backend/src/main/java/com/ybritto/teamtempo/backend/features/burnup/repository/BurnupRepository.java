@@ -0,0 +1,86 @@
+package com.ybritto.teamtempo.backend.features.burnup.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and rebuilds the burn-up series kept by the triggers of {@code V13__Create_Project_Burnup.sql}.
+ * <p>
+ * Reading is a primary key lookup returning four integer arrays, whose length is the number of distinct end dates of
+ * the project rather than the number of days it spans.
+ */
+@Repository
+@AllArgsConstructor
+public class BurnupRepository {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final String FIND_SQL = """
+            SELECT p.uuid AS project_uuid,
+                   b.start_epoch_day,
+                   b.planned_offsets,
+                   b.planned_increments,
+                   b.actual_offsets,
+                   b.actual_increments
+            FROM project p
+            LEFT JOIN project_burnup b ON b.project_key_id = p.key_id
+            WHERE p.key_id = :projectId
+            """;
+
+    private static final String PROJECT_IDS_SQL = "SELECT key_id FROM project ORDER BY key_id";
+
+    private static final String REBUILD_SQL = "SELECT rebuild_project_burnup(:projectId)";
+
+    private static final RowMapper<ProjectBurnup> PROJECT_BURNUP_ROW_MAPPER = (rs, rowNum) -> new ProjectBurnup(
+            rs.getObject("project_uuid", UUID.class),
+            rs.getObject("start_epoch_day", Integer.class),
+            intArray(rs.getArray("planned_offsets")),
+            intArray(rs.getArray("planned_increments")),
+            intArray(rs.getArray("actual_offsets")),
+            intArray(rs.getArray("actual_increments")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProjectBurnup findByProjectId(Long projectId) {
+        return jdbcTemplate.queryForObject(FIND_SQL, new MapSqlParameterSource("projectId", projectId),
+                PROJECT_BURNUP_ROW_MAPPER);
+    }
+
+    public List<Long> findAllProjectIds() {
+        return jdbcTemplate.queryForList(PROJECT_IDS_SQL, new MapSqlParameterSource(), Long.class);
+    }
+
+    /**
+     * Recomputes the series of a project from its iterations, in its own transaction so that a backfill only locks
+     * one project at a time.
+     */
+    @Transactional
+    public void rebuild(Long projectId) {
+        jdbcTemplate.queryForList(REBUILD_SQL, new MapSqlParameterSource("projectId", projectId));
+    }
+
+    private static int[] intArray(Array array) throws SQLException {
+        if (array == null) {
+            return EMPTY;
+        }
+        try {
+            Integer[] values = (Integer[]) array.getArray();
+            int[] result = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i];
+            }
+            return result;
+        } finally {
+            array.free();
+        }
+    }
+}
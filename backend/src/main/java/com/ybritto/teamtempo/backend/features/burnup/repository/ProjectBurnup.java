@@ -0,0 +1,41 @@
+package com.ybritto.teamtempo.backend.features.burnup.repository;
+
+import java.util.UUID;
+
+/**
+ * Burn-up series of a project, as maintained in {@code project_burnup}.
+ * <p>
+ * Each series only holds the days on which its cumulative value changes, as ascending offsets from
+ * {@code startEpochDay}, and the change on each of these days. {@code startEpochDay} is {@code null} when both series
+ * are empty.
+ */
+public record ProjectBurnup(
+        UUID projectUuid,
+        Integer startEpochDay,
+        int[] plannedOffsets,
+        int[] plannedIncrements,
+        int[] actualOffsets,
+        int[] actualIncrements) {
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    public int changePoints() {
+        return plannedOffsets.length + actualOffsets.length;
+    }
+
+    /**
+     * Approximate heap size of the series, assuming compressed references: the record, the boxed start day and the
+     * four arrays. The UUID is shared with the project and not counted.
+     */
+    public long sizeInBytes() {
+        long record = OBJECT_HEADER_BYTES + 6L * REFERENCE_BYTES;
+        long start = startEpochDay == null ? 0 : OBJECT_HEADER_BYTES;
+        return record + start + arrayBytes(plannedOffsets) + arrayBytes(plannedIncrements)
+                + arrayBytes(actualOffsets) + arrayBytes(actualIncrements);
+    }
+
+    private static long arrayBytes(int[] array) {
+        return OBJECT_HEADER_BYTES + (long) Integer.BYTES * array.length;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ybritto.teamtempo.backend.features.burnup.series;
+
+import com.ybritto.teamtempo.backend.features.burnup.repository.ProjectBurnup;
+
+import java.time.LocalDate;
+
+/**
+ * Burn-up and burn-down series of a project with one value per day from {@code startDate}.
+ *
+ * @param startDate day of the first value, {@code null} when the series are empty
+ * @param planned   cumulative planned capacity of the iterations planned to end by each day
+ * @param completed cumulative actual capacity of the iterations finished by each day
+ * @param remaining total planned capacity minus the completed capacity of each day
+ */
+public record DailyBurnup(LocalDate startDate, int[] planned, int[] completed, int[] remaining) {
+
+    private static final int[] EMPTY = new int[0];
+
+    public LocalDate endDate() {
+        return startDate == null ? null : startDate.plusDays(planned.length - 1L);
+    }
+
+    /**
+     * Expands delta encoded series into daily values: each change is written on its day, then a running sum turns the
+     * changes into cumulative values. Costs three arrays of the length of the project span and no other allocation.
+     */
+    public static DailyBurnup decode(ProjectBurnup burnup) {
+        if (burnup.startEpochDay() == null) {
+            return new DailyBurnup(null, EMPTY, EMPTY, EMPTY);
+        }
+        int days = Math.max(lastOffset(burnup.plannedOffsets()), lastOffset(burnup.actualOffsets())) + 1;
+        int[] planned = accumulate(burnup.plannedOffsets(), burnup.plannedIncrements(), days);
+        int[] completed = accumulate(burnup.actualOffsets(), burnup.actualIncrements(), days);
+        int totalPlanned = planned[days - 1];
+        int[] remaining = new int[days];
+        for (int day = 0; day < days; day++) {
+            remaining[day] = totalPlanned - completed[day];
+        }
+        return new DailyBurnup(LocalDate.ofEpochDay(burnup.startEpochDay()), planned, completed, remaining);
+    }
+
+    private static int lastOffset(int[] offsets) {
+        return offsets.length == 0 ? 0 : offsets[offsets.length - 1];
+    }
+
+    private static int[] accumulate(int[] offsets, int[] increments, int days) {
+        int[] values = new int[days];
+        for (int i = 0; i < offsets.length; i++) {
+            values[offsets[i]] += increments[i];
+        }
+        for (int day = 1; day < days; day++) {
+            values[day] += values[day - 1];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ybritto.teamtempo.backend.features.burnup.service;
+
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.burnup.repository.BurnupRepository;
+import com.ybritto.teamtempo.backend.features.burnup.repository.ProjectBurnup;
+import com.ybritto.teamtempo.backend.features.burnup.series.DailyBurnup;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.BurnupDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Burn-up and burn-down series of projects, decoded from the delta encoded series the database maintains on every
+ * iteration change.
+ */
+@Service
+@AllArgsConstructor
+public class BurnupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BurnupService.class);
+
+    private final BurnupRepository burnupRepository;
+    private final ProjectRepository projectRepository;
+    private final TeamAccessService teamAccessService;
+    private final ShardSelector shardSelector;
+
+    @Transactional(readOnly = true)
+    public BurnupDto getProjectBurnup(String projectUuid) {
+        logger.debug("Entering method: getProjectBurnup with project uuid: {}", projectUuid);
+        ProjectEntity project = projectRepository.findByUuid(UUIDValidator.validateAndTransform(projectUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Project not found with UUID: {}", projectUuid);
+                    return new NotFoundException("Project not found with uuid: " + projectUuid);
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), project.getTeam(), TeamMemberRoleEnum.VIEWER);
+
+        ProjectBurnup burnup = burnupRepository.findByProjectId(project.getId());
+        DailyBurnup daily = DailyBurnup.decode(burnup);
+        BurnupDto burnupDto = new BurnupDto()
+                .projectUuid(burnup.projectUuid().toString())
+                .startDate(daily.startDate())
+                .endDate(daily.endDate())
+                .planned(toList(daily.planned()))
+                .completed(toList(daily.completed()))
+                .remaining(toList(daily.remaining()))
+                .changePoints(burnup.changePoints())
+                .storedBytes(burnup.sizeInBytes());
+        logger.debug("Exiting method: getProjectBurnup with {} days from {} change points taking {} bytes",
+                daily.planned().length, burnup.changePoints(), burnup.sizeInBytes());
+        return burnupDto;
+    }
+
+    /**
+     * Recomputes the burn-up of every project on every shard, one project per transaction. Meant for backfills and
+     * repairs after the triggers were disabled.
+     *
+     * @return the number of projects rebuilt
+     */
+    public int rebuildAll() {
+        logger.debug("Entering method: rebuildAll");
+        AtomicInteger rebuilt = new AtomicInteger();
+        shardSelector.forEachShard(() -> {
+            List<Long> projectIds = burnupRepository.findAllProjectIds();
+            for (Long projectId : projectIds) {
+                try {
+                    burnupRepository.rebuild(projectId);
+                    rebuilt.incrementAndGet();
+                } catch (DataAccessException ex) {
+                    logger.error("Failed to rebuild the burn-up of project id {} on shard {}",
+                            projectId, shardSelector.currentShard(), ex);
+                }
+            }
+        });
+        logger.info("Rebuilt the burn-up of {} projects", rebuilt.get());
+        return rebuilt.get();
+    }
+
+    private static List<Integer> toList(int[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ybritto.teamtempo.backend.features.calendar.controller;
+
+import com.ybritto.teamtempo.backend.features.calendar.service.WorkingCalendarService;
+import com.ybritto.teamtempo.backend.gen.api.CalendarsApi;
+import com.ybritto.teamtempo.backend.gen.model.TeamCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarImportDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingDaysDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+public class CalendarController implements CalendarsApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarController.class);
+    private final WorkingCalendarService workingCalendarService;
+
+    @Override
+    public ResponseEntity<List<WorkingCalendarDto>> listCalendars() {
+        logger.info("GET /calendars - Retrieving calendars");
+        List<WorkingCalendarDto> calendars = workingCalendarService.getCalendars();
+        logger.info("GET /calendars - {} calendars retrieved", calendars.size());
+        return ResponseEntity.ok(calendars);
+    }
+
+    @Override
+    public ResponseEntity<WorkingCalendarDto> importCalendar(WorkingCalendarImportDto workingCalendarImportDto) {
+        logger.info("POST /calendars - Importing calendar: {}", workingCalendarImportDto.getName());
+        WorkingCalendarDto calendar = workingCalendarService.importCalendar(workingCalendarImportDto);
+        logger.info("POST /calendars - Successfully imported calendar with UUID: {}", calendar.getUuid());
+        return ResponseEntity.ok(calendar);
+    }
+
+    @Override
+    public ResponseEntity<WorkingDaysDto> getWorkingDays(String uuid, LocalDate from, LocalDate to) {
+        logger.info("GET /calendars/{}/working-days - Counting working days from {} to {}", uuid, from, to);
+        WorkingDaysDto workingDays = workingCalendarService.getWorkingDays(uuid, from, to);
+        logger.info("GET /calendars/{}/working-days - {} working days", uuid, workingDays.getWorkingDays());
+        return ResponseEntity.ok(workingDays);
+    }
+
+    @Override
+    public ResponseEntity<TeamCalendarDto> getTeamCalendar(String uuid) {
+        logger.info("GET /teams/{}/calendar - Retrieving team calendar", uuid);
+        TeamCalendarDto teamCalendar = workingCalendarService.getTeamCalendar(uuid);
+        logger.info("GET /teams/{}/calendar - Calendar: {}", uuid, teamCalendar.getCalendarUuid());
+        return ResponseEntity.ok(teamCalendar);
+    }
+
+    @Override
+    public ResponseEntity<TeamCalendarDto> setTeamCalendar(String uuid, TeamCalendarDto teamCalendarDto) {
+        logger.info("PUT /teams/{}/calendar - Setting team calendar: {}", uuid, teamCalendarDto.getCalendarUuid());
+        TeamCalendarDto teamCalendar = workingCalendarService.setTeamCalendar(uuid, teamCalendarDto);
+        logger.info("PUT /teams/{}/calendar - Successfully set team calendar", uuid);
+        return ResponseEntity.ok(teamCalendar);
+    }
+}
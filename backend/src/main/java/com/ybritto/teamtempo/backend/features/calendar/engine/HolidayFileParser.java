@@ -0,0 +1,142 @@
+package com.ybritto.teamtempo.backend.features.calendar.engine;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Reads the holidays of ICS and CSV files.
+ * <p>
+ * Every day of an ICS event is a holiday, from its start date up to its end date, exclusive as in the ICS format, or
+ * its start date alone. Recurring events are rejected rather than read as their first occurrence. A CSV file holds one
+ * holiday per row, the ISO date first and anything after ignored, with an optional header and {@code #} comments.
+ */
+public final class HolidayFileParser {
+
+    // Longest event read as holidays, so that a mistyped end date can not produce decades of them
+    private static final int MAX_EVENT_DAYS = 366;
+
+    private HolidayFileParser() {
+    }
+
+    public static SortedSet<LocalDate> parseIcs(String content) {
+        SortedSet<LocalDate> holidays = new TreeSet<>();
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        boolean inEvent = false;
+        for (String line : unfold(content)) {
+            String name = propertyName(line);
+            switch (name) {
+                case "BEGIN" -> {
+                    if (propertyValue(line).equalsIgnoreCase("VEVENT")) {
+                        inEvent = true;
+                        startDate = null;
+                        endDate = null;
+                    }
+                }
+                case "END" -> {
+                    if (inEvent && propertyValue(line).equalsIgnoreCase("VEVENT")) {
+                        if (startDate == null) {
+                            throw new IllegalArgumentException("An event has no start date");
+                        }
+                        addEvent(holidays, startDate, endDate);
+                        inEvent = false;
+                    }
+                }
+                case "DTSTART" -> startDate = inEvent ? parseIcsDate(propertyValue(line)) : startDate;
+                case "DTEND" -> endDate = inEvent ? parseIcsDate(propertyValue(line)) : endDate;
+                case "RRULE", "RDATE" -> {
+                    if (inEvent) {
+                        throw new IllegalArgumentException("Recurring events are not supported, the occurrences must be listed");
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return holidays;
+    }
+
+    public static SortedSet<LocalDate> parseCsv(String content) {
+        SortedSet<LocalDate> holidays = new TreeSet<>();
+        String[] lines = content.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String field = line.split("[,;\\t]", 2)[0].strip().replace("\"", "");
+            try {
+                holidays.add(LocalDate.parse(field));
+            } catch (DateTimeParseException ex) {
+                // Only the first row may be a header
+                if (!isFirstRow(lines, i)) {
+                    throw new IllegalArgumentException(String.format("Row %d does not start with an ISO date: %s", i + 1, field));
+                }
+            }
+        }
+        return holidays;
+    }
+
+    private static void addEvent(SortedSet<LocalDate> holidays, LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate == null || !endDate.isAfter(startDate) ? startDate.plusDays(1) : endDate;
+        if (end.toEpochDay() - startDate.toEpochDay() > MAX_EVENT_DAYS) {
+            throw new IllegalArgumentException(String.format("The event starting on %s lasts more than %d days",
+                    startDate, MAX_EVENT_DAYS));
+        }
+        startDate.datesUntil(end).forEach(holidays::add);
+    }
+
+    /**
+     * @return the lines of the content, with the continuation lines of the ICS format joined to the line they continue
+     */
+    private static List<String> unfold(String content) {
+        List<String> lines = new ArrayList<>();
+        for (String line : content.split("\\R")) {
+            if (!lines.isEmpty() && (line.startsWith(" ") || line.startsWith("\t"))) {
+                lines.set(lines.size() - 1, lines.getLast() + line.substring(1));
+            } else {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static String propertyName(String line) {
+        int end = 0;
+        while (end < line.length() && line.charAt(end) != ':' && line.charAt(end) != ';') {
+            end++;
+        }
+        return line.substring(0, end).strip().toUpperCase();
+    }
+
+    private static String propertyValue(String line) {
+        int separator = line.indexOf(':');
+        return separator < 0 ? "" : line.substring(separator + 1).strip();
+    }
+
+    /**
+     * Dates of events with a time are read as the day they start, in the time zone they are written in.
+     */
+    private static LocalDate parseIcsDate(String value) {
+        try {
+            return LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid event date: " + value);
+        }
+    }
+
+    private static boolean isFirstRow(String[] lines, int index) {
+        for (int i = 0; i < index; i++) {
+            String line = lines[i].strip();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,204 @@
+package com.ybritto.teamtempo.backend.features.calendar.engine;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Working days of a range of years, as a bitset with one bit per day, plus the weekend days that are never worked.
+ * <p>
+ * Next to the bitset, the number of working days before each 64-bit word is kept, so the working days of any range
+ * are two lookups and two popcounts, whatever its length. Days outside of the years of the bitset only skip the
+ * weekend days, counted in whole weeks, so ranges reaching past the imported years are constant time too.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class WorkingDayCalendar {
+
+    // 1970-01-01, epoch day 0, was a Thursday
+    private static final int EPOCH_DAY_OF_WEEK = DayOfWeek.THURSDAY.ordinal();
+
+    private final EnumSet<DayOfWeek> weekendDays;
+    private final int firstYear;
+    private final int lastYear;
+    private final long firstDay;
+    private final long endDay;
+    private final long[] words;
+    // Working days before each word, with one more entry for the end of the bitset
+    private final int[] ranks;
+    // Working days among the first n days of a week starting on Thursday, like the epoch
+    private final int[] weekRanks = new int[8];
+
+    private WorkingDayCalendar(Set<DayOfWeek> weekendDays, int firstYear, int lastYear, long[] words) {
+        this.weekendDays = weekendDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekendDays);
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.endDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+        this.words = words;
+        this.ranks = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            ranks[i + 1] = ranks[i] + Long.bitCount(words[i]);
+        }
+        for (int day = 0; day < 7; day++) {
+            DayOfWeek dayOfWeek = DayOfWeek.values()[(EPOCH_DAY_OF_WEEK + day) % 7];
+            weekRanks[day + 1] = weekRanks[day] + (this.weekendDays.contains(dayOfWeek) ? 0 : 1);
+        }
+    }
+
+    /**
+     * @param holidays days not worked on top of the weekend days; the calendar covers the years of the holidays, or
+     *                 only the current year without holidays
+     */
+    public static WorkingDayCalendar of(Set<DayOfWeek> weekendDays, Collection<LocalDate> holidays) {
+        int firstYear = holidays.stream().mapToInt(LocalDate::getYear).min().orElse(Year.now().getValue());
+        int lastYear = holidays.stream().mapToInt(LocalDate::getYear).max().orElse(firstYear);
+        long firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        long endDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+        long[] words = new long[wordCount(endDay - firstDay)];
+        for (long day = firstDay; day < endDay; day++) {
+            if (!weekendDays.contains(dayOfWeek(day))) {
+                setBit(words, day - firstDay);
+            }
+        }
+        for (LocalDate holiday : holidays) {
+            clearBit(words, holiday.toEpochDay() - firstDay);
+        }
+        return new WorkingDayCalendar(weekendDays, firstYear, lastYear, words);
+    }
+
+    /**
+     * Rebuilds a calendar from the bitsets of {@link #yearBitsets()}; years missing between the first and the last
+     * only skip the weekend days.
+     */
+    public static WorkingDayCalendar ofYears(Set<DayOfWeek> weekendDays, Map<Integer, byte[]> yearBitsets) {
+        if (yearBitsets.isEmpty()) {
+            return of(weekendDays, Set.of());
+        }
+        int firstYear = yearBitsets.keySet().stream().mapToInt(Integer::intValue).min().orElseThrow();
+        int lastYear = yearBitsets.keySet().stream().mapToInt(Integer::intValue).max().orElseThrow();
+        long firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        long[] words = new long[wordCount(LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - firstDay)];
+        for (int year = firstYear; year <= lastYear; year++) {
+            long offset = LocalDate.of(year, 1, 1).toEpochDay() - firstDay;
+            int length = Year.of(year).length();
+            byte[] bitset = yearBitsets.get(year);
+            for (int day = 0; day < length; day++) {
+                boolean working = bitset == null
+                        ? !weekendDays.contains(dayOfWeek(firstDay + offset + day))
+                        : (bitset[day >>> 3] & (1 << (day & 7))) != 0;
+                if (working) {
+                    setBit(words, offset + day);
+                }
+            }
+        }
+        return new WorkingDayCalendar(weekendDays, firstYear, lastYear, words);
+    }
+
+    /**
+     * @return one bitset per year, bit {@code n} of byte {@code n / 8} set when day {@code n} of the year, from 0, is
+     * worked
+     */
+    public Map<Integer, byte[]> yearBitsets() {
+        Map<Integer, byte[]> yearBitsets = new LinkedHashMap<>();
+        for (int year = firstYear; year <= lastYear; year++) {
+            long offset = LocalDate.of(year, 1, 1).toEpochDay() - firstDay;
+            int length = Year.of(year).length();
+            byte[] bitset = new byte[(length + 7) / 8];
+            for (int day = 0; day < length; day++) {
+                if (isSet(words, offset + day)) {
+                    bitset[day >>> 3] |= (byte) (1 << (day & 7));
+                }
+            }
+            yearBitsets.put(year, bitset);
+        }
+        return yearBitsets;
+    }
+
+    public Set<DayOfWeek> weekendDays() {
+        return EnumSet.copyOf(weekendDays);
+    }
+
+    public int firstYear() {
+        return firstYear;
+    }
+
+    public int lastYear() {
+        return lastYear;
+    }
+
+    /**
+     * @return the holidays of the years of the bitset that fall on a working day of the week
+     */
+    public int holidays() {
+        return (int) (weeklyRank(endDay) - weeklyRank(firstDay)) - ranks[words.length];
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day < firstDay || day >= endDay) {
+            return !weekendDays.contains(date.getDayOfWeek());
+        }
+        return isSet(words, day - firstDay);
+    }
+
+    /**
+     * @return the working days from the start to the end date, both included, or 0 when the end is before the start
+     */
+    public int workingDays(LocalDate startDate, LocalDate endDate) {
+        long startDay = startDate.toEpochDay();
+        long endDayExclusive = endDate.toEpochDay() + 1;
+        if (endDayExclusive <= startDay) {
+            return 0;
+        }
+        return (int) (rank(endDayExclusive) - rank(startDay));
+    }
+
+    /**
+     * @return the working days before the given epoch day, counted from an arbitrary origin
+     */
+    private long rank(long day) {
+        if (day <= firstDay) {
+            return weeklyRank(day);
+        }
+        if (day <= endDay) {
+            return weeklyRank(firstDay) + bitsetRank(day - firstDay);
+        }
+        return weeklyRank(firstDay) + ranks[words.length] + weeklyRank(day) - weeklyRank(endDay);
+    }
+
+    private int bitsetRank(long index) {
+        int word = (int) (index >>> 6);
+        // The last word always has a free bit, so the end of the bitset is within the words
+        return ranks[word] + Long.bitCount(words[word] & ((1L << index) - 1));
+    }
+
+    private long weeklyRank(long day) {
+        return Math.floorDiv(day, 7) * weekRanks[7] + weekRanks[(int) Math.floorMod(day, 7)];
+    }
+
+    private static DayOfWeek dayOfWeek(long epochDay) {
+        return DayOfWeek.values()[(int) Math.floorMod(EPOCH_DAY_OF_WEEK + epochDay, 7)];
+    }
+
+    private static int wordCount(long days) {
+        return (int) (days >>> 6) + 1;
+    }
+
+    private static void setBit(long[] words, long index) {
+        words[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    private static void clearBit(long[] words, long index) {
+        words[(int) (index >>> 6)] &= ~(1L << index);
+    }
+
+    private static boolean isSet(long[] words, long index) {
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+}
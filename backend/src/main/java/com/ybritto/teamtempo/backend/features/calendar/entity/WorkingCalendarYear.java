@@ -0,0 +1,21 @@
+package com.ybritto.teamtempo.backend.features.calendar.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkingCalendarYear {
+
+    @Column(name = "calendar_year", nullable = false)
+    private int year;
+
+    // Bit n of byte n / 8 set when day n of the year, from 0, is worked
+    @Column(name = "working_days", nullable = false, length = 46)
+    private byte[] workingDays;
+}
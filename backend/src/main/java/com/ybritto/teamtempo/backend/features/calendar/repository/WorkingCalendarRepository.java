@@ -0,0 +1,21 @@
+package com.ybritto.teamtempo.backend.features.calendar.repository;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.features.calendar.entity.WorkingCalendarEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WorkingCalendarRepository extends JpaRepository<WorkingCalendarEntity, Long> {
+
+    @Query("select c from WorkingCalendarEntity c where c.user = :user order by c.name, c.id")
+    List<WorkingCalendarEntity> findAllByUserOrderByName(@Param("user") UserEntity user);
+
+    Optional<WorkingCalendarEntity> findByUuidAndUser(UUID uuid, UserEntity user);
+}
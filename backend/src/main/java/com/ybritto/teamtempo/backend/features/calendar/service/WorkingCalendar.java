@@ -0,0 +1,11 @@
+package com.ybritto.teamtempo.backend.features.calendar.service;
+
+import com.ybritto.teamtempo.backend.features.calendar.engine.WorkingDayCalendar;
+
+import java.util.UUID;
+
+/**
+ * Calendar as loaded from the database; calendars are never updated, so it can be kept for as long as needed.
+ */
+public record WorkingCalendar(long id, UUID uuid, String name, WorkingDayCalendar days) {
+}
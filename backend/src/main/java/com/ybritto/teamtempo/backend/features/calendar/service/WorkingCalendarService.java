@@ -0,0 +1,260 @@
+package com.ybritto.teamtempo.backend.features.calendar.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.EntityValidator;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.calendar.engine.HolidayFileParser;
+import com.ybritto.teamtempo.backend.features.calendar.engine.WorkingDayCalendar;
+import com.ybritto.teamtempo.backend.features.calendar.entity.WorkingCalendarEntity;
+import com.ybritto.teamtempo.backend.features.calendar.entity.WorkingCalendarYear;
+import com.ybritto.teamtempo.backend.features.calendar.repository.WorkingCalendarRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.DayOfWeekEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarImportDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingDaysDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+/**
+ * Working-day calendars, imported from the holidays of ICS or CSV files and attached to teams, see
+ * {@link WorkingDayCalendar}.
+ * <p>
+ * A calendar belongs to the user who imported it and can only be attached to the teams this user owns, so calendars
+ * and the teams using them always live on the shard of their owner. Calendars of other users are reported as not
+ * found.
+ * <p>
+ * Calendars are never updated once imported, so the bitsets loaded for a calendar are cached by its key for as long as
+ * the cache keeps it, and counting the working days of an iteration costs no query.
+ */
+@Service
+public class WorkingCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingCalendarService.class);
+
+    private static final Set<DayOfWeek> DEFAULT_WEEKEND_DAYS = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    private final WorkingCalendarRepository workingCalendarRepository;
+    private final TeamRepository teamRepository;
+    private final TeamAccessService teamAccessService;
+    private final int maxYears;
+    private final Cache<Long, WorkingCalendar> calendars;
+
+    public WorkingCalendarService(WorkingCalendarRepository workingCalendarRepository,
+                                  TeamRepository teamRepository,
+                                  TeamAccessService teamAccessService,
+                                  @Value("${app.calendars.max-years:100}") int maxYears,
+                                  @Value("${app.calendars.cache.max-calendars:1000}") long maxCachedCalendars,
+                                  MeterRegistry meterRegistry) {
+        this.workingCalendarRepository = workingCalendarRepository;
+        this.teamRepository = teamRepository;
+        this.teamAccessService = teamAccessService;
+        this.maxYears = maxYears;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maxCachedCalendars)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, "working-calendars");
+    }
+
+    @Transactional(readOnly = true)
+    public List<WorkingCalendarDto> getCalendars() {
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        logger.debug("Entering method: getCalendars for user: {}", user.getEmail());
+        List<WorkingCalendarDto> calendarDtos = workingCalendarRepository.findAllByUserOrderByName(user).stream()
+                .map(entity -> calendars.get(entity.getId(), id -> toCalendar(entity)))
+                .map(WorkingCalendarService::mapToDto)
+                .toList();
+        logger.debug("Exiting method: getCalendars with {} calendars", calendarDtos.size());
+        return calendarDtos;
+    }
+
+    @Transactional
+    public WorkingCalendarDto importCalendar(WorkingCalendarImportDto importDto) {
+        logger.debug("Entering method: importCalendar with name: {}, format: {}", importDto.getName(), importDto.getFormat());
+        if (importDto.getFormat() == null || importDto.getContent() == null) {
+            throw new InvalidParameterException("The format and the content of the calendar file are required");
+        }
+        SortedSet<LocalDate> holidays;
+        try {
+            holidays = switch (importDto.getFormat()) {
+                case ICS -> HolidayFileParser.parseIcs(importDto.getContent());
+                case CSV -> HolidayFileParser.parseCsv(importDto.getContent());
+            };
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Calendar {} rejected: {}", importDto.getName(), ex.getMessage());
+            throw new InvalidParameterException("Invalid calendar file: " + ex.getMessage());
+        }
+        if (!holidays.isEmpty() && holidays.last().getYear() - holidays.first().getYear() >= maxYears) {
+            logger.warn("Calendar {} rejected: holidays span {} to {}", importDto.getName(), holidays.first(), holidays.last());
+            throw new InvalidParameterException(String.format("The holidays of a calendar can span at most %d years", maxYears));
+        }
+        Set<DayOfWeek> weekendDays = importDto.getWeekendDays() == null || importDto.getWeekendDays().isEmpty()
+                ? DEFAULT_WEEKEND_DAYS
+                : importDto.getWeekendDays().stream()
+                .map(day -> DayOfWeek.valueOf(day.name()))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(DayOfWeek.class)));
+
+        WorkingDayCalendar days = WorkingDayCalendar.of(weekendDays, holidays);
+        WorkingCalendarEntity calendarToCreate = WorkingCalendarEntity.builder()
+                .name(importDto.getName())
+                .weekendDays(toWeekendMask(weekendDays))
+                .user(AuthenticationUtils.getAuthenticatedUser())
+                .years(days.yearBitsets().entrySet().stream()
+                        .map(year -> new WorkingCalendarYear(year.getKey(), year.getValue()))
+                        .toList())
+                .build();
+        EntityValidator.validateEntity(calendarToCreate);
+        WorkingCalendarEntity createdCalendar = workingCalendarRepository.save(calendarToCreate);
+        WorkingCalendar calendar = new WorkingCalendar(createdCalendar.getId(), createdCalendar.getUuid(),
+                createdCalendar.getName(), days);
+        calendars.put(calendar.id(), calendar);
+
+        logger.info("Successfully imported calendar: {} with UUID: {}, {} holidays from {} to {}",
+                calendar.name(), calendar.uuid(), days.holidays(), days.firstYear(), days.lastYear());
+        return mapToDto(calendar);
+    }
+
+    @Transactional(readOnly = true)
+    public WorkingDaysDto getWorkingDays(String calendarUuid, LocalDate from, LocalDate to) {
+        logger.debug("Entering method: getWorkingDays with calendar uuid: {}, from: {}, to: {}", calendarUuid, from, to);
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new InvalidParameterException("The range must start on or before the day it ends");
+        }
+        WorkingCalendar calendar = findCalendar(calendarUuid, AuthenticationUtils.getAuthenticatedUser());
+
+        int workingDays = calendar.days().workingDays(from, to);
+        logger.debug("Exiting method: getWorkingDays with {} working days", workingDays);
+        return new WorkingDaysDto()
+                .calendarUuid(calendarUuid)
+                .from(from)
+                .to(to)
+                .workingDays(workingDays);
+    }
+
+    @Transactional(readOnly = true)
+    public TeamCalendarDto getTeamCalendar(String teamUuid) {
+        logger.debug("Entering method: getTeamCalendar with team uuid: {}", teamUuid);
+        TeamEntity team = findTeam(teamUuid, TeamMemberRoleEnum.VIEWER);
+
+        TeamCalendarDto teamCalendar = mapToTeamCalendarDto(findTeamCalendar(team).orElse(null));
+        logger.debug("Exiting method: getTeamCalendar with calendar: {}", teamCalendar.getCalendarUuid());
+        return teamCalendar;
+    }
+
+    @Transactional
+    public TeamCalendarDto setTeamCalendar(String teamUuid, TeamCalendarDto teamCalendarDto) {
+        logger.debug("Entering method: setTeamCalendar with team uuid: {}, calendar uuid: {}",
+                teamUuid, teamCalendarDto.getCalendarUuid());
+        TeamEntity team = findTeam(teamUuid, TeamMemberRoleEnum.EDITOR);
+        WorkingCalendar calendar = StringUtils.hasText(teamCalendarDto.getCalendarUuid())
+                ? findCalendar(teamCalendarDto.getCalendarUuid(), team.getUser())
+                : null;
+
+        teamRepository.save(team.toBuilder()
+                .workingCalendarId(calendar == null ? null : calendar.id())
+                .build());
+        logger.info("Successfully set the calendar of team {} to {}", teamUuid, calendar == null ? null : calendar.uuid());
+        return mapToTeamCalendarDto(calendar);
+    }
+
+    /**
+     * @return the calendar attached to the team, if any
+     */
+    public Optional<WorkingCalendar> findTeamCalendar(TeamEntity team) {
+        if (team.getWorkingCalendarId() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(calendars.get(team.getWorkingCalendarId(), id -> workingCalendarRepository.findById(id)
+                .map(WorkingCalendarService::toCalendar)
+                .orElse(null)));
+    }
+
+    private WorkingCalendar findCalendar(String calendarUuid, UserEntity owner) {
+        WorkingCalendarEntity entity = workingCalendarRepository
+                .findByUuidAndUser(UUIDValidator.validateAndTransform(calendarUuid), owner)
+                .orElseThrow(() -> {
+                    logger.warn("Calendar not found with UUID: {} for user id: {}", calendarUuid, owner.getId());
+                    return new NotFoundException("Calendar not found with uuid: " + calendarUuid);
+                });
+        return calendars.get(entity.getId(), id -> toCalendar(entity));
+    }
+
+    private TeamEntity findTeam(String teamUuid, TeamMemberRoleEnum requiredRole) {
+        TeamEntity team = teamRepository.findByUuid(UUIDValidator.validateAndTransform(teamUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Team not found with UUID: {}", teamUuid);
+                    return new NotFoundException(String.format("Team with uuid %s not found", teamUuid));
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, requiredRole);
+        return team;
+    }
+
+    private static WorkingCalendar toCalendar(WorkingCalendarEntity entity) {
+        Map<Integer, byte[]> yearBitsets = entity.getYears().stream()
+                .collect(Collectors.toMap(WorkingCalendarYear::getYear, WorkingCalendarYear::getWorkingDays));
+        return new WorkingCalendar(entity.getId(), entity.getUuid(), entity.getName(),
+                WorkingDayCalendar.ofYears(toWeekendDays(entity.getWeekendDays()), yearBitsets));
+    }
+
+    private static short toWeekendMask(Set<DayOfWeek> weekendDays) {
+        int mask = 0;
+        for (DayOfWeek day : weekendDays) {
+            mask |= 1 << day.ordinal();
+        }
+        return (short) mask;
+    }
+
+    private static Set<DayOfWeek> toWeekendDays(short mask) {
+        Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << day.ordinal())) != 0) {
+                weekendDays.add(day);
+            }
+        }
+        return weekendDays;
+    }
+
+    private static WorkingCalendarDto mapToDto(WorkingCalendar calendar) {
+        return new WorkingCalendarDto()
+                .uuid(calendar.uuid().toString())
+                .name(calendar.name())
+                .weekendDays(calendar.days().weekendDays().stream()
+                        .map(day -> DayOfWeekEnumDto.valueOf(day.name()))
+                        .toList())
+                .firstYear(calendar.days().firstYear())
+                .lastYear(calendar.days().lastYear())
+                .holidays(calendar.days().holidays());
+    }
+
+    private static TeamCalendarDto mapToTeamCalendarDto(WorkingCalendar calendar) {
+        return new TeamCalendarDto()
+                .calendarUuid(calendar == null ? null : calendar.uuid().toString())
+                .calendarName(calendar == null ? null : calendar.name());
+    }
+}
@@ -0,0 +1,26 @@
+package com.ybritto.teamtempo.backend.features.dashboard.controller;
+
+import com.ybritto.teamtempo.backend.features.dashboard.service.DashboardService;
+import com.ybritto.teamtempo.backend.gen.api.DashboardApi;
+import com.ybritto.teamtempo.backend.gen.model.DashboardSummaryDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class DashboardController implements DashboardApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+    private final DashboardService dashboardService;
+
+    @Override
+    public ResponseEntity<DashboardSummaryDto> getDashboardSummary() {
+        logger.info("GET /dashboard/summary - Retrieving dashboard summary");
+        DashboardSummaryDto summary = dashboardService.getDashboardSummary();
+        logger.info("GET /dashboard/summary - Summary of {} teams retrieved", summary.getTeams().size());
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ybritto.teamtempo.backend.features.dashboard.mapper;
+
+import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
+import com.ybritto.teamtempo.backend.features.dashboard.repository.TeamSummary;
+import com.ybritto.teamtempo.backend.gen.model.DashboardSummaryDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationSummaryDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamSummaryDto;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueMappingStrategy;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT,
+        uses = {CommonsMapper.class})
+public interface DashboardMapper {
+
+    List<TeamSummaryDto> mapToDtoList(List<TeamSummary> teamSummaries);
+
+    TeamSummaryDto mapToDto(TeamSummary teamSummary);
+
+    // Teams without a current or next iteration get no iteration instead of an empty one
+    @BeanMapping(nullValueMappingStrategy = NullValueMappingStrategy.RETURN_NULL)
+    IterationSummaryDto mapToDto(TeamSummary.IterationSummary iterationSummary);
+
+    default DashboardSummaryDto mapToSummaryDto(List<TeamSummary> teamSummaries, OffsetDateTime generatedAt) {
+        DashboardSummaryDto summaryDto = new DashboardSummaryDto();
+        summaryDto.setGeneratedAt(generatedAt);
+        summaryDto.setTeams(mapToDtoList(teamSummaries));
+        return summaryDto;
+    }
+}
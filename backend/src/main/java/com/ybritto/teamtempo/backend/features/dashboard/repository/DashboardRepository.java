@@ -0,0 +1,143 @@
+package com.ybritto.teamtempo.backend.features.dashboard.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dashboard figures of every team of a user, computed in a single statement.
+ * <p>
+ * Capacity totals are window sums over the iterations of each team and the current and next iteration are picked
+ * with {@code row_number()}, so the teams, projects, configurations and iterations are read once instead of once
+ * per team.
+ */
+@Repository
+@AllArgsConstructor
+public class DashboardRepository {
+
+    private static final String SUMMARY_SQL = """
+            WITH my_teams AS (
+                SELECT t.key_id, t.uuid, t.name
+                FROM team t
+                JOIN team_member m ON m.team_id = t.key_id AND m.app_user_id = :userId
+            ),
+            project_counts AS (
+                SELECT p.team_id,
+                       count(*) AS project_count,
+                       count(*) FILTER (WHERE p.is_active) AS active_project_count
+                FROM project p
+                JOIN my_teams mt ON mt.key_id = p.team_id
+                GROUP BY p.team_id
+            ),
+            configuration_units AS (
+                SELECT p.team_id,
+                       array_agg(DISTINCT c.capacity_unit ORDER BY c.capacity_unit) AS capacity_units,
+                       array_agg(DISTINCT c.forcast_unit ORDER BY c.forcast_unit) AS forecast_units
+                FROM project_configuration c
+                JOIN project p ON p.key_id = c.project_id
+                JOIN my_teams mt ON mt.key_id = p.team_id
+                WHERE c.is_active
+                GROUP BY p.team_id
+            ),
+            team_iterations AS (
+                SELECT p.team_id, i.uuid, i.name, i.planned_start_date, i.planned_end_date,
+                       sum(i.planned_capacity) OVER (PARTITION BY p.team_id) AS planned_capacity_total,
+                       sum(i.actual_capacity) OVER (PARTITION BY p.team_id) AS actual_capacity_total,
+                       CASE
+                           WHEN i.planned_start_date <= :today
+                                AND (i.planned_end_date IS NULL OR i.planned_end_date >= :today) THEN 1
+                           WHEN i.planned_start_date > :today THEN 2
+                       END AS slot
+                FROM iteration i
+                JOIN project p ON p.key_id = i.project_key_id
+                JOIN my_teams mt ON mt.key_id = p.team_id
+            ),
+            ranked_iterations AS (
+                -- The current iteration is the latest one started, the next one the earliest one to start
+                SELECT ti.*,
+                       row_number() OVER (
+                           PARTITION BY ti.team_id, ti.slot
+                           ORDER BY CASE WHEN ti.slot = 1 THEN ti.planned_start_date END DESC NULLS LAST,
+                                    ti.planned_start_date, ti.uuid
+                       ) AS position
+                FROM team_iterations ti
+            )
+            SELECT mt.uuid AS team_uuid,
+                   mt.name AS team_name,
+                   coalesce(pc.project_count, 0) AS project_count,
+                   coalesce(pc.active_project_count, 0) AS active_project_count,
+                   cu.capacity_units,
+                   cu.forecast_units,
+                   coalesce(max(ri.planned_capacity_total), 0) AS planned_capacity_total,
+                   coalesce(max(ri.actual_capacity_total), 0) AS actual_capacity_total,
+                   max(ri.uuid::text) FILTER (WHERE ri.slot = 1 AND ri.position = 1) AS current_uuid,
+                   max(ri.name) FILTER (WHERE ri.slot = 1 AND ri.position = 1) AS current_name,
+                   max(ri.planned_start_date) FILTER (WHERE ri.slot = 1 AND ri.position = 1) AS current_start_date,
+                   max(ri.planned_end_date) FILTER (WHERE ri.slot = 1 AND ri.position = 1) AS current_end_date,
+                   max(ri.uuid::text) FILTER (WHERE ri.slot = 2 AND ri.position = 1) AS next_uuid,
+                   max(ri.name) FILTER (WHERE ri.slot = 2 AND ri.position = 1) AS next_name,
+                   max(ri.planned_start_date) FILTER (WHERE ri.slot = 2 AND ri.position = 1) AS next_start_date,
+                   max(ri.planned_end_date) FILTER (WHERE ri.slot = 2 AND ri.position = 1) AS next_end_date
+            FROM my_teams mt
+            LEFT JOIN project_counts pc ON pc.team_id = mt.key_id
+            LEFT JOIN configuration_units cu ON cu.team_id = mt.key_id
+            LEFT JOIN ranked_iterations ri ON ri.team_id = mt.key_id
+            GROUP BY mt.key_id, mt.uuid, mt.name, pc.project_count, pc.active_project_count,
+                     cu.capacity_units, cu.forecast_units
+            ORDER BY mt.name, mt.uuid
+            """;
+
+    private static final RowMapper<TeamSummary> TEAM_SUMMARY_ROW_MAPPER = (rs, rowNum) -> new TeamSummary(
+            rs.getObject("team_uuid", UUID.class),
+            rs.getString("team_name"),
+            rs.getInt("project_count"),
+            rs.getInt("active_project_count"),
+            stringList(rs.getArray("capacity_units")),
+            stringList(rs.getArray("forecast_units")),
+            rs.getLong("planned_capacity_total"),
+            rs.getLong("actual_capacity_total"),
+            iteration(rs, "current"),
+            iteration(rs, "next"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<TeamSummary> findTeamSummaries(Long userId, LocalDate today) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("today", today);
+        return jdbcTemplate.query(SUMMARY_SQL, parameters, TEAM_SUMMARY_ROW_MAPPER);
+    }
+
+    private static TeamSummary.IterationSummary iteration(ResultSet rs, String prefix) throws SQLException {
+        String uuid = rs.getString(prefix + "_uuid");
+        if (uuid == null) {
+            return null;
+        }
+        return new TeamSummary.IterationSummary(
+                UUID.fromString(uuid),
+                rs.getString(prefix + "_name"),
+                rs.getObject(prefix + "_start_date", LocalDate.class),
+                rs.getObject(prefix + "_end_date", LocalDate.class));
+    }
+
+    private static List<String> stringList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.asList((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ybritto.teamtempo.backend.features.dashboard.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One row of the dashboard summary query.
+ */
+public record TeamSummary(
+        UUID teamUuid,
+        String teamName,
+        int projectCount,
+        int activeProjectCount,
+        List<String> capacityUnits,
+        List<String> forecastUnits,
+        long plannedCapacityTotal,
+        long actualCapacityTotal,
+        IterationSummary currentIteration,
+        IterationSummary nextIteration) {
+
+    public record IterationSummary(UUID uuid, String name, LocalDate startDate, LocalDate endDate) {
+    }
+}
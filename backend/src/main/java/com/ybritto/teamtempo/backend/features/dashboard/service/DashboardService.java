@@ -0,0 +1,92 @@
+package com.ybritto.teamtempo.backend.features.dashboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.features.dashboard.mapper.DashboardMapper;
+import com.ybritto.teamtempo.backend.features.dashboard.repository.DashboardRepository;
+import com.ybritto.teamtempo.backend.features.dashboard.repository.TeamSummary;
+import com.ybritto.teamtempo.backend.gen.model.DashboardSummaryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard summary of the authenticated user.
+ * <p>
+ * The summary is computed by one aggregate query and kept for the most recently active
+ * {@code app.dashboard.max-users} users. Committed writes evict the summaries containing the changed team, and a
+ * summary computed on a previous day is recomputed since the current and next iterations depend on the date.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final DashboardRepository dashboardRepository;
+    private final DashboardMapper dashboardMapper;
+    private final Cache<Long, CachedSummary> summariesByUser;
+    private final AtomicLong modifications = new AtomicLong();
+
+    public DashboardService(DashboardRepository dashboardRepository,
+                            DashboardMapper dashboardMapper,
+                            @Value("${app.dashboard.max-users:1000}") long maxUsers) {
+        this.dashboardRepository = dashboardRepository;
+        this.dashboardMapper = dashboardMapper;
+        this.summariesByUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public DashboardSummaryDto getDashboardSummary() {
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        logger.debug("Entering method: getDashboardSummary for user: {}", user.getEmail());
+
+        LocalDate today = LocalDate.now();
+        CachedSummary cached = summariesByUser.getIfPresent(user.getId());
+        if (cached != null && cached.day().equals(today)) {
+            logger.debug("Exiting method: getDashboardSummary with cached summary of {} teams", cached.teamUuids().size());
+            return cached.summary();
+        }
+
+        long modificationsBeforeLoad = modifications.get();
+        List<TeamSummary> teamSummaries = dashboardRepository.findTeamSummaries(user.getId(), today);
+        DashboardSummaryDto summary = dashboardMapper.mapToSummaryDto(teamSummaries, OffsetDateTime.now());
+        // A write committed while the query ran may be missing from the result, so only cache clean loads
+        if (modificationsBeforeLoad == modifications.get()) {
+            Set<UUID> teamUuids = teamSummaries.stream()
+                    .map(TeamSummary::teamUuid)
+                    .collect(Collectors.toUnmodifiableSet());
+            summariesByUser.put(user.getId(), new CachedSummary(today, teamUuids, summary));
+        }
+
+        logger.debug("Exiting method: getDashboardSummary with {} teams", teamSummaries.size());
+        return summary;
+    }
+
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        modifications.incrementAndGet();
+        switch (event.entityType()) {
+            // New teams and memberships are not part of any cached summary yet, so their users can not be found
+            case TEAM, TEAM_MEMBER -> summariesByUser.invalidateAll();
+            default -> summariesByUser.asMap().values()
+                    .removeIf(cached -> event.teamUuid() == null || cached.teamUuids().contains(event.teamUuid()));
+        }
+    }
+
+    private record CachedSummary(LocalDate day, Set<UUID> teamUuids, DashboardSummaryDto summary) {
+    }
+}
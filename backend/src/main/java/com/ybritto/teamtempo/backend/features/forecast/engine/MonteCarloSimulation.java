@@ -0,0 +1,156 @@
+package com.ybritto.teamtempo.backend.features.forecast.engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of the number of iterations needed to deliver some remaining work.
+ * <p>
+ * Each trial draws iteration outcomes from the historical samples, with replacement, until the remaining work is
+ * reached. Trials are split into fork-join tasks, each with its own {@link SplittableRandom} split from the seed, and
+ * every task counts its outcomes in a primitive histogram, so no state is shared while trials run and results only
+ * depend on the seed, not on the parallelism.
+ * <p>
+ * When iterations do not all have the same number of working days, trials can instead draw the work delivered per
+ * working day by past iterations, scaled by the working days of each upcoming iteration.
+ */
+public final class MonteCarloSimulation {
+
+    // Fixed so that trials are split the same way, and so draw the same numbers, whatever the parallelism. Small
+    // enough to give every worker a few tasks, which lets idle workers steal from the slower ones
+    private static final int TRIALS_PER_TASK = 4096;
+
+    private MonteCarloSimulation() {
+    }
+
+    /**
+     * @param samples       work delivered by past iterations
+     * @param remainingWork work left to deliver
+     * @param trials        number of trials
+     * @param maxIterations trials still short of the remaining work after this many iterations are counted as not done
+     * @param seed          seed of the random draws
+     */
+    public static SimulationResult run(ForkJoinPool pool, int[] samples, int remainingWork, int trials,
+                                       int maxIterations, long seed) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        if (remainingWork <= 0 || trials <= 0 || maxIterations <= 0) {
+            throw new IllegalArgumentException("Remaining work, trials and maximum iterations must be positive");
+        }
+        return invoke(pool, new Draws(samples, null, null), remainingWork, trials, maxIterations, seed);
+    }
+
+    /**
+     * @param dailyRates           work delivered per working day by past iterations
+     * @param iterationWorkingDays working days of the upcoming iterations, the last one repeated for any iteration after
+     * @param remainingWork        work left to deliver
+     * @param trials               number of trials
+     * @param maxIterations        trials still short of the remaining work after this many iterations are counted as
+     *                             not done
+     * @param seed                 seed of the random draws
+     */
+    public static SimulationResult runByWorkingDays(ForkJoinPool pool, double[] dailyRates, int[] iterationWorkingDays,
+                                                    int remainingWork, int trials, int maxIterations, long seed) {
+        if (dailyRates.length == 0 || iterationWorkingDays.length == 0) {
+            throw new IllegalArgumentException("At least one rate and one upcoming iteration are required");
+        }
+        if (remainingWork <= 0 || trials <= 0 || maxIterations <= 0) {
+            throw new IllegalArgumentException("Remaining work, trials and maximum iterations must be positive");
+        }
+        return invoke(pool, new Draws(null, dailyRates, iterationWorkingDays), remainingWork, trials, maxIterations,
+                seed);
+    }
+
+    private static SimulationResult invoke(ForkJoinPool pool, Draws draws, int remainingWork, int trials,
+                                           int maxIterations, long seed) {
+        int[] histogram = pool.invoke(new TrialTask(draws, remainingWork, maxIterations, trials, TRIALS_PER_TASK,
+                new SplittableRandom(seed)));
+        return new SimulationResult(trials, maxIterations, histogram);
+    }
+
+    /**
+     * Either whole iteration samples, or daily rates with the working days of the upcoming iterations.
+     */
+    private record Draws(int[] samples, double[] dailyRates, int[] iterationWorkingDays) {
+    }
+
+    private static final class TrialTask extends RecursiveTask<int[]> {
+
+        private final Draws draws;
+        private final int remainingWork;
+        private final int maxIterations;
+        private final int trials;
+        private final int trialsPerTask;
+        private final SplittableRandom random;
+
+        private TrialTask(Draws draws, int remainingWork, int maxIterations, int trials, int trialsPerTask,
+                          SplittableRandom random) {
+            this.draws = draws;
+            this.remainingWork = remainingWork;
+            this.maxIterations = maxIterations;
+            this.trials = trials;
+            this.trialsPerTask = trialsPerTask;
+            this.random = random;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (trials <= trialsPerTask) {
+                return runTrials();
+            }
+            int half = trials / 2;
+            // The split happens before forking, so each task gets the same stream whatever thread runs it
+            TrialTask left = new TrialTask(draws, remainingWork, maxIterations, half, trialsPerTask, random.split());
+            TrialTask right = new TrialTask(draws, remainingWork, maxIterations, trials - half, trialsPerTask, random);
+            left.fork();
+            int[] histogram = right.compute();
+            int[] leftHistogram = left.join();
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += leftHistogram[i];
+            }
+            return histogram;
+        }
+
+        private int[] runTrials() {
+            return draws.samples() != null ? runSampleTrials(draws.samples()) : runDailyRateTrials();
+        }
+
+        private int[] runSampleTrials(int[] samples) {
+            // Index n counts the trials done after n iterations, the last index the trials not done within the limit
+            int[] histogram = new int[maxIterations + 2];
+            int sampleCount = samples.length;
+            for (int trial = 0; trial < trials; trial++) {
+                long delivered = 0;
+                int iterations = 0;
+                while (delivered < remainingWork && iterations < maxIterations) {
+                    delivered += samples[random.nextInt(sampleCount)];
+                    iterations++;
+                }
+                histogram[delivered >= remainingWork ? iterations : maxIterations + 1]++;
+            }
+            return histogram;
+        }
+
+        private int[] runDailyRateTrials() {
+            double[] dailyRates = draws.dailyRates();
+            int[] workingDays = draws.iterationWorkingDays();
+            int[] histogram = new int[maxIterations + 2];
+            int rateCount = dailyRates.length;
+            int lastIteration = workingDays.length - 1;
+            // Rates are fractions, so sums a rounding error short of the remaining work still count as done
+            double target = remainingWork - 1e-9;
+            for (int trial = 0; trial < trials; trial++) {
+                double delivered = 0;
+                int iterations = 0;
+                while (delivered < target && iterations < maxIterations) {
+                    delivered += dailyRates[random.nextInt(rateCount)] * workingDays[Math.min(iterations, lastIteration)];
+                    iterations++;
+                }
+                histogram[delivered >= target ? iterations : maxIterations + 1]++;
+            }
+            return histogram;
+        }
+    }
+}
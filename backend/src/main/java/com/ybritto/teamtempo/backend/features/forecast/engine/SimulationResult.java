@@ -0,0 +1,36 @@
+package com.ybritto.teamtempo.backend.features.forecast.engine;
+
+/**
+ * Outcomes of a {@link MonteCarloSimulation}: {@code histogram[n]} trials were done after {@code n} iterations and
+ * {@code histogram[maxIterations + 1]} trials were not done within {@code maxIterations} iterations.
+ */
+public record SimulationResult(int trials, int maxIterations, int[] histogram) {
+
+    /**
+     * @param percentile between 0 exclusive and 100 inclusive
+     * @return the smallest number of iterations within which at least {@code percentile}% of the trials were done,
+     * or -1 when that takes more than {@code maxIterations} iterations
+     */
+    public int iterationsAt(double percentile) {
+        long required = (long) Math.ceil(trials * percentile / 100);
+        long done = 0;
+        for (int iterations = 0; iterations <= maxIterations; iterations++) {
+            done += histogram[iterations];
+            if (done >= required) {
+                return iterations;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the share of trials done within the given number of iterations, between 0 and 1
+     */
+    public double probabilityWithin(int iterations) {
+        long done = 0;
+        for (int i = 0; i <= Math.min(iterations, maxIterations); i++) {
+            done += histogram[i];
+        }
+        return (double) done / trials;
+    }
+}
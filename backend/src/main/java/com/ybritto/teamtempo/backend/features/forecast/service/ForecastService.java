@@ -0,0 +1,333 @@
+package com.ybritto.teamtempo.backend.features.forecast.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.calendar.engine.WorkingDayCalendar;
+import com.ybritto.teamtempo.backend.features.calendar.service.WorkingCalendar;
+import com.ybritto.teamtempo.backend.features.calendar.service.WorkingCalendarService;
+import com.ybritto.teamtempo.backend.features.forecast.engine.MonteCarloSimulation;
+import com.ybritto.teamtempo.backend.features.forecast.engine.SimulationResult;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.DurationUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ForecastUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.repository.ProjectConfigurationRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.ForecastDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastMetricEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastPercentileDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastRequestDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Monte Carlo delivery forecasts of projects, see {@link MonteCarloSimulation}.
+ * <p>
+ * The samples are loaded in a short read-only transaction and the trials run afterwards on a dedicated fork-join
+ * pool, so a large simulation holds neither a database connection nor the threads of the common pool.
+ * <p>
+ * Results are cached under the data version of the project, which the database bumps on every write of its iterations
+ * and configurations. The version and the samples are read from the same snapshot, so a cached result always matches
+ * the data of its version, and a write makes the previous results unreachable instead of relying on an eviction.
+ * <p>
+ * Forecasts in man-days of a team with a working-day calendar draw the work delivered per working day instead, scaled
+ * by the working days of each upcoming iteration, so holidays ahead lengthen the forecast. The calendar is part of the
+ * cache key, since attaching one does not change the data version of the project.
+ */
+@Service
+public class ForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastService.class);
+
+    private static final int MIN_TRIALS = 10_000;
+    private static final List<Double> DEFAULT_PERCENTILES = List.of(50.0, 85.0, 95.0);
+    private static final int ENTRY_BASE_WEIGHT = 512;
+    private static final int PERCENTILE_WEIGHT = 96;
+
+    private final ProjectRepository projectRepository;
+    private final IterationRepository iterationRepository;
+    private final ProjectConfigurationRepository projectConfigurationRepository;
+    private final TeamAccessService teamAccessService;
+    private final WorkingCalendarService workingCalendarService;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ForkJoinPool pool;
+    private final int maxTrials;
+    private final int maxIterations;
+    private final Cache<ForecastKey, Forecast> forecasts;
+
+    public ForecastService(ProjectRepository projectRepository,
+                           IterationRepository iterationRepository,
+                           ProjectConfigurationRepository projectConfigurationRepository,
+                           TeamAccessService teamAccessService,
+                           WorkingCalendarService workingCalendarService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.forecast.parallelism:0}") int parallelism,
+                           @Value("${app.forecast.max-trials:1000000}") int maxTrials,
+                           @Value("${app.forecast.max-iterations:520}") int maxIterations,
+                           @Value("${app.forecast.cache.max-weight:16MB}") DataSize maxCacheWeight,
+                           MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.iterationRepository = iterationRepository;
+        this.projectConfigurationRepository = projectConfigurationRepository;
+        this.teamAccessService = teamAccessService;
+        this.workingCalendarService = workingCalendarService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxTrials = maxTrials;
+        this.maxIterations = maxIterations;
+        // Entries are weighed by their approximate size in bytes, so the bound holds whatever the percentiles asked
+        this.forecasts = Caffeine.newBuilder()
+                .maximumWeight(maxCacheWeight.toBytes())
+                .weigher((ForecastKey key, Forecast forecast) -> ENTRY_BASE_WEIGHT
+                        + PERCENTILE_WEIGHT * forecast.percentiles().size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, forecasts, "forecasts");
+    }
+
+    public ForecastDto forecastProject(String projectUuid, ForecastRequestDto request) {
+        logger.debug("Entering method: forecastProject with project uuid: {}", projectUuid);
+        ForecastMetricEnumDto metric = request.getMetric() == null ? ForecastMetricEnumDto.FORECAST : request.getMetric();
+        int trials = request.getTrials() == null ? MIN_TRIALS : request.getTrials();
+        List<Double> percentiles = request.getPercentiles() == null || request.getPercentiles().isEmpty()
+                ? DEFAULT_PERCENTILES
+                : request.getPercentiles();
+        validate(request.getRemainingWork(), trials, percentiles);
+        List<Double> sortedPercentiles = percentiles.stream().sorted().distinct().toList();
+
+        ForecastInputs inputs = readOnlyTransactionTemplate.execute(status -> loadInputs(projectUuid, metric,
+                project -> new ForecastKey(project.getUuid(), project.getDataVersion(),
+                        project.getTeam().getWorkingCalendarId(), metric, request.getRemainingWork(), trials,
+                        sortedPercentiles, request.getSeed())));
+        if (inputs.cached() != null) {
+            logger.debug("Exiting method: forecastProject with cached forecast of data version {}", inputs.key().dataVersion());
+            return inputs.cached().toDto();
+        }
+        if (inputs.samples().length == 0) {
+            logger.warn("Project {} has no finished iteration with an actual {}", projectUuid, metric);
+            throw new InvalidParameterException("The project has no finished iteration to forecast from");
+        }
+
+        // Requests without seed share the forecast computed with a random one
+        long seed = request.getSeed() == null ? ThreadLocalRandom.current().nextLong() : request.getSeed();
+        long start = System.nanoTime();
+        SimulationResult result = inputs.dailyRates() == null
+                ? MonteCarloSimulation.run(pool, inputs.samples(), request.getRemainingWork(), trials, maxIterations, seed)
+                : MonteCarloSimulation.runByWorkingDays(pool, inputs.dailyRates(), inputs.upcomingWorkingDays(),
+                request.getRemainingWork(), trials, maxIterations, seed);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        Forecast forecast = new Forecast(projectUuid, metric, request.getRemainingWork(), trials,
+                inputs.dailyRates() == null ? inputs.samples().length : inputs.dailyRates().length,
+                inputs.startDate(), inputs.calendarUuid() == null ? null : inputs.calendarUuid().toString(), seed,
+                sortedPercentiles.stream()
+                        .map(percentile -> percentile(result, percentile, inputs))
+                        .toList());
+        forecasts.put(inputs.key(), forecast);
+        logger.debug("Exiting method: forecastProject with {} trials in {} ms ({} trials/s)",
+                trials, elapsedMillis, trials * 1000L / elapsedMillis);
+        return forecast.toDto();
+    }
+
+    /**
+     * Runs a simulation on the forecast pool, for plans that are not saved and so have no data version to cache
+     * their forecasts under.
+     */
+    public SimulationResult simulate(int[] samples, int remainingWork, int trials, long seed) {
+        return MonteCarloSimulation.run(pool, samples, remainingWork, trials, maxIterations, seed);
+    }
+
+    /**
+     * Drops the forecasts of a project once its data changed. They could not be served anymore since their version is
+     * outdated, so this only frees their memory earlier.
+     */
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.projectUuid() != null && (event.entityType() == DataChangedEvent.EntityType.ITERATION
+                || event.entityType() == DataChangedEvent.EntityType.PROJECT_CONFIGURATION)) {
+            forecasts.asMap().keySet().removeIf(key -> key.projectUuid().equals(event.projectUuid()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void validate(Integer remainingWork, int trials, List<Double> percentiles) {
+        if (remainingWork == null || remainingWork <= 0) {
+            throw new InvalidParameterException("Remaining work must be a positive number");
+        }
+        if (trials < MIN_TRIALS || trials > maxTrials) {
+            throw new InvalidParameterException(String.format("Trials must be between %d and %d", MIN_TRIALS, maxTrials));
+        }
+        for (Double percentile : percentiles) {
+            if (percentile == null || percentile <= 0 || percentile > 100) {
+                throw new InvalidParameterException("Percentiles must be greater than 0 and at most 100");
+            }
+        }
+    }
+
+    private ForecastInputs loadInputs(String projectUuid, ForecastMetricEnumDto metric,
+                                      Function<ProjectEntity, ForecastKey> keyFunction) {
+        ProjectEntity project = projectRepository.findByUuid(UUIDValidator.validateAndTransform(projectUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Project not found with UUID: {}", projectUuid);
+                    return new NotFoundException("Project not found with uuid: " + projectUuid);
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), project.getTeam(), TeamMemberRoleEnum.VIEWER);
+
+        ForecastKey key = keyFunction.apply(project);
+        Forecast cached = forecasts.getIfPresent(key);
+        if (cached != null) {
+            return new ForecastInputs(key, cached, null, null, 0, null, null, null, null);
+        }
+        List<Integer> actuals = metric == ForecastMetricEnumDto.CAPACITY
+                ? iterationRepository.findActualCapacities(project)
+                : iterationRepository.findActualForecasts(project);
+        int[] samples = actuals.stream().mapToInt(Integer::intValue).toArray();
+        LocalDate startDate = iterationRepository.findLastActualEndDate(project).orElse(LocalDate.now());
+        ProjectConfigurationEntity configuration = projectConfigurationRepository
+                .findFirstByProjectAndActiveTrueOrderByIdDesc(project)
+                .orElse(null);
+        if (configuration == null) {
+            return new ForecastInputs(key, null, samples, startDate, 0, null, null, null, null);
+        }
+        ForecastInputs inputs = new ForecastInputs(key, null, samples, startDate, configuration.getIterationDuration(),
+                configuration.getIterationDurationUnit(), null, null, null);
+        if (metric != ForecastMetricEnumDto.FORECAST || configuration.getForecastUnit() != ForecastUnitEnum.MAN_DAYS) {
+            return inputs;
+        }
+        return workingCalendarService.findTeamCalendar(project.getTeam())
+                .map(calendar -> withWorkingDays(inputs, calendar, project))
+                .orElse(inputs);
+    }
+
+    /**
+     * @return the inputs with the work delivered per working day by the finished iterations, and the working days of
+     * the upcoming ones, or the inputs as they are when the configuration has no iteration duration to date the
+     * upcoming iterations or no finished iteration had a working day
+     */
+    private ForecastInputs withWorkingDays(ForecastInputs inputs, WorkingCalendar calendar, ProjectEntity project) {
+        if (inputs.dateAfter(1) == null) {
+            return inputs;
+        }
+        WorkingDayCalendar days = calendar.days();
+        double[] dailyRates = iterationRepository.findAllByProject(project).stream()
+                .map(IterationEntity::getActual)
+                .filter(actual -> actual != null && actual.getStartDate() != null && actual.getEndDate() != null
+                        && actual.getForecast() != null && actual.getForecast() >= 0)
+                .filter(actual -> days.workingDays(actual.getStartDate(), actual.getEndDate()) > 0)
+                .mapToDouble(actual -> dailyRate(days, actual))
+                .toArray();
+        if (dailyRates.length == 0) {
+            return inputs;
+        }
+        // Upcoming iteration n runs from the day after the end date of n iterations to the end date of n + 1
+        int[] upcomingWorkingDays = new int[maxIterations];
+        for (int i = 0; i < maxIterations; i++) {
+            upcomingWorkingDays[i] = days.workingDays(inputs.dateAfter(i).plusDays(1), inputs.dateAfter(i + 1));
+        }
+        return new ForecastInputs(inputs.key(), null, inputs.samples(), inputs.startDate(), inputs.iterationDuration(),
+                inputs.iterationDurationUnit(), dailyRates, upcomingWorkingDays, calendar.uuid());
+    }
+
+    private static double dailyRate(WorkingDayCalendar days, IterationMetrics actual) {
+        return (double) actual.getForecast() / days.workingDays(actual.getStartDate(), actual.getEndDate());
+    }
+
+    private static Percentile percentile(SimulationResult result, double percentile, ForecastInputs inputs) {
+        int iterations = result.iterationsAt(percentile);
+        return iterations >= 0
+                ? new Percentile(percentile, iterations, inputs.dateAfter(iterations))
+                : new Percentile(percentile, null, null);
+    }
+
+    /**
+     * Either the cached forecast of the key, or what is needed to compute it.
+     */
+    private record ForecastInputs(ForecastKey key, Forecast cached, int[] samples, LocalDate startDate,
+                                  int iterationDuration, DurationUnitEnum iterationDurationUnit,
+                                  double[] dailyRates, int[] upcomingWorkingDays, UUID calendarUuid) {
+
+        /**
+         * @return the end date of the given number of iterations after the start date, or null without a duration
+         */
+        LocalDate dateAfter(int iterations) {
+            if (iterationDurationUnit == null || iterationDuration <= 0) {
+                return null;
+            }
+            ChronoUnit unit = switch (iterationDurationUnit) {
+                case DAYS -> ChronoUnit.DAYS;
+                case WEEKS -> ChronoUnit.WEEKS;
+                case MONTHS -> ChronoUnit.MONTHS;
+            };
+            return startDate.plus((long) iterations * iterationDuration, unit);
+        }
+    }
+
+    /**
+     * Computed forecast as cached. DTOs are mutable, so each request gets its own copy and a caller changing it can not
+     * alter what later requests are served.
+     */
+    private record Forecast(String projectUuid, ForecastMetricEnumDto metric, int remainingWork, int trials,
+                            int sampleSize, LocalDate startDate, String calendarUuid, long seed,
+                            List<Percentile> percentiles) {
+
+        ForecastDto toDto() {
+            return new ForecastDto()
+                    .projectUuid(projectUuid)
+                    .metric(metric)
+                    .remainingWork(remainingWork)
+                    .trials(trials)
+                    .sampleSize(sampleSize)
+                    .startDate(startDate)
+                    .calendarUuid(calendarUuid)
+                    .seed(seed)
+                    .percentiles(percentiles.stream()
+                            .map(percentile -> new ForecastPercentileDto()
+                                    .percentile(percentile.percentile())
+                                    .iterations(percentile.iterations())
+                                    .date(percentile.date()))
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    private record Percentile(double percentile, Integer iterations, LocalDate date) {
+    }
+
+    private record ForecastKey(UUID projectUuid, long dataVersion, Long calendarId, ForecastMetricEnumDto metric,
+                               int remainingWork, int trials, List<Double> percentiles, Long seed) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.ybritto.teamtempo.backend.features.graphql.controller;
+
+import com.ybritto.teamtempo.backend.features.graphql.service.GraphQueryService;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+@Controller
+@AllArgsConstructor
+public class GraphQueryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQueryController.class);
+    private final GraphQueryService graphQueryService;
+
+    @QueryMapping
+    public List<TeamEntity> myTeams() {
+        logger.info("GraphQL myTeams - Finding my teams");
+        return graphQueryService.getMyTeams();
+    }
+
+    @QueryMapping
+    public TeamEntity team(@Argument String uuid) {
+        logger.info("GraphQL team - Finding team {}", uuid);
+        return graphQueryService.getTeam(uuid);
+    }
+
+    @BatchMapping(typeName = "Team", field = "projects")
+    public List<List<ProjectEntity>> projects(List<TeamEntity> teams) {
+        return graphQueryService.getProjectsByTeams(teams);
+    }
+
+    @BatchMapping(typeName = "Project", field = "configurations")
+    public List<List<ProjectConfigurationEntity>> configurations(List<ProjectEntity> projects) {
+        return graphQueryService.getConfigurationsByProjects(projects);
+    }
+
+    @BatchMapping(typeName = "Project", field = "iterations")
+    public List<List<IterationEntity>> iterations(List<ProjectEntity> projects) {
+        return graphQueryService.getIterationsByProjects(projects);
+    }
+}
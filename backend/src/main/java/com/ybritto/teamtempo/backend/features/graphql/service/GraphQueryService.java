@@ -0,0 +1,87 @@
+package com.ybritto.teamtempo.backend.features.graphql.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.repository.ProjectConfigurationRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the team graph for GraphQL queries.
+ * <p>
+ * Root fields return teams the user is a member of; children are only ever loaded for those parents. Child lookups
+ * take every parent of the level at once and issue a single {@code IN} query that fetch-joins the parents, so
+ * a query costs one statement per level whatever the number of teams and projects.
+ */
+@Service
+@AllArgsConstructor
+public class GraphQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQueryService.class);
+
+    private final TeamRepository teamRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectConfigurationRepository projectConfigurationRepository;
+    private final IterationRepository iterationRepository;
+    private final TeamAccessService teamAccessService;
+
+    public List<TeamEntity> getMyTeams() {
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        List<TeamEntity> teams = teamRepository.findByMember(user);
+        logger.debug("Resolved {} teams for user: {}", teams.size(), user.getEmail());
+        return teams;
+    }
+
+    public TeamEntity getTeam(String teamUuid) {
+        TeamEntity team = teamRepository.findByUuid(UUIDValidator.validateAndTransform(teamUuid)).orElse(null);
+        if (team == null) {
+            logger.debug("Team not found for GraphQL query with uuid: {}", teamUuid);
+            return null;
+        }
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.VIEWER);
+        return team;
+    }
+
+    public List<List<ProjectEntity>> getProjectsByTeams(List<TeamEntity> teams) {
+        logger.debug("Loading projects for {} teams", teams.size());
+        return groupByParent(teams, projectRepository.findAllByTeamIn(teams), ProjectEntity::getTeam);
+    }
+
+    public List<List<ProjectConfigurationEntity>> getConfigurationsByProjects(List<ProjectEntity> projects) {
+        logger.debug("Loading configurations for {} projects", projects.size());
+        return groupByParent(projects, projectConfigurationRepository.findAllByProjectIn(projects),
+                ProjectConfigurationEntity::getProject);
+    }
+
+    public List<List<IterationEntity>> getIterationsByProjects(List<ProjectEntity> projects) {
+        logger.debug("Loading iterations for {} projects", projects.size());
+        return groupByParent(projects, iterationRepository.findAllByProjectIn(projects), IterationEntity::getProject);
+    }
+
+    /**
+     * Returns the children of each parent in the order of the parents, as batch loaders expect.
+     */
+    private static <P, C> List<List<C>> groupByParent(List<P> parents, List<C> children, Function<C, P> parentOf) {
+        Map<P, List<C>> childrenByParent = children.stream().collect(Collectors.groupingBy(parentOf));
+        return parents.stream()
+                .map(parent -> childrenByParent.getOrDefault(parent, List.of()))
+                .toList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.ybritto.teamtempo.backend.features.history.configuration;
+
+import com.ybritto.teamtempo.backend.features.history.listener.ChangeLogEventListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@AllArgsConstructor
+public class ChangeLogConfiguration {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeLogEventListener changeLogEventListener;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, changeLogEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, changeLogEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, changeLogEventListener);
+    }
+}
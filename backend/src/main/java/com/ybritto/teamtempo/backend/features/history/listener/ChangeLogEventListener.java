@@ -0,0 +1,216 @@
+package com.ybritto.teamtempo.backend.features.history.listener;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogEntry;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Turns committed inserts, updates and deletes of teams, projects, configurations and iterations into change log
+ * entries, and publishes a {@link DataChangedEvent} for them and for memberships. Listeners run after commit, so
+ * rolled back changes never reach the log nor the caches.
+ */
+@Component
+public class ChangeLogEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogEventListener.class);
+
+    // Audit columns change on every update and would only add noise to the history
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("createdAt", "updatedAt");
+
+    private final ChangeLogWriter changeLogWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChangeLogEventListener(ChangeLogWriter changeLogWriter, ApplicationEventPublisher eventPublisher) {
+        this.changeLogWriter = changeLogWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Subject subject = subjectOf(event.getEntity());
+        if (subject == null) {
+            return;
+        }
+        publish(subject);
+        if (subject.entityType() != null) {
+            changeLogWriter.enqueue(List.of(entry(subject, ChangeLogEntry.Operation.INSERT, null, null, null)));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Subject subject = subjectOf(event.getEntity());
+        if (subject == null) {
+            return;
+        }
+        publish(subject);
+        if (subject.entityType() == null) {
+            return;
+        }
+
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        EntityPersister persister = event.getPersister();
+        String[] propertyNames = persister.getPropertyNames();
+        Type[] propertyTypes = persister.getPropertyTypes();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+
+        if (oldState == null) {
+            // Detached updates carry no previous state, so only the fact that the entity changed is known
+            entries.add(entry(subject, ChangeLogEntry.Operation.UPDATE, null, null, null));
+        } else {
+            for (int index : dirtyProperties(event)) {
+                addChanges(entries, subject, propertyNames[index], propertyTypes[index], oldState[index], state[index]);
+            }
+        }
+        if (!entries.isEmpty()) {
+            changeLogWriter.enqueue(entries);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Subject subject = subjectOf(event.getEntity());
+        if (subject == null) {
+            return;
+        }
+        publish(subject);
+        if (subject.entityType() != null) {
+            changeLogWriter.enqueue(List.of(entry(subject, ChangeLogEntry.Operation.DELETE, null, null, null)));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        logger.debug("Insert of {} rolled back, not recorded", event.getEntity().getClass().getSimpleName());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        logger.debug("Update of {} rolled back, not recorded", event.getEntity().getClass().getSimpleName());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        logger.debug("Delete of {} rolled back, not recorded", event.getEntity().getClass().getSimpleName());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void addChanges(List<ChangeLogEntry> entries, Subject subject, String propertyName, Type propertyType,
+                            Object oldValue, Object newValue) {
+        if (IGNORED_PROPERTIES.contains(propertyName) || propertyType.isAssociationType()) {
+            return;
+        }
+        if (propertyType instanceof ComponentType componentType) {
+            // Embedded values such as the planned and actual iteration metrics are logged field by field
+            String[] subPropertyNames = componentType.getPropertyNames();
+            Type[] subPropertyTypes = componentType.getSubtypes();
+            Object[] oldValues = oldValue == null ? new Object[subPropertyNames.length] : componentType.getPropertyValues(oldValue);
+            Object[] newValues = newValue == null ? new Object[subPropertyNames.length] : componentType.getPropertyValues(newValue);
+            for (int i = 0; i < subPropertyNames.length; i++) {
+                addChanges(entries, subject, propertyName + "." + subPropertyNames[i], subPropertyTypes[i],
+                        oldValues[i], newValues[i]);
+            }
+            return;
+        }
+        if (!Objects.equals(oldValue, newValue)) {
+            entries.add(entry(subject, ChangeLogEntry.Operation.UPDATE, propertyName,
+                    stringValue(oldValue), stringValue(newValue)));
+        }
+    }
+
+    private void publish(Subject subject) {
+        eventPublisher.publishEvent(new DataChangedEvent(subject.eventType(), subject.entityUuid(),
+                subject.teamUuid(), subject.projectUuid()));
+    }
+
+    private static int[] dirtyProperties(PostUpdateEvent event) {
+        int[] dirtyProperties = event.getDirtyProperties();
+        if (dirtyProperties != null) {
+            return dirtyProperties;
+        }
+        int[] allProperties = new int[event.getState().length];
+        for (int i = 0; i < allProperties.length; i++) {
+            allProperties[i] = i;
+        }
+        return allProperties;
+    }
+
+    private static ChangeLogEntry entry(Subject subject, ChangeLogEntry.Operation operation, String fieldName,
+                                        String oldValue, String newValue) {
+        String changedBy = AuthenticationUtils.findAuthenticatedUser()
+                .map(UserEntity::getEmail)
+                .orElse(null);
+        return new ChangeLogEntry(subject.entityType(), subject.entityUuid(), subject.projectUuid(), operation,
+                fieldName, oldValue, newValue, changedBy, LocalDateTime.now());
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static Subject subjectOf(Object entity) {
+        return switch (entity) {
+            case TeamEntity team -> new Subject(ChangeLogEntry.EntityType.TEAM, DataChangedEvent.EntityType.TEAM,
+                    team.getUuid(), team.getUuid(), null);
+            // Memberships are not part of the history but still invalidate caches
+            case TeamMemberEntity member -> new Subject(null, DataChangedEvent.EntityType.TEAM_MEMBER,
+                    member.getUuid(), member.getTeam().getUuid(), null);
+            case ProjectEntity project -> new Subject(ChangeLogEntry.EntityType.PROJECT, DataChangedEvent.EntityType.PROJECT,
+                    project.getUuid(), teamUuidOf(project), project.getUuid());
+            case ProjectConfigurationEntity configuration -> new Subject(ChangeLogEntry.EntityType.PROJECT_CONFIGURATION,
+                    DataChangedEvent.EntityType.PROJECT_CONFIGURATION, configuration.getUuid(),
+                    teamUuidOf(configuration.getProject()), projectUuidOf(configuration.getProject()));
+            case IterationEntity iteration -> new Subject(ChangeLogEntry.EntityType.ITERATION,
+                    DataChangedEvent.EntityType.ITERATION, iteration.getUuid(),
+                    teamUuidOf(iteration.getProject()), projectUuidOf(iteration.getProject()));
+            default -> null;
+        };
+    }
+
+    private static UUID projectUuidOf(ProjectEntity project) {
+        return project == null ? null : project.getUuid();
+    }
+
+    private static UUID teamUuidOf(ProjectEntity project) {
+        return project == null || project.getTeam() == null ? null : project.getTeam().getUuid();
+    }
+
+    /**
+     * What changed; {@code entityType} is null for entities that are not recorded in the change log.
+     */
+    private record Subject(ChangeLogEntry.EntityType entityType, DataChangedEvent.EntityType eventType,
+                           UUID entityUuid, UUID teamUuid, UUID projectUuid) {
+    }
+}
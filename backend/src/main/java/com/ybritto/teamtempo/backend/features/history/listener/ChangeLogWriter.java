@@ -0,0 +1,159 @@
+package com.ybritto.teamtempo.backend.features.history.listener;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogEntry;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Writes change log entries in JDBC batches from a background thread.
+ * <p>
+ * Listeners only enqueue entries, so recording a change costs a queue insertion instead of an INSERT on the
+ * request thread. When the queue is full the caller writes the backlog itself, which slows writers down instead
+ * of dropping history. Remaining entries are flushed when the application stops. Each entry is written to the shard
+ * that was current when it was enqueued.
+ */
+@Component
+public class ChangeLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogWriter.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ShardSelector shardSelector;
+    private final BlockingQueue<PendingEntry> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChangeLogWriter(ChangeLogRepository changeLogRepository,
+                           ShardSelector shardSelector,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.change-log.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.change-log.batch-size:500}") int batchSize,
+                           @Value("${app.change-log.flush-interval:200ms}") Duration flushInterval) {
+        this.changeLogRepository = changeLogRepository;
+        this.shardSelector = shardSelector;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.writtenCounter = meterRegistry.counter("teamtempo.change-log.written");
+        this.failedCounter = meterRegistry.counter("teamtempo.change-log.failed");
+        meterRegistry.gauge("teamtempo.change-log.queue.size", queue, BlockingQueue::size);
+    }
+
+    public void enqueue(Collection<ChangeLogEntry> entries) {
+        int shard = shardSelector.currentShard();
+        for (ChangeLogEntry entry : entries) {
+            PendingEntry pending = new PendingEntry(shard, entry);
+            if (!queue.offer(pending)) {
+                logger.warn("Change log queue is full, writing the backlog on the calling thread");
+                List<PendingEntry> backlog = new ArrayList<>(queue.size() + 1);
+                queue.drainTo(backlog);
+                backlog.add(pending);
+                write(backlog);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("change-log-writer")
+                .daemon(true)
+                .start(this::drainLoop);
+        logger.info("Change log writer started with batch size {} and flush interval {}", batchSize, flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(flushInterval.multipliedBy(10).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Change log writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Writes every queued entry on the calling thread.
+     */
+    void flush() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingEntry first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingEntry> batch) {
+        Map<Integer, List<ChangeLogEntry>> entriesByShard = batch.stream()
+                .collect(Collectors.groupingBy(PendingEntry::shard,
+                        Collectors.mapping(PendingEntry::entry, Collectors.toList())));
+        entriesByShard.forEach((shard, entries) -> {
+            // Any failure only loses its batch: an exception escaping here would stop the writer thread
+            try {
+                shardSelector.runOn(shard, () -> write(shard, entries));
+            } catch (RuntimeException ex) {
+                failedCounter.increment(entries.size());
+                logger.error("Failed to write {} change log entries on shard {}", entries.size(), shard, ex);
+            }
+        });
+    }
+
+    private void write(int shard, List<ChangeLogEntry> entries) {
+        changeLogRepository.insertAll(entries);
+        writtenCounter.increment(entries.size());
+        logger.debug("Wrote {} change log entries on shard {}", entries.size(), shard);
+    }
+
+    private record PendingEntry(int shard, ChangeLogEntry entry) {
+    }
+}
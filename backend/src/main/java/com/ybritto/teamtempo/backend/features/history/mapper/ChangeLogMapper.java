@@ -0,0 +1,30 @@
+package com.ybritto.teamtempo.backend.features.history.mapper;
+
+import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogEntry;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogEntryDto;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogPageDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueMappingStrategy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT,
+        uses = {CommonsMapper.class})
+public interface ChangeLogMapper {
+
+    List<ChangeLogEntryDto> mapToDtoList(List<ChangeLogEntry> entries);
+
+    ChangeLogEntryDto mapToDto(ChangeLogEntry entry);
+
+    default ChangeLogPageDto mapToPageDto(List<ChangeLogEntry> entries, int page, int size, long totalElements) {
+        ChangeLogPageDto pageDto = new ChangeLogPageDto();
+        pageDto.setItems(mapToDtoList(entries));
+        pageDto.setPage(page);
+        pageDto.setSize(size);
+        pageDto.setTotalElements(totalElements);
+        pageDto.setTotalPages((int) ((totalElements + size - 1) / size));
+        return pageDto;
+    }
+}
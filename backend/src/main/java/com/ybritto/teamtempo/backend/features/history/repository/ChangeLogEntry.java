@@ -0,0 +1,32 @@
+package com.ybritto.teamtempo.backend.features.history.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the change log. Updates produce one entry per changed field, inserts and deletes one entry
+ * without field.
+ */
+public record ChangeLogEntry(EntityType entityType,
+                             UUID entityUuid,
+                             UUID projectUuid,
+                             Operation operation,
+                             String fieldName,
+                             String oldValue,
+                             String newValue,
+                             String changedBy,
+                             LocalDateTime changedAt) {
+
+    public enum EntityType {
+        TEAM,
+        PROJECT,
+        PROJECT_CONFIGURATION,
+        ITERATION
+    }
+
+    public enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+}
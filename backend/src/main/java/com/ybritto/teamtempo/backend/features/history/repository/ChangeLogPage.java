@@ -0,0 +1,6 @@
+package com.ybritto.teamtempo.backend.features.history.repository;
+
+import java.util.List;
+
+public record ChangeLogPage(List<ChangeLogEntry> entries, long totalElements) {
+}
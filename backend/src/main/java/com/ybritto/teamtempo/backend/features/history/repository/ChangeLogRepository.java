@@ -0,0 +1,88 @@
+package com.ybritto.teamtempo.backend.features.history.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@AllArgsConstructor
+public class ChangeLogRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO change_log (entity_type, entity_uuid, project_uuid, operation, field_name,
+                                    old_value, new_value, changed_by, changed_at)
+            VALUES (:entityType, :entityUuid, :projectUuid, :operation, :fieldName,
+                    :oldValue, :newValue, :changedBy, :changedAt)
+            """;
+
+    private static final String COUNT_BY_PROJECT_SQL = """
+            SELECT count(*) FROM change_log WHERE project_uuid = :projectUuid
+            """;
+
+    private static final String PAGE_BY_PROJECT_SQL = """
+            SELECT entity_type, entity_uuid, project_uuid, operation, field_name,
+                   old_value, new_value, changed_by, changed_at, count(*) OVER () AS total
+            FROM change_log
+            WHERE project_uuid = :projectUuid
+            ORDER BY changed_at DESC, key_id DESC
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final RowMapper<ChangeLogEntry> CHANGE_LOG_ROW_MAPPER = (rs, rowNum) -> new ChangeLogEntry(
+            ChangeLogEntry.EntityType.valueOf(rs.getString("entity_type")),
+            rs.getObject("entity_uuid", UUID.class),
+            rs.getObject("project_uuid", UUID.class),
+            ChangeLogEntry.Operation.valueOf(rs.getString("operation")),
+            rs.getString("field_name"),
+            rs.getString("old_value"),
+            rs.getString("new_value"),
+            rs.getString("changed_by"),
+            rs.getTimestamp("changed_at").toLocalDateTime());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<ChangeLogEntry> entries) {
+        SqlParameterSource[] batch = entries.stream()
+                .map(ChangeLogRepository::parameters)
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    public ChangeLogPage findPageByProjectUuid(UUID projectUuid, long offset, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("projectUuid", projectUuid)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        long[] total = new long[1];
+        List<ChangeLogEntry> entries = jdbcTemplate.query(PAGE_BY_PROJECT_SQL, parameters, (rs, rowNum) -> {
+            total[0] = rs.getLong("total");
+            return CHANGE_LOG_ROW_MAPPER.mapRow(rs, rowNum);
+        });
+        if (entries.isEmpty() && offset > 0) {
+            // A page past the last entry has no row to carry the total
+            Long count = jdbcTemplate.queryForObject(COUNT_BY_PROJECT_SQL,
+                    new MapSqlParameterSource("projectUuid", projectUuid), Long.class);
+            return new ChangeLogPage(entries, count == null ? 0 : count);
+        }
+        return new ChangeLogPage(entries, total[0]);
+    }
+
+    private static SqlParameterSource parameters(ChangeLogEntry entry) {
+        return new MapSqlParameterSource()
+                .addValue("entityType", entry.entityType().name())
+                .addValue("entityUuid", entry.entityUuid())
+                .addValue("projectUuid", entry.projectUuid())
+                .addValue("operation", entry.operation().name())
+                .addValue("fieldName", entry.fieldName())
+                .addValue("oldValue", entry.oldValue())
+                .addValue("newValue", entry.newValue())
+                .addValue("changedBy", entry.changedBy())
+                .addValue("changedAt", entry.changedAt());
+    }
+}
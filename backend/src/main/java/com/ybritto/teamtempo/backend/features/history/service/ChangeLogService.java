@@ -0,0 +1,59 @@
+package com.ybritto.teamtempo.backend.features.history.service;
+
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.history.mapper.ChangeLogMapper;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogPage;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogPageDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@AllArgsConstructor
+public class ChangeLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogMapper changeLogMapper;
+    private final ProjectRepository projectRepository;
+    private final TeamAccessService teamAccessService;
+
+    public ChangeLogPageDto getProjectHistory(String projectUuid, Integer page, Integer size) {
+        logger.debug("Entering method: getProjectHistory with uuid: {}, page: {}, size: {}", projectUuid, page, size);
+
+        int pageIndex = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageIndex < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            logger.warn("History rejected: invalid pagination page={}, size={}", pageIndex, pageSize);
+            throw new InvalidParameterException(String.format("Page must be positive and size between 1 and %d", MAX_PAGE_SIZE));
+        }
+
+        UUID uuid = UUIDValidator.validateAndTransform(projectUuid);
+        ProjectEntity project = projectRepository.findByUuid(uuid).orElseThrow(() -> {
+            logger.warn("Project not found for history with UUID: {}", projectUuid);
+            return new NotFoundException("Project not found with uuid: " + projectUuid);
+        });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), project.getTeam(), TeamMemberRoleEnum.VIEWER);
+
+        ChangeLogPage changeLogPage = changeLogRepository.findPageByProjectUuid(uuid, (long) pageIndex * pageSize, pageSize);
+
+        logger.debug("Exiting method: getProjectHistory with {} of {} entries",
+                changeLogPage.entries().size(), changeLogPage.totalElements());
+        return changeLogMapper.mapToPageDto(changeLogPage.entries(), pageIndex, pageSize, changeLogPage.totalElements());
+    }
+}
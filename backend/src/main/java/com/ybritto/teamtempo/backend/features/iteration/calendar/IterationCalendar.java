@@ -0,0 +1,77 @@
+package com.ybritto.teamtempo.backend.features.iteration.calendar;
+
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.DurationUnitEnum;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Back-to-back iterations of a fixed duration, anchored on the start date of a project.
+ * <p>
+ * Every iteration starts a whole number of durations after the project start, so month-long iterations keep the day
+ * of month of the project start instead of drifting with the length of each month. The last iteration is cut at the
+ * end date of the project.
+ */
+public record IterationCalendar(LocalDate projectStartDate, LocalDate projectEndDate, int duration,
+                                DurationUnitEnum durationUnit) {
+
+    public IterationCalendar {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Iteration duration must be positive");
+        }
+    }
+
+    /**
+     * @param after first day before which no returned iteration starts, exclusive
+     * @param limit maximum number of iterations to return
+     * @return the iterations starting after the given day, in order
+     */
+    public List<Slot> slotsAfter(LocalDate after, int limit) {
+        List<Slot> slots = new ArrayList<>();
+        long index = firstIndexAfter(after);
+        LocalDate start = startOf(index);
+        while (slots.size() < limit && (projectEndDate == null || !start.isAfter(projectEndDate))) {
+            LocalDate next = startOf(index + 1);
+            LocalDate end = next.minusDays(1);
+            if (projectEndDate != null && end.isAfter(projectEndDate)) {
+                end = projectEndDate;
+            }
+            slots.add(new Slot(start, end));
+            index++;
+            start = next;
+        }
+        return slots;
+    }
+
+    private long firstIndexAfter(LocalDate after) {
+        if (after.isBefore(projectStartDate)) {
+            return 0;
+        }
+        // Estimated from the elapsed time, then corrected as month lengths vary
+        long index = unit().between(projectStartDate, after) / duration;
+        while (!startOf(index).isAfter(after)) {
+            index++;
+        }
+        while (index > 0 && startOf(index - 1).isAfter(after)) {
+            index--;
+        }
+        return index;
+    }
+
+    private LocalDate startOf(long index) {
+        return projectStartDate.plus(index * duration, unit());
+    }
+
+    private ChronoUnit unit() {
+        return switch (durationUnit) {
+            case DAYS -> ChronoUnit.DAYS;
+            case WEEKS -> ChronoUnit.WEEKS;
+            case MONTHS -> ChronoUnit.MONTHS;
+        };
+    }
+
+    public record Slot(LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -29,6 +29,22 @@ public interface IterationMapper {
     @Mapping(target = "actualEndDate", source = "actual.endDate")
     @Mapping(target = "actualCapacity", source = "actual.capacity")
     @Mapping(target = "actualForecast", source = "actual.forecast")
+    @Mapping(target = "plannedWorkingDays", ignore = true)
+    @Mapping(target = "actualWorkingDays", ignore = true)
     IterationDto mapToDtoWithoutProject(IterationEntity entity);
 
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "planned.startDate", source = "iterationDto.plannedStartDate")
+    @Mapping(target = "planned.endDate", source = "iterationDto.plannedEndDate")
+    @Mapping(target = "planned.capacity", source = "iterationDto.plannedCapacity")
+    @Mapping(target = "planned.forecast", source = "iterationDto.plannedForecast")
+    @Mapping(target = "actual.startDate", source = "iterationDto.actualStartDate")
+    @Mapping(target = "actual.endDate", source = "iterationDto.actualEndDate")
+    @Mapping(target = "actual.capacity", source = "iterationDto.actualCapacity")
+    @Mapping(target = "actual.forecast", source = "iterationDto.actualForecast")
+    IterationEntity mapToEntity(IterationDto iterationDto, Long id);
+
 }
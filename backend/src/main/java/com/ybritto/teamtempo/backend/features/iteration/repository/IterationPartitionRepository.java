@@ -0,0 +1,50 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Maintains the monthly partitions of the iteration table, see {@code V15__Partition_Iteration_By_Planned_Start.sql}.
+ */
+@Repository
+@AllArgsConstructor
+public class IterationPartitionRepository {
+
+    private static final String CREATE_SQL = "SELECT create_iteration_partitions(:from, :until)";
+
+    private static final String DETACH_SQL = "SELECT detach_iteration_partitions(:before)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the missing partitions of the months from {@code from} to {@code until}.
+     *
+     * @return the number of partitions created
+     */
+    @Transactional
+    public int createPartitions(LocalDate from, LocalDate until) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("until", until);
+        Integer created = jdbcTemplate.queryForObject(CREATE_SQL, parameters, Integer.class);
+        return created == null ? 0 : created;
+    }
+
+    /**
+     * Detaches the partitions of the months ending on or before {@code before}, keeping them as partitions of
+     * {@code iteration_archive}. The aggregates of their projects keep counting them.
+     *
+     * @return the number of partitions detached
+     */
+    @Transactional
+    public int detachPartitions(LocalDate before) {
+        Integer detached = jdbcTemplate.queryForObject(DETACH_SQL, new MapSqlParameterSource("before", before),
+                Integer.class);
+        return detached == null ? 0 : detached;
+    }
+}
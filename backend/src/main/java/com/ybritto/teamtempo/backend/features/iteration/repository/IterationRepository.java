@@ -0,0 +1,40 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IterationRepository extends JpaRepository<IterationEntity, Long> {
+
+    @Query("select i from IterationEntity i join fetch i.project p join fetch p.team t join fetch t.user " +
+            "where p in :projects order by i.planned.startDate, i.id")
+    List<IterationEntity> findAllByProjectIn(@Param("projects") Collection<ProjectEntity> projects);
+
+    @Query("select i from IterationEntity i where i.project = :project order by i.planned.startDate, i.id")
+    List<IterationEntity> findAllByProject(@Param("project") ProjectEntity project);
+
+    List<IterationEntity> findAllByUuidIn(Collection<UUID> uuids);
+
+    Optional<IterationEntity> findByUuid(UUID uuid);
+
+    @Query("select i.actual.forecast from IterationEntity i where i.project = :project " +
+            "and i.actual.endDate is not null and i.actual.forecast >= 0 order by i.actual.endDate, i.id")
+    List<Integer> findActualForecasts(@Param("project") ProjectEntity project);
+
+    @Query("select i.actual.capacity from IterationEntity i where i.project = :project " +
+            "and i.actual.endDate is not null and i.actual.capacity >= 0 order by i.actual.endDate, i.id")
+    List<Integer> findActualCapacities(@Param("project") ProjectEntity project);
+
+    @Query("select max(i.actual.endDate) from IterationEntity i where i.project = :project")
+    Optional<LocalDate> findLastActualEndDate(@Param("project") ProjectEntity project);
+}
@@ -0,0 +1,137 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Saves a whole iteration plan with a single statement: the iterations are sent as one array per column and
+ * inserted or updated by uuid.
+ * <p>
+ * The iteration table is partitioned by planned start date, so {@code ON CONFLICT (uuid)} can not be used: the
+ * statement updates the iterations found by uuid and inserts the others. The iteration_uuid registry rejects a
+ * second iteration with the same uuid; a transaction lock per uuid, taken just before, makes concurrent batches
+ * sending the same new uuid update the iteration inserted by the first one instead of failing.
+ */
+@Repository
+@AllArgsConstructor
+public class IterationUpsertRepository {
+
+    // Locks are taken in uuid order so that concurrent batches can not deadlock
+    private static final String LOCK_SQL = """
+            SELECT pg_advisory_xact_lock(hashtextextended(u.uuid::text, 0))
+            FROM (SELECT uuid FROM unnest(:uuids) AS uuid ORDER BY uuid) AS u
+            """;
+
+    // Uuids of other projects are neither updated nor inserted, so they are missing from the returned rows
+    private static final String UPSERT_SQL = """
+            WITH input AS (
+                SELECT *
+                FROM unnest(:uuids, :names,
+                            :plannedStartDates, :plannedEndDates, :plannedCapacities, :plannedForecasts,
+                            :actualStartDates, :actualEndDates, :actualCapacities, :actualForecasts)
+                         AS i (uuid, name,
+                               planned_start_date, planned_end_date, planned_capacity, planned_forecast,
+                               actual_start_date, actual_end_date, actual_capacity, actual_forecast)
+            ),
+            updated AS (
+                UPDATE iteration it
+                SET name               = i.name,
+                    planned_start_date = i.planned_start_date,
+                    planned_end_date   = i.planned_end_date,
+                    planned_capacity   = i.planned_capacity,
+                    planned_forecast   = i.planned_forecast,
+                    actual_start_date  = i.actual_start_date,
+                    actual_end_date    = i.actual_end_date,
+                    actual_capacity    = i.actual_capacity,
+                    actual_forecast    = i.actual_forecast,
+                    updated_at         = :now
+                FROM input i
+                WHERE it.uuid = i.uuid
+                  AND it.project_key_id = :projectId
+                RETURNING it.uuid
+            ),
+            inserted AS (
+                INSERT INTO iteration (uuid, name, project_key_id,
+                                       planned_start_date, planned_end_date, planned_capacity, planned_forecast,
+                                       actual_start_date, actual_end_date, actual_capacity, actual_forecast,
+                                       created_at, updated_at)
+                SELECT i.uuid, i.name, :projectId,
+                       i.planned_start_date, i.planned_end_date, i.planned_capacity, i.planned_forecast,
+                       i.actual_start_date, i.actual_end_date, i.actual_capacity, i.actual_forecast,
+                       :now, :now
+                FROM input i
+                WHERE NOT EXISTS (SELECT 1 FROM iteration it WHERE it.uuid = i.uuid)
+                RETURNING uuid
+            )
+            SELECT uuid, false AS inserted FROM updated
+            UNION ALL
+            SELECT uuid, true AS inserted FROM inserted
+            """;
+
+    private static final RowMapper<UpsertedIteration> UPSERTED_ITERATION_ROW_MAPPER = (rs, rowNum) ->
+            new UpsertedIteration(rs.getObject("uuid", UUID.class), rs.getBoolean("inserted"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Must run in a transaction, which holds the uuid locks until it ends.
+     *
+     * @param iterations iterations with their uuid set and distinct uuids
+     * @return the saved iterations, without the ones whose uuid belongs to another project
+     */
+    public List<UpsertedIteration> upsertAll(Long projectId, List<IterationEntity> iterations, LocalDateTime now) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("now", now)
+                .addValue("uuids", array("uuid", iterations, IterationEntity::getUuid))
+                .addValue("names", array("varchar", iterations, IterationEntity::getName))
+                .addValue("plannedStartDates", dates(iterations, IterationEntity::getPlanned, IterationMetrics::getStartDate))
+                .addValue("plannedEndDates", dates(iterations, IterationEntity::getPlanned, IterationMetrics::getEndDate))
+                .addValue("plannedCapacities", integers(iterations, IterationEntity::getPlanned, IterationMetrics::getCapacity))
+                .addValue("plannedForecasts", integers(iterations, IterationEntity::getPlanned, IterationMetrics::getForecast))
+                .addValue("actualStartDates", dates(iterations, IterationEntity::getActual, IterationMetrics::getStartDate))
+                .addValue("actualEndDates", dates(iterations, IterationEntity::getActual, IterationMetrics::getEndDate))
+                .addValue("actualCapacities", integers(iterations, IterationEntity::getActual, IterationMetrics::getCapacity))
+                .addValue("actualForecasts", integers(iterations, IterationEntity::getActual, IterationMetrics::getForecast));
+        jdbcTemplate.queryForList(LOCK_SQL, parameters);
+        return jdbcTemplate.query(UPSERT_SQL, parameters, UPSERTED_ITERATION_ROW_MAPPER);
+    }
+
+    private static SqlArrayValue dates(List<IterationEntity> iterations,
+                                       Function<IterationEntity, IterationMetrics> metrics,
+                                       Function<IterationMetrics, LocalDate> value) {
+        return array("date", iterations, iteration -> metricValue(iteration, metrics, value));
+    }
+
+    private static SqlArrayValue integers(List<IterationEntity> iterations,
+                                          Function<IterationEntity, IterationMetrics> metrics,
+                                          Function<IterationMetrics, Integer> value) {
+        return array("int4", iterations, iteration -> metricValue(iteration, metrics, value));
+    }
+
+    private static <T> T metricValue(IterationEntity iteration, Function<IterationEntity, IterationMetrics> metrics,
+                                     Function<IterationMetrics, T> value) {
+        IterationMetrics iterationMetrics = metrics.apply(iteration);
+        return iterationMetrics == null ? null : value.apply(iterationMetrics);
+    }
+
+    private static SqlArrayValue array(String typeName, List<IterationEntity> iterations,
+                                       Function<IterationEntity, ?> value) {
+        return new SqlArrayValue(typeName, iterations.stream().map(value).toArray());
+    }
+
+    public record UpsertedIteration(UUID uuid, boolean inserted) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.ybritto.teamtempo.backend.features.iteration.service;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Creates the iteration partitions of the next {@code app.iterations.partitions.months-ahead} months before any
+ * iteration is planned in them, so they do not land in the default partition. When
+ * {@code app.iterations.partitions.retention-months} is set, partitions of older months are detached and kept as
+ * archive tables, whose iterations stay counted in the counters, velocity, burn-up and rollups of their project.
+ */
+@Component
+public class IterationPartitionMaintenanceJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(IterationPartitionMaintenanceJob.class);
+
+    private final IterationPartitionRepository iterationPartitionRepository;
+    private final ShardSelector shardSelector;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Counter createdCounter;
+    private final Counter detachedCounter;
+
+    public IterationPartitionMaintenanceJob(IterationPartitionRepository iterationPartitionRepository,
+                                            ShardSelector shardSelector,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.iterations.partitions.months-ahead:12}") int monthsAhead,
+                                            @Value("${app.iterations.partitions.retention-months:0}") int retentionMonths) {
+        this.iterationPartitionRepository = iterationPartitionRepository;
+        this.shardSelector = shardSelector;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.createdCounter = meterRegistry.counter("teamtempo.iteration-partitions.created");
+        this.detachedCounter = meterRegistry.counter("teamtempo.iteration-partitions.detached");
+    }
+
+    @Scheduled(fixedDelayString = "${app.iterations.partitions.maintenance-interval:24h}")
+    public void maintain() {
+        logger.debug("Entering method: maintain");
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        shardSelector.forEachShard(() -> maintainShard(currentMonth));
+        logger.debug("Exiting method: maintain");
+    }
+
+    private void maintainShard(LocalDate currentMonth) {
+        try {
+            int created = iterationPartitionRepository.createPartitions(currentMonth, currentMonth.plusMonths(monthsAhead));
+            if (created > 0) {
+                logger.info("Created {} iteration partitions", created);
+                createdCounter.increment(created);
+            }
+            if (retentionMonths > 0) {
+                int detached = iterationPartitionRepository.detachPartitions(currentMonth.minusMonths(retentionMonths));
+                if (detached > 0) {
+                    logger.info("Detached {} iteration partitions older than {} months", detached, retentionMonths);
+                    detachedCounter.increment(detached);
+                }
+            }
+        } catch (DataAccessException ex) {
+            logger.error("Failed to maintain iteration partitions on shard {}", shardSelector.currentShard(), ex);
+        }
+    }
+}
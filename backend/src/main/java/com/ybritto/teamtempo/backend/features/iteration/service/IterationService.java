@@ -0,0 +1,463 @@
+package com.ybritto.teamtempo.backend.features.iteration.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.EntityValidator;
+import com.ybritto.teamtempo.backend.core.utils.TransactionUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.calendar.engine.WorkingDayCalendar;
+import com.ybritto.teamtempo.backend.features.calendar.service.WorkingCalendarService;
+import com.ybritto.teamtempo.backend.features.history.listener.ChangeLogWriter;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogEntry;
+import com.ybritto.teamtempo.backend.features.iteration.calendar.IterationCalendar;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.mapper.IterationMapper;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationUpsertRepository;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationUpsertRepository.UpsertedIteration;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.repository.ProjectConfigurationRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.IterationDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationGenerationDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationGenerationRequestDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class IterationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IterationService.class);
+
+    private final IterationRepository iterationRepository;
+    private final IterationUpsertRepository iterationUpsertRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectConfigurationRepository projectConfigurationRepository;
+    private final IterationMapper iterationMapper;
+    private final TeamAccessService teamAccessService;
+    private final ChangeLogWriter changeLogWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkingCalendarService workingCalendarService;
+    private final int maxBatchSize;
+
+    public IterationService(IterationRepository iterationRepository,
+                            IterationUpsertRepository iterationUpsertRepository,
+                            ProjectRepository projectRepository,
+                            ProjectConfigurationRepository projectConfigurationRepository,
+                            IterationMapper iterationMapper,
+                            TeamAccessService teamAccessService,
+                            ChangeLogWriter changeLogWriter,
+                            ApplicationEventPublisher eventPublisher,
+                            WorkingCalendarService workingCalendarService,
+                            @Value("${app.iterations.max-batch-size:200}") int maxBatchSize) {
+        this.iterationRepository = iterationRepository;
+        this.iterationUpsertRepository = iterationUpsertRepository;
+        this.projectRepository = projectRepository;
+        this.projectConfigurationRepository = projectConfigurationRepository;
+        this.iterationMapper = iterationMapper;
+        this.teamAccessService = teamAccessService;
+        this.changeLogWriter = changeLogWriter;
+        this.eventPublisher = eventPublisher;
+        this.workingCalendarService = workingCalendarService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<IterationDto> getProjectIterations(String projectUuid) {
+        logger.debug("Entering method: getProjectIterations with project uuid: {}", projectUuid);
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.VIEWER);
+
+        List<IterationDto> iterations = withWorkingDays(project, iterationMapper.mapIterationsToDtoWithoutProject(
+                iterationRepository.findAllByProject(project)));
+        logger.debug("Exiting method: getProjectIterations with {} iterations", iterations.size());
+        return iterations;
+    }
+
+    @Transactional(readOnly = true)
+    public IterationDto getIteration(String projectUuid, String iterationUuid) {
+        logger.debug("Entering method: getIteration with project uuid: {}, iteration uuid: {}", projectUuid, iterationUuid);
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.VIEWER);
+
+        IterationDto iteration = withWorkingDays(project,
+                List.of(iterationMapper.mapToDtoWithoutProject(findIteration(project, iterationUuid)))).getFirst();
+        logger.debug("Exiting method: getIteration with iteration: {}", iteration.getName());
+        return iteration;
+    }
+
+    @Transactional
+    public IterationDto createIteration(String projectUuid, IterationDto iterationDto) {
+        logger.debug("Entering method: createIteration with project uuid: {}, name: {}", projectUuid, iterationDto.getName());
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.EDITOR);
+
+        IterationEntity iterationToCreate = toEntity(iterationDto, null)
+                .toBuilder()
+                .project(project)
+                .build();
+        if (iterationToCreate.getUuid() != null && iterationRepository.findByUuid(iterationToCreate.getUuid()).isPresent()) {
+            logger.warn("Iteration with UUID: {} already exists", iterationToCreate.getUuid());
+            throw new ConflictException("An iteration with the same uuid already exists");
+        }
+        IterationDto createdIteration = withWorkingDays(project,
+                List.of(iterationMapper.mapToDtoWithoutProject(iterationRepository.save(iterationToCreate)))).getFirst();
+
+        logger.info("Successfully created iteration: {} with UUID: {} for project: {}",
+                createdIteration.getName(), createdIteration.getUuid(), projectUuid);
+        return createdIteration;
+    }
+
+    @Transactional
+    public IterationDto updateIteration(String projectUuid, String iterationUuid, IterationDto iterationDto) {
+        logger.debug("Entering method: updateIteration with project uuid: {}, iteration uuid: {}", projectUuid, iterationUuid);
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.EDITOR);
+        IterationEntity iteration = findIteration(project, iterationUuid);
+
+        if (iterationDto.getUuid() == null || !iterationDto.getUuid().equals(iteration.getUuid().toString())) {
+            logger.warn("Iteration UUID mismatch: provided={}, iteration.uuid={}", iterationUuid, iterationDto.getUuid());
+            throw new InvalidParameterException("Iteration uuid does not match the provided uuid");
+        }
+
+        IterationEntity iterationToUpdate = toEntity(iterationDto, iteration.getId())
+                .toBuilder()
+                .project(project)
+                .createdAt(iteration.getCreatedAt())
+                .build();
+        IterationDto updatedIteration = withWorkingDays(project,
+                List.of(iterationMapper.mapToDtoWithoutProject(iterationRepository.save(iterationToUpdate)))).getFirst();
+
+        logger.info("Successfully updated iteration: {} with UUID: {}", updatedIteration.getName(), updatedIteration.getUuid());
+        return updatedIteration;
+    }
+
+    @Transactional
+    public void deleteIteration(String projectUuid, String iterationUuid) {
+        logger.debug("Entering method: deleteIteration with project uuid: {}, iteration uuid: {}", projectUuid, iterationUuid);
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.EDITOR);
+        IterationEntity iteration = findIteration(project, iterationUuid);
+
+        iterationRepository.delete(iteration);
+
+        logger.info("Successfully deleted iteration: {} with UUID: {}", iteration.getName(), iterationUuid);
+        logger.debug("Exiting method: deleteIteration");
+    }
+
+    /**
+     * Creates or updates the iterations of a project with a single statement. Iterations without uuid get a new
+     * one, and either every iteration is saved or none is.
+     *
+     * @return the saved iterations, in the order of the request
+     */
+    @Transactional
+    public List<IterationDto> upsertIterations(String projectUuid, List<IterationDto> iterationDtos) {
+        logger.debug("Entering method: upsertIterations with project uuid: {}, {} iterations", projectUuid, iterationDtos.size());
+        if (iterationDtos.size() > maxBatchSize) {
+            logger.warn("Iteration batch rejected: {} iterations exceed the limit of {}", iterationDtos.size(), maxBatchSize);
+            throw new InvalidParameterException(String.format("At most %d iterations can be saved at once", maxBatchSize));
+        }
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.EDITOR);
+        if (iterationDtos.isEmpty()) {
+            return List.of();
+        }
+
+        List<IterationEntity> iterations = iterationDtos.stream()
+                .map(this::toBatchEntity)
+                .toList();
+        Set<UUID> uuids = new HashSet<>();
+        for (IterationEntity iteration : iterations) {
+            if (!uuids.add(iteration.getUuid())) {
+                logger.warn("Iteration batch rejected: uuid {} appears more than once", iteration.getUuid());
+                throw new InvalidParameterException("Iteration uuid appears more than once: " + iteration.getUuid());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UpsertedIteration> upserted = iterationUpsertRepository.upsertAll(project.getId(), iterations, now);
+        if (upserted.size() != iterations.size()) {
+            // Raised before commit, so the rows saved by the statement are rolled back
+            logger.warn("Iteration batch rejected: {} iterations belong to another project", iterations.size() - upserted.size());
+            throw new InvalidParameterException("Some iterations belong to another project");
+        }
+        onIterationsUpserted(project, upserted, now);
+
+        Map<UUID, IterationEntity> savedIterations = iterationRepository.findAllByUuidIn(uuids).stream()
+                .collect(Collectors.toMap(IterationEntity::getUuid, Function.identity()));
+        List<IterationDto> result = withWorkingDays(project, iterations.stream()
+                .map(iteration -> iterationMapper.mapToDtoWithoutProject(savedIterations.get(iteration.getUuid())))
+                .toList());
+
+        long inserted = upserted.stream().filter(UpsertedIteration::inserted).count();
+        logger.info("Saved {} iterations for project {}: {} created, {} updated",
+                result.size(), projectUuid, inserted, result.size() - inserted);
+        return result;
+    }
+
+    /**
+     * Lays out the future iterations of a project from its dates and active configuration. Iterations that have not
+     * started yet are matched to the calendar in order: they keep their uuid, name and figures and are only written
+     * when their dates moved. Missing iterations are created and the remaining ones, which fall outside the calendar,
+     * are deleted. Started iterations are left as they are and the calendar resumes after the last of them.
+     */
+    @Transactional
+    public IterationGenerationDto generateIterations(String projectUuid, IterationGenerationRequestDto request) {
+        logger.debug("Entering method: generateIterations with project uuid: {}, count: {}", projectUuid, request.getCount());
+        Integer count = request.getCount();
+        if (count != null && (count <= 0 || count > maxBatchSize)) {
+            throw new InvalidParameterException(String.format("Count must be between 1 and %d", maxBatchSize));
+        }
+        String namePrefix = request.getNamePrefix() == null ? "Iteration" : request.getNamePrefix().strip();
+        if (namePrefix.isEmpty()) {
+            throw new InvalidParameterException("Name prefix can not be empty");
+        }
+        ProjectEntity project = findProject(projectUuid, TeamMemberRoleEnum.EDITOR);
+        if (count == null && project.getEndDate() == null) {
+            throw new InvalidParameterException("Count is required when the project has no end date");
+        }
+        ProjectConfigurationEntity configuration = projectConfigurationRepository
+                .findFirstByProjectAndActiveTrueOrderByIdDesc(project)
+                .orElseThrow(() -> {
+                    logger.warn("Iteration generation rejected: project {} has no active configuration", projectUuid);
+                    return new ConflictException("The project has no active configuration");
+                });
+        if (configuration.getIterationDuration() == null || configuration.getIterationDuration() <= 0) {
+            throw new ConflictException("The active configuration of the project has no iteration duration");
+        }
+
+        LocalDate today = LocalDate.now();
+        List<IterationEntity> pending = new ArrayList<>();
+        LocalDate resumeAfter = today;
+        int startedCount = 0;
+        for (IterationEntity iteration : iterationRepository.findAllByProject(project)) {
+            if (isPending(iteration, today)) {
+                pending.add(iteration);
+            } else if (isStarted(iteration)) {
+                startedCount++;
+                resumeAfter = latest(resumeAfter, endDate(iteration.getPlanned()), endDate(iteration.getActual()));
+            }
+        }
+
+        IterationCalendar calendar = new IterationCalendar(project.getStartDate(), project.getEndDate(),
+                configuration.getIterationDuration(), configuration.getIterationDurationUnit());
+        List<IterationCalendar.Slot> slots = calendar.slotsAfter(resumeAfter, count == null ? maxBatchSize + 1 : count);
+        if (slots.size() > maxBatchSize) {
+            logger.warn("Iteration generation rejected: the calendar of project {} exceeds {} iterations", projectUuid, maxBatchSize);
+            throw new InvalidParameterException(String.format(
+                    "The project calendar has more than %d future iterations, a count is required", maxBatchSize));
+        }
+
+        List<IterationEntity> calendarIterations = new ArrayList<>(slots.size());
+        List<IterationEntity> changed = new ArrayList<>();
+        for (int i = 0; i < slots.size(); i++) {
+            IterationCalendar.Slot slot = slots.get(i);
+            IterationEntity iteration;
+            if (i < pending.size()) {
+                IterationEntity existing = pending.get(i);
+                if (slot.startDate().equals(existing.getPlanned().getStartDate())
+                        && slot.endDate().equals(existing.getPlanned().getEndDate())) {
+                    calendarIterations.add(existing);
+                    continue;
+                }
+                iteration = existing.toBuilder().planned(plannedMetrics(slot, existing.getPlanned())).build();
+            } else {
+                IterationMetrics planned = new IterationMetrics();
+                planned.setCapacity(request.getPlannedCapacity());
+                planned.setForecast(request.getPlannedForecast());
+                iteration = IterationEntity.builder()
+                        .uuid(UUID.randomUUID())
+                        .name(namePrefix + " " + (startedCount + i + 1))
+                        .project(project)
+                        .planned(plannedMetrics(slot, planned))
+                        .actual(new IterationMetrics())
+                        .build();
+                EntityValidator.validateEntity(iteration);
+            }
+            changed.add(iteration);
+            calendarIterations.add(iteration);
+        }
+        List<IterationEntity> surplus = pending.subList(Math.min(slots.size(), pending.size()), pending.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UpsertedIteration> upserted = changed.isEmpty()
+                ? List.of()
+                : iterationUpsertRepository.upsertAll(project.getId(), changed, now);
+        onIterationsUpserted(project, upserted, now);
+        // Deleted through the entities, so their listeners record the change log entries and change events
+        iterationRepository.deleteAll(surplus);
+
+        long created = upserted.stream().filter(UpsertedIteration::inserted).count();
+        IterationGenerationDto generation = new IterationGenerationDto()
+                .iterations(iterationMapper.mapIterationsToDtoWithoutProject(calendarIterations))
+                .created((int) created)
+                .updated((int) (upserted.size() - created))
+                .unchanged(calendarIterations.size() - upserted.size())
+                .deleted(surplus.size());
+        logger.info("Generated {} iterations for project {}: {} created, {} updated, {} unchanged, {} deleted",
+                calendarIterations.size(), projectUuid, generation.getCreated(), generation.getUpdated(),
+                generation.getUnchanged(), generation.getDeleted());
+        return generation;
+    }
+
+    /**
+     * Saves a plan edited elsewhere, such as a promoted scenario: the iterations are upserted with a single statement
+     * and the deleted ones removed through their entities. The caller checks the access to the project and runs the
+     * transaction.
+     */
+    public void applyIterationChanges(ProjectEntity project, List<IterationDto> iterationDtos,
+                                     Collection<UUID> deletedUuids) {
+        logger.debug("Entering method: applyIterationChanges with project uuid: {}, {} iterations, {} deletions",
+                project.getUuid(), iterationDtos.size(), deletedUuids.size());
+        List<IterationEntity> iterations = iterationDtos.stream()
+                .map(this::toBatchEntity)
+                .toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UpsertedIteration> upserted = iterations.isEmpty()
+                ? List.of()
+                : iterationUpsertRepository.upsertAll(project.getId(), iterations, now);
+        if (upserted.size() != iterations.size()) {
+            logger.warn("Iteration changes rejected: {} iterations belong to another project", iterations.size() - upserted.size());
+            throw new InvalidParameterException("Some iterations belong to another project");
+        }
+        onIterationsUpserted(project, upserted, now);
+
+        List<IterationEntity> deleted = deletedUuids.isEmpty()
+                ? List.of()
+                : iterationRepository.findAllByUuidIn(deletedUuids).stream()
+                .filter(iteration -> iteration.getProject().getId().equals(project.getId()))
+                .toList();
+        iterationRepository.deleteAll(deleted);
+
+        logger.debug("Exiting method: applyIterationChanges with {} iterations saved, {} deleted", upserted.size(), deleted.size());
+    }
+
+    /**
+     * The batch statement bypasses the entity listeners, so the change log entries and change events they would
+     * produce are emitted here, once the transaction commits.
+     */
+    private void onIterationsUpserted(ProjectEntity project, List<UpsertedIteration> upserted, LocalDateTime now) {
+        String changedBy = AuthenticationUtils.findAuthenticatedUser()
+                .map(UserEntity::getEmail)
+                .orElse(null);
+        List<ChangeLogEntry> entries = upserted.stream()
+                .map(iteration -> new ChangeLogEntry(ChangeLogEntry.EntityType.ITERATION, iteration.uuid(),
+                        project.getUuid(), iteration.inserted() ? ChangeLogEntry.Operation.INSERT : ChangeLogEntry.Operation.UPDATE,
+                        null, null, null, changedBy, now))
+                .toList();
+        UUID teamUuid = project.getTeam().getUuid();
+        TransactionUtils.afterCommit(() -> {
+            changeLogWriter.enqueue(entries);
+            upserted.forEach(iteration -> eventPublisher.publishEvent(new DataChangedEvent(
+                    DataChangedEvent.EntityType.ITERATION, iteration.uuid(), teamUuid, project.getUuid())));
+        });
+    }
+
+    /**
+     * Counts the working days of the iterations by the calendar of the team of the project, when it has one.
+     */
+    private List<IterationDto> withWorkingDays(ProjectEntity project, List<IterationDto> iterations) {
+        workingCalendarService.findTeamCalendar(project.getTeam()).ifPresent(calendar -> iterations.forEach(iteration -> {
+            iteration.setPlannedWorkingDays(workingDays(calendar.days(),
+                    iteration.getPlannedStartDate(), iteration.getPlannedEndDate()));
+            iteration.setActualWorkingDays(workingDays(calendar.days(),
+                    iteration.getActualStartDate(), iteration.getActualEndDate()));
+        }));
+        return iterations;
+    }
+
+    private static Integer workingDays(WorkingDayCalendar days, LocalDate startDate, LocalDate endDate) {
+        return startDate == null || endDate == null ? null : days.workingDays(startDate, endDate);
+    }
+
+    /**
+     * An iteration planned to start after today that has no actual figures yet.
+     */
+    private static boolean isPending(IterationEntity iteration, LocalDate today) {
+        return iteration.getPlanned() != null
+                && iteration.getPlanned().getStartDate() != null
+                && iteration.getPlanned().getStartDate().isAfter(today)
+                && !isStarted(iteration);
+    }
+
+    private static boolean isStarted(IterationEntity iteration) {
+        IterationMetrics actual = iteration.getActual();
+        return actual != null && (actual.getStartDate() != null || actual.getEndDate() != null);
+    }
+
+    private static LocalDate endDate(IterationMetrics metrics) {
+        return metrics == null ? null : metrics.getEndDate();
+    }
+
+    private static LocalDate latest(LocalDate first, LocalDate... others) {
+        LocalDate latest = first;
+        for (LocalDate other : others) {
+            if (other != null && other.isAfter(latest)) {
+                latest = other;
+            }
+        }
+        return latest;
+    }
+
+    private static IterationMetrics plannedMetrics(IterationCalendar.Slot slot, IterationMetrics source) {
+        IterationMetrics planned = new IterationMetrics();
+        planned.setStartDate(slot.startDate());
+        planned.setEndDate(slot.endDate());
+        planned.setCapacity(source == null ? null : source.getCapacity());
+        planned.setForecast(source == null ? null : source.getForecast());
+        return planned;
+    }
+
+    private IterationEntity toBatchEntity(IterationDto iterationDto) {
+        IterationEntity iteration = toEntity(iterationDto, null);
+        EntityValidator.validateEntity(iteration);
+        return iteration.getUuid() == null ? iteration.toBuilder().uuid(UUID.randomUUID()).build() : iteration;
+    }
+
+    private IterationEntity toEntity(IterationDto iterationDto, Long id) {
+        if (iterationDto.getUuid() != null) {
+            // Rejects malformed uuids with a bad request instead of failing in the mapper
+            UUIDValidator.validateAndTransform(iterationDto.getUuid());
+        }
+        return iterationMapper.mapToEntity(iterationDto, id);
+    }
+
+    private ProjectEntity findProject(String projectUuid, TeamMemberRoleEnum requiredRole) {
+        ProjectEntity project = projectRepository.findByUuid(UUIDValidator.validateAndTransform(projectUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Project not found with UUID: {}", projectUuid);
+                    return new NotFoundException("Project not found with uuid: " + projectUuid);
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), project.getTeam(), requiredRole);
+        return project;
+    }
+
+    private IterationEntity findIteration(ProjectEntity project, String iterationUuid) {
+        return iterationRepository.findByUuid(UUIDValidator.validateAndTransform(iterationUuid))
+                .filter(found -> found.getProject().getId().equals(project.getId()))
+                .orElseThrow(() -> {
+                    logger.warn("Iteration {} not found in project {}", iterationUuid, project.getUuid());
+                    return new NotFoundException("Iteration not found with uuid: " + iterationUuid);
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package com.ybritto.teamtempo.backend.features.live.controller;
+
+import com.ybritto.teamtempo.backend.features.live.service.LiveUpdateService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Serves the event stream of {@code /dashboard/events}. The generated {@code LiveApi} can not be implemented, since
+ * the spring generator has no return type for streams, so the operation is mapped here as described by the contract.
+ */
+@RestController
+@AllArgsConstructor
+public class LiveController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveController.class);
+    private final LiveUpdateService liveUpdateService;
+
+    @GetMapping(value = "/dashboard/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardEvents() {
+        logger.info("GET /dashboard/events - Opening event stream");
+        return liveUpdateService.subscribe();
+    }
+}
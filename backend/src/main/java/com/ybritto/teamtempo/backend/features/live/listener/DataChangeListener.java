@@ -0,0 +1,174 @@
+package com.ybritto.teamtempo.backend.features.live.listener;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.features.live.service.LiveUpdateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Listens to the {@code data_changes} notifications of every shard and hands them to {@link LiveUpdateService}.
+ * <p>
+ * Each shard is listened to by one virtual thread holding one connection of the pool for as long as the application
+ * runs, which stops listening before it returns the connection. A lost connection is reopened after
+ * {@code app.live.reconnect-delay}, and the clients of the shard are asked to resync since notifications sent in
+ * between are lost. Databases other than PostgreSQL have no notifications, so
+ * live updates are disabled on them.
+ */
+@Component
+public class DataChangeListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataChangeListener.class);
+
+    static final String CHANNEL = "data_changes";
+
+    private final DataSource dataSource;
+    private final ShardSelector shardSelector;
+    private final LiveUpdateService liveUpdateService;
+    private final JsonMapper jsonMapper;
+    private final Duration pollInterval;
+    private final Duration reconnectDelay;
+    private final Counter receivedCounter;
+    private final List<Thread> listenerThreads = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+
+    public DataChangeListener(DataSource dataSource,
+                              ShardSelector shardSelector,
+                              LiveUpdateService liveUpdateService,
+                              JsonMapper jsonMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.live.poll-interval:10s}") Duration pollInterval,
+                              @Value("${app.live.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.shardSelector = shardSelector;
+        this.liveUpdateService = liveUpdateService;
+        this.jsonMapper = jsonMapper;
+        this.pollInterval = pollInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.receivedCounter = meterRegistry.counter("teamtempo.live.notifications");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        shardSelector.forEachShard(() -> {
+            int shard = shardSelector.currentShard();
+            listenerThreads.add(Thread.ofVirtual()
+                    .name("data-change-listener-" + shard)
+                    .start(() -> listen(shard)));
+        });
+        logger.info("Data change listener started on {} shards", listenerThreads.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread listenerThread : listenerThreads) {
+            listenerThread.interrupt();
+        }
+        for (Thread listenerThread : listenerThreads) {
+            try {
+                listenerThread.join(pollInterval.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        listenerThreads.clear();
+        logger.info("Data change listener stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen(int shard) {
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = shardSelector.callOn(shard, () -> DataSourceUtils.getConnection(dataSource))) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    logger.warn("Shard {} is not a PostgreSQL database, live updates are disabled", shard);
+                    return;
+                }
+                try {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + CHANNEL);
+                    }
+                    if (listenedBefore) {
+                        liveUpdateService.resync(shard);
+                    }
+                    listenedBefore = true;
+                    logger.info("Listening to {} on shard {}", CHANNEL, shard);
+                    receive(shard, connection.unwrap(PGConnection.class));
+                } finally {
+                    unlisten(shard, connection);
+                }
+            } catch (SQLException | DataAccessException ex) {
+                if (!running) {
+                    return;
+                }
+                logger.error("Lost the {} listener of shard {}, reconnecting in {}", CHANNEL, shard, reconnectDelay, ex);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening before the connection goes back to the pool, so that no other borrower receives the
+     * notifications. A connection that can not be cleaned is aborted, and the pool discards it.
+     */
+    private static void unlisten(int shard, Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException ex) {
+            logger.warn("Failed to stop listening on shard {}, discarding the connection", shard, ex);
+            try {
+                connection.abort(Runnable::run);
+            } catch (SQLException abortFailure) {
+                logger.warn("Failed to abort the listener connection of shard {}", shard, abortFailure);
+            }
+        }
+    }
+
+    private void receive(int shard, PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications((int) pollInterval.toMillis());
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                receivedCounter.increment();
+                try {
+                    liveUpdateService.publish(shard,
+                            jsonMapper.readValue(notification.getParameter(), DataChangeNotification.class));
+                } catch (JacksonException ex) {
+                    logger.warn("Ignoring malformed notification on shard {}: {}", shard, notification.getParameter());
+                }
+            }
+        }
+    }
+}
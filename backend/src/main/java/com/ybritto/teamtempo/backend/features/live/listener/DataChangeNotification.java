@@ -0,0 +1,14 @@
+package com.ybritto.teamtempo.backend.features.live.listener;
+
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+
+import java.util.UUID;
+
+/**
+ * Payload of a notification on the {@code data_changes} channel, published by the triggers of the team tables.
+ * {@code teamUuid} is null for memberships of a deleted team, {@code projectUuid} for teams and memberships, and
+ * {@code userId} is only set for memberships.
+ */
+public record DataChangeNotification(DataChangedEvent.EntityType entity, Long teamId, UUID teamUuid, UUID projectUuid,
+                                     Long userId) {
+}
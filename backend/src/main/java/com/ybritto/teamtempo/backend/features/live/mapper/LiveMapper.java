@@ -0,0 +1,28 @@
+package com.ybritto.teamtempo.backend.features.live.mapper;
+
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
+import com.ybritto.teamtempo.backend.features.live.service.LiveChange;
+import com.ybritto.teamtempo.backend.gen.model.LiveEventDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValueMappingStrategy;
+import org.mapstruct.ValueMapping;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT,
+        uses = {CommonsMapper.class})
+public interface LiveMapper {
+
+    @Mapping(target = "type", source = "entity")
+    LiveEventDto mapToDto(LiveChange change);
+
+    @ValueMapping(source = "PROJECT_CONFIGURATION", target = "PROJECT")
+    LiveEventDto.TypeEnum mapToType(DataChangedEvent.EntityType entityType);
+
+    default LiveEventDto mapToResyncDto() {
+        LiveEventDto eventDto = new LiveEventDto();
+        eventDto.setType(LiveEventDto.TypeEnum.RESYNC);
+        return eventDto;
+    }
+}
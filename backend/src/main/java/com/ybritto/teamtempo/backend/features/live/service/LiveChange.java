@@ -0,0 +1,11 @@
+package com.ybritto.teamtempo.backend.features.live.service;
+
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+
+import java.util.UUID;
+
+/**
+ * Change pushed to clients; identical changes waiting to be sent are sent once.
+ */
+public record LiveChange(DataChangedEvent.EntityType entity, UUID teamUuid, UUID projectUuid) {
+}
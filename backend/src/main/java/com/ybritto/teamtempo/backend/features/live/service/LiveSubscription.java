@@ -0,0 +1,223 @@
+package com.ybritto.teamtempo.backend.features.live.service;
+
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.features.live.listener.DataChangeNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Changes waiting to be sent to one client, and the virtual thread sending them.
+ * <p>
+ * The thread waits for the coalescing window after the first change of a burst, then sends every change offered in
+ * the meantime, identical changes once. Offering never blocks: when {@code maxPending} changes already wait, because
+ * the client reads slower than changes arrive, they are dropped and a single resync is sent instead. A heartbeat is
+ * sent after {@code heartbeatInterval} without changes, so disconnected clients are noticed.
+ */
+public class LiveSubscription {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSubscription.class);
+
+    /**
+     * Connection to the client; a failed send closes the subscription.
+     */
+    public interface Sink {
+
+        void send(LiveChange change) throws IOException;
+
+        void resync() throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    private final long userId;
+    private final int shard;
+    private final Supplier<Set<Long>> teamIdsLoader;
+    private final Sink sink;
+    private final int maxPending;
+    private final Duration coalescingWindow;
+    private final Duration heartbeatInterval;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Set<LiveChange> pending = new LinkedHashSet<>();
+    private boolean resyncPending;
+    private boolean closed;
+
+    private volatile Set<Long> teamIds;
+    private volatile boolean teamIdsStale;
+
+    public LiveSubscription(long userId, int shard, Supplier<Set<Long>> teamIdsLoader, Sink sink,
+                            int maxPending, Duration coalescingWindow, Duration heartbeatInterval) {
+        this.userId = userId;
+        this.shard = shard;
+        this.teamIdsLoader = teamIdsLoader;
+        this.sink = sink;
+        this.maxPending = maxPending;
+        this.coalescingWindow = coalescingWindow;
+        this.heartbeatInterval = heartbeatInterval;
+        this.teamIds = teamIdsLoader.get();
+    }
+
+    public int shard() {
+        return shard;
+    }
+
+    /**
+     * Whether the change concerns a team of the user, or the user's own membership.
+     */
+    public boolean canSee(DataChangeNotification notification) {
+        return Long.valueOf(userId).equals(notification.userId())
+                || (notification.teamId() != null && teamIds.contains(notification.teamId()));
+    }
+
+    /**
+     * Queues the change, and reloads the teams of the user before the next send when memberships changed.
+     *
+     * @return false when the change was dropped because the client fell behind
+     */
+    public boolean offer(LiveChange change) {
+        if (change.entity() == DataChangedEvent.EntityType.TEAM_MEMBER) {
+            teamIdsStale = true;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return true;
+            }
+            if (resyncPending) {
+                return false;
+            }
+            if (pending.size() >= maxPending && !pending.contains(change)) {
+                logger.debug("Dropping {} changes for user id {}, which will be asked to resync", pending.size(), userId);
+                pending.clear();
+                resyncPending = true;
+                changed.signal();
+                return false;
+            }
+            pending.add(change);
+            changed.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the waiting changes and asks the client to reload its data, for changes that may have been missed.
+     */
+    public void requestResync() {
+        lock.lock();
+        try {
+            pending.clear();
+            resyncPending = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void start(Runnable onClose) {
+        Thread.ofVirtual()
+                .name("live-subscription-" + userId)
+                .start(() -> {
+                    try {
+                        sendLoop();
+                    } finally {
+                        close();
+                        sink.close();
+                        onClose.run();
+                    }
+                });
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending.clear();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sendLoop() {
+        try {
+            while (awaitChanges()) {
+                // Changes of the same burst arriving within the window are sent together
+                Thread.sleep(coalescingWindow);
+                if (teamIdsStale) {
+                    teamIdsStale = false;
+                    teamIds = teamIdsLoader.get();
+                }
+                send();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Closing the live subscription of user id {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Waits until changes are pending, sending heartbeats meanwhile.
+     *
+     * @return false once the subscription is closed
+     */
+    private boolean awaitChanges() throws InterruptedException, IOException {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                if (!pending.isEmpty() || resyncPending) {
+                    return true;
+                }
+                if (changed.await(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            sink.heartbeat();
+        }
+    }
+
+    private void send() throws IOException {
+        List<LiveChange> changes;
+        boolean resync;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            resync = resyncPending;
+            changes = resync ? List.of() : List.copyOf(pending);
+            resyncPending = false;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        if (resync) {
+            sink.resync();
+            return;
+        }
+        for (LiveChange change : changes) {
+            sink.send(change);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ybritto.teamtempo.backend.features.live.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.features.live.listener.DataChangeNotification;
+import com.ybritto.teamtempo.backend.features.live.mapper.LiveMapper;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes the committed changes of team data to the users who can see them, as server-sent events.
+ * <p>
+ * Each subscription has its own queue and virtual thread, see {@link LiveSubscription}, so fanning a notification
+ * out only queues it and a slow client never delays the others. Subscriptions are matched on the shard of their user,
+ * since notifications are published by the database of each shard.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    private final TeamAccessService teamAccessService;
+    private final ShardSelector shardSelector;
+    private final LiveMapper liveMapper;
+    private final Set<LiveSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Duration timeout;
+    private final int maxPending;
+    private final Duration coalescingWindow;
+    private final Duration heartbeatInterval;
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    public LiveUpdateService(TeamAccessService teamAccessService,
+                             ShardSelector shardSelector,
+                             LiveMapper liveMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.live.timeout:30m}") Duration timeout,
+                             @Value("${app.live.max-pending:100}") int maxPending,
+                             @Value("${app.live.coalescing-window:250ms}") Duration coalescingWindow,
+                             @Value("${app.live.heartbeat-interval:30s}") Duration heartbeatInterval) {
+        this.teamAccessService = teamAccessService;
+        this.shardSelector = shardSelector;
+        this.liveMapper = liveMapper;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        this.coalescingWindow = coalescingWindow;
+        this.heartbeatInterval = heartbeatInterval;
+        this.deliveredCounter = meterRegistry.counter("teamtempo.live.delivered");
+        this.droppedCounter = meterRegistry.counter("teamtempo.live.dropped");
+        meterRegistry.gauge("teamtempo.live.subscriptions", subscriptions, Set::size);
+    }
+
+    public SseEmitter subscribe() {
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        logger.debug("Entering method: subscribe for user: {}", user.getEmail());
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        LiveSubscription subscription = new LiveSubscription(user.getId(), shardSelector.currentShard(),
+                () -> shardSelector.callForUser(user.getEmail(), () -> teamAccessService.getTeamIds(user)),
+                new EmitterSink(emitter), maxPending, coalescingWindow, heartbeatInterval);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        subscriptions.add(subscription);
+        subscription.start(() -> subscriptions.remove(subscription));
+
+        logger.debug("Exiting method: subscribe with {} open subscriptions", subscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * Queues the change for the subscriptions of the shard that can see it. Memberships are also evicted from the
+     * roles kept by {@link TeamAccessService}, since they may have changed on another node.
+     */
+    public void publish(int shard, DataChangeNotification notification) {
+        if (notification.entity() == DataChangedEvent.EntityType.TEAM_MEMBER && notification.userId() != null) {
+            teamAccessService.onMembershipChanged(List.of(notification.userId()));
+        }
+        LiveChange change = new LiveChange(notification.entity(), notification.teamUuid(), notification.projectUuid());
+        for (LiveSubscription subscription : subscriptions) {
+            if (subscription.shard() != shard || !subscription.canSee(notification)) {
+                continue;
+            }
+            if (subscription.offer(change)) {
+                deliveredCounter.increment();
+            } else {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Asks every client of the shard to reload its data, for notifications missed while the shard was not listened
+     * to.
+     */
+    public void resync(int shard) {
+        logger.info("Asking the live subscriptions of shard {} to resync", shard);
+        subscriptions.stream()
+                .filter(subscription -> subscription.shard() == shard)
+                .forEach(LiveSubscription::requestResync);
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscriptions.forEach(LiveSubscription::close);
+    }
+
+    private class EmitterSink implements LiveSubscription.Sink {
+
+        private final SseEmitter emitter;
+
+        private EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(LiveChange change) throws IOException {
+            emitter.send(SseEmitter.event().name("change").data(liveMapper.mapToDto(change)));
+        }
+
+        @Override
+        public void resync() throws IOException {
+            emitter.send(SseEmitter.event().name("resync").data(liveMapper.mapToResyncDto()));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ybritto.teamtempo.backend.features.portfolio.configuration;
+
+import com.ybritto.teamtempo.backend.features.portfolio.service.PortfolioService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Setting {@code app.portfolio.rebuild-on-startup} recomputes the rollup buckets of every project before the
+ * application starts serving requests.
+ */
+@Configuration
+public class PortfolioConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.portfolio.rebuild-on-startup", havingValue = "true")
+    public ApplicationRunner portfolioRebuildRunner(PortfolioService portfolioService) {
+        return args -> portfolioService.rebuildAll();
+    }
+}
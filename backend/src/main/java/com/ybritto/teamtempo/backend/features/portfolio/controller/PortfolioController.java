@@ -0,0 +1,28 @@
+package com.ybritto.teamtempo.backend.features.portfolio.controller;
+
+import com.ybritto.teamtempo.backend.features.portfolio.service.PortfolioService;
+import com.ybritto.teamtempo.backend.gen.api.PortfolioApi;
+import com.ybritto.teamtempo.backend.gen.model.PortfolioRollupDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@AllArgsConstructor
+public class PortfolioController implements PortfolioApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioController.class);
+    private final PortfolioService portfolioService;
+
+    @Override
+    public ResponseEntity<PortfolioRollupDto> getPortfolioRollup(String groupBy, LocalDate from, LocalDate to) {
+        logger.info("GET /portfolio/rollup - Retrieving portfolio rollup by {} from {} to {}", groupBy, from, to);
+        PortfolioRollupDto rollup = portfolioService.getRollup(groupBy, from, to);
+        logger.info("GET /portfolio/rollup - {} rows retrieved", rollup.getRows().size());
+        return ResponseEntity.ok(rollup);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ybritto.teamtempo.backend.features.portfolio.mapper;
+
+import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
+import com.ybritto.teamtempo.backend.features.portfolio.repository.PortfolioRollupRow;
+import com.ybritto.teamtempo.backend.gen.model.PortfolioRollupDto;
+import com.ybritto.teamtempo.backend.gen.model.PortfolioRollupRowDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueMappingStrategy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT,
+        uses = {CommonsMapper.class})
+public interface PortfolioMapper {
+
+    List<PortfolioRollupRowDto> mapToDtoList(List<PortfolioRollupRow> rows);
+
+    PortfolioRollupRowDto mapToDto(PortfolioRollupRow row);
+
+    default PortfolioRollupDto mapToRollupDto(String groupBy, List<PortfolioRollupRow> rows) {
+        PortfolioRollupDto rollupDto = new PortfolioRollupDto();
+        rollupDto.setGroupBy(groupBy);
+        rollupDto.setRows(mapToDtoList(rows));
+        return rollupDto;
+    }
+}
@@ -0,0 +1,138 @@
+package com.ybritto.teamtempo.backend.features.portfolio.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the portfolio rollups of a user from the monthly buckets kept by the triggers of
+ * {@code V14__Create_Project_Month_Rollup.sql}, and rebuilds the buckets of a project.
+ * <p>
+ * Rollups only join the teams, projects and buckets of the user: their cost follows the number of projects and
+ * months, not the number of iterations.
+ */
+@Repository
+@AllArgsConstructor
+public class PortfolioRollupRepository {
+
+    private static final String MY_TEAMS = """
+            WITH my_teams AS (
+                SELECT t.key_id, t.uuid, t.name
+                FROM team t
+                JOIN team_member m ON m.team_id = t.key_id AND m.app_user_id = :userId
+            )
+            """;
+
+    private static final String BUCKET_FILTER = """
+            r.month >= coalesce(:from, DATE '-infinity') AND r.month <= coalesce(:to, DATE 'infinity')
+            """;
+
+    private static final String TOTALS = """
+            coalesce(sum(r.planned_iterations), 0) AS planned_iterations,
+            coalesce(sum(r.planned_capacity), 0) AS planned_capacity,
+            coalesce(sum(r.planned_forecast), 0) AS planned_forecast,
+            coalesce(sum(r.actual_iterations), 0) AS actual_iterations,
+            coalesce(sum(r.actual_capacity), 0) AS actual_capacity,
+            coalesce(sum(r.actual_forecast), 0) AS actual_forecast
+            """;
+
+    private static final String BY_TEAM_SQL = MY_TEAMS + """
+            SELECT mt.uuid AS team_uuid,
+                   mt.name AS team_name,
+                   NULL::date AS month,
+            """ + TOTALS + """
+                   , (SELECT count(*) FROM project ap WHERE ap.team_id = mt.key_id AND ap.is_active) AS active_projects
+            FROM my_teams mt
+            LEFT JOIN project p ON p.team_id = mt.key_id
+            LEFT JOIN project_month_rollup r ON r.project_key_id = p.key_id AND
+            """ + BUCKET_FILTER + """
+            GROUP BY mt.key_id, mt.uuid, mt.name
+            ORDER BY mt.name, mt.uuid
+            """;
+
+    private static final String BY_MONTH_SQL = MY_TEAMS + """
+            SELECT NULL::uuid AS team_uuid,
+                   NULL::varchar AS team_name,
+                   r.month,
+            """ + TOTALS + """
+                   , (SELECT count(*)
+                      FROM project ap
+                      JOIN my_teams amt ON amt.key_id = ap.team_id
+                      WHERE ap.is_active
+                        AND ap.start_date < r.month + INTERVAL '1 month'
+                        AND (ap.end_date IS NULL OR ap.end_date >= r.month)) AS active_projects
+            FROM project_month_rollup r
+            JOIN project p ON p.key_id = r.project_key_id
+            JOIN my_teams mt ON mt.key_id = p.team_id
+            WHERE
+            """ + BUCKET_FILTER + """
+            GROUP BY r.month
+            ORDER BY r.month
+            """;
+
+    private static final String PROJECT_IDS_SQL = "SELECT key_id FROM project ORDER BY key_id";
+
+    private static final String REBUILD_SQL = "SELECT rebuild_project_month_rollup(:projectId)";
+
+    private static final RowMapper<PortfolioRollupRow> PORTFOLIO_ROLLUP_ROW_MAPPER = (rs, rowNum) -> new PortfolioRollupRow(
+            rs.getObject("team_uuid", UUID.class),
+            rs.getString("team_name"),
+            rs.getObject("month", LocalDate.class),
+            rs.getInt("planned_iterations"),
+            rs.getLong("planned_capacity"),
+            rs.getLong("planned_forecast"),
+            rs.getInt("actual_iterations"),
+            rs.getLong("actual_capacity"),
+            rs.getLong("actual_forecast"),
+            rs.getInt("active_projects"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param from first month to include, or null
+     * @param to   last month to include, or null
+     */
+    public List<PortfolioRollupRow> findByTeam(Long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(BY_TEAM_SQL, parameters(userId, from, to), PORTFOLIO_ROLLUP_ROW_MAPPER);
+    }
+
+    /**
+     * @param from first month to include, or null
+     * @param to   last month to include, or null
+     */
+    public List<PortfolioRollupRow> findByMonth(Long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(BY_MONTH_SQL, parameters(userId, from, to), PORTFOLIO_ROLLUP_ROW_MAPPER);
+    }
+
+    public List<Long> findAllProjectIds() {
+        return jdbcTemplate.queryForList(PROJECT_IDS_SQL, new MapSqlParameterSource(), Long.class);
+    }
+
+    /**
+     * Recomputes the buckets of a project from its current and archived iterations, in its own transaction so that
+     * only the writers of this project wait for it.
+     *
+     * @return the number of buckets corrected
+     */
+    @Transactional
+    public int rebuild(Long projectId) {
+        Integer corrected = jdbcTemplate.queryForObject(REBUILD_SQL, new MapSqlParameterSource("projectId", projectId),
+                Integer.class);
+        return corrected == null ? 0 : corrected;
+    }
+
+    private static MapSqlParameterSource parameters(Long userId, LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("from", from, Types.DATE)
+                .addValue("to", to, Types.DATE);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ybritto.teamtempo.backend.features.portfolio.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Totals of one team, or of one month, read from {@code project_month_rollup}.
+ */
+public record PortfolioRollupRow(
+        UUID teamUuid,
+        String teamName,
+        LocalDate month,
+        int plannedIterations,
+        long plannedCapacity,
+        long plannedForecast,
+        int actualIterations,
+        long actualCapacity,
+        long actualForecast,
+        int activeProjects) {
+}
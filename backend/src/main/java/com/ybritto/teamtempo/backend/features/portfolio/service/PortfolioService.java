@@ -0,0 +1,92 @@
+package com.ybritto.teamtempo.backend.features.portfolio.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.features.portfolio.mapper.PortfolioMapper;
+import com.ybritto.teamtempo.backend.features.portfolio.repository.PortfolioRollupRepository;
+import com.ybritto.teamtempo.backend.features.portfolio.repository.PortfolioRollupRow;
+import com.ybritto.teamtempo.backend.gen.model.PortfolioRollupDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Portfolio rollups of the authenticated user, read from the monthly buckets of {@code project_month_rollup}.
+ */
+@Service
+@AllArgsConstructor
+public class PortfolioService {
+
+    static final String GROUP_BY_TEAM = "team";
+    static final String GROUP_BY_MONTH = "month";
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioService.class);
+
+    private final PortfolioRollupRepository portfolioRollupRepository;
+    private final PortfolioMapper portfolioMapper;
+    private final ShardSelector shardSelector;
+
+    /**
+     * @param groupBy {@code team} or {@code month}, team when null
+     * @param from    first month to include, any day of the month, or null
+     * @param to      last month to include, any day of the month, or null
+     */
+    @Transactional(readOnly = true)
+    public PortfolioRollupDto getRollup(String groupBy, LocalDate from, LocalDate to) {
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        logger.debug("Entering method: getRollup for user: {} grouped by: {}", user.getEmail(), groupBy);
+
+        String grouping = groupBy == null ? GROUP_BY_TEAM : groupBy;
+        if (!GROUP_BY_TEAM.equals(grouping) && !GROUP_BY_MONTH.equals(grouping)) {
+            throw new InvalidParameterException("groupBy must be either team or month");
+        }
+        LocalDate fromMonth = from == null ? null : from.withDayOfMonth(1);
+        LocalDate toMonth = to == null ? null : to.withDayOfMonth(1);
+        if (fromMonth != null && toMonth != null && fromMonth.isAfter(toMonth)) {
+            throw new InvalidParameterException("from must not be after to");
+        }
+
+        List<PortfolioRollupRow> rows = GROUP_BY_TEAM.equals(grouping)
+                ? portfolioRollupRepository.findByTeam(user.getId(), fromMonth, toMonth)
+                : portfolioRollupRepository.findByMonth(user.getId(), fromMonth, toMonth);
+
+        logger.debug("Exiting method: getRollup with {} rows", rows.size());
+        return portfolioMapper.mapToRollupDto(grouping, rows);
+    }
+
+    /**
+     * Recomputes the rollup buckets of every project on every shard, one project per transaction. Meant for backfills
+     * and repairs after the triggers were disabled.
+     *
+     * @return the number of buckets corrected
+     */
+    public int rebuildAll() {
+        logger.debug("Entering method: rebuildAll");
+        AtomicInteger corrected = new AtomicInteger();
+        shardSelector.forEachShard(() -> {
+            List<Long> projectIds = portfolioRollupRepository.findAllProjectIds();
+            for (Long projectId : projectIds) {
+                try {
+                    corrected.addAndGet(portfolioRollupRepository.rebuild(projectId));
+                } catch (DataAccessException ex) {
+                    logger.error("Failed to rebuild the rollup of project id {} on shard {}",
+                            projectId, shardSelector.currentShard(), ex);
+                }
+            }
+        });
+        if (corrected.get() > 0) {
+            logger.warn("Corrected {} portfolio rollup buckets", corrected.get());
+        }
+        logger.debug("Exiting method: rebuildAll");
+        return corrected.get();
+    }
+}
@@ -1,20 +1,40 @@
 package com.ybritto.teamtempo.backend.features.project.controller;
 
+import com.ybritto.teamtempo.backend.features.burnup.service.BurnupService;
+import com.ybritto.teamtempo.backend.features.forecast.service.ForecastService;
+import com.ybritto.teamtempo.backend.features.history.service.ChangeLogService;
+import com.ybritto.teamtempo.backend.features.iteration.service.IterationService;
 import com.ybritto.teamtempo.backend.features.project.service.ProjectService;
+import com.ybritto.teamtempo.backend.features.velocity.service.VelocityService;
 import com.ybritto.teamtempo.backend.gen.api.ProjectsApi;
+import com.ybritto.teamtempo.backend.gen.model.BurnupDto;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogPageDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationGenerationDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationGenerationRequestDto;
 import com.ybritto.teamtempo.backend.gen.model.ProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.ProjectVelocityDto;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @AllArgsConstructor
 public class ProjectController implements ProjectsApi {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
     private final ProjectService projectService;
+    private final ChangeLogService changeLogService;
+    private final IterationService iterationService;
+    private final VelocityService velocityService;
+    private final BurnupService burnupService;
+    private final ForecastService forecastService;
 
     @Override
     public ResponseEntity<ProjectDto> updateProject(String projectUuid, ProjectDto projectDto) {
@@ -33,5 +53,98 @@ public class ProjectController implements ProjectsApi {
         return ResponseEntity.noContent().build();
     }
 
+    @Override
+    public ResponseEntity<ChangeLogPageDto> getProjectHistory(String uuid, Integer page, Integer size) {
+        logger.info("GET /projects/{}/history - History of the project, page: {}", uuid, page);
+        ChangeLogPageDto history = changeLogService.getProjectHistory(uuid, page, size);
+        logger.info("GET /projects/{}/history - {} entries returned", uuid, history.getItems().size());
+        return ResponseEntity.ok(history);
+    }
+
+    @Override
+    public ResponseEntity<List<IterationDto>> getProjectIterations(String uuid) {
+        logger.info("GET /projects/{}/iterations - Listing iterations of the project", uuid);
+        List<IterationDto> iterations = iterationService.getProjectIterations(uuid);
+        logger.info("GET /projects/{}/iterations - {} iterations returned", uuid, iterations.size());
+        return ResponseEntity.ok(iterations);
+    }
+
+    @Override
+    public ResponseEntity<IterationDto> createIteration(String uuid, IterationDto iterationDto) {
+        logger.info("POST /projects/{}/iterations - Creating iteration: {}", uuid, iterationDto.getName());
+        IterationDto createdIteration = iterationService.createIteration(uuid, iterationDto);
+        logger.info("POST /projects/{}/iterations - Successfully created iteration: {} with UUID: {}",
+                uuid, createdIteration.getName(), createdIteration.getUuid());
+        return ResponseEntity.ok(createdIteration);
+    }
 
+    @Override
+    public ResponseEntity<IterationDto> getIteration(String uuid, String iterationUuid) {
+        logger.info("GET /projects/{}/iterations/{} - Getting iteration", uuid, iterationUuid);
+        IterationDto iteration = iterationService.getIteration(uuid, iterationUuid);
+        logger.info("GET /projects/{}/iterations/{} - Iteration found: {}", uuid, iterationUuid, iteration.getName());
+        return ResponseEntity.ok(iteration);
+    }
+
+    @Override
+    public ResponseEntity<IterationDto> updateIteration(String uuid, String iterationUuid, IterationDto iterationDto) {
+        logger.info("PUT /projects/{}/iterations/{} - Updating iteration: {}", uuid, iterationUuid, iterationDto.getName());
+        IterationDto updatedIteration = iterationService.updateIteration(uuid, iterationUuid, iterationDto);
+        logger.info("PUT /projects/{}/iterations/{} - Successfully updated iteration: {}",
+                uuid, iterationUuid, updatedIteration.getName());
+        return ResponseEntity.ok(updatedIteration);
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteIteration(String uuid, String iterationUuid) {
+        logger.info("DELETE /projects/{}/iterations/{} - Deleting iteration", uuid, iterationUuid);
+        iterationService.deleteIteration(uuid, iterationUuid);
+        logger.info("DELETE /projects/{}/iterations/{} - Successfully deleted iteration", uuid, iterationUuid);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    public ResponseEntity<List<IterationDto>> upsertIterations(String uuid, List<IterationDto> iterationDtos) {
+        logger.info("PUT /projects/{}/iterations:batch - Saving {} iterations", uuid, iterationDtos.size());
+        List<IterationDto> iterations = iterationService.upsertIterations(uuid, iterationDtos);
+        logger.info("PUT /projects/{}/iterations:batch - Successfully saved {} iterations", uuid, iterations.size());
+        return ResponseEntity.ok(iterations);
+    }
+
+    @Override
+    public ResponseEntity<IterationGenerationDto> generateIterations(String uuid,
+                                                                     IterationGenerationRequestDto iterationGenerationRequestDto) {
+        logger.info("POST /projects/{}/iterations:generate - Generating {} iterations",
+                uuid, iterationGenerationRequestDto.getCount());
+        IterationGenerationDto generation = iterationService.generateIterations(uuid, iterationGenerationRequestDto);
+        logger.info("POST /projects/{}/iterations:generate - Successfully generated {} iterations",
+                uuid, generation.getIterations().size());
+        return ResponseEntity.ok(generation);
+    }
+
+    @Override
+    public ResponseEntity<ProjectVelocityDto> getProjectVelocity(String uuid) {
+        logger.info("GET /projects/{}/velocity - Velocity of the project", uuid);
+        ProjectVelocityDto velocity = velocityService.getProjectVelocity(uuid);
+        logger.info("GET /projects/{}/velocity - {} completed iterations", uuid, velocity.getCompletedIterations());
+        return ResponseEntity.ok(velocity);
+    }
+
+    @Override
+    public ResponseEntity<BurnupDto> getProjectBurnup(String uuid) {
+        logger.info("GET /projects/{}/burnup - Burn-up of the project", uuid);
+        BurnupDto burnup = burnupService.getProjectBurnup(uuid);
+        logger.info("GET /projects/{}/burnup - {} days from {} change points",
+                uuid, burnup.getPlanned().size(), burnup.getChangePoints());
+        return ResponseEntity.ok(burnup);
+    }
+
+    @Override
+    public ResponseEntity<ForecastDto> forecastProject(String uuid, ForecastRequestDto forecastRequestDto) {
+        logger.info("POST /projects/{}/forecast - Forecasting {} remaining work with {} trials",
+                uuid, forecastRequestDto.getRemainingWork(), forecastRequestDto.getTrials());
+        ForecastDto forecast = forecastService.forecastProject(uuid, forecastRequestDto);
+        logger.info("POST /projects/{}/forecast - Forecast computed from {} iterations", uuid, forecast.getSampleSize());
+        return ResponseEntity.ok(forecast);
+    }
 }
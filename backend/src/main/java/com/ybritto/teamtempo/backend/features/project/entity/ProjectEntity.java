@@ -25,6 +25,7 @@ import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
@@ -86,6 +87,16 @@ public class ProjectEntity {
     @OneToMany(mappedBy = "project", cascade = CascadeType.REMOVE)
     private List<IterationEntity> iterations;
 
+    // Maintained by database triggers, see V7__Add_Child_Counters.sql
+    @Column(name = "iteration_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int iterationCount;
+
+    // Bumped by database triggers on every write of the iterations or configurations, see V12__Add_Project_Data_Version.sql
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long dataVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
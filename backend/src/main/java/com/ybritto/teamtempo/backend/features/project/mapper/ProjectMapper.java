@@ -41,6 +41,8 @@ public interface ProjectMapper {
     @Mapping(target = "id", source = "id")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "iterationCount", ignore = true)
+    @Mapping(target = "dataVersion", ignore = true)
     @Mapping(target = "projectConfigurations", source = "projectDto.projectConfiguration", qualifiedByName = "mapToProjectConfigurationEntity")
     ProjectEntity mapToEntity(ProjectDto projectDto, Long id);
 
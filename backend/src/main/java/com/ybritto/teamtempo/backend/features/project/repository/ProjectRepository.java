@@ -2,9 +2,14 @@ package com.ybritto.teamtempo.backend.features.project.repository;
 
 import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +19,16 @@ public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
 
     List<ProjectEntity> findAllByTeam(TeamEntity team);
 
+    @Query("select p from ProjectEntity p join fetch p.team t join fetch t.user " +
+            "where t in :teams order by p.name, p.id")
+    List<ProjectEntity> findAllByTeamIn(@Param("teams") Collection<TeamEntity> teams);
+
     Optional<ProjectEntity> findByUuid(UUID uuid);
 
+    // Locked in key order, so that concurrent callers can not deadlock; iteration writes wait since their triggers
+    // update the project row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from ProjectEntity p where p.uuid in :uuids order by p.id")
+    List<ProjectEntity> findAllForUpdateByUuidIn(@Param("uuids") Collection<UUID> uuids);
+
 }
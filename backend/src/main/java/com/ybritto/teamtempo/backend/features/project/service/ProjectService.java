@@ -1,18 +1,24 @@
 package com.ybritto.teamtempo.backend.features.project.service;
 
+import com.ybritto.teamtempo.backend.core.concurrency.RequestCoalescer;
 import com.ybritto.teamtempo.backend.core.exception.BadRequestException;
 import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
 import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
 import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
 import com.ybritto.teamtempo.backend.features.project.mapper.ProjectMapper;
 import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
 import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamSuggestionService;
 import com.ybritto.teamtempo.backend.gen.model.ProjectDto;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,18 +32,30 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
     private final TeamRepository teamRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final TeamAccessService teamAccessService;
+    private final TeamSuggestionService teamSuggestionService;
 
+    @Transactional(readOnly = true)
     public List<ProjectDto> getProjectsByTeamUuid(String teamUuidAsString) {
         logger.debug("Retrieving projects for team UUID: {}", teamUuidAsString);
         UUID teamUuid = UUIDValidator.validateAndTransform(teamUuidAsString);
+        // Dashboards opened on many screens ask for the same team at once, so identical reads share one execution
+        List<ProjectDto> projects = requestCoalescer.execute("getProjectsByTeamUuid", teamUuid,
+                () -> loadProjectsByTeamUuid(teamUuid));
+        logger.info("Retrieved {} projects for team UUID: {}", projects.size(), teamUuidAsString);
+        return projects;
+    }
+
+    private List<ProjectDto> loadProjectsByTeamUuid(UUID teamUuid) {
         TeamEntity team = teamRepository.findByUuid(teamUuid)
                 .orElseThrow(() -> {
-                    logger.warn("Team not found for retrieving projects with UUID: {}", teamUuidAsString);
-                    return new NotFoundException(String.format("Team with uuid %s not found", teamUuidAsString));
+                    logger.warn("Team not found for retrieving projects with UUID: {}", teamUuid);
+                    return new NotFoundException(String.format("Team with uuid %s not found", teamUuid));
                 });
-        List<ProjectDto> projects = projectMapper.mapToDtoListWithoutTeam(projectRepository.findAllByTeam(team));
-        logger.info("Retrieved {} projects for team UUID: {}", projects.size(), teamUuidAsString);
-        return projects;
+        // The coalescing key includes the principal, so the leader's user is the caller's user
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.VIEWER);
+        return projectMapper.mapToDtoListWithoutTeam(projectRepository.findAllByTeam(team));
     }
 
     public ProjectDto updateProject(String projectUuid, ProjectDto projectDto) {
@@ -48,6 +66,7 @@ public class ProjectService {
             logger.warn("Project not found for update with UUID: {}", projectUuid);
             return new NotFoundException("Project not found with uuid: " + projectUuid);
         });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), projectEntity.getTeam(), TeamMemberRoleEnum.EDITOR);
 
         if (projectDto.getUuid() == null || !projectDto.getUuid().equals(uuid.toString())) {
             logger.warn("Project UUID mismatch: provided={}, team.uuid={}", projectUuid, projectDto.getUuid());
@@ -58,7 +77,9 @@ public class ProjectService {
                 .toBuilder()
                 .team(projectEntity.getTeam())
                 .build();
-        ProjectDto result = projectMapper.mapToDtoWithoutTeam(projectRepository.save(entityToUpdate));
+        ProjectEntity updatedProject = projectRepository.save(entityToUpdate);
+        teamSuggestionService.onProjectSaved(updatedProject);
+        ProjectDto result = projectMapper.mapToDtoWithoutTeam(updatedProject);
 
         logger.info("Successfully updated project: {} with UUID: {}", result.getName(), result.getUuid());
         logger.debug("Exiting method: updateProject with result: project: {}", result.getName());
@@ -74,8 +95,10 @@ public class ProjectService {
                     logger.warn("Project not found for deletion with UUID: {}", projectUuid);
                     return new NotFoundException("Project not found with uuid: " + projectUuid);
                 });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), projectToDelete.getTeam(), TeamMemberRoleEnum.EDITOR);
 
         projectRepository.delete(projectToDelete);
+        teamSuggestionService.onProjectDeleted(projectToDelete);
 
         logger.info("Successfully deleted project: {} with UUID: {}", projectToDelete.getName(), projectUuid);
         logger.debug("Exiting method: deleteProject with result: project: {}", projectToDelete.getName());
@@ -89,14 +112,16 @@ public class ProjectService {
                     logger.warn("Team not found for creating project with UUID: {}", teamUuidAsString);
                     return new NotFoundException("Team not found with uuid: " + teamUuidAsString);
                 });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.EDITOR);
 
         ProjectEntity projectToCreate = projectMapper.mapToEntity(projectDto, null)
                 .toBuilder()
                 .team(team)
                 .build();
 
-        ProjectDto projectDtoCreated = projectMapper
-                .mapToDtoWithoutTeam(projectRepository.save(projectToCreate));
+        ProjectEntity createdProject = projectRepository.save(projectToCreate);
+        teamSuggestionService.onProjectSaved(createdProject);
+        ProjectDto projectDtoCreated = projectMapper.mapToDtoWithoutTeam(createdProject);
 
         logger.info("Successfully created project: {} with UUID: {} for team: {}", 
                 projectDtoCreated.getName(), projectDtoCreated.getUuid(), teamUuidAsString);
@@ -0,0 +1,22 @@
+package com.ybritto.teamtempo.backend.features.projectConfiguration.repository;
+
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectConfigurationRepository extends JpaRepository<ProjectConfigurationEntity, Long> {
+
+    @Query("select c from ProjectConfigurationEntity c join fetch c.project p join fetch p.team t join fetch t.user " +
+            "where p in :projects order by c.id")
+    List<ProjectConfigurationEntity> findAllByProjectIn(@Param("projects") Collection<ProjectEntity> projects);
+
+    Optional<ProjectConfigurationEntity> findFirstByProjectAndActiveTrueOrderByIdDesc(ProjectEntity project);
+}
@@ -0,0 +1,73 @@
+package com.ybritto.teamtempo.backend.features.scenario.controller;
+
+import com.ybritto.teamtempo.backend.features.scenario.service.ScenarioService;
+import com.ybritto.teamtempo.backend.gen.api.ScenariosApi;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioEditDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioPromotionDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioSummaryDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+public class ScenarioController implements ScenariosApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioController.class);
+    private final ScenarioService scenarioService;
+
+    @Override
+    public ResponseEntity<List<ScenarioSummaryDto>> listTeamScenarios(String uuid) {
+        logger.info("GET /teams/{}/scenarios - Retrieving team scenarios", uuid);
+        List<ScenarioSummaryDto> scenarios = scenarioService.getTeamScenarios(uuid);
+        logger.info("GET /teams/{}/scenarios - {} scenarios retrieved", uuid, scenarios.size());
+        return ResponseEntity.ok(scenarios);
+    }
+
+    @Override
+    public ResponseEntity<ScenarioDto> createScenario(String uuid, ScenarioRequestDto scenarioRequestDto) {
+        logger.info("POST /teams/{}/scenarios - Creating scenario: {}", uuid, scenarioRequestDto.getName());
+        ScenarioDto scenario = scenarioService.createScenario(uuid, scenarioRequestDto);
+        logger.info("POST /teams/{}/scenarios - Successfully created scenario with UUID: {}", uuid, scenario.getUuid());
+        return ResponseEntity.ok(scenario);
+    }
+
+    @Override
+    public ResponseEntity<ScenarioDto> getScenario(String uuid) {
+        logger.info("GET /scenarios/{} - Retrieving scenario", uuid);
+        ScenarioDto scenario = scenarioService.getScenario(uuid);
+        logger.info("GET /scenarios/{} - Successfully retrieved scenario: {}", uuid, scenario.getName());
+        return ResponseEntity.ok(scenario);
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteScenario(String uuid) {
+        logger.info("DELETE /scenarios/{} - Deleting scenario", uuid);
+        scenarioService.deleteScenario(uuid);
+        logger.info("DELETE /scenarios/{} - Successfully deleted scenario", uuid);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    public ResponseEntity<ScenarioDto> editScenario(String uuid, List<ScenarioEditDto> scenarioEditDto) {
+        logger.info("POST /scenarios/{}/edits - Applying {} edits", uuid, scenarioEditDto.size());
+        ScenarioDto scenario = scenarioService.editScenario(uuid, scenarioEditDto);
+        logger.info("POST /scenarios/{}/edits - {} projects changed", uuid, scenario.getChangedProjects());
+        return ResponseEntity.ok(scenario);
+    }
+
+    @Override
+    public ResponseEntity<ScenarioPromotionDto> promoteScenario(String uuid) {
+        logger.info("POST /scenarios/{}:promote - Promoting scenario", uuid);
+        ScenarioPromotionDto promotion = scenarioService.promoteScenario(uuid);
+        logger.info("POST /scenarios/{}:promote - {} iterations saved, {} deleted, {} projects dropped",
+                uuid, promotion.getIterationsSaved(), promotion.getIterationsDeleted(), promotion.getProjectsDropped());
+        return ResponseEntity.ok(promotion);
+    }
+}
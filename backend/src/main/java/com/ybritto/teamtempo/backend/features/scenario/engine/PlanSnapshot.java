@@ -0,0 +1,77 @@
+package com.ybritto.teamtempo.backend.features.scenario.engine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable, copy-on-write plan of the projects of a team.
+ * <p>
+ * A snapshot is its base, the projects as loaded from the database, plus the projects edited since. The base is
+ * shared by every snapshot derived from it, and an edit only copies the small map of edited projects, so each
+ * scenario costs the projects it edited rather than a copy of the team plan.
+ */
+public final class PlanSnapshot {
+
+    private final Map<UUID, ScenarioProject> base;
+    private final Map<UUID, ScenarioProject> edited;
+
+    private PlanSnapshot(Map<UUID, ScenarioProject> base, Map<UUID, ScenarioProject> edited) {
+        this.base = base;
+        this.edited = edited;
+    }
+
+    public static PlanSnapshot of(Collection<ScenarioProject> projects) {
+        Map<UUID, ScenarioProject> base = new LinkedHashMap<>();
+        projects.forEach(project -> base.put(project.uuid(), project));
+        return new PlanSnapshot(Collections.unmodifiableMap(base), Map.of());
+    }
+
+    /**
+     * @return the projects in the order of the base
+     */
+    public List<ScenarioProject> projects() {
+        return base.values().stream()
+                .map(project -> edited.getOrDefault(project.uuid(), project))
+                .toList();
+    }
+
+    public Optional<ScenarioProject> project(UUID projectUuid) {
+        ScenarioProject project = edited.get(projectUuid);
+        return project != null ? Optional.of(project) : Optional.ofNullable(base.get(projectUuid));
+    }
+
+    public Optional<ScenarioProject> baseProject(UUID projectUuid) {
+        return Optional.ofNullable(base.get(projectUuid));
+    }
+
+    /**
+     * @return the snapshot with the given edit of a project of the base
+     */
+    public PlanSnapshot with(ScenarioProject project) {
+        ScenarioProject baseProject = base.get(project.uuid());
+        if (baseProject == null) {
+            throw new IllegalArgumentException("Project " + project.uuid() + " is not part of the plan");
+        }
+        Map<UUID, ScenarioProject> edits = new HashMap<>(edited);
+        if (project == baseProject) {
+            edits.remove(project.uuid());
+        } else {
+            edits.put(project.uuid(), project);
+        }
+        return new PlanSnapshot(base, Collections.unmodifiableMap(edits));
+    }
+
+    public boolean isEdited(UUID projectUuid) {
+        return edited.containsKey(projectUuid);
+    }
+
+    public Collection<ScenarioProject> editedProjects() {
+        return edited.values();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ybritto.teamtempo.backend.features.scenario.engine;
+
+import com.ybritto.teamtempo.backend.features.forecast.engine.SimulationResult;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Whether the work planned in the unfinished iterations of a project fits them, simulated from the actual forecasts
+ * of its finished iterations. The simulated iterations are null without finished iterations or remaining work.
+ */
+public record ScenarioForecast(int remainingIterations, int remainingWork, LocalDate plannedEndDate,
+                               Integer iterationsP50, Integer iterationsP85) {
+
+    /**
+     * Runs the trials of a simulation; the seed only depends on the project, so an unchanged plan gives the same
+     * forecast in every scenario.
+     */
+    @FunctionalInterface
+    public interface Simulator {
+
+        SimulationResult simulate(int[] samples, int remainingWork, long seed);
+    }
+
+    public static ScenarioForecast of(ScenarioProject project, Simulator simulator) {
+        int remainingIterations = 0;
+        int remainingWork = 0;
+        LocalDate plannedEndDate = null;
+        int[] samples = new int[project.iterations().size()];
+        int sampleCount = 0;
+        for (ScenarioIteration iteration : project.iterations()) {
+            if (iteration.plannedEndDate() != null
+                    && (plannedEndDate == null || iteration.plannedEndDate().isAfter(plannedEndDate))) {
+                plannedEndDate = iteration.plannedEndDate();
+            }
+            if (iteration.isFinished()) {
+                if (iteration.actualForecast() != null && iteration.actualForecast() >= 0) {
+                    samples[sampleCount++] = iteration.actualForecast();
+                }
+            } else {
+                remainingIterations++;
+                remainingWork += iteration.plannedForecast() == null ? 0 : iteration.plannedForecast();
+            }
+        }
+        if (sampleCount == 0 || remainingWork <= 0) {
+            return new ScenarioForecast(remainingIterations, remainingWork, plannedEndDate, null, null);
+        }
+
+        UUID uuid = project.uuid();
+        SimulationResult result = simulator.simulate(Arrays.copyOf(samples, sampleCount), remainingWork,
+                uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
+        return new ScenarioForecast(remainingIterations, remainingWork, plannedEndDate,
+                iterationsAt(result, 50), iterationsAt(result, 85));
+    }
+
+    /**
+     * Whether the remaining work is delivered within the remaining iterations in 85% of the trials.
+     */
+    public Boolean fitsPlan() {
+        return iterationsP85 == null ? null : iterationsP85 <= remainingIterations;
+    }
+
+    private static Integer iterationsAt(SimulationResult result, double percentile) {
+        int iterations = result.iterationsAt(percentile);
+        return iterations < 0 ? null : iterations;
+    }
+}
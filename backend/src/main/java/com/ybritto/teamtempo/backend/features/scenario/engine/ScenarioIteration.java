@@ -0,0 +1,18 @@
+package com.ybritto.teamtempo.backend.features.scenario.engine;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Immutable iteration of a scenario plan, shared by every snapshot that did not edit it.
+ */
+public record ScenarioIteration(UUID uuid, String name,
+                                LocalDate plannedStartDate, LocalDate plannedEndDate,
+                                Integer plannedCapacity, Integer plannedForecast,
+                                LocalDate actualStartDate, LocalDate actualEndDate,
+                                Integer actualCapacity, Integer actualForecast) {
+
+    public boolean isFinished() {
+        return actualEndDate != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.ybritto.teamtempo.backend.features.scenario.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable project of a scenario plan. Edits return a new project holding a new list of the same iteration
+ * instances, so an edit copies one reference per iteration of the edited project and nothing else.
+ * <p>
+ * Projects are compared by identity: an unedited project is the very instance of the snapshot it was taken from.
+ */
+public final class ScenarioProject {
+
+    private final long id;
+    private final UUID uuid;
+    private final String name;
+    private final boolean active;
+    // Data version of the project when the plan was loaded, checked before promoting edits
+    private final long dataVersion;
+    private final List<ScenarioIteration> iterations;
+
+    public ScenarioProject(long id, UUID uuid, String name, boolean active, long dataVersion,
+                           List<ScenarioIteration> iterations) {
+        this.id = id;
+        this.uuid = uuid;
+        this.name = name;
+        this.active = active;
+        this.dataVersion = dataVersion;
+        this.iterations = List.copyOf(iterations);
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public UUID uuid() {
+        return uuid;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean active() {
+        return active;
+    }
+
+    public long dataVersion() {
+        return dataVersion;
+    }
+
+    public List<ScenarioIteration> iterations() {
+        return iterations;
+    }
+
+    public Optional<ScenarioIteration> findIteration(UUID iterationUuid) {
+        return iterations.stream()
+                .filter(iteration -> iteration.uuid().equals(iterationUuid))
+                .findFirst();
+    }
+
+    /**
+     * @return the plan of the project, once it is dropped
+     */
+    public ScenarioProject dropped() {
+        return new ScenarioProject(id, uuid, name, false, dataVersion, iterations);
+    }
+
+    /**
+     * Replaces the iteration of the same uuid, or appends it.
+     */
+    public ScenarioProject withIteration(ScenarioIteration iteration) {
+        List<ScenarioIteration> edited = new ArrayList<>(iterations.size() + 1);
+        boolean replaced = false;
+        for (ScenarioIteration existing : iterations) {
+            if (existing.uuid().equals(iteration.uuid())) {
+                edited.add(iteration);
+                replaced = true;
+            } else {
+                edited.add(existing);
+            }
+        }
+        if (!replaced) {
+            edited.add(iteration);
+        }
+        return new ScenarioProject(id, uuid, name, active, dataVersion, edited);
+    }
+
+    public ScenarioProject withoutIteration(UUID iterationUuid) {
+        List<ScenarioIteration> edited = iterations.stream()
+                .filter(iteration -> !iteration.uuid().equals(iterationUuid))
+                .toList();
+        return new ScenarioProject(id, uuid, name, active, dataVersion, edited);
+    }
+
+    /**
+     * Whether the project holds the same data as the other, for reusing a project of an older snapshot.
+     */
+    public boolean sameAs(ScenarioProject other) {
+        return id == other.id && uuid.equals(other.uuid) && name.equals(other.name) && active == other.active
+                && dataVersion == other.dataVersion;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ybritto.teamtempo.backend.features.scenario.mapper;
+
+import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
+import com.ybritto.teamtempo.backend.features.scenario.engine.ScenarioForecast;
+import com.ybritto.teamtempo.backend.features.scenario.engine.ScenarioIteration;
+import com.ybritto.teamtempo.backend.features.scenario.service.Scenario;
+import com.ybritto.teamtempo.backend.gen.model.IterationDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioForecastDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioSummaryDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValueMappingStrategy;
+
+import java.util.List;
+import java.util.UUID;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT,
+        uses = {CommonsMapper.class})
+public interface ScenarioMapper {
+
+    @Mapping(target = "changedProjects", expression = "java(scenario.plan().editedProjects().size())")
+    ScenarioSummaryDto mapToSummaryDto(Scenario scenario);
+
+    @Mapping(target = "uuid", source = "scenario.uuid")
+    @Mapping(target = "teamUuid", source = "scenario.teamUuid")
+    @Mapping(target = "name", source = "scenario.name")
+    @Mapping(target = "createdAt", source = "scenario.createdAt")
+    @Mapping(target = "changedProjects", expression = "java(scenario.plan().editedProjects().size())")
+    @Mapping(target = "projects", source = "projects")
+    ScenarioDto mapToDto(Scenario scenario, List<ScenarioProjectDto> projects);
+
+    @Mapping(target = "uuid", source = "uuid")
+    ScenarioIteration mapToIteration(IterationDto iterationDto, UUID uuid);
+
+    List<IterationDto> mapIterationsToDto(List<ScenarioIteration> iterations);
+
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "plannedWorkingDays", ignore = true)
+    @Mapping(target = "actualWorkingDays", ignore = true)
+    IterationDto mapToDto(ScenarioIteration iteration);
+
+    @Mapping(target = "fitsPlan", expression = "java(forecast.fitsPlan())")
+    ScenarioForecastDto mapToDto(ScenarioForecast forecast);
+}
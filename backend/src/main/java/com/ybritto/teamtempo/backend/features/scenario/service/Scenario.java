@@ -0,0 +1,18 @@
+package com.ybritto.teamtempo.backend.features.scenario.service;
+
+import com.ybritto.teamtempo.backend.features.scenario.engine.PlanSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What-if scenario of a team, held in memory until it is promoted, deleted or expires. {@code createdBy} is the id of
+ * the user who created it.
+ */
+public record Scenario(UUID uuid, long teamId, UUID teamUuid, String name, long createdBy, LocalDateTime createdAt,
+                       PlanSnapshot plan) {
+
+    Scenario withPlan(PlanSnapshot plan) {
+        return new Scenario(uuid, teamId, teamUuid, name, createdBy, createdAt, plan);
+    }
+}
@@ -0,0 +1,467 @@
+package com.ybritto.teamtempo.backend.features.scenario.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.EntityValidator;
+import com.ybritto.teamtempo.backend.core.utils.TransactionUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.forecast.service.ForecastService;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.mapper.IterationMapper;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.iteration.service.IterationService;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.scenario.engine.PlanSnapshot;
+import com.ybritto.teamtempo.backend.features.scenario.engine.ScenarioForecast;
+import com.ybritto.teamtempo.backend.features.scenario.engine.ScenarioIteration;
+import com.ybritto.teamtempo.backend.features.scenario.engine.ScenarioProject;
+import com.ybritto.teamtempo.backend.features.scenario.mapper.ScenarioMapper;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.IterationDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioEditDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioPromotionDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * What-if scenarios: copies of the plan of a team that can be edited and forecast without touching the team data,
+ * then promoted to it in one transaction.
+ * <p>
+ * Scenarios are kept in memory on the node that created them, see {@link PlanSnapshot}: every scenario of a team shares
+ * the projects loaded for it, and only the projects it edited are copied. A new scenario reuses the projects of the
+ * previous snapshot of its team whose data version did not change, and forecasts are cached by project instance, so
+ * an edit only loads and simulates the projects it touched.
+ */
+@Service
+public class ScenarioService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioService.class);
+
+    private final TeamRepository teamRepository;
+    private final ProjectRepository projectRepository;
+    private final IterationRepository iterationRepository;
+    private final IterationMapper iterationMapper;
+    private final IterationService iterationService;
+    private final ForecastService forecastService;
+    private final TeamAccessService teamAccessService;
+    private final ScenarioMapper scenarioMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int maxPerTeam;
+    private final int maxEdits;
+    private final int trials;
+    private final Cache<UUID, Scenario> scenarios;
+    // Latest snapshot loaded for each team, whose unchanged projects are shared with the next one
+    private final Cache<Long, PlanSnapshot> baseSnapshots;
+    // Keyed by identity and dropped along with the last snapshot holding the project
+    private final Cache<ScenarioProject, ScenarioForecast> forecasts;
+
+    public ScenarioService(TeamRepository teamRepository,
+                           ProjectRepository projectRepository,
+                           IterationRepository iterationRepository,
+                           IterationMapper iterationMapper,
+                           IterationService iterationService,
+                           ForecastService forecastService,
+                           TeamAccessService teamAccessService,
+                           ScenarioMapper scenarioMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.scenarios.ttl:8h}") Duration ttl,
+                           @Value("${app.scenarios.max-scenarios:10000}") long maxScenarios,
+                           @Value("${app.scenarios.max-per-team:20}") int maxPerTeam,
+                           @Value("${app.scenarios.max-edits:100}") int maxEdits,
+                           @Value("${app.scenarios.trials:10000}") int trials,
+                           MeterRegistry meterRegistry) {
+        this.teamRepository = teamRepository;
+        this.projectRepository = projectRepository;
+        this.iterationRepository = iterationRepository;
+        this.iterationMapper = iterationMapper;
+        this.iterationService = iterationService;
+        this.forecastService = forecastService;
+        this.teamAccessService = teamAccessService;
+        this.scenarioMapper = scenarioMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.maxPerTeam = maxPerTeam;
+        this.maxEdits = maxEdits;
+        this.trials = trials;
+        this.scenarios = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxScenarios)
+                .recordStats()
+                .build();
+        this.baseSnapshots = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxScenarios)
+                .build();
+        this.forecasts = Caffeine.newBuilder()
+                .weakKeys()
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, scenarios, "scenarios");
+        CaffeineCacheMetrics.monitor(meterRegistry, forecasts, "scenario-forecasts");
+    }
+
+    public List<ScenarioSummaryDto> getTeamScenarios(String teamUuid) {
+        logger.debug("Entering method: getTeamScenarios with team uuid: {}", teamUuid);
+        TeamEntity team = readOnlyTransactionTemplate.execute(status -> findTeam(teamUuid));
+
+        List<ScenarioSummaryDto> summaries = teamScenarios(team.getId()).stream()
+                .sorted(Comparator.comparing(Scenario::createdAt))
+                .map(scenarioMapper::mapToSummaryDto)
+                .toList();
+        logger.debug("Exiting method: getTeamScenarios with {} scenarios", summaries.size());
+        return summaries;
+    }
+
+    public ScenarioDto createScenario(String teamUuid, ScenarioRequestDto request) {
+        logger.debug("Entering method: createScenario with team uuid: {}, name: {}", teamUuid, request.getName());
+        if (!StringUtils.hasText(request.getName())) {
+            throw new InvalidParameterException("Scenario name can not be empty");
+        }
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        Scenario scenario = readOnlyTransactionTemplate.execute(status -> {
+            TeamEntity team = findTeam(teamUuid);
+            if (teamScenarios(team.getId()).size() >= maxPerTeam) {
+                logger.warn("Scenario rejected: team {} already has {} scenarios", teamUuid, maxPerTeam);
+                throw new ConflictException(String.format("Too many scenarios for team %s, at most %d are kept",
+                        teamUuid, maxPerTeam));
+            }
+            return new Scenario(UUID.randomUUID(), team.getId(), team.getUuid(), request.getName(), user.getId(),
+                    LocalDateTime.now(), loadPlan(team));
+        });
+        scenarios.put(scenario.uuid(), scenario);
+
+        ScenarioDto scenarioDto = mapToDto(scenario);
+        logger.info("Successfully created scenario: {} with UUID: {} for team: {}",
+                scenario.name(), scenario.uuid(), teamUuid);
+        return scenarioDto;
+    }
+
+    public ScenarioDto getScenario(String scenarioUuid) {
+        logger.debug("Entering method: getScenario with uuid: {}", scenarioUuid);
+        Scenario scenario = findScenario(scenarioUuid, TeamMemberRoleEnum.VIEWER);
+
+        ScenarioDto scenarioDto = mapToDto(scenario);
+        logger.debug("Exiting method: getScenario with {} changed projects", scenarioDto.getChangedProjects());
+        return scenarioDto;
+    }
+
+    /**
+     * Applies the edits in order, either all of them or none: the new plan replaces the previous one only once every
+     * edit succeeded, and concurrent edits of the same scenario are applied one after the other. Only the creator of
+     * the scenario and the editors of its team may edit it.
+     */
+    public ScenarioDto editScenario(String scenarioUuid, List<ScenarioEditDto> edits) {
+        logger.debug("Entering method: editScenario with uuid: {}, {} edits", scenarioUuid, edits.size());
+        if (edits.size() > maxEdits) {
+            logger.warn("Scenario edits rejected: {} edits exceed the maximum of {}", edits.size(), maxEdits);
+            throw new InvalidParameterException(String.format("At most %d edits are accepted per request", maxEdits));
+        }
+        Scenario scenario = findEditableScenario(scenarioUuid);
+
+        Scenario edited = scenarios.asMap().compute(scenario.uuid(), (uuid, current) -> {
+            if (current == null) {
+                throw new NotFoundException("Scenario not found with uuid: " + scenarioUuid);
+            }
+            PlanSnapshot plan = current.plan();
+            for (ScenarioEditDto edit : edits) {
+                plan = apply(plan, edit);
+            }
+            return current.withPlan(plan);
+        });
+
+        ScenarioDto scenarioDto = mapToDto(edited);
+        logger.info("Successfully applied {} edits to scenario: {}", edits.size(), scenarioUuid);
+        return scenarioDto;
+    }
+
+    /**
+     * Discards the scenario; like edits, only allowed to its creator and the editors of its team.
+     */
+    public void deleteScenario(String scenarioUuid) {
+        logger.debug("Entering method: deleteScenario with uuid: {}", scenarioUuid);
+        Scenario scenario = findEditableScenario(scenarioUuid);
+
+        scenarios.invalidate(scenario.uuid());
+        logger.info("Successfully deleted scenario: {}", scenarioUuid);
+    }
+
+    /**
+     * Saves the edited projects of the scenario to the team data. The projects are locked first and compared with the
+     * snapshot of the scenario, so a project changed since it was loaded fails the promotion instead of being
+     * overwritten. Dropped projects are deactivated, since projects holding iterations can not be deleted.
+     */
+    @Transactional
+    public ScenarioPromotionDto promoteScenario(String scenarioUuid) {
+        logger.debug("Entering method: promoteScenario with uuid: {}", scenarioUuid);
+        Scenario scenario = findScenario(scenarioUuid, TeamMemberRoleEnum.EDITOR);
+        PlanSnapshot plan = scenario.plan();
+
+        Map<UUID, ProjectEntity> lockedProjects = projectRepository.findAllForUpdateByUuidIn(
+                        plan.editedProjects().stream().map(ScenarioProject::uuid).toList()).stream()
+                .collect(Collectors.toMap(ProjectEntity::getUuid, Function.identity()));
+        int projectsDropped = 0;
+        int iterationsSaved = 0;
+        int iterationsDeleted = 0;
+        for (ScenarioProject project : plan.editedProjects()) {
+            ScenarioProject baseProject = plan.baseProject(project.uuid()).orElseThrow();
+            ProjectEntity projectEntity = lockedProjects.get(project.uuid());
+            if (projectEntity == null || projectEntity.getDataVersion() != baseProject.dataVersion()
+                    || projectEntity.isActive() != baseProject.active()) {
+                logger.warn("Scenario {} not promoted: project {} changed since the scenario was created",
+                        scenarioUuid, project.uuid());
+                throw new ConflictException(String.format(
+                        "Project %s changed since the scenario was created", project.name()));
+            }
+
+            List<IterationDto> savedIterations = project.iterations().stream()
+                    .filter(iteration -> baseProject.findIteration(iteration.uuid()).orElse(null) != iteration)
+                    .map(scenarioMapper::mapToDto)
+                    .toList();
+            Set<UUID> keptUuids = project.iterations().stream()
+                    .map(ScenarioIteration::uuid)
+                    .collect(Collectors.toSet());
+            List<UUID> deletedUuids = baseProject.iterations().stream()
+                    .map(ScenarioIteration::uuid)
+                    .filter(uuid -> !keptUuids.contains(uuid))
+                    .toList();
+            iterationService.applyIterationChanges(projectEntity, savedIterations, deletedUuids);
+            iterationsSaved += savedIterations.size();
+            iterationsDeleted += deletedUuids.size();
+
+            if (baseProject.active() && !project.active()) {
+                projectRepository.save(projectEntity.toBuilder().active(false).build());
+                projectsDropped++;
+            }
+        }
+        TransactionUtils.afterCommit(() -> scenarios.invalidate(scenario.uuid()));
+
+        logger.info("Successfully promoted scenario: {}: {} projects dropped, {} iterations saved, {} deleted",
+                scenarioUuid, projectsDropped, iterationsSaved, iterationsDeleted);
+        return new ScenarioPromotionDto()
+                .projectsDropped(projectsDropped)
+                .iterationsSaved(iterationsSaved)
+                .iterationsDeleted(iterationsDeleted);
+    }
+
+    private PlanSnapshot apply(PlanSnapshot plan, ScenarioEditDto edit) {
+        if (edit.getType() == null) {
+            throw new InvalidParameterException("Scenario edit type can not be null");
+        }
+        UUID projectUuid = UUIDValidator.validateAndTransform(edit.getProjectUuid());
+        ScenarioProject project = plan.project(projectUuid)
+                .orElseThrow(() -> new NotFoundException("Project not found with uuid: " + edit.getProjectUuid()));
+        if (!project.active()) {
+            throw new InvalidParameterException(String.format("Project %s is not active in the scenario", project.name()));
+        }
+
+        return plan.with(switch (edit.getType()) {
+            case DROP_PROJECT -> project.dropped();
+            case ADD_ITERATION -> project.withIteration(edit.getIteration() == null
+                    ? nextIteration(project)
+                    : newIteration(project, edit.getIteration()));
+            case UPDATE_ITERATION -> {
+                UUID iterationUuid = findIterationUuid(project, edit.getIterationUuid());
+                if (edit.getIteration() == null) {
+                    throw new InvalidParameterException("Iteration can not be null");
+                }
+                yield project.withIteration(toIteration(edit.getIteration(), iterationUuid));
+            }
+            case REMOVE_ITERATION -> project.withoutIteration(findIterationUuid(project, edit.getIterationUuid()));
+        });
+    }
+
+    private ScenarioIteration newIteration(ScenarioProject project, IterationDto iterationDto) {
+        UUID iterationUuid = iterationDto.getUuid() == null
+                ? UUID.randomUUID()
+                : UUIDValidator.validateAndTransform(iterationDto.getUuid());
+        if (project.findIteration(iterationUuid).isPresent()) {
+            throw new InvalidParameterException(String.format("Iteration %s already exists, it can only be updated",
+                    iterationUuid));
+        }
+        return toIteration(iterationDto, iterationUuid);
+    }
+
+    /**
+     * A copy of the duration and planned figures of the last planned iteration, starting the day after it ends.
+     */
+    private static ScenarioIteration nextIteration(ScenarioProject project) {
+        ScenarioIteration last = project.iterations().reversed().stream()
+                .filter(iteration -> iteration.plannedStartDate() != null && iteration.plannedEndDate() != null)
+                .findFirst()
+                .orElseThrow(() -> new InvalidParameterException(String.format(
+                        "Project %s has no planned iteration to repeat, the iteration must be given", project.name())));
+        LocalDate startDate = last.plannedEndDate().plusDays(1);
+        long days = ChronoUnit.DAYS.between(last.plannedStartDate(), last.plannedEndDate());
+        return new ScenarioIteration(UUID.randomUUID(), "Iteration " + (project.iterations().size() + 1),
+                startDate, startDate.plusDays(days), last.plannedCapacity(), last.plannedForecast(),
+                null, null, null, null);
+    }
+
+    private ScenarioIteration toIteration(IterationDto iterationDto, UUID iterationUuid) {
+        // Validated as the iteration would be once promoted, so that a promotion does not fail on a bad edit
+        EntityValidator.validateEntity(iterationMapper.mapToEntity(iterationDto, null));
+        return scenarioMapper.mapToIteration(iterationDto, iterationUuid);
+    }
+
+    private static UUID findIterationUuid(ScenarioProject project, String iterationUuid) {
+        UUID uuid = UUIDValidator.validateAndTransform(iterationUuid);
+        if (project.findIteration(uuid).isEmpty()) {
+            throw new NotFoundException("Iteration not found with uuid: " + iterationUuid);
+        }
+        return uuid;
+    }
+
+    /**
+     * Loads the projects of the team, reusing the projects of its previous snapshot that did not change since, and
+     * the iterations of the others only.
+     */
+    private PlanSnapshot loadPlan(TeamEntity team) {
+        PlanSnapshot previous = baseSnapshots.getIfPresent(team.getId());
+        List<ProjectEntity> projectEntities = projectRepository.findAllByTeam(team).stream()
+                .sorted(Comparator.comparing(ProjectEntity::getName).thenComparing(ProjectEntity::getId))
+                .toList();
+
+        List<ScenarioProject> projects = new ArrayList<>(projectEntities.size());
+        List<ProjectEntity> changed = new ArrayList<>();
+        for (ProjectEntity projectEntity : projectEntities) {
+            ScenarioProject loaded = toProject(projectEntity, List.of());
+            ScenarioProject reused = previous == null
+                    ? null
+                    : previous.baseProject(projectEntity.getUuid()).filter(loaded::sameAs).orElse(null);
+            projects.add(reused);
+            if (reused == null) {
+                changed.add(projectEntity);
+            }
+        }
+        Map<Long, List<ScenarioIteration>> iterations = changed.isEmpty()
+                ? Map.of()
+                : iterationRepository.findAllByProjectIn(changed).stream()
+                .collect(Collectors.groupingBy(iteration -> iteration.getProject().getId(),
+                        Collectors.mapping(this::toIteration, Collectors.toList())));
+        for (int i = 0; i < projects.size(); i++) {
+            if (projects.get(i) == null) {
+                ProjectEntity projectEntity = projectEntities.get(i);
+                projects.set(i, toProject(projectEntity, iterations.getOrDefault(projectEntity.getId(), List.of())));
+            }
+        }
+
+        PlanSnapshot plan = PlanSnapshot.of(projects);
+        baseSnapshots.put(team.getId(), plan);
+        logger.debug("Loaded the plan of team {}: {} projects, {} reloaded", team.getUuid(), projects.size(), changed.size());
+        return plan;
+    }
+
+    private ScenarioIteration toIteration(IterationEntity iteration) {
+        return scenarioMapper.mapToIteration(iterationMapper.mapToDtoWithoutProject(iteration), iteration.getUuid());
+    }
+
+    private static ScenarioProject toProject(ProjectEntity project, List<ScenarioIteration> iterations) {
+        return new ScenarioProject(project.getId(), project.getUuid(), project.getName(), project.isActive(),
+                project.getDataVersion(), iterations);
+    }
+
+    private ScenarioDto mapToDto(Scenario scenario) {
+        PlanSnapshot plan = scenario.plan();
+        List<ScenarioProjectDto> projectDtos = plan.projects().stream()
+                .map(project -> {
+                    ScenarioProject baseProject = plan.baseProject(project.uuid()).orElseThrow();
+                    ScenarioForecast baseline = forecast(baseProject);
+                    ScenarioForecast forecast = project == baseProject ? baseline : forecast(project);
+                    return new ScenarioProjectDto()
+                            .projectUuid(project.uuid().toString())
+                            .name(project.name())
+                            .active(project.active())
+                            .changed(plan.isEdited(project.uuid()))
+                            .iterations(scenarioMapper.mapIterationsToDto(project.iterations()))
+                            .baseline(baseline == null ? null : scenarioMapper.mapToDto(baseline))
+                            .scenario(forecast == null ? null : scenarioMapper.mapToDto(forecast));
+                })
+                .toList();
+        return scenarioMapper.mapToDto(scenario, projectDtos);
+    }
+
+    /**
+     * @return the forecast of an active project, computed once per project instance
+     */
+    private ScenarioForecast forecast(ScenarioProject project) {
+        if (!project.active()) {
+            return null;
+        }
+        return forecasts.get(project, key -> ScenarioForecast.of(key,
+                (samples, remainingWork, seed) -> forecastService.simulate(samples, remainingWork, trials, seed)));
+    }
+
+    private List<Scenario> teamScenarios(long teamId) {
+        return scenarios.asMap().values().stream()
+                .filter(scenario -> scenario.teamId() == teamId)
+                .toList();
+    }
+
+    private TeamEntity findTeam(String teamUuid) {
+        TeamEntity team = teamRepository.findByUuid(UUIDValidator.validateAndTransform(teamUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Team not found with UUID: {}", teamUuid);
+                    return new NotFoundException(String.format("Team with uuid %s not found", teamUuid));
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.VIEWER);
+        return team;
+    }
+
+    private Scenario findScenario(String scenarioUuid, TeamMemberRoleEnum requiredRole) {
+        return findScenario(scenarioUuid, scenario -> requiredRole);
+    }
+
+    // The creator of a scenario only needs to remain a viewer of the team, the other members must be editors
+    private Scenario findEditableScenario(String scenarioUuid) {
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        return findScenario(scenarioUuid, scenario -> scenario.createdBy() == user.getId()
+                ? TeamMemberRoleEnum.VIEWER
+                : TeamMemberRoleEnum.EDITOR);
+    }
+
+    private Scenario findScenario(String scenarioUuid, Function<Scenario, TeamMemberRoleEnum> requiredRole) {
+        Scenario scenario = scenarios.getIfPresent(UUIDValidator.validateAndTransform(scenarioUuid));
+        if (scenario == null) {
+            logger.warn("Scenario not found with UUID: {}", scenarioUuid);
+            throw new NotFoundException("Scenario not found with uuid: " + scenarioUuid);
+        }
+        TeamEntity team = readOnlyTransactionTemplate.execute(status -> teamRepository.findById(scenario.teamId())
+                .orElseThrow(() -> new NotFoundException("Scenario not found with uuid: " + scenarioUuid)));
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, requiredRole.apply(scenario));
+        return scenario;
+    }
+}
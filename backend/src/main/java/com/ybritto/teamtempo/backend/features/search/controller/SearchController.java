@@ -0,0 +1,26 @@
+package com.ybritto.teamtempo.backend.features.search.controller;
+
+import com.ybritto.teamtempo.backend.features.search.service.SearchService;
+import com.ybritto.teamtempo.backend.gen.api.SearchApi;
+import com.ybritto.teamtempo.backend.gen.model.SearchResultPageDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class SearchController implements SearchApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    private final SearchService searchService;
+
+    @Override
+    public ResponseEntity<SearchResultPageDto> search(String q, Integer page, Integer size) {
+        logger.info("GET /search - Searching for '{}' (page {}, size {})", q, page, size);
+        SearchResultPageDto result = searchService.search(q, page, size);
+        logger.info("GET /search - {} results found", result.getTotalElements());
+        return ResponseEntity.ok(result);
+    }
+}
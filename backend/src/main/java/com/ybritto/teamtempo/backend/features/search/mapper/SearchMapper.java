@@ -0,0 +1,28 @@
+package com.ybritto.teamtempo.backend.features.search.mapper;
+
+import com.ybritto.teamtempo.backend.features.search.repository.SearchHit;
+import com.ybritto.teamtempo.backend.gen.model.SearchResultDto;
+import com.ybritto.teamtempo.backend.gen.model.SearchResultPageDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueMappingStrategy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
+public interface SearchMapper {
+
+    List<SearchResultDto> mapToDtoList(List<SearchHit> hits);
+
+    SearchResultDto mapToDto(SearchHit hit);
+
+    default SearchResultPageDto mapToPageDto(List<SearchHit> hits, int page, int size, long totalElements) {
+        SearchResultPageDto pageDto = new SearchResultPageDto();
+        pageDto.setItems(mapToDtoList(hits));
+        pageDto.setPage(page);
+        pageDto.setSize(size);
+        pageDto.setTotalElements(totalElements);
+        pageDto.setTotalPages((int) ((totalElements + size - 1) / size));
+        return pageDto;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ybritto.teamtempo.backend.features.search.repository;
+
+import java.util.UUID;
+
+public record SearchHit(Type type, UUID uuid, String name, String description, UUID teamUuid, double rank) {
+
+    public enum Type {
+        TEAM,
+        PROJECT
+    }
+}
@@ -0,0 +1,6 @@
+package com.ybritto.teamtempo.backend.features.search.repository;
+
+import java.util.List;
+
+public record SearchPage(List<SearchHit> hits, long totalElements) {
+}
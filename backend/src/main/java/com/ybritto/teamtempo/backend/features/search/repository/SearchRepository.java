@@ -0,0 +1,97 @@
+package com.ybritto.teamtempo.backend.features.search.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked search over the teams and projects visible to a user.
+ * <p>
+ * Whole words are matched through the {@code search_vector} GIN indexes and partial words through the
+ * trigram indexes on names and descriptions, see {@code V4__Add_Search_Indexes.sql}. The page and the total
+ * number of matches come from the same statement, so the matches are only evaluated once.
+ */
+@Repository
+@AllArgsConstructor
+public class SearchRepository {
+
+    private static final String HITS_CTE = """
+            WITH query AS (SELECT websearch_to_tsquery('simple', :term) AS tsq),
+            hits AS (
+                SELECT 'TEAM' AS type, t.uuid AS uuid, t.name AS name, t.description AS description,
+                       t.uuid AS team_uuid,
+                       ts_rank_cd(t.search_vector, query.tsq) + similarity(t.name, :term) AS rank
+                FROM team t
+                JOIN team_member m ON m.team_id = t.key_id AND m.app_user_id = :userId
+                CROSS JOIN query
+                WHERE (t.search_vector @@ query.tsq
+                       OR t.name ILIKE :pattern ESCAPE '!'
+                       OR t.description ILIKE :pattern ESCAPE '!')
+                UNION ALL
+                SELECT 'PROJECT', p.uuid, p.name, p.description,
+                       t.uuid,
+                       ts_rank_cd(p.search_vector, query.tsq) + similarity(p.name, :term)
+                FROM project p
+                JOIN team t ON t.key_id = p.team_id
+                JOIN team_member m ON m.team_id = t.key_id AND m.app_user_id = :userId
+                CROSS JOIN query
+                WHERE (p.search_vector @@ query.tsq
+                       OR p.name ILIKE :pattern ESCAPE '!'
+                       OR p.description ILIKE :pattern ESCAPE '!')
+            )
+            """;
+
+    private static final String COUNT_SQL = HITS_CTE + "SELECT count(*) FROM hits";
+
+    private static final String PAGE_SQL = HITS_CTE + """
+            SELECT type, uuid, name, description, team_uuid, rank, count(*) OVER () AS total
+            FROM hits
+            ORDER BY rank DESC, name, uuid
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final RowMapper<SearchHit> SEARCH_HIT_ROW_MAPPER = (rs, rowNum) -> new SearchHit(
+            SearchHit.Type.valueOf(rs.getString("type")),
+            rs.getObject("uuid", UUID.class),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getObject("team_uuid", UUID.class),
+            rs.getDouble("rank"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchPage findPage(Long userId, String term, long offset, int limit) {
+        MapSqlParameterSource parameters = parameters(userId, term)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        long[] total = new long[1];
+        List<SearchHit> hits = jdbcTemplate.query(PAGE_SQL, parameters, (rs, rowNum) -> {
+            total[0] = rs.getLong("total");
+            return SEARCH_HIT_ROW_MAPPER.mapRow(rs, rowNum);
+        });
+        if (hits.isEmpty() && offset > 0) {
+            // A page past the last match has no row to carry the total
+            Long count = jdbcTemplate.queryForObject(COUNT_SQL, parameters(userId, term), Long.class);
+            return new SearchPage(hits, count == null ? 0 : count);
+        }
+        return new SearchPage(hits, total[0]);
+    }
+
+    private static MapSqlParameterSource parameters(Long userId, String term) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("term", term)
+                .addValue("pattern", "%" + escapeLikePattern(term) + "%");
+    }
+
+    private static String escapeLikePattern(String term) {
+        return term.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+}
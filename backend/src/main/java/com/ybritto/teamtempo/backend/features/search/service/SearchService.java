@@ -0,0 +1,56 @@
+package com.ybritto.teamtempo.backend.features.search.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.features.search.mapper.SearchMapper;
+import com.ybritto.teamtempo.backend.features.search.repository.SearchPage;
+import com.ybritto.teamtempo.backend.features.search.repository.SearchRepository;
+import com.ybritto.teamtempo.backend.gen.model.SearchResultPageDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+@Service
+@AllArgsConstructor
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchRepository searchRepository;
+    private final SearchMapper searchMapper;
+
+    public SearchResultPageDto search(String query, Integer page, Integer size) {
+        logger.debug("Entering method: search with query: {}, page: {}, size: {}", query, page, size);
+
+        if (!StringUtils.hasText(query)) {
+            logger.warn("Search rejected: query is empty or null");
+            throw new InvalidParameterException("Search query can not be empty or null");
+        }
+        String term = query.trim();
+        if (term.length() > MAX_QUERY_LENGTH) {
+            logger.warn("Search rejected: query length {} exceeds {}", term.length(), MAX_QUERY_LENGTH);
+            throw new InvalidParameterException(String.format("Search query can not exceed %d characters", MAX_QUERY_LENGTH));
+        }
+
+        int pageIndex = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageIndex < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            logger.warn("Search rejected: invalid pagination page={}, size={}", pageIndex, pageSize);
+            throw new InvalidParameterException(String.format("Page must be positive and size between 1 and %d", MAX_PAGE_SIZE));
+        }
+
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        SearchPage searchPage = searchRepository.findPage(user.getId(), term, (long) pageIndex * pageSize, pageSize);
+
+        logger.info("Search for user {} matched {} results, returning page {} with {} items",
+                user.getEmail(), searchPage.totalElements(), pageIndex, searchPage.hits().size());
+        return searchMapper.mapToPageDto(searchPage.hits(), pageIndex, pageSize, searchPage.totalElements());
+    }
+}
@@ -1,10 +1,19 @@
 package com.ybritto.teamtempo.backend.features.team.controller;
 
+import com.ybritto.teamtempo.backend.features.accuracy.service.AccuracyService;
+import com.ybritto.teamtempo.backend.features.allocation.service.AllocationService;
 import com.ybritto.teamtempo.backend.features.project.service.ProjectService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamMemberService;
 import com.ybritto.teamtempo.backend.features.team.service.TeamService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamSuggestionService;
 import com.ybritto.teamtempo.backend.gen.api.TeamsApi;
+import com.ybritto.teamtempo.backend.gen.model.AccuracyReportDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationRequestDto;
 import com.ybritto.teamtempo.backend.gen.model.ProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.SuggestionDto;
 import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberDto;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +29,10 @@ public class TeamController implements TeamsApi {
     private static final Logger logger = LoggerFactory.getLogger(TeamController.class);
     private TeamService teamService;
     private ProjectService projectService;
+    private TeamSuggestionService teamSuggestionService;
+    private TeamMemberService teamMemberService;
+    private AllocationService allocationService;
+    private AccuracyService accuracyService;
 
     @Override
     public ResponseEntity<List<TeamDto>> myTeams() {
@@ -30,7 +43,16 @@ public class TeamController implements TeamsApi {
     }
 
     @Override
-    public ResponseEntity<TeamDto> createTeam(TeamDto teamDto) {
+    public ResponseEntity<List<SuggestionDto>> suggest(String prefix, Integer limit) {
+        logger.debug("GET /teams/suggest - Suggesting teams and projects for prefix: {}", prefix);
+        List<SuggestionDto> suggestions = teamSuggestionService.suggest(prefix, limit);
+        logger.debug("GET /teams/suggest - {} suggestions returned", suggestions.size());
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @Override
+    public ResponseEntity<TeamDto> createTeam(TeamDto teamDto, String idempotencyKey) {
+        // Retries with the same idempotency key are answered by IdempotencyFilter before reaching this point
         logger.info("POST /teams - Creating team: {}", teamDto.getName());
         TeamDto createdTeam = teamService.createTeam(teamDto);
         logger.info("POST /teams - Successfully created team: {} with UUID: {}",
@@ -73,10 +95,52 @@ public class TeamController implements TeamsApi {
     }
 
     @Override
-    public ResponseEntity<ProjectDto> createProjectForTeam(String uuid, ProjectDto projectDto) {
+    public ResponseEntity<ProjectDto> createProjectForTeam(String uuid, ProjectDto projectDto, String idempotencyKey) {
         logger.info("POST /teams/{}/projects - Creating project {} for the team {}", uuid, projectDto.getName(), uuid);
         ProjectDto createdDto = projectService.createProjectForTeam(uuid, projectDto);
         logger.info("POST /teams/{}/projects - Project {} created successfully for the team {}", uuid, createdDto.getName(), uuid);
         return ResponseEntity.ok(createdDto);
     }
+
+    @Override
+    public ResponseEntity<List<TeamMemberDto>> getTeamMembers(String uuid) {
+        logger.info("GET /teams/{}/members - Members of the team", uuid);
+        List<TeamMemberDto> members = teamMemberService.getTeamMembers(uuid);
+        logger.info("GET /teams/{}/members - {} Members found", uuid, members.size());
+        return ResponseEntity.ok(members);
+    }
+
+    @Override
+    public ResponseEntity<TeamMemberDto> addTeamMember(String uuid, TeamMemberDto teamMemberDto) {
+        logger.info("POST /teams/{}/members - Adding member {} to the team", uuid, teamMemberDto.getEmail());
+        TeamMemberDto addedMember = teamMemberService.addTeamMember(uuid, teamMemberDto);
+        logger.info("POST /teams/{}/members - Member {} added with UUID: {}", uuid, addedMember.getEmail(), addedMember.getUuid());
+        return ResponseEntity.ok(addedMember);
+    }
+
+    @Override
+    public ResponseEntity<Void> removeTeamMember(String uuid, String memberUuid) {
+        logger.info("DELETE /teams/{}/members/{} - Removing member from the team", uuid, memberUuid);
+        teamMemberService.removeTeamMember(uuid, memberUuid);
+        logger.info("DELETE /teams/{}/members/{} - Successfully removed member", uuid, memberUuid);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    public ResponseEntity<AllocationDto> allocateTeamCapacity(String uuid, AllocationRequestDto allocationRequestDto) {
+        logger.info("POST /teams/{}/allocation - Allocating capacity over {} iterations", uuid, allocationRequestDto.getIterations());
+        AllocationDto allocation = allocationService.allocateTeamCapacity(uuid, allocationRequestDto);
+        logger.info("POST /teams/{}/allocation - {} projects allocated, feasible: {}",
+                uuid, allocation.getProjects().size(), allocation.getFeasible());
+        return ResponseEntity.ok(allocation);
+    }
+
+    @Override
+    public ResponseEntity<AccuracyReportDto> getTeamAccuracy(String uuid) {
+        logger.info("GET /teams/{}/accuracy - Forecast accuracy of the team", uuid);
+        AccuracyReportDto report = accuracyService.getTeamAccuracy(uuid);
+        logger.info("GET /teams/{}/accuracy - Accuracy of {} projects over {} iterations",
+                uuid, report.getProjects().size(), report.getForecast().getIterations());
+        return ResponseEntity.ok(report);
+    }
 }
@@ -26,6 +26,7 @@ import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -79,6 +80,15 @@ public class TeamEntity {
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "team", cascade = CascadeType.REMOVE)
     private List<ProjectEntity> projects;
 
+    // Maintained by database triggers, see V7__Add_Child_Counters.sql
+    @Column(name = "project_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int projectCount;
+
+    // Set through PUT /teams/{uuid}/calendar only, see WorkingCalendarService
+    @Column(name = "working_calendar_id")
+    private Long workingCalendarId;
+
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
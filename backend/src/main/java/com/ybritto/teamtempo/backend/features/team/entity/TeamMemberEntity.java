@@ -0,0 +1,94 @@
+package com.ybritto.teamtempo.backend.features.team.entity;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder(toBuilder = true) // toBuilder is true to facilitate object copy/transformation to perform IT tests
+@AllArgsConstructor // All Args constructor is needed for builder
+@NoArgsConstructor // No args constructor is needed for JPA specification
+@Getter
+@EqualsAndHashCode(of = {"uuid"})
+@Entity
+@Table(
+        name = "team_member",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "team_member_uuid_unique", columnNames = {"uuid"}),
+                @UniqueConstraint(name = "team_member_team_user_unique", columnNames = {"team_id", "app_user_id"})
+        })
+public class TeamMemberEntity {
+
+    @Id
+    @Column(name = "key_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teamMemberSeqGen")
+    @SequenceGenerator(name = "teamMemberSeqGen", sequenceName = "team_member_key_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "uuid", unique = true, nullable = false, updatable = false)
+    private UUID uuid;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "team_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @NotNull(message = "Team can not be null")
+    private TeamEntity team;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "app_user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @NotNull(message = "User can not be null")
+    private UserEntity user;
+
+    @Column(name = "role", nullable = false, length = 20)
+    @NotNull(message = "Role can not be null")
+    @Enumerated(EnumType.STRING)
+    private TeamMemberRoleEnum role;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    private void prePersist() {
+        if (this.uuid == null) {
+            this.uuid = UUID.randomUUID();
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    @PreUpdate
+    private void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+}
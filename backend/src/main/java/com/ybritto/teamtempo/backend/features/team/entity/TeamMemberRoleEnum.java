@@ -0,0 +1,15 @@
+package com.ybritto.teamtempo.backend.features.team.entity;
+
+/**
+ * Roles a user can have in a team, from the most to the least privileged.
+ */
+public enum TeamMemberRoleEnum {
+    OWNER,
+    EDITOR,
+    VIEWER;
+
+    public boolean grants(TeamMemberRoleEnum required) {
+        return this.ordinal() <= required.ordinal();
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.ybritto.teamtempo.backend.features.team.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over team and project names.
+ * <p>
+ * Every name is indexed under its normalized form and under each suffix starting at a word boundary, so
+ * "Web Application" is found by both "web" and "app". Keys are kept in one sorted array, a lookup is a binary
+ * search followed by a scan of the matching range. Updates return a new index that merges the changed keys
+ * into the sorted arrays instead of rebuilding it, so readers never need locking.
+ */
+public final class NamePrefixIndex {
+
+    public enum Type {
+        TEAM,
+        PROJECT
+    }
+
+    public record Entry(Type type, UUID uuid, String name, UUID teamUuid) {
+    }
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final NamePrefixIndex EMPTY = new NamePrefixIndex(new String[0], new Entry[0], Set.of());
+
+    private final String[] keys;
+    private final Entry[] keyEntries;
+    private final Set<UUID> teamUuids;
+
+    private NamePrefixIndex(String[] keys, Entry[] keyEntries, Set<UUID> teamUuids) {
+        this.keys = keys;
+        this.keyEntries = keyEntries;
+        this.teamUuids = teamUuids;
+    }
+
+    public static NamePrefixIndex empty() {
+        return EMPTY;
+    }
+
+    public static NamePrefixIndex of(Collection<Entry> entries) {
+        List<IndexedKey> indexedKeys = new ArrayList<>();
+        Set<UUID> teamUuids = new HashSet<>();
+        for (Entry entry : entries) {
+            for (String key : keysOf(entry.name())) {
+                indexedKeys.add(new IndexedKey(key, entry));
+            }
+            if (entry.type() == Type.TEAM) {
+                teamUuids.add(entry.uuid());
+            }
+        }
+        indexedKeys.sort(Comparator.comparing(IndexedKey::key));
+
+        String[] keys = new String[indexedKeys.size()];
+        Entry[] keyEntries = new Entry[indexedKeys.size()];
+        for (int i = 0; i < indexedKeys.size(); i++) {
+            keys[i] = indexedKeys.get(i).key();
+            keyEntries[i] = indexedKeys.get(i).entry();
+        }
+        return new NamePrefixIndex(keys, keyEntries, Set.copyOf(teamUuids));
+    }
+
+    public List<Entry> lookup(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Entry> matches = new ArrayList<>(Math.min(limit, 16));
+        Set<UUID> seen = new HashSet<>();
+        for (int i = lowerBound(normalizedPrefix); i < keys.length && matches.size() < limit; i++) {
+            if (!keys[i].startsWith(normalizedPrefix)) {
+                break;
+            }
+            if (seen.add(keyEntries[i].uuid())) {
+                matches.add(keyEntries[i]);
+            }
+        }
+        return matches;
+    }
+
+    public boolean containsTeam(UUID teamUuid) {
+        return teamUuids.contains(teamUuid);
+    }
+
+    public Set<UUID> teamUuids() {
+        return teamUuids;
+    }
+
+    public int keyCount() {
+        return keys.length;
+    }
+
+    public NamePrefixIndex withEntry(Entry entry) {
+        NamePrefixIndex base = without(indexed -> indexed.uuid().equals(entry.uuid()));
+
+        String[] addedKeys = keysOf(entry.name()).toArray(String[]::new);
+        Arrays.sort(addedKeys);
+
+        int total = base.keys.length + addedKeys.length;
+        String[] mergedKeys = new String[total];
+        Entry[] mergedEntries = new Entry[total];
+        int baseIndex = 0;
+        int addedIndex = 0;
+        for (int i = 0; i < total; i++) {
+            boolean takeBase = addedIndex >= addedKeys.length
+                    || (baseIndex < base.keys.length && base.keys[baseIndex].compareTo(addedKeys[addedIndex]) <= 0);
+            if (takeBase) {
+                mergedKeys[i] = base.keys[baseIndex];
+                mergedEntries[i] = base.keyEntries[baseIndex++];
+            } else {
+                mergedKeys[i] = addedKeys[addedIndex++];
+                mergedEntries[i] = entry;
+            }
+        }
+
+        Set<UUID> teams = base.teamUuids;
+        if (entry.type() == Type.TEAM) {
+            Set<UUID> updatedTeams = new HashSet<>(teams);
+            updatedTeams.add(entry.uuid());
+            teams = Set.copyOf(updatedTeams);
+        }
+        return new NamePrefixIndex(mergedKeys, mergedEntries, teams);
+    }
+
+    public NamePrefixIndex withoutEntry(UUID uuid) {
+        return without(indexed -> indexed.uuid().equals(uuid));
+    }
+
+    public NamePrefixIndex withoutTeam(UUID teamUuid) {
+        return without(indexed -> indexed.uuid().equals(teamUuid) || teamUuid.equals(indexed.teamUuid()));
+    }
+
+    private NamePrefixIndex without(Predicate<Entry> removed) {
+        String[] keptKeys = new String[keys.length];
+        Entry[] keptEntries = new Entry[keys.length];
+        int kept = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (!removed.test(keyEntries[i])) {
+                keptKeys[kept] = keys[i];
+                keptEntries[kept++] = keyEntries[i];
+            }
+        }
+        if (kept == keys.length) {
+            return this;
+        }
+
+        Set<UUID> keptTeams = new HashSet<>();
+        for (int i = 0; i < kept; i++) {
+            if (keptEntries[i].type() == Type.TEAM) {
+                keptTeams.add(keptEntries[i].uuid());
+            }
+        }
+        return new NamePrefixIndex(Arrays.copyOf(keptKeys, kept), Arrays.copyOf(keptEntries, kept), Set.copyOf(keptTeams));
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static Set<String> keysOf(String name) {
+        String normalizedName = normalize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalizedName.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalizedName);
+        for (int i = 1; i < normalizedName.length(); i++) {
+            if (!Character.isLetterOrDigit(normalizedName.charAt(i - 1)) && Character.isLetterOrDigit(normalizedName.charAt(i))) {
+                keys.add(normalizedName.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutDiacritics = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutDiacritics.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedKey(String key, Entry entry) {
+    }
+}
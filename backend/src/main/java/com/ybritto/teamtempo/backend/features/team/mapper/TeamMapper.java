@@ -3,7 +3,11 @@ package com.ybritto.teamtempo.backend.features.team.mapper;
 import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
 import com.ybritto.teamtempo.backend.features.project.mapper.ProjectMapper;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.index.NamePrefixIndex;
+import com.ybritto.teamtempo.backend.gen.model.SuggestionDto;
 import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValueMappingStrategy;
@@ -26,6 +30,8 @@ public interface TeamMapper {
     @Mapping(target = "uuid", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "projects", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "workingCalendarId", ignore = true)
     TeamEntity mapToEntity(TeamDto dto);
 
     @Mapping(target = "id", source = "id")
@@ -34,5 +40,17 @@ public interface TeamMapper {
     @Mapping(target = "uuid", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "projects", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "workingCalendarId", ignore = true)
     TeamEntity mapToEntity(TeamDto teamDto, Long id);
+
+    List<SuggestionDto> mapToSuggestionDtoList(List<NamePrefixIndex.Entry> entries);
+
+    SuggestionDto mapToSuggestionDto(NamePrefixIndex.Entry entry);
+
+    List<TeamMemberDto> mapToMemberDtoList(List<TeamMemberEntity> entityList);
+
+    @Mapping(target = "email", source = "user.email")
+    @Mapping(target = "name", source = "user.name")
+    TeamMemberDto mapToMemberDto(TeamMemberEntity entity);
 }
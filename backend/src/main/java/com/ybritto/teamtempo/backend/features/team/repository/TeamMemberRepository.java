@@ -0,0 +1,31 @@
+package com.ybritto.teamtempo.backend.features.team.repository;
+
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TeamMemberRepository extends JpaRepository<TeamMemberEntity, Long> {
+
+    List<TeamMemberEntity> findAllByTeam(TeamEntity team);
+
+    Optional<TeamMemberEntity> findByUuid(UUID uuid);
+
+    boolean existsByTeamAndUserId(TeamEntity team, Long userId);
+
+    long countByTeamAndRole(TeamEntity team, TeamMemberRoleEnum role);
+
+    @Query("select m.team.id as teamId, m.role as role from TeamMemberEntity m where m.user.id = :userId")
+    List<TeamMembershipView> findMembershipsByUserId(@Param("userId") Long userId);
+
+    @Query("select m.user.id from TeamMemberEntity m where m.team.id in :teamIds")
+    List<Long> findUserIdsByTeamIdIn(@Param("teamIds") List<Long> teamIds);
+}
@@ -0,0 +1,13 @@
+package com.ybritto.teamtempo.backend.features.team.repository;
+
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+
+/**
+ * Projection of a membership that avoids loading the team and user entities.
+ */
+public interface TeamMembershipView {
+
+    Long getTeamId();
+
+    TeamMemberRoleEnum getRole();
+}
@@ -3,6 +3,8 @@ package com.ybritto.teamtempo.backend.features.team.repository;
 import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +16,10 @@ public interface TeamRepository extends JpaRepository<TeamEntity, Long> {
 
     List<TeamEntity> findByUser(UserEntity user);
 
+    @Query("select t from TeamEntity t join fetch t.user " +
+            "where t.id in (select m.team.id from TeamMemberEntity m where m.user = :member)")
+    List<TeamEntity> findByMember(@Param("member") UserEntity member);
+
     Optional<TeamEntity> findByUuid(UUID uuid);
 
     List<TeamEntity> findByUuidIn(List<UUID> uuidList);
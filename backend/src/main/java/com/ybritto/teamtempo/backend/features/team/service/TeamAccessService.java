@@ -0,0 +1,117 @@
+package com.ybritto.teamtempo.backend.features.team.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.ForbiddenException;
+import com.ybritto.teamtempo.backend.core.utils.TransactionUtils;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMembershipView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Authorization checks against team memberships.
+ * <p>
+ * The team ids and roles of a user are loaded once and kept for the most recently active
+ * {@code app.membership.max-users} users, so checks on each request are in-memory lookups instead of joins.
+ * Every membership change evicts the affected users once its transaction completes. Until then, the transaction that
+ * made the change reads the roles of those users from the database without caching them, so roles that may still be
+ * rolled back are never visible to other requests.
+ */
+@Service
+public class TeamAccessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamAccessService.class);
+
+    private final TeamMemberRepository teamMemberRepository;
+    private final TransactionTemplate outsideTransactionTemplate;
+    private final Cache<Long, Map<Long, TeamMemberRoleEnum>> rolesByUser;
+    // Resource key of the users whose memberships the current transaction changed
+    private final Object changedUsersKey = new Object();
+
+    public TeamAccessService(TeamMemberRepository teamMemberRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.membership.max-users:10000}") long maxUsers) {
+        this.teamMemberRepository = teamMemberRepository;
+        this.outsideTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.outsideTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.rolesByUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public Set<Long> getTeamIds(UserEntity user) {
+        return rolesFor(user.getId()).keySet();
+    }
+
+    public boolean hasRole(UserEntity user, TeamEntity team, TeamMemberRoleEnum required) {
+        TeamMemberRoleEnum role = rolesFor(user.getId()).get(team.getId());
+        return role != null && role.grants(required);
+    }
+
+    public void checkRole(UserEntity user, TeamEntity team, TeamMemberRoleEnum required) {
+        if (!hasRole(user, team, required)) {
+            logger.warn("User {} is not allowed to access team {} as {}", user.getEmail(), team.getUuid(), required);
+            throw new ForbiddenException(String.format("Access to team %s requires the %s role", team.getUuid(), required));
+        }
+    }
+
+    /**
+     * Evicts the cached memberships of the given users once the transaction completes, so roles loaded before the
+     * commit are not kept. Later checks in the same transaction read those users from the database meanwhile.
+     */
+    public void onMembershipChanged(Collection<Long> userIds) {
+        Set<Long> affectedUsers = Set.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changedUsersOfTransaction().addAll(affectedUsers);
+        }
+        TransactionUtils.afterCompletion(() -> rolesByUser.invalidateAll(affectedUsers));
+    }
+
+    private Map<Long, TeamMemberRoleEnum> rolesFor(Long userId) {
+        if (TransactionSynchronizationManager.getResource(changedUsersKey) instanceof Set<?> changedUsers
+                && changedUsers.contains(userId)) {
+            return loadRoles(userId);
+        }
+        // Loading is atomic per key, so an eviction issued while loading waits and drops the result
+        return rolesByUser.get(userId, this::loadRoles);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> changedUsersOfTransaction() {
+        Set<Long> changedUsers = (Set<Long>) TransactionSynchronizationManager.getResource(changedUsersKey);
+        if (changedUsers == null) {
+            changedUsers = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(changedUsersKey, changedUsers);
+            TransactionUtils.afterCompletion(() -> TransactionSynchronizationManager.unbindResourceIfPossible(changedUsersKey));
+        }
+        return changedUsers;
+    }
+
+    private Map<Long, TeamMemberRoleEnum> loadRoles(Long userId) {
+        // Read-only transactions may run on a lagging replica, and roles read there would stay cached
+        List<TeamMembershipView> memberships = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? outsideTransactionTemplate.execute(status -> teamMemberRepository.findMembershipsByUserId(userId))
+                : teamMemberRepository.findMembershipsByUserId(userId);
+        Map<Long, TeamMemberRoleEnum> roles = memberships.stream()
+                .collect(Collectors.toUnmodifiableMap(TeamMembershipView::getTeamId, TeamMembershipView::getRole));
+        logger.debug("Loaded {} team memberships for user id {}", roles.size(), userId);
+        return roles;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ybritto.teamtempo.backend.features.team.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.mapper.TeamMapper;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@AllArgsConstructor
+public class TeamMemberService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamMemberService.class);
+
+    private final TeamRepository teamRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final UserRepository userRepository;
+    private final TeamMapper teamMapper;
+    private final TeamAccessService teamAccessService;
+    private final TeamSuggestionService teamSuggestionService;
+
+    public List<TeamMemberDto> getTeamMembers(String teamUuid) {
+        logger.debug("Entering method: getTeamMembers with team uuid: {}", teamUuid);
+        TeamEntity team = findTeam(teamUuid);
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.VIEWER);
+
+        List<TeamMemberDto> members = teamMapper.mapToMemberDtoList(teamMemberRepository.findAllByTeam(team));
+        logger.debug("Exiting method: getTeamMembers with {} members", members.size());
+        return members;
+    }
+
+    @Transactional
+    public TeamMemberDto addTeamMember(String teamUuid, TeamMemberDto teamMemberDto) {
+        logger.debug("Entering method: addTeamMember with team uuid: {}, email: {}", teamUuid, teamMemberDto.getEmail());
+        TeamEntity team = findTeam(teamUuid);
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.OWNER);
+
+        if (!StringUtils.hasText(teamMemberDto.getEmail()) || teamMemberDto.getRole() == null) {
+            logger.warn("Member rejected: email and role are required");
+            throw new InvalidParameterException("Member email and role are required");
+        }
+        UserEntity user = userRepository.findByEmail(teamMemberDto.getEmail())
+                .orElseThrow(() -> {
+                    logger.warn("User not found for membership with email: {}", teamMemberDto.getEmail());
+                    return new NotFoundException("User not found with email: " + teamMemberDto.getEmail());
+                });
+        if (teamMemberRepository.existsByTeamAndUserId(team, user.getId())) {
+            logger.warn("User {} is already a member of team {}", user.getEmail(), teamUuid);
+            throw new InvalidParameterException("User is already a member of the team");
+        }
+
+        TeamMemberEntity savedMember = teamMemberRepository.save(TeamMemberEntity.builder()
+                .team(team)
+                .user(user)
+                .role(TeamMemberRoleEnum.valueOf(teamMemberDto.getRole().name()))
+                .build());
+        onMembershipChanged(user.getId());
+
+        TeamMemberDto result = teamMapper.mapToMemberDto(savedMember);
+        logger.info("User {} added to team {} as {}", user.getEmail(), teamUuid, result.getRole());
+        return result;
+    }
+
+    @Transactional
+    public void removeTeamMember(String teamUuid, String memberUuid) {
+        logger.debug("Entering method: removeTeamMember with team uuid: {}, member uuid: {}", teamUuid, memberUuid);
+        TeamEntity team = findTeam(teamUuid);
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), team, TeamMemberRoleEnum.OWNER);
+
+        UUID uuid = UUIDValidator.validateAndTransform(memberUuid);
+        TeamMemberEntity member = teamMemberRepository.findByUuid(uuid)
+                .filter(found -> found.getTeam().getId().equals(team.getId()))
+                .orElseThrow(() -> {
+                    logger.warn("Member {} not found in team {}", memberUuid, teamUuid);
+                    return new NotFoundException("Member not found with uuid: " + memberUuid);
+                });
+        if (member.getRole() == TeamMemberRoleEnum.OWNER
+                && teamMemberRepository.countByTeamAndRole(team, TeamMemberRoleEnum.OWNER) == 1) {
+            logger.warn("Attempted to remove the last owner of team {}", teamUuid);
+            throw new InvalidParameterException("The last owner of a team can not be removed");
+        }
+
+        teamMemberRepository.delete(member);
+        onMembershipChanged(member.getUser().getId());
+
+        logger.info("User {} removed from team {}", member.getUser().getEmail(), teamUuid);
+        logger.debug("Exiting method: removeTeamMember");
+    }
+
+    private TeamEntity findTeam(String teamUuid) {
+        return teamRepository.findByUuid(UUIDValidator.validateAndTransform(teamUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Team not found with UUID: {}", teamUuid);
+                    return new NotFoundException("Team not found with uuid: " + teamUuid);
+                });
+    }
+
+    private void onMembershipChanged(Long userId) {
+        teamAccessService.onMembershipChanged(List.of(userId));
+        teamSuggestionService.onMembershipChanged(List.of(userId));
+    }
+}
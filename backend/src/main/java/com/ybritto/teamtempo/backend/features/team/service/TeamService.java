@@ -4,17 +4,20 @@ import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
 import com.ybritto.teamtempo.backend.core.exception.BadRequestException;
 import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
 import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
 import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
 import com.ybritto.teamtempo.backend.features.team.mapper.TeamMapper;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
 import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
 import com.ybritto.teamtempo.backend.gen.model.TeamDto;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
@@ -28,19 +31,23 @@ public class TeamService {
     private static final Logger logger = LoggerFactory.getLogger(TeamService.class);
 
     private final TeamRepository teamRepository;
+    private final TeamMemberRepository teamMemberRepository;
     private final TeamMapper teamMapper;
+    private final TeamAccessService teamAccessService;
+    private final TeamSuggestionService teamSuggestionService;
 
+    @Transactional(readOnly = true)
     public List<TeamDto> getMyTeams() {
         logger.info("Retrieving teams for authenticated user");
 
-        UserEntity user = getAuthenticatedUser();
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
 
-        List<TeamDto> teams = teamMapper.mapToDtoList(teamRepository.findByUser(user));
+        List<TeamDto> teams = teamMapper.mapToDtoList(teamRepository.findByMember(user));
         logger.info("Retrieved {} teams for user: {}", teams.size(), user.getEmail());
         return teams;
     }
 
-
+    @Transactional
     public TeamDto createTeam(TeamDto teamDto) {
         logger.info("Creating new team: {}", teamDto.getName());
 
@@ -49,17 +56,26 @@ public class TeamService {
             throw new InvalidParameterException("New Team should not contain UUID");
         }
 
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
         TeamEntity entityToPersist = teamMapper.mapToEntity(teamDto)
                 .toBuilder()
-                .user(getAuthenticatedUser())
+                .user(user)
                 .build();
 
-        TeamDto savedTeamDto = teamMapper.mapToDto(
-                teamRepository.save(entityToPersist));
+        TeamEntity savedTeam = teamRepository.save(entityToPersist);
+        teamMemberRepository.save(TeamMemberEntity.builder()
+                .team(savedTeam)
+                .user(user)
+                .role(TeamMemberRoleEnum.OWNER)
+                .build());
+        teamAccessService.onMembershipChanged(List.of(user.getId()));
+        teamSuggestionService.onTeamSaved(savedTeam);
+        TeamDto savedTeamDto = teamMapper.mapToDto(savedTeam);
         logger.info("Team {} created successfully with UUID: {}", savedTeamDto.getName(), savedTeamDto.getUuid());
         return savedTeamDto;
     }
 
+    @Transactional
     public TeamDto updateTeam(String teamUuid, TeamDto teamDto) {
         logger.debug("Entering method: updateTeam with uuid: {}, teamName: {}", teamUuid, teamDto.getName());
 
@@ -69,17 +85,22 @@ public class TeamService {
             logger.warn("Team not found for update with uuid: {}", teamUuid);
             throw new NotFoundException("Team not found with uuid: " + teamUuid);
         }
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), teamEntity.get(), TeamMemberRoleEnum.EDITOR);
 
         if (teamDto.getUuid() == null || !teamDto.getUuid().equals(uuid.toString())) {
             logger.warn("Team UUID mismatch: provided={}, team.uuid={}", teamUuid, teamDto.getUuid());
             throw new BadRequestException("Team uuid does not match the provided uuid");
         }
 
+        // Editors can update the team too, so the creator is kept instead of the caller
         TeamEntity entityToUpdate = teamMapper.mapToEntity(teamDto, teamEntity.get().getId())
                 .toBuilder()
-                .user(getAuthenticatedUser())
+                .user(teamEntity.get().getUser())
+                .workingCalendarId(teamEntity.get().getWorkingCalendarId())
                 .build();
-        TeamDto result = teamMapper.mapToDto(teamRepository.save(entityToUpdate));
+        TeamEntity updatedTeam = teamRepository.save(entityToUpdate);
+        teamSuggestionService.onTeamSaved(updatedTeam);
+        TeamDto result = teamMapper.mapToDto(updatedTeam);
 
         logger.info("Successfully updated team: {} with UUID: {}", result.getName(), result.getUuid());
         logger.debug("Exiting method: updateTeam with result: team: {}", result.getName());
@@ -87,32 +108,24 @@ public class TeamService {
         return result;
     }
 
+    @Transactional
     public void deleteTeam(String teamUuid) {
         logger.debug("Entering method: deleteTeam with uuid: {}", teamUuid);
         UUID uuid = UUIDValidator.validateAndTransform(teamUuid);
         TeamEntity teamToDelete = teamRepository.findByUuid(uuid)
                 .orElseThrow(() -> new NotFoundException("Team not found with uuid: " + teamUuid));
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), teamToDelete, TeamMemberRoleEnum.OWNER);
 
+        List<Long> memberIds = teamMemberRepository.findUserIdsByTeamIdIn(List.of(teamToDelete.getId()));
         teamRepository.delete(teamToDelete);
+        teamAccessService.onMembershipChanged(memberIds);
+        teamSuggestionService.onTeamDeleted(teamToDelete.getUuid());
 
         logger.info("Successfully deleted team: {} with UUID: {}", teamToDelete.getName(), teamUuid);
         logger.debug("Exiting method: deleteTeam with result: team: {}", teamToDelete.getName());
     }
 
-    private UserEntity getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || authentication.getPrincipal() == null) {
-            logger.error("Attempted to access authenticated user but user is not authenticated");
-            throw new IllegalStateException("User is not authenticated");
-        }
-
-        // The principal is set to UserEntity in JwtAuthenticationFilter
-        UserEntity user = (UserEntity) authentication.getPrincipal();
-        logger.debug("Retrieved authenticated user: {}", user.getEmail());
-        return user;
-    }
-
+    @Transactional
     public void deleteSelectedTeams(List<String> teamUuidList) {
         logger.debug("Entering method: deleteSelectedTeams with count: {}", teamUuidList.size());
         List<UUID> uuidList = UUIDValidator.validateAndTransform(teamUuidList);
@@ -123,7 +136,14 @@ public class TeamService {
                     teamUuidList.size(), teamsToDelete.size());
         }
 
-        teamRepository.deleteAllById(teamsToDelete.stream().map(TeamEntity::getId).toList());
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        teamsToDelete.forEach(team -> teamAccessService.checkRole(user, team, TeamMemberRoleEnum.OWNER));
+
+        List<Long> teamIds = teamsToDelete.stream().map(TeamEntity::getId).toList();
+        List<Long> memberIds = teamIds.isEmpty() ? List.of() : teamMemberRepository.findUserIdsByTeamIdIn(teamIds);
+        teamRepository.deleteAllById(teamIds);
+        teamAccessService.onMembershipChanged(memberIds);
+        teamsToDelete.forEach(team -> teamSuggestionService.onTeamDeleted(team.getUuid()));
 
         logger.info("Successfully deleted {} teams", teamsToDelete.size());
         logger.debug("Exiting method: deleteSelectedTeams with result: {} teams deleted", teamsToDelete.size());
@@ -0,0 +1,234 @@
+package com.ybritto.teamtempo.backend.features.team.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.TransactionUtils;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.index.NamePrefixIndex;
+import com.ybritto.teamtempo.backend.features.team.mapper.TeamMapper;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.gen.model.SuggestionDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Type-ahead suggestions over the teams and projects of the authenticated user.
+ * <p>
+ * Each user gets a {@link NamePrefixIndex} built lazily on the first lookup; the most recently used
+ * {@code app.suggest.max-users} indexes are kept in memory. Team and project writes are applied to the cached
+ * indexes after commit instead of evicting them, so type-ahead keeps working without a database round trip.
+ * <p>
+ * The users whose cached index holds a team are tracked per team, under the same lock as the indexes, so a write only
+ * updates the indexes of the users of its team instead of every cached index.
+ */
+@Service
+public class TeamSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamSuggestionService.class);
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final TeamRepository teamRepository;
+    private final ProjectRepository projectRepository;
+    private final TeamMapper teamMapper;
+    private final Map<Long, NamePrefixIndex> indexesByUser;
+    // Users whose cached index holds each team, guarded by the lock of the indexes
+    private final Map<UUID, Set<Long>> usersByTeam = new HashMap<>();
+    private final AtomicLong modifications = new AtomicLong();
+
+    public TeamSuggestionService(TeamRepository teamRepository,
+                                 ProjectRepository projectRepository,
+                                 TeamMapper teamMapper,
+                                 @Value("${app.suggest.max-users:1000}") int maxUsers) {
+        this.teamRepository = teamRepository;
+        this.projectRepository = projectRepository;
+        this.teamMapper = teamMapper;
+        this.indexesByUser = Collections.synchronizedMap(new LinkedHashMap<Long, NamePrefixIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, NamePrefixIndex> eldest) {
+                if (size() <= maxUsers) {
+                    return false;
+                }
+                unregister(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        });
+    }
+
+    public List<SuggestionDto> suggest(String prefix, Integer limit) {
+        logger.debug("Entering method: suggest with prefix: {}, limit: {}", prefix, limit);
+
+        if (!StringUtils.hasText(prefix)) {
+            logger.warn("Suggestion rejected: prefix is empty or null");
+            throw new InvalidParameterException("Prefix can not be empty or null");
+        }
+        int maxResults = limit == null ? DEFAULT_LIMIT : limit;
+        if (maxResults < 1 || maxResults > MAX_LIMIT) {
+            logger.warn("Suggestion rejected: invalid limit {}", maxResults);
+            throw new InvalidParameterException(String.format("Limit must be between 1 and %d", MAX_LIMIT));
+        }
+
+        UserEntity user = AuthenticationUtils.getAuthenticatedUser();
+        List<SuggestionDto> suggestions = teamMapper.mapToSuggestionDtoList(indexFor(user).lookup(prefix, maxResults));
+        logger.debug("Exiting method: suggest with {} suggestions for user: {}", suggestions.size(), user.getEmail());
+        return suggestions;
+    }
+
+    public void onTeamSaved(TeamEntity team) {
+        NamePrefixIndex.Entry entry = teamEntry(team);
+        Long ownerId = team.getUser() == null ? null : team.getUser().getId();
+        TransactionUtils.afterCommit(() -> {
+            modifications.incrementAndGet();
+            synchronized (indexesByUser) {
+                if (ownerId != null && indexesByUser.containsKey(ownerId)) {
+                    usersByTeam.computeIfAbsent(entry.uuid(), uuid -> new HashSet<>()).add(ownerId);
+                }
+                updateIndexes(entry.uuid(), index -> index.withEntry(entry));
+            }
+        });
+    }
+
+    public void onTeamDeleted(UUID teamUuid) {
+        TransactionUtils.afterCommit(() -> {
+            modifications.incrementAndGet();
+            synchronized (indexesByUser) {
+                updateIndexes(teamUuid, index -> index.withoutTeam(teamUuid));
+                usersByTeam.remove(teamUuid);
+            }
+        });
+    }
+
+    public void onProjectSaved(ProjectEntity project) {
+        NamePrefixIndex.Entry entry = projectEntry(project);
+        TransactionUtils.afterCommit(() -> {
+            modifications.incrementAndGet();
+            synchronized (indexesByUser) {
+                updateIndexes(entry.teamUuid(), index -> index.withEntry(entry));
+            }
+        });
+    }
+
+    public void onProjectDeleted(ProjectEntity project) {
+        UUID projectUuid = project.getUuid();
+        UUID teamUuid = project.getTeam().getUuid();
+        TransactionUtils.afterCommit(() -> {
+            modifications.incrementAndGet();
+            synchronized (indexesByUser) {
+                updateIndexes(teamUuid, index -> index.withoutEntry(projectUuid));
+            }
+        });
+    }
+
+    /**
+     * Drops the indexes of users who joined or left a team; they are rebuilt on their next lookup.
+     */
+    public void onMembershipChanged(Collection<Long> userIds) {
+        Set<Long> affectedUsers = Set.copyOf(userIds);
+        TransactionUtils.afterCommit(() -> {
+            modifications.incrementAndGet();
+            synchronized (indexesByUser) {
+                affectedUsers.forEach(userId -> {
+                    NamePrefixIndex removed = indexesByUser.remove(userId);
+                    if (removed != null) {
+                        unregister(userId, removed);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Applies an update to the cached indexes of the users of a team. Must hold the lock of the indexes, which also
+     * guards the users of the teams.
+     */
+    private void updateIndexes(UUID teamUuid, UnaryOperator<NamePrefixIndex> update) {
+        Set<Long> userIds = usersByTeam.get(teamUuid);
+        if (userIds == null) {
+            return;
+        }
+        userIds.forEach(userId -> indexesByUser.computeIfPresent(userId, (id, index) -> update.apply(index)));
+    }
+
+    /**
+     * Must hold the lock of the indexes.
+     */
+    private void register(Long userId, NamePrefixIndex index) {
+        index.teamUuids().forEach(teamUuid -> usersByTeam.computeIfAbsent(teamUuid, uuid -> new HashSet<>()).add(userId));
+    }
+
+    /**
+     * Must hold the lock of the indexes.
+     */
+    private void unregister(Long userId, NamePrefixIndex index) {
+        index.teamUuids().forEach(teamUuid -> usersByTeam.computeIfPresent(teamUuid, (uuid, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        }));
+    }
+
+    private NamePrefixIndex indexFor(UserEntity user) {
+        NamePrefixIndex index = indexesByUser.get(user.getId());
+        if (index != null) {
+            return index;
+        }
+
+        long modificationsBeforeBuild = modifications.get();
+        NamePrefixIndex builtIndex = buildIndex(user);
+        synchronized (indexesByUser) {
+            // A write applied while the index was loading may be missing from it, so only cache clean builds
+            if (modificationsBeforeBuild != modifications.get()) {
+                logger.debug("Suggestion index for user {} changed while loading, not caching it", user.getEmail());
+                return builtIndex;
+            }
+            NamePrefixIndex existing = indexesByUser.putIfAbsent(user.getId(), builtIndex);
+            if (existing != null) {
+                return existing;
+            }
+            register(user.getId(), builtIndex);
+            return builtIndex;
+        }
+    }
+
+    private NamePrefixIndex buildIndex(UserEntity user) {
+        List<TeamEntity> teams = teamRepository.findByMember(user);
+        List<ProjectEntity> projects = teams.isEmpty() ? List.of() : projectRepository.findAllByTeamIn(teams);
+
+        List<NamePrefixIndex.Entry> entries = new ArrayList<>(teams.size() + projects.size());
+        teams.forEach(team -> entries.add(teamEntry(team)));
+        projects.forEach(project -> entries.add(projectEntry(project)));
+
+        NamePrefixIndex index = NamePrefixIndex.of(entries);
+        logger.info("Built suggestion index for user {} with {} teams, {} projects and {} keys",
+                user.getEmail(), teams.size(), projects.size(), index.keyCount());
+        return index;
+    }
+
+    private static NamePrefixIndex.Entry teamEntry(TeamEntity team) {
+        return new NamePrefixIndex.Entry(NamePrefixIndex.Type.TEAM, team.getUuid(), team.getName(), team.getUuid());
+    }
+
+    private static NamePrefixIndex.Entry projectEntry(ProjectEntity project) {
+        return new NamePrefixIndex.Entry(NamePrefixIndex.Type.PROJECT, project.getUuid(), project.getName(),
+                project.getTeam().getUuid());
+    }
+}
@@ -0,0 +1,21 @@
+package com.ybritto.teamtempo.backend.features.velocity.configuration;
+
+import com.ybritto.teamtempo.backend.features.velocity.service.VelocityService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Setting {@code app.velocity.rebuild-on-startup} recomputes the velocity of every project before the application
+ * starts serving requests.
+ */
+@Configuration
+public class VelocityConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.velocity.rebuild-on-startup", havingValue = "true")
+    public ApplicationRunner velocityRebuildRunner(VelocityService velocityService) {
+        return args -> velocityService.rebuildAll();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ybritto.teamtempo.backend.features.velocity.mapper;
+
+import com.ybritto.teamtempo.backend.core.mapper.CommonsMapper;
+import com.ybritto.teamtempo.backend.features.velocity.repository.ProjectVelocity;
+import com.ybritto.teamtempo.backend.gen.model.ProjectVelocityDto;
+import com.ybritto.teamtempo.backend.gen.model.VelocityMetricDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueMappingStrategy;
+
+@Mapper(componentModel = "spring",
+        nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT,
+        uses = {CommonsMapper.class})
+public interface VelocityMapper {
+
+    ProjectVelocityDto mapToDto(ProjectVelocity projectVelocity);
+
+    VelocityMetricDto mapToDto(ProjectVelocity.Metric metric);
+}
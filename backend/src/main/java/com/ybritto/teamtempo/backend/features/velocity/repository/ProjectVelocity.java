@@ -0,0 +1,20 @@
+package com.ybritto.teamtempo.backend.features.velocity.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Velocity figures of a project, as maintained in {@code project_velocity}.
+ */
+public record ProjectVelocity(
+        UUID projectUuid,
+        int completedIterations,
+        LocalDate lastIterationEndDate,
+        Metric capacity,
+        Metric forecast) {
+
+    public record Metric(int iterationCount, long total, Double average, List<Integer> recent, Double recentAverage,
+                         Double ewma) {
+    }
+}
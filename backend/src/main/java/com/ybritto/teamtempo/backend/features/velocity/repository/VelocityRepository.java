@@ -0,0 +1,100 @@
+package com.ybritto.teamtempo.backend.features.velocity.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and rebuilds the velocity figures kept by the triggers of {@code V11__Create_Project_Velocity.sql}.
+ * <p>
+ * Reading is a primary key lookup whatever the number of iterations: averages are derived from the stored sums and
+ * the recent values are bounded by the window size of the triggers.
+ */
+@Repository
+@AllArgsConstructor
+public class VelocityRepository {
+
+    private static final String FIND_SQL = """
+            SELECT p.uuid AS project_uuid,
+                   coalesce(v.completed_count, 0) AS completed_count,
+                   v.last_end_date,
+                   coalesce(v.capacity_count, 0) AS capacity_count,
+                   coalesce(v.capacity_sum, 0) AS capacity_sum,
+                   v.capacity_sum::double precision / nullif(v.capacity_count, 0) AS capacity_average,
+                   v.recent_capacities AS capacity_recent,
+                   (SELECT avg(r) FROM unnest(v.recent_capacities) AS r)::double precision AS capacity_recent_average,
+                   v.capacity_ewma,
+                   coalesce(v.forecast_count, 0) AS forecast_count,
+                   coalesce(v.forecast_sum, 0) AS forecast_sum,
+                   v.forecast_sum::double precision / nullif(v.forecast_count, 0) AS forecast_average,
+                   v.recent_forecasts AS forecast_recent,
+                   (SELECT avg(r) FROM unnest(v.recent_forecasts) AS r)::double precision AS forecast_recent_average,
+                   v.forecast_ewma
+            FROM project p
+            LEFT JOIN project_velocity v ON v.project_key_id = p.key_id
+            WHERE p.key_id = :projectId
+            """;
+
+    private static final String PROJECT_IDS_SQL = "SELECT key_id FROM project ORDER BY key_id";
+
+    private static final String REBUILD_SQL = "SELECT rebuild_project_velocity(:projectId)";
+
+    private static final RowMapper<ProjectVelocity> PROJECT_VELOCITY_ROW_MAPPER = (rs, rowNum) -> new ProjectVelocity(
+            rs.getObject("project_uuid", UUID.class),
+            rs.getInt("completed_count"),
+            rs.getObject("last_end_date", LocalDate.class),
+            metric(rs, "capacity"),
+            metric(rs, "forecast"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProjectVelocity findByProjectId(Long projectId) {
+        return jdbcTemplate.queryForObject(FIND_SQL, new MapSqlParameterSource("projectId", projectId),
+                PROJECT_VELOCITY_ROW_MAPPER);
+    }
+
+    public List<Long> findAllProjectIds() {
+        return jdbcTemplate.queryForList(PROJECT_IDS_SQL, new MapSqlParameterSource(), Long.class);
+    }
+
+    /**
+     * Recomputes the figures of a project from its iterations, in its own transaction so that a backfill only locks
+     * one project at a time.
+     */
+    @Transactional
+    public void rebuild(Long projectId) {
+        jdbcTemplate.queryForList(REBUILD_SQL, new MapSqlParameterSource("projectId", projectId));
+    }
+
+    private static ProjectVelocity.Metric metric(ResultSet rs, String prefix) throws SQLException {
+        return new ProjectVelocity.Metric(
+                rs.getInt(prefix + "_count"),
+                rs.getLong(prefix + "_sum"),
+                rs.getObject(prefix + "_average", Double.class),
+                integerList(rs.getArray(prefix + "_recent")),
+                rs.getObject(prefix + "_recent_average", Double.class),
+                rs.getObject(prefix + "_ewma", Double.class));
+    }
+
+    private static List<Integer> integerList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.asList((Integer[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ybritto.teamtempo.backend.features.velocity.service;
+
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.core.utils.AuthenticationUtils;
+import com.ybritto.teamtempo.backend.core.utils.UUIDValidator;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.features.velocity.mapper.VelocityMapper;
+import com.ybritto.teamtempo.backend.features.velocity.repository.VelocityRepository;
+import com.ybritto.teamtempo.backend.gen.model.ProjectVelocityDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Velocity of projects, read from the figures the database maintains on every iteration change.
+ */
+@Service
+@AllArgsConstructor
+public class VelocityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VelocityService.class);
+
+    private final VelocityRepository velocityRepository;
+    private final ProjectRepository projectRepository;
+    private final VelocityMapper velocityMapper;
+    private final TeamAccessService teamAccessService;
+    private final ShardSelector shardSelector;
+
+    @Transactional(readOnly = true)
+    public ProjectVelocityDto getProjectVelocity(String projectUuid) {
+        logger.debug("Entering method: getProjectVelocity with project uuid: {}", projectUuid);
+        ProjectEntity project = projectRepository.findByUuid(UUIDValidator.validateAndTransform(projectUuid))
+                .orElseThrow(() -> {
+                    logger.warn("Project not found with UUID: {}", projectUuid);
+                    return new NotFoundException("Project not found with uuid: " + projectUuid);
+                });
+        teamAccessService.checkRole(AuthenticationUtils.getAuthenticatedUser(), project.getTeam(), TeamMemberRoleEnum.VIEWER);
+
+        ProjectVelocityDto velocity = velocityMapper.mapToDto(velocityRepository.findByProjectId(project.getId()));
+        logger.debug("Exiting method: getProjectVelocity with {} completed iterations", velocity.getCompletedIterations());
+        return velocity;
+    }
+
+    /**
+     * Recomputes the velocity of every project on every shard, one project per transaction. Meant for backfills and
+     * repairs after the triggers were disabled.
+     *
+     * @return the number of projects rebuilt
+     */
+    public int rebuildAll() {
+        logger.debug("Entering method: rebuildAll");
+        AtomicInteger rebuilt = new AtomicInteger();
+        shardSelector.forEachShard(() -> {
+            List<Long> projectIds = velocityRepository.findAllProjectIds();
+            for (Long projectId : projectIds) {
+                try {
+                    velocityRepository.rebuild(projectId);
+                    rebuilt.incrementAndGet();
+                } catch (DataAccessException ex) {
+                    logger.error("Failed to rebuild the velocity of project id {} on shard {}",
+                            projectId, shardSelector.currentShard(), ex);
+                }
+            }
+        });
+        logger.info("Rebuilt the velocity of {} projects", rebuilt.get());
+        return rebuilt.get();
+    }
+}
@@ -0,0 +1,10 @@
+-- The serial key of iteration created its own sequence because iteration_key_id_seq already existed, so inserts
+-- relying on the column default, such as the batch upsert, drew keys from another sequence than the entity.
+-- The default now uses iteration_key_id_seq, moved past every existing key
+ALTER TABLE iteration
+    ALTER COLUMN KEY_ID SET DEFAULT nextval('iteration_key_id_seq');
+
+SELECT setval('iteration_key_id_seq',
+              greatest((SELECT coalesce(max(KEY_ID), 0) FROM iteration),
+                       (SELECT last_value FROM iteration_key_id_seq),
+                       1));
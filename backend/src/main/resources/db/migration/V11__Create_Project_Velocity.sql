@@ -0,0 +1,206 @@
+-- This script keeps the velocity figures of each project in project_velocity, so reading them does not scan the
+-- iterations. An iteration counts once its actual end date is set. Statement triggers fold newly finished iterations
+-- into the row; any other change to a finished iteration rebuilds the row of its project from the iterations.
+CREATE TABLE project_velocity
+(
+    PROJECT_KEY_ID        int PRIMARY KEY,
+    COMPLETED_COUNT       int       NOT NULL DEFAULT 0,
+    CAPACITY_COUNT        int       NOT NULL DEFAULT 0,
+    CAPACITY_SUM          bigint    NOT NULL DEFAULT 0,
+    FORECAST_COUNT        int       NOT NULL DEFAULT 0,
+    FORECAST_SUM          bigint    NOT NULL DEFAULT 0,
+    -- Actuals of the last finished iterations, newest first
+    RECENT_CAPACITIES     int[]     NOT NULL DEFAULT '{}',
+    RECENT_FORECASTS      int[]     NOT NULL DEFAULT '{}',
+    CAPACITY_EWMA         double precision,
+    FORECAST_EWMA         double precision,
+    -- Newest folded iteration, later ones are appended and earlier ones trigger a rebuild
+    LAST_END_DATE         DATE,
+    LAST_ITERATION_KEY_ID int,
+
+    UPDATED_AT            timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_project_velocity_project FOREIGN KEY (PROJECT_KEY_ID) REFERENCES project (KEY_ID) ON DELETE CASCADE
+);
+
+CREATE INDEX iteration_finished_idx ON iteration (PROJECT_KEY_ID, ACTUAL_END_DATE, KEY_ID)
+    WHERE ACTUAL_END_DATE IS NOT NULL;
+
+-- Adds one finished iteration to the figures; iterations must be folded by actual end date, then key
+CREATE FUNCTION velocity_step(v project_velocity, i iteration) RETURNS project_velocity AS
+$$
+DECLARE
+    window_size CONSTANT int              := 6;
+    alpha       CONSTANT double precision := 0.3;
+BEGIN
+    v.completed_count := v.completed_count + 1;
+    IF i.actual_capacity IS NOT NULL THEN
+        v.capacity_count := v.capacity_count + 1;
+        v.capacity_sum := v.capacity_sum + i.actual_capacity;
+        v.capacity_ewma := coalesce(alpha * i.actual_capacity + (1 - alpha) * v.capacity_ewma, i.actual_capacity);
+        v.recent_capacities := (ARRAY [i.actual_capacity] || v.recent_capacities)[1:window_size];
+    END IF;
+    IF i.actual_forecast IS NOT NULL THEN
+        v.forecast_count := v.forecast_count + 1;
+        v.forecast_sum := v.forecast_sum + i.actual_forecast;
+        v.forecast_ewma := coalesce(alpha * i.actual_forecast + (1 - alpha) * v.forecast_ewma, i.actual_forecast);
+        v.recent_forecasts := (ARRAY [i.actual_forecast] || v.recent_forecasts)[1:window_size];
+    END IF;
+    v.last_end_date := i.actual_end_date;
+    v.last_iteration_key_id := i.key_id;
+    RETURN v;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Creates the row of a project if needed and locks it, so concurrent writers of the project apply their changes in turn
+CREATE FUNCTION lock_project_velocity(p_project_key_id int) RETURNS project_velocity AS
+$$
+DECLARE
+    v project_velocity;
+BEGIN
+    INSERT INTO project_velocity (project_key_id) VALUES (p_project_key_id) ON CONFLICT DO NOTHING;
+    SELECT * INTO v FROM project_velocity WHERE project_key_id = p_project_key_id FOR UPDATE;
+    RETURN v;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION save_project_velocity(v project_velocity) RETURNS void AS
+$$
+BEGIN
+    UPDATE project_velocity
+    SET completed_count       = v.completed_count,
+        capacity_count        = v.capacity_count,
+        capacity_sum          = v.capacity_sum,
+        forecast_count        = v.forecast_count,
+        forecast_sum          = v.forecast_sum,
+        recent_capacities     = v.recent_capacities,
+        recent_forecasts      = v.recent_forecasts,
+        capacity_ewma         = v.capacity_ewma,
+        forecast_ewma         = v.forecast_ewma,
+        last_end_date         = v.last_end_date,
+        last_iteration_key_id = v.last_iteration_key_id,
+        updated_at            = CURRENT_TIMESTAMP
+    WHERE project_key_id = v.project_key_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recomputes the figures of a project from its finished iterations, also used to backfill and repair them
+CREATE FUNCTION rebuild_project_velocity(p_project_key_id int) RETURNS void AS
+$$
+DECLARE
+    v project_velocity;
+    i iteration;
+BEGIN
+    v := lock_project_velocity(p_project_key_id);
+    v.completed_count := 0;
+    v.capacity_count := 0;
+    v.capacity_sum := 0;
+    v.forecast_count := 0;
+    v.forecast_sum := 0;
+    v.recent_capacities := '{}';
+    v.recent_forecasts := '{}';
+    v.capacity_ewma := NULL;
+    v.forecast_ewma := NULL;
+    v.last_end_date := NULL;
+    v.last_iteration_key_id := NULL;
+    FOR i IN SELECT *
+             FROM iteration
+             WHERE project_key_id = p_project_key_id
+               AND actual_end_date IS NOT NULL
+             ORDER BY actual_end_date, key_id
+        LOOP
+            v := velocity_step(v, i);
+        END LOOP;
+    PERFORM save_project_velocity(v);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Applies the iterations changed by one statement. Newly finished iterations that end after the last folded one are
+-- appended; removed, reopened, edited or moved finished iterations rebuild the affected projects.
+CREATE FUNCTION maintain_project_velocity() RETURNS trigger AS
+$$
+DECLARE
+    appended int[];
+    rebuilt  int[];
+    project  int;
+    v        project_velocity;
+    i        iteration;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(n.key_id) INTO appended
+        FROM new_rows n
+        WHERE n.actual_end_date IS NOT NULL;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT array_agg(n.key_id) INTO appended
+        FROM new_rows n
+            JOIN old_rows o ON o.key_id = n.key_id
+        WHERE n.actual_end_date IS NOT NULL
+          AND o.actual_end_date IS NULL;
+        SELECT array_agg(DISTINCT projects.key_id) INTO rebuilt
+        FROM new_rows n
+            JOIN old_rows o ON o.key_id = n.key_id
+            CROSS JOIN LATERAL (VALUES (o.project_key_id), (n.project_key_id)) AS projects (key_id)
+        WHERE o.actual_end_date IS NOT NULL
+          AND (o.actual_end_date, o.actual_capacity, o.actual_forecast, o.project_key_id)
+            IS DISTINCT FROM (n.actual_end_date, n.actual_capacity, n.actual_forecast, n.project_key_id);
+    ELSE
+        SELECT array_agg(DISTINCT o.project_key_id) INTO rebuilt
+        FROM old_rows o
+        WHERE o.actual_end_date IS NOT NULL;
+    END IF;
+    rebuilt := coalesce(rebuilt, '{}');
+
+    -- Rows are locked in key order so that concurrent statements can not deadlock
+    FOR project IN SELECT DISTINCT it.project_key_id
+                   FROM iteration it
+                   WHERE it.key_id = ANY (appended)
+                     AND NOT it.project_key_id = ANY (rebuilt)
+                   ORDER BY 1
+        LOOP
+            v := lock_project_velocity(project);
+            FOR i IN SELECT *
+                     FROM iteration it
+                     WHERE it.key_id = ANY (appended)
+                       AND it.project_key_id = project
+                     ORDER BY it.actual_end_date, it.key_id
+                LOOP
+                    IF v.last_end_date IS NOT NULL
+                        AND (i.actual_end_date, i.key_id) < (v.last_end_date, v.last_iteration_key_id) THEN
+                        -- An iteration finished before the last folded one changes the order of the series
+                        rebuilt := array_append(rebuilt, project);
+                        EXIT;
+                    END IF;
+                    v := velocity_step(v, i);
+                END LOOP;
+            IF NOT project = ANY (rebuilt) THEN
+                PERFORM save_project_velocity(v);
+            END IF;
+        END LOOP;
+
+    FOR project IN SELECT DISTINCT r FROM unnest(rebuilt) AS r ORDER BY 1
+        LOOP
+            PERFORM rebuild_project_velocity(project);
+        END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER project_velocity_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_velocity();
+
+CREATE TRIGGER project_velocity_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_velocity();
+
+CREATE TRIGGER project_velocity_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_velocity();
+
+SELECT rebuild_project_velocity(key_id) FROM project ORDER BY key_id;
@@ -0,0 +1,68 @@
+-- This script gives each project a data version, bumped once per statement that writes its iterations or
+-- configurations. Results derived from that data, such as forecasts, are cached under the version they were computed
+-- from, so a cached result can never outlive its inputs.
+ALTER TABLE project
+    ADD COLUMN DATA_VERSION bigint NOT NULL DEFAULT 0;
+
+CREATE FUNCTION bump_project_data_version() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_TABLE_NAME = 'iteration' THEN
+        IF TG_OP IN ('INSERT', 'UPDATE') THEN
+            UPDATE project SET data_version = data_version + 1
+            WHERE key_id IN (SELECT n.project_key_id FROM new_rows n);
+        END IF;
+        IF TG_OP IN ('UPDATE', 'DELETE') THEN
+            -- Projects already bumped for their new rows are bumped again, which keeps versions increasing
+            UPDATE project SET data_version = data_version + 1
+            WHERE key_id IN (SELECT o.project_key_id FROM old_rows o);
+        END IF;
+    ELSE
+        IF TG_OP IN ('INSERT', 'UPDATE') THEN
+            UPDATE project SET data_version = data_version + 1
+            WHERE key_id IN (SELECT n.project_id FROM new_rows n);
+        END IF;
+        IF TG_OP IN ('UPDATE', 'DELETE') THEN
+            UPDATE project SET data_version = data_version + 1
+            WHERE key_id IN (SELECT o.project_id FROM old_rows o);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER project_data_version_on_iteration_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_iteration_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_iteration_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_configuration_insert
+    AFTER INSERT ON project_configuration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_configuration_update
+    AFTER UPDATE ON project_configuration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_configuration_delete
+    AFTER DELETE ON project_configuration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
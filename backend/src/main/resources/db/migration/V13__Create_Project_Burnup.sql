@@ -0,0 +1,159 @@
+-- This script keeps the burn-up series of each project in project_burnup as delta encoded columns: the days on which
+-- the cumulative planned or actual capacity changes, as offsets from START_EPOCH_DAY, and the change on each of these
+-- days. Planned capacity counts on the planned end date of an iteration, actual capacity on its actual end date.
+-- Statement triggers merge the changes of each write into the columns without reading the other iterations.
+CREATE TABLE project_burnup
+(
+    PROJECT_KEY_ID     int PRIMARY KEY,
+    START_EPOCH_DAY    int,
+    PLANNED_OFFSETS    int[]     NOT NULL DEFAULT '{}',
+    PLANNED_INCREMENTS int[]     NOT NULL DEFAULT '{}',
+    ACTUAL_OFFSETS     int[]     NOT NULL DEFAULT '{}',
+    ACTUAL_INCREMENTS  int[]     NOT NULL DEFAULT '{}',
+
+    UPDATED_AT         timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_project_burnup_project FOREIGN KEY (PROJECT_KEY_ID) REFERENCES project (KEY_ID) ON DELETE CASCADE
+);
+
+-- Contribution of one iteration version to the series, negated for the version a write replaced
+CREATE TYPE burnup_change AS
+(
+    project_key_id int,
+    planned_day    int,
+    planned_delta  int,
+    actual_day     int,
+    actual_delta   int
+);
+
+CREATE FUNCTION merge_project_burnup(p_project_key_id int, p_changes burnup_change[]) RETURNS void AS
+$$
+DECLARE
+    b project_burnup;
+BEGIN
+    INSERT INTO project_burnup (project_key_id) VALUES (p_project_key_id) ON CONFLICT DO NOTHING;
+    SELECT * INTO b FROM project_burnup WHERE project_key_id = p_project_key_id FOR UPDATE;
+
+    WITH planned AS (
+        SELECT points.day, sum(points.delta)::int AS total
+        FROM (SELECT b.start_epoch_day + t.offset_days AS day, t.increment AS delta
+              FROM unnest(b.planned_offsets, b.planned_increments) AS t (offset_days, increment)
+              UNION ALL
+              SELECT c.planned_day, c.planned_delta
+              FROM unnest(p_changes) AS c
+              WHERE c.project_key_id = p_project_key_id
+                AND c.planned_day IS NOT NULL
+                AND c.planned_delta IS NOT NULL) AS points
+        GROUP BY points.day
+        HAVING sum(points.delta) <> 0
+    ),
+    actual AS (
+        SELECT points.day, sum(points.delta)::int AS total
+        FROM (SELECT b.start_epoch_day + t.offset_days AS day, t.increment AS delta
+              FROM unnest(b.actual_offsets, b.actual_increments) AS t (offset_days, increment)
+              UNION ALL
+              SELECT c.actual_day, c.actual_delta
+              FROM unnest(p_changes) AS c
+              WHERE c.project_key_id = p_project_key_id
+                AND c.actual_day IS NOT NULL
+                AND c.actual_delta IS NOT NULL) AS points
+        GROUP BY points.day
+        HAVING sum(points.delta) <> 0
+    ),
+    bounds AS (
+        SELECT min(days.day) AS start_day
+        FROM (SELECT day FROM planned UNION ALL SELECT day FROM actual) AS days
+    )
+    UPDATE project_burnup
+    SET start_epoch_day    = bounds.start_day,
+        planned_offsets    = coalesce((SELECT array_agg(day - bounds.start_day ORDER BY day) FROM planned), '{}'),
+        planned_increments = coalesce((SELECT array_agg(total ORDER BY day) FROM planned), '{}'),
+        actual_offsets     = coalesce((SELECT array_agg(day - bounds.start_day ORDER BY day) FROM actual), '{}'),
+        actual_increments  = coalesce((SELECT array_agg(total ORDER BY day) FROM actual), '{}'),
+        updated_at         = CURRENT_TIMESTAMP
+    FROM bounds
+    WHERE project_key_id = p_project_key_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recomputes the series of a project from its iterations, also used to backfill and repair them
+CREATE FUNCTION rebuild_project_burnup(p_project_key_id int) RETURNS void AS
+$$
+BEGIN
+    INSERT INTO project_burnup (project_key_id) VALUES (p_project_key_id) ON CONFLICT DO NOTHING;
+    UPDATE project_burnup
+    SET start_epoch_day    = NULL,
+        planned_offsets    = '{}',
+        planned_increments = '{}',
+        actual_offsets     = '{}',
+        actual_increments  = '{}'
+    WHERE project_key_id = p_project_key_id;
+    PERFORM merge_project_burnup(p_project_key_id, ARRAY(
+            SELECT ROW (i.project_key_id, i.planned_end_date - DATE '1970-01-01', i.planned_capacity,
+                       i.actual_end_date - DATE '1970-01-01', i.actual_capacity)::burnup_change
+            FROM iteration i
+            WHERE i.project_key_id = p_project_key_id));
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION maintain_project_burnup() RETURNS trigger AS
+$$
+DECLARE
+    changes burnup_change[] := '{}';
+    project int;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        changes := ARRAY(
+                SELECT ROW (n.project_key_id, n.planned_end_date - DATE '1970-01-01', n.planned_capacity,
+                           n.actual_end_date - DATE '1970-01-01', n.actual_capacity)::burnup_change
+                FROM new_rows n);
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- Updates leaving the dates, capacities and project untouched, such as renames, change nothing
+        changes := ARRAY(
+                SELECT change
+                FROM new_rows n
+                    JOIN old_rows o ON o.key_id = n.key_id
+                    CROSS JOIN LATERAL (VALUES
+                        (ROW (n.project_key_id, n.planned_end_date - DATE '1970-01-01', n.planned_capacity,
+                              n.actual_end_date - DATE '1970-01-01', n.actual_capacity)::burnup_change),
+                        (ROW (o.project_key_id, o.planned_end_date - DATE '1970-01-01', -o.planned_capacity,
+                              o.actual_end_date - DATE '1970-01-01', -o.actual_capacity)::burnup_change)
+                    ) AS changes (change)
+                WHERE (o.project_key_id, o.planned_end_date, o.planned_capacity, o.actual_end_date, o.actual_capacity)
+                          IS DISTINCT FROM
+                      (n.project_key_id, n.planned_end_date, n.planned_capacity, n.actual_end_date, n.actual_capacity));
+    ELSE
+        changes := ARRAY(
+                SELECT ROW (o.project_key_id, o.planned_end_date - DATE '1970-01-01', -o.planned_capacity,
+                           o.actual_end_date - DATE '1970-01-01', -o.actual_capacity)::burnup_change
+                FROM old_rows o);
+    END IF;
+
+    -- Rows are locked in key order so that concurrent statements can not deadlock
+    FOR project IN SELECT DISTINCT c.project_key_id FROM unnest(changes) AS c ORDER BY 1
+        LOOP
+            PERFORM merge_project_burnup(project, changes);
+        END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER project_burnup_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_burnup();
+
+CREATE TRIGGER project_burnup_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_burnup();
+
+CREATE TRIGGER project_burnup_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_burnup();
+
+SELECT rebuild_project_burnup(key_id) FROM project ORDER BY key_id;
@@ -0,0 +1,210 @@
+-- This script keeps monthly totals of the iterations of each project in project_month_rollup, so portfolio rollups
+-- per team or month read these buckets instead of the iterations. Planned figures count in the month of the planned
+-- end date of an iteration, actual figures in the month of its actual end date. Statement triggers add the changes
+-- of each write to the affected buckets only; refresh_project_month_rollup() recomputes every bucket as a fallback.
+CREATE TABLE project_month_rollup
+(
+    PROJECT_KEY_ID     int       NOT NULL,
+    MONTH              DATE      NOT NULL,
+    PLANNED_ITERATIONS int       NOT NULL DEFAULT 0,
+    PLANNED_CAPACITY   bigint    NOT NULL DEFAULT 0,
+    PLANNED_FORECAST   bigint    NOT NULL DEFAULT 0,
+    ACTUAL_ITERATIONS  int       NOT NULL DEFAULT 0,
+    ACTUAL_CAPACITY    bigint    NOT NULL DEFAULT 0,
+    ACTUAL_FORECAST    bigint    NOT NULL DEFAULT 0,
+
+    UPDATED_AT         timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_project_month_rollup PRIMARY KEY (PROJECT_KEY_ID, MONTH),
+    CONSTRAINT fk_project_month_rollup_project FOREIGN KEY (PROJECT_KEY_ID) REFERENCES project (KEY_ID) ON DELETE CASCADE
+);
+
+-- Contribution of one iteration version to one bucket, negated for the version a write replaced
+CREATE TYPE project_month_rollup_change AS
+(
+    project_key_id     int,
+    month              date,
+    planned_iterations int,
+    planned_capacity   bigint,
+    planned_forecast   bigint,
+    actual_iterations  int,
+    actual_capacity    bigint,
+    actual_forecast    bigint
+);
+
+CREATE FUNCTION iteration_rollup_changes(p_project_key_id int,
+                                         p_planned_end_date date, p_planned_capacity int, p_planned_forecast int,
+                                         p_actual_end_date date, p_actual_capacity int, p_actual_forecast int,
+                                         p_sign int) RETURNS SETOF project_month_rollup_change AS
+$$
+SELECT p_project_key_id, date_trunc('month', p_planned_end_date)::date,
+       p_sign, p_sign * coalesce(p_planned_capacity, 0)::bigint, p_sign * coalesce(p_planned_forecast, 0)::bigint,
+       0, 0::bigint, 0::bigint
+WHERE p_planned_end_date IS NOT NULL
+UNION ALL
+SELECT p_project_key_id, date_trunc('month', p_actual_end_date)::date,
+       0, 0::bigint, 0::bigint,
+       p_sign, p_sign * coalesce(p_actual_capacity, 0)::bigint, p_sign * coalesce(p_actual_forecast, 0)::bigint
+WHERE p_actual_end_date IS NOT NULL
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Adds the changes to their buckets in key order, so that concurrent statements can not deadlock, and drops the
+-- buckets left without iterations
+CREATE FUNCTION apply_project_month_rollup_changes(p_changes project_month_rollup_change[]) RETURNS void AS
+$$
+BEGIN
+    INSERT INTO project_month_rollup AS r (project_key_id, month,
+                                           planned_iterations, planned_capacity, planned_forecast,
+                                           actual_iterations, actual_capacity, actual_forecast)
+    SELECT c.project_key_id, c.month,
+           sum(c.planned_iterations), sum(c.planned_capacity), sum(c.planned_forecast),
+           sum(c.actual_iterations), sum(c.actual_capacity), sum(c.actual_forecast)
+    FROM unnest(p_changes) AS c
+    GROUP BY c.project_key_id, c.month
+    ORDER BY c.project_key_id, c.month
+    ON CONFLICT (project_key_id, month) DO UPDATE
+        SET planned_iterations = r.planned_iterations + EXCLUDED.planned_iterations,
+            planned_capacity   = r.planned_capacity + EXCLUDED.planned_capacity,
+            planned_forecast   = r.planned_forecast + EXCLUDED.planned_forecast,
+            actual_iterations  = r.actual_iterations + EXCLUDED.actual_iterations,
+            actual_capacity    = r.actual_capacity + EXCLUDED.actual_capacity,
+            actual_forecast    = r.actual_forecast + EXCLUDED.actual_forecast,
+            updated_at         = CURRENT_TIMESTAMP;
+
+    DELETE
+    FROM project_month_rollup r
+    USING (SELECT DISTINCT c.project_key_id, c.month FROM unnest(p_changes) AS c) AS touched
+    WHERE r.project_key_id = touched.project_key_id
+      AND r.month = touched.month
+      AND r.planned_iterations = 0
+      AND r.actual_iterations = 0;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION maintain_project_month_rollup() RETURNS trigger AS
+$$
+DECLARE
+    changes project_month_rollup_change[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        changes := ARRAY(
+                SELECT ROW (c.*)::project_month_rollup_change
+                FROM new_rows n
+                    CROSS JOIN LATERAL iteration_rollup_changes(n.project_key_id,
+                        n.planned_end_date, n.planned_capacity, n.planned_forecast,
+                        n.actual_end_date, n.actual_capacity, n.actual_forecast, 1) AS c);
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- Updates leaving the dates, figures and project untouched, such as renames, change nothing
+        changes := ARRAY(
+                SELECT ROW (c.*)::project_month_rollup_change
+                FROM new_rows n
+                    JOIN old_rows o ON o.key_id = n.key_id
+                    CROSS JOIN LATERAL (
+                        SELECT *
+                        FROM iteration_rollup_changes(n.project_key_id,
+                            n.planned_end_date, n.planned_capacity, n.planned_forecast,
+                            n.actual_end_date, n.actual_capacity, n.actual_forecast, 1)
+                        UNION ALL
+                        SELECT *
+                        FROM iteration_rollup_changes(o.project_key_id,
+                            o.planned_end_date, o.planned_capacity, o.planned_forecast,
+                            o.actual_end_date, o.actual_capacity, o.actual_forecast, -1)
+                    ) AS c
+                WHERE (o.project_key_id, o.planned_end_date, o.planned_capacity, o.planned_forecast,
+                       o.actual_end_date, o.actual_capacity, o.actual_forecast)
+                          IS DISTINCT FROM
+                      (n.project_key_id, n.planned_end_date, n.planned_capacity, n.planned_forecast,
+                       n.actual_end_date, n.actual_capacity, n.actual_forecast));
+    ELSE
+        changes := ARRAY(
+                SELECT ROW (c.*)::project_month_rollup_change
+                FROM old_rows o
+                    CROSS JOIN LATERAL iteration_rollup_changes(o.project_key_id,
+                        o.planned_end_date, o.planned_capacity, o.planned_forecast,
+                        o.actual_end_date, o.actual_capacity, o.actual_forecast, -1) AS c);
+    END IF;
+
+    IF cardinality(changes) > 0 THEN
+        PERFORM apply_project_month_rollup_changes(changes);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER project_month_rollup_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_month_rollup();
+
+CREATE TRIGGER project_month_rollup_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_month_rollup();
+
+CREATE TRIGGER project_month_rollup_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_month_rollup();
+
+-- Recomputes every bucket from the iterations and corrects the ones that drifted, for instance after manual data
+-- fixes with the triggers disabled. Writers of the buckets wait until it commits.
+CREATE FUNCTION refresh_project_month_rollup() RETURNS int AS
+$$
+DECLARE
+    corrected int;
+BEGIN
+    LOCK TABLE project_month_rollup IN EXCLUSIVE MODE;
+
+    WITH expected AS (
+        SELECT c.project_key_id, c.month,
+               sum(c.planned_iterations)::int AS planned_iterations,
+               sum(c.planned_capacity)::bigint AS planned_capacity,
+               sum(c.planned_forecast)::bigint AS planned_forecast,
+               sum(c.actual_iterations)::int AS actual_iterations,
+               sum(c.actual_capacity)::bigint AS actual_capacity,
+               sum(c.actual_forecast)::bigint AS actual_forecast
+        FROM iteration i
+            CROSS JOIN LATERAL iteration_rollup_changes(i.project_key_id,
+                i.planned_end_date, i.planned_capacity, i.planned_forecast,
+                i.actual_end_date, i.actual_capacity, i.actual_forecast, 1) AS c
+        GROUP BY c.project_key_id, c.month
+    ),
+    upserted AS (
+        INSERT INTO project_month_rollup AS r (project_key_id, month,
+                                               planned_iterations, planned_capacity, planned_forecast,
+                                               actual_iterations, actual_capacity, actual_forecast)
+        SELECT e.*
+        FROM expected e
+        WHERE NOT EXISTS (SELECT 1
+                          FROM project_month_rollup stored
+                          WHERE stored.project_key_id = e.project_key_id
+                            AND stored.month = e.month
+                            AND (stored.planned_iterations, stored.planned_capacity, stored.planned_forecast,
+                                 stored.actual_iterations, stored.actual_capacity, stored.actual_forecast)
+                              = (e.planned_iterations, e.planned_capacity, e.planned_forecast,
+                                 e.actual_iterations, e.actual_capacity, e.actual_forecast))
+        ON CONFLICT (project_key_id, month) DO UPDATE
+            SET planned_iterations = EXCLUDED.planned_iterations,
+                planned_capacity   = EXCLUDED.planned_capacity,
+                planned_forecast   = EXCLUDED.planned_forecast,
+                actual_iterations  = EXCLUDED.actual_iterations,
+                actual_capacity    = EXCLUDED.actual_capacity,
+                actual_forecast    = EXCLUDED.actual_forecast,
+                updated_at         = CURRENT_TIMESTAMP
+        RETURNING 1
+    ),
+    deleted AS (
+        DELETE
+        FROM project_month_rollup r
+        WHERE NOT EXISTS (SELECT 1 FROM expected e WHERE e.project_key_id = r.project_key_id AND e.month = r.month)
+        RETURNING 1
+    )
+    SELECT (SELECT count(*) FROM upserted) + (SELECT count(*) FROM deleted) INTO corrected;
+    RETURN corrected;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT refresh_project_month_rollup();
@@ -0,0 +1,284 @@
+-- This script turns iteration into a table partitioned by month of PLANNED_START_DATE, so queries on recent or
+-- upcoming iterations only read the partitions of their dates. Iterations without a planned start date, or planned
+-- in a month without a partition, go to iteration_default. IterationPartitionMaintenanceJob creates the partitions
+-- of the coming months ahead of time and, when a retention is configured, detaches the old ones.
+--
+-- Unique keys of a partitioned table must contain the partition key: the uuid is unique per planned start date in
+-- the database, and IterationUpsertRepository serializes the writers of a uuid to keep it unique across dates.
+
+ALTER TABLE iteration
+    RENAME TO iteration_unpartitioned;
+ALTER TABLE iteration_unpartitioned
+    DROP CONSTRAINT iteration_uuid_unique;
+DROP INDEX iteration_finished_idx;
+
+-- velocity_step takes an iteration row, it is recreated below for the new table
+DROP FUNCTION velocity_step(project_velocity, iteration_unpartitioned);
+
+CREATE TABLE iteration
+(
+    KEY_ID             int          NOT NULL DEFAULT nextval('iteration_key_id_seq'),
+    UUID UUID NOT NULL DEFAULT uuid_generate_v4(),
+    NAME               varchar(200) NOT NULL,
+    PROJECT_KEY_ID     int          NOT NULL,
+
+    PLANNED_START_DATE DATE,
+    PLANNED_END_DATE   DATE,
+    PLANNED_CAPACITY   INTEGER,
+    PLANNED_FORECAST   INTEGER,
+
+    ACTUAL_START_DATE  DATE,
+    ACTUAL_END_DATE    DATE,
+    ACTUAL_CAPACITY    INTEGER,
+    ACTUAL_FORECAST    INTEGER,
+
+    CREATED_AT         timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT         timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT iteration_uuid_unique UNIQUE (uuid, planned_start_date),
+    CONSTRAINT fk_iteration_project FOREIGN KEY (PROJECT_KEY_ID) REFERENCES project (KEY_ID) ON DELETE RESTRICT
+) PARTITION BY RANGE (PLANNED_START_DATE);
+
+CREATE INDEX iteration_key_id_idx ON iteration (KEY_ID);
+CREATE INDEX iteration_project_idx ON iteration (PROJECT_KEY_ID, PLANNED_START_DATE);
+CREATE INDEX iteration_finished_idx ON iteration (PROJECT_KEY_ID, ACTUAL_END_DATE, KEY_ID)
+    WHERE ACTUAL_END_DATE IS NOT NULL;
+
+CREATE TABLE iteration_default PARTITION OF iteration DEFAULT;
+
+CREATE FUNCTION iteration_partition_name(p_month date) RETURNS text AS
+$$
+SELECT 'iteration_p' || to_char(p_month, 'YYYY_MM')
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Triggers of iteration are cloned on its partitions; a detached table must not keep them
+CREATE FUNCTION drop_cloned_iteration_triggers(p_table regclass) RETURNS void AS
+$$
+DECLARE
+    cloned name;
+BEGIN
+    FOR cloned IN SELECT t.tgname FROM pg_trigger t WHERE t.tgrelid = p_table AND NOT t.tgisinternal
+        LOOP
+            EXECUTE format('DROP TRIGGER %I ON %s', cloned, p_table);
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates the missing monthly partitions from the month of p_from to the month of p_until. Iterations of these months
+-- waiting in iteration_default are moved to their partition while it is detached, so the triggers of iteration do
+-- not see them as changes.
+CREATE FUNCTION create_iteration_partitions(p_from date, p_until date) RETURNS int AS
+$$
+DECLARE
+    month_start    date := date_trunc('month', p_from)::date;
+    month_end      date;
+    partition_name text;
+    created        int  := 0;
+BEGIN
+    WHILE month_start <= p_until
+        LOOP
+            month_end := (month_start + INTERVAL '1 month')::date;
+            partition_name := iteration_partition_name(month_start);
+            IF to_regclass(partition_name) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I (LIKE iteration INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+                IF EXISTS (SELECT 1
+                           FROM iteration_default d
+                           WHERE d.planned_start_date >= month_start
+                             AND d.planned_start_date < month_end) THEN
+                    ALTER TABLE iteration DETACH PARTITION iteration_default;
+                    PERFORM drop_cloned_iteration_triggers('iteration_default');
+                    EXECUTE format('INSERT INTO %I SELECT * FROM iteration_default d '
+                                       'WHERE d.planned_start_date >= %L AND d.planned_start_date < %L',
+                                   partition_name, month_start, month_end);
+                    DELETE
+                    FROM iteration_default d
+                    WHERE d.planned_start_date >= month_start
+                      AND d.planned_start_date < month_end;
+                    EXECUTE format('ALTER TABLE iteration ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                                   partition_name, month_start, month_end);
+                    ALTER TABLE iteration ATTACH PARTITION iteration_default DEFAULT;
+                ELSE
+                    EXECUTE format('ALTER TABLE iteration ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                                   partition_name, month_start, month_end);
+                END IF;
+                created := created + 1;
+            END IF;
+            month_start := month_end;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the monthly partitions ending on or before p_before and keeps them as iteration_archive_YYYY_MM tables,
+-- without their foreign key so archived iterations do not prevent deleting their project. Detaching does not fire
+-- the triggers of iteration: the counters, velocity, burn-up and rollups still include the archived iterations until
+-- they are rebuilt or reconciled.
+CREATE FUNCTION detach_iteration_partitions(p_before date) RETURNS int AS
+$$
+DECLARE
+    partition_name text;
+    archive_name   text;
+    foreign_key    name;
+    detached       int := 0;
+BEGIN
+    FOR partition_name IN SELECT c.relname
+                          FROM pg_inherits inh
+                              JOIN pg_class c ON c.oid = inh.inhrelid
+                          WHERE inh.inhparent = 'iteration'::regclass
+                            AND c.relname ~ '^iteration_p[0-9]{4}_[0-9]{2}$'
+                            AND to_date(substring(c.relname FROM 12), 'YYYY_MM') + INTERVAL '1 month' <= p_before
+                          ORDER BY c.relname
+        LOOP
+            archive_name := 'iteration_archive_' || substring(partition_name FROM 12);
+            EXECUTE format('ALTER TABLE iteration DETACH PARTITION %I', partition_name);
+            PERFORM drop_cloned_iteration_triggers(partition_name::regclass);
+            FOR foreign_key IN SELECT con.conname
+                               FROM pg_constraint con
+                               WHERE con.conrelid = partition_name::regclass
+                                 AND con.contype = 'f'
+                LOOP
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, foreign_key);
+                END LOOP;
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name, archive_name);
+            detached := detached + 1;
+        END LOOP;
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions from the earliest planned start of the last ten years to a year ahead, older iterations stay in the
+-- default partition
+SELECT create_iteration_partitions(
+               greatest(coalesce((SELECT min(planned_start_date) FROM iteration_unpartitioned), CURRENT_DATE),
+                        (CURRENT_DATE - INTERVAL '10 years')::date),
+               (CURRENT_DATE + INTERVAL '12 months')::date);
+
+-- The triggers are created after the copy: the counters and derived tables already account for these rows
+INSERT INTO iteration (key_id, uuid, name, project_key_id,
+                       planned_start_date, planned_end_date, planned_capacity, planned_forecast,
+                       actual_start_date, actual_end_date, actual_capacity, actual_forecast,
+                       created_at, updated_at)
+SELECT key_id, uuid, name, project_key_id,
+       planned_start_date, planned_end_date, planned_capacity, planned_forecast,
+       actual_start_date, actual_end_date, actual_capacity, actual_forecast,
+       created_at, updated_at
+FROM iteration_unpartitioned;
+
+DROP TABLE iteration_unpartitioned;
+
+-- Same as V11, for the row type of the partitioned table
+CREATE FUNCTION velocity_step(v project_velocity, i iteration) RETURNS project_velocity AS
+$$
+DECLARE
+    window_size CONSTANT int              := 6;
+    alpha       CONSTANT double precision := 0.3;
+BEGIN
+    v.completed_count := v.completed_count + 1;
+    IF i.actual_capacity IS NOT NULL THEN
+        v.capacity_count := v.capacity_count + 1;
+        v.capacity_sum := v.capacity_sum + i.actual_capacity;
+        v.capacity_ewma := coalesce(alpha * i.actual_capacity + (1 - alpha) * v.capacity_ewma, i.actual_capacity);
+        v.recent_capacities := (ARRAY [i.actual_capacity] || v.recent_capacities)[1:window_size];
+    END IF;
+    IF i.actual_forecast IS NOT NULL THEN
+        v.forecast_count := v.forecast_count + 1;
+        v.forecast_sum := v.forecast_sum + i.actual_forecast;
+        v.forecast_ewma := coalesce(alpha * i.actual_forecast + (1 - alpha) * v.forecast_ewma, i.actual_forecast);
+        v.recent_forecasts := (ARRAY [i.actual_forecast] || v.recent_forecasts)[1:window_size];
+    END IF;
+    v.last_end_date := i.actual_end_date;
+    v.last_iteration_key_id := i.key_id;
+    RETURN v;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Functions declaring iteration variables are rewritten in the catalog, so sessions that already ran them compile
+-- them again against the new row type
+ALTER FUNCTION rebuild_project_velocity(int) COST 100;
+ALTER FUNCTION maintain_project_velocity() COST 100;
+
+-- Triggers of V7, V11, V12, V13 and V14, dropped with the previous table. Statement triggers see the rows an
+-- UPDATE moves to another partition as updated; row triggers see them as deleted and inserted, which leaves the
+-- iteration count of their project unchanged.
+CREATE TRIGGER iteration_count_on_insert_delete
+    AFTER INSERT OR DELETE ON iteration
+    FOR EACH ROW
+EXECUTE FUNCTION maintain_project_iteration_count();
+
+CREATE TRIGGER iteration_count_on_project_change
+    AFTER UPDATE OF project_key_id ON iteration
+    FOR EACH ROW
+    WHEN (OLD.project_key_id IS DISTINCT FROM NEW.project_key_id)
+EXECUTE FUNCTION maintain_project_iteration_count();
+
+CREATE TRIGGER project_velocity_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_velocity();
+
+CREATE TRIGGER project_velocity_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_velocity();
+
+CREATE TRIGGER project_velocity_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_velocity();
+
+CREATE TRIGGER project_data_version_on_iteration_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_iteration_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_data_version_on_iteration_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_project_data_version();
+
+CREATE TRIGGER project_burnup_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_burnup();
+
+CREATE TRIGGER project_burnup_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_burnup();
+
+CREATE TRIGGER project_burnup_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_burnup();
+
+CREATE TRIGGER project_month_rollup_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_month_rollup();
+
+CREATE TRIGGER project_month_rollup_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_month_rollup();
+
+CREATE TRIGGER project_month_rollup_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION maintain_project_month_rollup();
@@ -0,0 +1,226 @@
+-- This script publishes a notification on the data_changes channel for every statement that changes teams,
+-- memberships, projects, project configurations or iterations, so every node can push live updates to the users of
+-- the affected team. Notifications are only delivered once the transaction commits, and identical notifications of
+-- a transaction are delivered once, so a batch of iteration writes to one project notifies once.
+CREATE TYPE data_change AS
+(
+    entity       text,
+    team_id      int,
+    team_uuid    uuid,
+    project_uuid uuid,
+    app_user_id  int
+);
+
+-- The team uuid is looked up when the caller did not know it; it stays null for memberships of a deleted team, whose
+-- deletion is notified on its own
+CREATE FUNCTION publish_data_changes(p_changes data_change[]) RETURNS void AS
+$$
+BEGIN
+    PERFORM pg_notify('data_changes', json_build_object('entity', c.entity,
+                                                        'teamId', c.team_id,
+                                                        'teamUuid', coalesce(c.team_uuid, t.uuid),
+                                                        'projectUuid', c.project_uuid,
+                                                        'userId', c.app_user_id)::text)
+    FROM (SELECT DISTINCT * FROM unnest(p_changes)) AS c
+        LEFT JOIN team t ON t.key_id = c.team_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Updates leaving the columns shown to users untouched, such as the child counters, are not notified
+CREATE FUNCTION notify_team_changes() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('TEAM', n.key_id, n.uuid, NULL, NULL)::data_change FROM new_rows n));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('TEAM', n.key_id, n.uuid, NULL, NULL)::data_change
+                FROM new_rows n
+                    JOIN old_rows o ON o.key_id = n.key_id
+                WHERE (o.name, o.description, o.start_date, o.end_date, o.app_user_id)
+                          IS DISTINCT FROM (n.name, n.description, n.start_date, n.end_date, n.app_user_id)));
+    ELSE
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('TEAM', o.key_id, o.uuid, NULL, NULL)::data_change FROM old_rows o));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Memberships are also notified to their user, who may have just lost access to the team
+CREATE FUNCTION notify_team_member_changes() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('TEAM_MEMBER', n.team_id, NULL, NULL, n.app_user_id)::data_change FROM new_rows n));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('TEAM_MEMBER', n.team_id, NULL, NULL, n.app_user_id)::data_change FROM new_rows n
+                UNION
+                SELECT ROW ('TEAM_MEMBER', o.team_id, NULL, NULL, o.app_user_id)::data_change FROM old_rows o));
+    ELSE
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('TEAM_MEMBER', o.team_id, NULL, NULL, o.app_user_id)::data_change FROM old_rows o));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Updates of the child counters and of the data version, made by the triggers of iteration, are not notified
+CREATE FUNCTION notify_project_changes() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('PROJECT', n.team_id, NULL, n.uuid, NULL)::data_change FROM new_rows n));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('PROJECT', c.team_id, NULL, c.uuid, NULL)::data_change
+                FROM new_rows n
+                    JOIN old_rows o ON o.key_id = n.key_id
+                    CROSS JOIN LATERAL (VALUES (n.team_id, n.uuid), (o.team_id, o.uuid)) AS c (team_id, uuid)
+                WHERE (o.name, o.description, o.start_date, o.end_date, o.is_active, o.team_id)
+                          IS DISTINCT FROM (n.name, n.description, n.start_date, n.end_date, n.is_active, n.team_id)));
+    ELSE
+        PERFORM publish_data_changes(ARRAY(
+                SELECT ROW ('PROJECT', o.team_id, NULL, o.uuid, NULL)::data_change FROM old_rows o));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Configurations are notified as changes of their project
+CREATE FUNCTION notify_project_configuration_changes() RETURNS trigger AS
+$$
+DECLARE
+    project_ids int[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        project_ids := ARRAY(SELECT n.project_id FROM new_rows n);
+    ELSIF TG_OP = 'UPDATE' THEN
+        project_ids := ARRAY(SELECT n.project_id FROM new_rows n UNION SELECT o.project_id FROM old_rows o);
+    ELSE
+        project_ids := ARRAY(SELECT o.project_id FROM old_rows o);
+    END IF;
+
+    PERFORM publish_data_changes(ARRAY(
+            SELECT ROW ('PROJECT', p.team_id, NULL, p.uuid, NULL)::data_change
+            FROM project p
+            WHERE p.key_id = ANY (project_ids)));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Iterations are notified once per project, not per iteration
+CREATE FUNCTION notify_iteration_changes() RETURNS trigger AS
+$$
+DECLARE
+    project_ids int[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        project_ids := ARRAY(SELECT DISTINCT n.project_key_id FROM new_rows n);
+    ELSIF TG_OP = 'UPDATE' THEN
+        project_ids := ARRAY(SELECT n.project_key_id FROM new_rows n UNION SELECT o.project_key_id FROM old_rows o);
+    ELSE
+        project_ids := ARRAY(SELECT DISTINCT o.project_key_id FROM old_rows o);
+    END IF;
+
+    PERFORM publish_data_changes(ARRAY(
+            SELECT ROW ('ITERATION', p.team_id, NULL, p.uuid, NULL)::data_change
+            FROM project p
+            WHERE p.key_id = ANY (project_ids)));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER team_notify_on_insert
+    AFTER INSERT ON team
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_team_changes();
+
+CREATE TRIGGER team_notify_on_update
+    AFTER UPDATE ON team
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_team_changes();
+
+CREATE TRIGGER team_notify_on_delete
+    AFTER DELETE ON team
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_team_changes();
+
+CREATE TRIGGER team_member_notify_on_insert
+    AFTER INSERT ON team_member
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_team_member_changes();
+
+CREATE TRIGGER team_member_notify_on_update
+    AFTER UPDATE ON team_member
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_team_member_changes();
+
+CREATE TRIGGER team_member_notify_on_delete
+    AFTER DELETE ON team_member
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_team_member_changes();
+
+CREATE TRIGGER project_notify_on_insert
+    AFTER INSERT ON project
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_project_changes();
+
+CREATE TRIGGER project_notify_on_update
+    AFTER UPDATE ON project
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_project_changes();
+
+CREATE TRIGGER project_notify_on_delete
+    AFTER DELETE ON project
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_project_changes();
+
+CREATE TRIGGER project_configuration_notify_on_insert
+    AFTER INSERT ON project_configuration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_project_configuration_changes();
+
+CREATE TRIGGER project_configuration_notify_on_update
+    AFTER UPDATE ON project_configuration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_project_configuration_changes();
+
+CREATE TRIGGER project_configuration_notify_on_delete
+    AFTER DELETE ON project_configuration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_project_configuration_changes();
+
+CREATE TRIGGER iteration_notify_on_insert
+    AFTER INSERT ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_iteration_changes();
+
+CREATE TRIGGER iteration_notify_on_update
+    AFTER UPDATE ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_iteration_changes();
+
+CREATE TRIGGER iteration_notify_on_delete
+    AFTER DELETE ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_iteration_changes();
@@ -0,0 +1,36 @@
+-- This script adds working-day calendars, shared by the teams they are attached to. The working days of each imported
+-- year are kept as a bitset of one bit per day of the year, bit n of byte n / 8 set when day n, from 0, is worked,
+-- see WorkingDayCalendar. Calendars are never updated: new holidays are imported as a new calendar
+CREATE SEQUENCE working_calendar_key_id_seq;
+CREATE TABLE working_calendar
+(
+    KEY_ID       int PRIMARY KEY DEFAULT nextval('working_calendar_key_id_seq'),
+    UUID UUID NOT NULL DEFAULT uuid_generate_v4(),
+    NAME         varchar(200) NOT NULL,
+    -- Days of the week never worked, bit n set for the day n of the week from Monday as 0
+    WEEKEND_DAYS smallint     NOT NULL,
+    APP_USER_ID  int          NOT NULL,
+
+    CREATED_AT   timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT   timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT working_calendar_uuid_unique UNIQUE (uuid),
+    CONSTRAINT fk_working_calendar_app_user FOREIGN KEY (APP_USER_ID) REFERENCES app_user (KEY_ID) ON DELETE RESTRICT
+);
+
+CREATE TABLE working_calendar_year
+(
+    WORKING_CALENDAR_ID int   NOT NULL,
+    CALENDAR_YEAR       int   NOT NULL,
+    WORKING_DAYS        bytea NOT NULL,
+
+    CONSTRAINT working_calendar_year_pk PRIMARY KEY (WORKING_CALENDAR_ID, CALENDAR_YEAR),
+    CONSTRAINT working_calendar_year_length CHECK (octet_length(WORKING_DAYS) = 46),
+    CONSTRAINT fk_working_calendar_year_calendar FOREIGN KEY (WORKING_CALENDAR_ID) REFERENCES working_calendar (KEY_ID) ON DELETE CASCADE
+);
+
+ALTER TABLE team
+    ADD COLUMN WORKING_CALENDAR_ID int,
+    ADD CONSTRAINT fk_team_working_calendar FOREIGN KEY (WORKING_CALENDAR_ID) REFERENCES working_calendar (KEY_ID) ON DELETE SET NULL;
+
+CREATE INDEX team_working_calendar_id_idx ON team (WORKING_CALENDAR_ID);
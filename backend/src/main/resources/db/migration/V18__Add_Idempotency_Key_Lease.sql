@@ -0,0 +1,6 @@
+-- Requests in progress hold a short lease on their idempotency key. A key left without a response after its lease
+-- ran out belongs to a request whose instance stopped, and a retry may take it over instead of waiting for the key
+-- to expire.
+ALTER TABLE idempotency_key ADD COLUMN LOCKED_UNTIL timestamp;
+
+UPDATE idempotency_key SET LOCKED_UNTIL = CREATED_AT WHERE RESPONSE_STATUS IS NULL;
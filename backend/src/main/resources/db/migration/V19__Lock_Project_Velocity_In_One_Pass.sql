@@ -0,0 +1,81 @@
+-- maintain_project_velocity of V11 locked the projects it appended to in one ordered pass and the projects it
+-- rebuilt in a second one, so two statements touching the same projects could lock them in crossed order and
+-- deadlock. The function now locks all of them in one ordered pass first, then appends and rebuilds under those locks.
+CREATE OR REPLACE FUNCTION maintain_project_velocity() RETURNS trigger AS
+$$
+DECLARE
+    appended int[];
+    rebuilt  int[];
+    project  int;
+    v        project_velocity;
+    i        iteration;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(n.key_id) INTO appended
+        FROM new_rows n
+        WHERE n.actual_end_date IS NOT NULL;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT array_agg(n.key_id) INTO appended
+        FROM new_rows n
+            JOIN old_rows o ON o.key_id = n.key_id
+        WHERE n.actual_end_date IS NOT NULL
+          AND o.actual_end_date IS NULL;
+        SELECT array_agg(DISTINCT projects.key_id) INTO rebuilt
+        FROM new_rows n
+            JOIN old_rows o ON o.key_id = n.key_id
+            CROSS JOIN LATERAL (VALUES (o.project_key_id), (n.project_key_id)) AS projects (key_id)
+        WHERE o.actual_end_date IS NOT NULL
+          AND (o.actual_end_date, o.actual_capacity, o.actual_forecast, o.project_key_id)
+            IS DISTINCT FROM (n.actual_end_date, n.actual_capacity, n.actual_forecast, n.project_key_id);
+    ELSE
+        SELECT array_agg(DISTINCT o.project_key_id) INTO rebuilt
+        FROM old_rows o
+        WHERE o.actual_end_date IS NOT NULL;
+    END IF;
+    rebuilt := coalesce(rebuilt, '{}');
+
+    -- Every affected row is locked in key order before any is changed, so that concurrent statements can not deadlock
+    FOR project IN SELECT p.key_id
+                   FROM (SELECT it.project_key_id
+                         FROM iteration it
+                         WHERE it.key_id = ANY (appended)
+                         UNION
+                         SELECT unnest(rebuilt)) AS p (key_id)
+                   ORDER BY 1
+        LOOP
+            PERFORM lock_project_velocity(project);
+        END LOOP;
+
+    FOR project IN SELECT DISTINCT it.project_key_id
+                   FROM iteration it
+                   WHERE it.key_id = ANY (appended)
+                     AND NOT it.project_key_id = ANY (rebuilt)
+                   ORDER BY 1
+        LOOP
+            v := lock_project_velocity(project);
+            FOR i IN SELECT *
+                     FROM iteration it
+                     WHERE it.key_id = ANY (appended)
+                       AND it.project_key_id = project
+                     ORDER BY it.actual_end_date, it.key_id
+                LOOP
+                    IF v.last_end_date IS NOT NULL
+                        AND (i.actual_end_date, i.key_id) < (v.last_end_date, v.last_iteration_key_id) THEN
+                        -- An iteration finished before the last folded one changes the order of the series
+                        rebuilt := array_append(rebuilt, project);
+                        EXIT;
+                    END IF;
+                    v := velocity_step(v, i);
+                END LOOP;
+            IF NOT project = ANY (rebuilt) THEN
+                PERFORM save_project_velocity(v);
+            END IF;
+        END LOOP;
+
+    FOR project IN SELECT DISTINCT r FROM unnest(rebuilt) AS r ORDER BY 1
+        LOOP
+            PERFORM rebuild_project_velocity(project);
+        END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,83 @@
+-- This script keeps the uuid and the key id of an iteration unique across the partitions of iteration. Unique keys
+-- of a partitioned table must contain the partition key, so since V15 the database only kept the uuid unique per
+-- planned start date, did not check iterations without a planned start date and no longer had a primary key on
+-- KEY_ID. Every iteration now registers its uuid and key id in iteration_uuid, a plain table whose keys cover all
+-- partitions, and a second iteration with the same uuid or key id fails with a unique violation whichever path
+-- writes it.
+--
+-- The registry is kept by statement triggers: an UPDATE that moves rows to another partition fires the UPDATE
+-- statement triggers only, so moved iterations keep their registration. Uuids of detached partitions stay
+-- registered, an archived iteration keeps its uuid.
+
+CREATE TABLE iteration_uuid
+(
+    UUID   UUID NOT NULL,
+    KEY_ID int  NOT NULL,
+
+    CONSTRAINT iteration_uuid_pkey PRIMARY KEY (UUID),
+    CONSTRAINT iteration_uuid_key_id_unique UNIQUE (KEY_ID)
+);
+
+INSERT INTO iteration_uuid (uuid, key_id)
+SELECT uuid, key_id
+FROM iteration;
+
+CREATE FUNCTION register_inserted_iterations() RETURNS trigger AS
+$$
+BEGIN
+    INSERT INTO iteration_uuid (uuid, key_id)
+    SELECT uuid, key_id
+    FROM new_rows;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Only the rows whose uuid or key id changed are registered again, the others keep their registration
+CREATE FUNCTION register_updated_iterations() RETURNS trigger AS
+$$
+BEGIN
+    DELETE
+    FROM iteration_uuid r
+        USING old_rows o
+    WHERE r.uuid = o.uuid
+      AND NOT EXISTS (SELECT 1 FROM new_rows n WHERE n.uuid = o.uuid AND n.key_id = o.key_id);
+
+    INSERT INTO iteration_uuid (uuid, key_id)
+    SELECT n.uuid, n.key_id
+    FROM new_rows n
+    WHERE NOT EXISTS (SELECT 1 FROM old_rows o WHERE o.uuid = n.uuid AND o.key_id = n.key_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION unregister_deleted_iterations() RETURNS trigger AS
+$$
+BEGIN
+    DELETE
+    FROM iteration_uuid r
+        USING old_rows o
+    WHERE r.uuid = o.uuid;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER iteration_uuid_insert
+    AFTER INSERT
+    ON iteration
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION register_inserted_iterations();
+
+CREATE TRIGGER iteration_uuid_update
+    AFTER UPDATE
+    ON iteration
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION register_updated_iterations();
+
+CREATE TRIGGER iteration_uuid_delete
+    AFTER DELETE
+    ON iteration
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION unregister_deleted_iterations();
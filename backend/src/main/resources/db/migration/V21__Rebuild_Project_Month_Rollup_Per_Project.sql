@@ -0,0 +1,186 @@
+-- refresh_project_month_rollup() of V14 locked project_month_rollup in exclusive mode and recomputed every bucket in
+-- one statement, stalling every iteration write for the length of a full scan, and it dropped the buckets of the
+-- iterations of detached partitions. It is replaced by rebuild_project_month_rollup(), which recomputes the buckets
+-- of one project at a time from its iterations, archived ones included.
+--
+-- Detached partitions are now attached to iteration_archive, a partitioned table without triggers or foreign keys,
+-- so the archived iterations can still be read in one place whatever the months that were detached.
+
+CREATE TABLE iteration_archive
+(
+    LIKE iteration
+) PARTITION BY RANGE (PLANNED_START_DATE);
+
+CREATE INDEX iteration_archive_project_idx ON iteration_archive (PROJECT_KEY_ID, PLANNED_START_DATE);
+
+DO
+$$
+    DECLARE
+        archive_name text;
+        month_start  date;
+    BEGIN
+        FOR archive_name IN SELECT c.relname
+                            FROM pg_class c
+                            WHERE c.relkind = 'r'
+                              AND c.relname ~ '^iteration_archive_[0-9]{4}_[0-9]{2}$'
+                              AND c.relnamespace = current_schema()::regnamespace
+                            ORDER BY c.relname
+            LOOP
+                month_start := to_date(substring(archive_name FROM 19), 'YYYY_MM');
+                EXECUTE format('ALTER TABLE iteration_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               archive_name, month_start, (month_start + INTERVAL '1 month')::date);
+            END LOOP;
+    END
+$$;
+
+-- Same as V15, the archive table is then attached to iteration_archive
+CREATE OR REPLACE FUNCTION detach_iteration_partitions(p_before date) RETURNS int AS
+$$
+DECLARE
+    partition_name text;
+    archive_name   text;
+    month_start    date;
+    foreign_key    name;
+    detached       int := 0;
+BEGIN
+    FOR partition_name IN SELECT c.relname
+                          FROM pg_inherits inh
+                              JOIN pg_class c ON c.oid = inh.inhrelid
+                          WHERE inh.inhparent = 'iteration'::regclass
+                            AND c.relname ~ '^iteration_p[0-9]{4}_[0-9]{2}$'
+                            AND to_date(substring(c.relname FROM 12), 'YYYY_MM') + INTERVAL '1 month' <= p_before
+                          ORDER BY c.relname
+        LOOP
+            month_start := to_date(substring(partition_name FROM 12), 'YYYY_MM');
+            archive_name := 'iteration_archive_' || substring(partition_name FROM 12);
+            EXECUTE format('ALTER TABLE iteration DETACH PARTITION %I', partition_name);
+            PERFORM drop_cloned_iteration_triggers(partition_name::regclass);
+            FOR foreign_key IN SELECT con.conname
+                               FROM pg_constraint con
+                               WHERE con.conrelid = partition_name::regclass
+                                 AND con.contype = 'f'
+                LOOP
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, foreign_key);
+                END LOOP;
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name, archive_name);
+            EXECUTE format('ALTER TABLE iteration_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           archive_name, month_start, (month_start + INTERVAL '1 month')::date);
+            detached := detached + 1;
+        END LOOP;
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Writers of the buckets of a project hold a shared lock on it until they commit, so a rebuild holding the exclusive
+-- lock reads every committed iteration of the project and no writer adds to its buckets meanwhile. Writers of
+-- different projects, and of the same project, do not wait for each other.
+CREATE OR REPLACE FUNCTION apply_project_month_rollup_changes(p_changes project_month_rollup_change[]) RETURNS void AS
+$$
+DECLARE
+    project int;
+BEGIN
+    FOR project IN SELECT DISTINCT c.project_key_id FROM unnest(p_changes) AS c ORDER BY 1
+        LOOP
+            PERFORM pg_advisory_xact_lock_shared(hashtext('project_month_rollup'), project);
+        END LOOP;
+
+    INSERT INTO project_month_rollup AS r (project_key_id, month,
+                                           planned_iterations, planned_capacity, planned_forecast,
+                                           actual_iterations, actual_capacity, actual_forecast)
+    SELECT c.project_key_id, c.month,
+           sum(c.planned_iterations), sum(c.planned_capacity), sum(c.planned_forecast),
+           sum(c.actual_iterations), sum(c.actual_capacity), sum(c.actual_forecast)
+    FROM unnest(p_changes) AS c
+    GROUP BY c.project_key_id, c.month
+    ORDER BY c.project_key_id, c.month
+    ON CONFLICT (project_key_id, month) DO UPDATE
+        SET planned_iterations = r.planned_iterations + EXCLUDED.planned_iterations,
+            planned_capacity   = r.planned_capacity + EXCLUDED.planned_capacity,
+            planned_forecast   = r.planned_forecast + EXCLUDED.planned_forecast,
+            actual_iterations  = r.actual_iterations + EXCLUDED.actual_iterations,
+            actual_capacity    = r.actual_capacity + EXCLUDED.actual_capacity,
+            actual_forecast    = r.actual_forecast + EXCLUDED.actual_forecast,
+            updated_at         = CURRENT_TIMESTAMP;
+
+    DELETE
+    FROM project_month_rollup r
+    USING (SELECT DISTINCT c.project_key_id, c.month FROM unnest(p_changes) AS c) AS touched
+    WHERE r.project_key_id = touched.project_key_id
+      AND r.month = touched.month
+      AND r.planned_iterations = 0
+      AND r.actual_iterations = 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recomputes the buckets of a project from its current and archived iterations and corrects the ones that drifted,
+-- for instance after manual data fixes with the triggers disabled. Only the writers of this project wait for it.
+CREATE FUNCTION rebuild_project_month_rollup(p_project_key_id int) RETURNS int AS
+$$
+DECLARE
+    corrected int;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('project_month_rollup'), p_project_key_id);
+
+    WITH iterations AS (
+        SELECT i.project_key_id, i.planned_end_date, i.planned_capacity, i.planned_forecast,
+               i.actual_end_date, i.actual_capacity, i.actual_forecast
+        FROM iteration i
+        WHERE i.project_key_id = p_project_key_id
+        UNION ALL
+        SELECT a.project_key_id, a.planned_end_date, a.planned_capacity, a.planned_forecast,
+               a.actual_end_date, a.actual_capacity, a.actual_forecast
+        FROM iteration_archive a
+        WHERE a.project_key_id = p_project_key_id
+    ),
+    expected AS (
+        SELECT c.project_key_id, c.month,
+               sum(c.planned_iterations)::int AS planned_iterations,
+               sum(c.planned_capacity)::bigint AS planned_capacity,
+               sum(c.planned_forecast)::bigint AS planned_forecast,
+               sum(c.actual_iterations)::int AS actual_iterations,
+               sum(c.actual_capacity)::bigint AS actual_capacity,
+               sum(c.actual_forecast)::bigint AS actual_forecast
+        FROM iterations i
+            CROSS JOIN LATERAL iteration_rollup_changes(i.project_key_id,
+                i.planned_end_date, i.planned_capacity, i.planned_forecast,
+                i.actual_end_date, i.actual_capacity, i.actual_forecast, 1) AS c
+        GROUP BY c.project_key_id, c.month
+    ),
+    upserted AS (
+        INSERT INTO project_month_rollup AS r (project_key_id, month,
+                                               planned_iterations, planned_capacity, planned_forecast,
+                                               actual_iterations, actual_capacity, actual_forecast)
+        SELECT e.*
+        FROM expected e
+        WHERE NOT EXISTS (SELECT 1
+                          FROM project_month_rollup stored
+                          WHERE stored.project_key_id = e.project_key_id
+                            AND stored.month = e.month
+                            AND (stored.planned_iterations, stored.planned_capacity, stored.planned_forecast,
+                                 stored.actual_iterations, stored.actual_capacity, stored.actual_forecast)
+                              = (e.planned_iterations, e.planned_capacity, e.planned_forecast,
+                                 e.actual_iterations, e.actual_capacity, e.actual_forecast))
+        ORDER BY e.month
+        ON CONFLICT (project_key_id, month) DO UPDATE
+            SET planned_iterations = EXCLUDED.planned_iterations,
+                planned_capacity   = EXCLUDED.planned_capacity,
+                planned_forecast   = EXCLUDED.planned_forecast,
+                actual_iterations  = EXCLUDED.actual_iterations,
+                actual_capacity    = EXCLUDED.actual_capacity,
+                actual_forecast    = EXCLUDED.actual_forecast,
+                updated_at         = CURRENT_TIMESTAMP
+        RETURNING 1
+    ),
+    deleted AS (
+        DELETE
+        FROM project_month_rollup r
+        WHERE r.project_key_id = p_project_key_id
+          AND NOT EXISTS (SELECT 1 FROM expected e WHERE e.month = r.month)
+        RETURNING 1
+    )
+    SELECT (SELECT count(*) FROM upserted) + (SELECT count(*) FROM deleted) INTO corrected;
+    RETURN corrected;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION refresh_project_month_rollup();
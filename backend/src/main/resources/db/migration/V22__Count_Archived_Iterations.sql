@@ -0,0 +1,67 @@
+-- Iterations of detached partitions stay counted everywhere. Detaching fires no trigger, so the iteration count,
+-- velocity, burn-up and monthly rollup of a project keep including its archived iterations, and every rebuild or
+-- reconciliation now reads iteration_archive besides iteration so that it agrees with them instead of dropping the
+-- archived iterations. ChildCounterRepository counts them the same way, and rebuild_project_month_rollup() of V21
+-- already reads them.
+
+-- Same as V11, including the archived iterations
+CREATE OR REPLACE FUNCTION rebuild_project_velocity(p_project_key_id int) RETURNS void AS
+$$
+DECLARE
+    v project_velocity;
+    i iteration;
+BEGIN
+    v := lock_project_velocity(p_project_key_id);
+    v.completed_count := 0;
+    v.capacity_count := 0;
+    v.capacity_sum := 0;
+    v.forecast_count := 0;
+    v.forecast_sum := 0;
+    v.recent_capacities := '{}';
+    v.recent_forecasts := '{}';
+    v.capacity_ewma := NULL;
+    v.forecast_ewma := NULL;
+    v.last_end_date := NULL;
+    v.last_iteration_key_id := NULL;
+    FOR i IN SELECT *
+             FROM (SELECT *
+                   FROM iteration
+                   WHERE project_key_id = p_project_key_id
+                     AND actual_end_date IS NOT NULL
+                   UNION ALL
+                   SELECT *
+                   FROM iteration_archive
+                   WHERE project_key_id = p_project_key_id
+                     AND actual_end_date IS NOT NULL) AS finished
+             ORDER BY finished.actual_end_date, finished.key_id
+        LOOP
+            v := velocity_step(v, i);
+        END LOOP;
+    PERFORM save_project_velocity(v);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Same as V13, including the archived iterations
+CREATE OR REPLACE FUNCTION rebuild_project_burnup(p_project_key_id int) RETURNS void AS
+$$
+BEGIN
+    INSERT INTO project_burnup (project_key_id) VALUES (p_project_key_id) ON CONFLICT DO NOTHING;
+    UPDATE project_burnup
+    SET start_epoch_day    = NULL,
+        planned_offsets    = '{}',
+        planned_increments = '{}',
+        actual_offsets     = '{}',
+        actual_increments  = '{}'
+    WHERE project_key_id = p_project_key_id;
+    PERFORM merge_project_burnup(p_project_key_id, ARRAY(
+            SELECT ROW (i.project_key_id, i.planned_end_date - DATE '1970-01-01', i.planned_capacity,
+                       i.actual_end_date - DATE '1970-01-01', i.actual_capacity)::burnup_change
+            FROM (SELECT project_key_id, planned_end_date, planned_capacity, actual_end_date, actual_capacity
+                  FROM iteration
+                  WHERE project_key_id = p_project_key_id
+                  UNION ALL
+                  SELECT project_key_id, planned_end_date, planned_capacity, actual_end_date, actual_capacity
+                  FROM iteration_archive
+                  WHERE project_key_id = p_project_key_id) AS i));
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,17 @@
+-- Working calendars belong to the user who imported them and are moved with this user between shards, so a team can
+-- only use a calendar of its own owner: a calendar of another user would be detached by the move, or fail the copy of
+-- the team on the target shard. Teams already using a calendar of another user lose it, and the foreign key now
+-- includes the owner of the team.
+UPDATE team t
+SET working_calendar_id = NULL
+FROM working_calendar c
+WHERE c.key_id = t.working_calendar_id
+  AND c.app_user_id <> t.app_user_id;
+
+ALTER TABLE working_calendar
+    ADD CONSTRAINT working_calendar_owner_unique UNIQUE (KEY_ID, APP_USER_ID);
+
+ALTER TABLE team
+    DROP CONSTRAINT fk_team_working_calendar,
+    ADD CONSTRAINT fk_team_working_calendar FOREIGN KEY (WORKING_CALENDAR_ID, APP_USER_ID)
+        REFERENCES working_calendar (KEY_ID, APP_USER_ID) ON DELETE SET NULL (WORKING_CALENDAR_ID);
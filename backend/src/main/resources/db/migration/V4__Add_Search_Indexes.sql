@@ -0,0 +1,28 @@
+-- This script adds full-text and trigram search over team and project names and descriptions
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE team
+    ADD COLUMN SEARCH_VECTOR tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(NAME, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(DESCRIPTION, '')), 'B')
+        ) STORED;
+
+ALTER TABLE project
+    ADD COLUMN SEARCH_VECTOR tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(NAME, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(DESCRIPTION, '')), 'B')
+        ) STORED;
+
+-- Full-text indexes for whole-word matches
+CREATE INDEX team_search_vector_idx ON team USING GIN (SEARCH_VECTOR);
+CREATE INDEX project_search_vector_idx ON project USING GIN (SEARCH_VECTOR);
+
+-- Trigram indexes for substring matches (ILIKE '%term%') on partial words
+CREATE INDEX team_name_trgm_idx ON team USING GIN (NAME gin_trgm_ops);
+CREATE INDEX team_description_trgm_idx ON team USING GIN (DESCRIPTION gin_trgm_ops);
+CREATE INDEX project_name_trgm_idx ON project USING GIN (NAME gin_trgm_ops);
+CREATE INDEX project_description_trgm_idx ON project USING GIN (DESCRIPTION gin_trgm_ops);
+
+-- Foreign key indexes used to scope results to the owning user
+CREATE INDEX team_app_user_id_idx ON team (APP_USER_ID);
+CREATE INDEX project_team_id_idx ON project (TEAM_ID);
@@ -0,0 +1,25 @@
+-- This script lets several users share a team through memberships with roles
+CREATE SEQUENCE team_member_key_id_seq;
+CREATE TABLE team_member
+(
+    KEY_ID      int PRIMARY KEY DEFAULT nextval('team_member_key_id_seq'),
+    UUID UUID NOT NULL DEFAULT uuid_generate_v4(),
+    TEAM_ID     int         NOT NULL,
+    APP_USER_ID int         NOT NULL,
+    ROLE        varchar(20) NOT NULL,
+
+    CREATED_AT  timestamp   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT  timestamp   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT team_member_uuid_unique UNIQUE (uuid),
+    CONSTRAINT team_member_team_user_unique UNIQUE (TEAM_ID, APP_USER_ID),
+    CONSTRAINT fk_team_member_team FOREIGN KEY (TEAM_ID) REFERENCES team (KEY_ID) ON DELETE CASCADE,
+    CONSTRAINT fk_team_member_app_user FOREIGN KEY (APP_USER_ID) REFERENCES app_user (KEY_ID) ON DELETE CASCADE
+);
+
+CREATE INDEX team_member_app_user_id_idx ON team_member (APP_USER_ID);
+
+-- Every existing team is owned by the user that created it
+insert into team_member (team_id, app_user_id, role)
+select key_id, app_user_id, 'OWNER'
+from team;
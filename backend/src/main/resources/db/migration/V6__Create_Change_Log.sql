@@ -0,0 +1,18 @@
+-- This script creates the append-only history of changes on teams, projects, configurations and iterations
+CREATE TABLE change_log
+(
+    KEY_ID       bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    ENTITY_TYPE  varchar(30)  NOT NULL,
+    ENTITY_UUID  UUID         NOT NULL,
+    PROJECT_UUID UUID,
+    OPERATION    varchar(10)  NOT NULL,
+    FIELD_NAME   varchar(100),
+    OLD_VALUE    text,
+    NEW_VALUE    text,
+    CHANGED_BY   varchar(255),
+    CHANGED_AT   timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Project history is read newest first
+CREATE INDEX change_log_project_uuid_idx ON change_log (PROJECT_UUID, CHANGED_AT DESC, KEY_ID DESC);
+CREATE INDEX change_log_entity_uuid_idx ON change_log (ENTITY_UUID);
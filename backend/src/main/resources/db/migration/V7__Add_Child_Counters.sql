@@ -0,0 +1,67 @@
+-- This script keeps the number of projects per team and iterations per project on the parent rows, so listings
+-- show totals without counting child rows. Triggers maintain the counters on every write, including native and
+-- bulk statements; ChildCounterReconciliationJob corrects any drift.
+ALTER TABLE team
+    ADD COLUMN PROJECT_COUNT int NOT NULL DEFAULT 0;
+
+ALTER TABLE project
+    ADD COLUMN ITERATION_COUNT int NOT NULL DEFAULT 0;
+
+UPDATE team t
+SET project_count = c.total
+FROM (SELECT team_id, count(*) AS total FROM project GROUP BY team_id) c
+WHERE c.team_id = t.key_id;
+
+UPDATE project p
+SET iteration_count = c.total
+FROM (SELECT project_key_id, count(*) AS total FROM iteration GROUP BY project_key_id) c
+WHERE c.project_key_id = p.key_id;
+
+CREATE FUNCTION maintain_team_project_count() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE team SET project_count = project_count + 1 WHERE key_id = NEW.team_id;
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE team SET project_count = project_count - 1 WHERE key_id = OLD.team_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER project_count_on_insert_delete
+    AFTER INSERT OR DELETE ON project
+    FOR EACH ROW
+EXECUTE FUNCTION maintain_team_project_count();
+
+-- Moving a project to another team updates both counters
+CREATE TRIGGER project_count_on_team_change
+    AFTER UPDATE OF team_id ON project
+    FOR EACH ROW
+    WHEN (OLD.team_id IS DISTINCT FROM NEW.team_id)
+EXECUTE FUNCTION maintain_team_project_count();
+
+CREATE FUNCTION maintain_project_iteration_count() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE project SET iteration_count = iteration_count + 1 WHERE key_id = NEW.project_key_id;
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE project SET iteration_count = iteration_count - 1 WHERE key_id = OLD.project_key_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER iteration_count_on_insert_delete
+    AFTER INSERT OR DELETE ON iteration
+    FOR EACH ROW
+EXECUTE FUNCTION maintain_project_iteration_count();
+
+CREATE TRIGGER iteration_count_on_project_change
+    AFTER UPDATE OF project_key_id ON iteration
+    FOR EACH ROW
+    WHEN (OLD.project_key_id IS DISTINCT FROM NEW.project_key_id)
+EXECUTE FUNCTION maintain_project_iteration_count();
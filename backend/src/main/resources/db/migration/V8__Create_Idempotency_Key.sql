@@ -0,0 +1,19 @@
+-- This script stores the responses of create requests sent with an Idempotency-Key header, so client retries
+-- replay the original response instead of creating duplicates. Rows without a response are requests in progress.
+CREATE TABLE idempotency_key
+(
+    APP_USER_ID           int          NOT NULL,
+    IDEMPOTENCY_KEY       varchar(255) NOT NULL,
+    REQUEST_HASH          char(64)     NOT NULL,
+    RESPONSE_STATUS       int,
+    RESPONSE_CONTENT_TYPE varchar(255),
+    RESPONSE_BODY         bytea,
+
+    CREATED_AT            timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    EXPIRES_AT            timestamp    NOT NULL,
+
+    CONSTRAINT idempotency_key_pk PRIMARY KEY (APP_USER_ID, IDEMPOTENCY_KEY),
+    CONSTRAINT fk_idempotency_key_app_user FOREIGN KEY (APP_USER_ID) REFERENCES app_user (KEY_ID) ON DELETE CASCADE
+);
+
+CREATE INDEX idempotency_key_expires_at_idx ON idempotency_key (EXPIRES_AT);
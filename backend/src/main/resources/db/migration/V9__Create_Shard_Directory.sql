@@ -0,0 +1,13 @@
+-- This script creates the directory of the shard holding each user. It is only read on the first shard, and only
+-- when app.sharding.enabled is set
+CREATE TABLE shard_directory
+(
+    USER_UUID   UUID         NOT NULL PRIMARY KEY,
+    EMAIL       varchar(100) NOT NULL,
+    SHARD_INDEX int          NOT NULL,
+
+    CREATED_AT  timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT  timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT shard_directory_email_unique UNIQUE (EMAIL)
+);
@@ -0,0 +1,249 @@
+package com.ybritto.teamtempo.backend.core.concurrency;
+
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("RequestCoalescer Unit Tests")
+class RequestCoalescerTest {
+
+    private static final String OPERATION = "getProjectsByTeamUuid";
+    private static final int FOLLOWERS = 5;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should share one execution between concurrent identical calls")
+    void shouldShareOneExecutionBetweenConcurrentIdenticalCalls() throws Exception {
+        // Given
+        UUID resourceUuid = UUID.randomUUID();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Queue<String> results = new ConcurrentLinkedQueue<>();
+
+        Thread leader = new Thread(() -> results.add(coalescer.execute(OPERATION, resourceUuid, () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return "result";
+        })));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Thread> followers = startFollowers(() -> results.add(coalescer.execute(OPERATION, resourceUuid, () -> {
+            executions.incrementAndGet();
+            return "other result";
+        })));
+        awaitWaiting(followers);
+        releaseLeader.countDown();
+        joinAll(leader, followers);
+
+        // Then
+        assertAll(
+                () -> assertThat(executions.get()).isEqualTo(1),
+                () -> assertThat(results).hasSize(FOLLOWERS + 1).containsOnly("result"),
+                () -> assertThat(meterRegistry.counter(RequestCoalescer.EXECUTIONS_METRIC, "operation", OPERATION).count())
+                        .isEqualTo(1.0),
+                () -> assertThat(meterRegistry.counter(RequestCoalescer.SAVED_METRIC, "operation", OPERATION).count())
+                        .isEqualTo(FOLLOWERS)
+        );
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader exception to waiting callers")
+    void shouldPropagateLeaderExceptionToFollowers() throws Exception {
+        // Given
+        UUID resourceUuid = UUID.randomUUID();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        Thread leader = new Thread(() -> captureFailure(failures, () -> coalescer.execute(OPERATION, resourceUuid, () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            throw new NotFoundException("Team not found");
+        })));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Thread> followers = startFollowers(() -> captureFailure(failures,
+                () -> coalescer.execute(OPERATION, resourceUuid, () -> "unexpected")));
+        awaitWaiting(followers);
+        releaseLeader.countDown();
+        joinAll(leader, followers);
+
+        // Then
+        assertThat(failures)
+                .hasSize(FOLLOWERS + 1)
+                .allSatisfy(failure -> assertThat(failure)
+                        .isInstanceOf(NotFoundException.class)
+                        .hasMessage("Team not found"));
+    }
+
+    @Test
+    @DisplayName("Should execute again once the previous execution has completed")
+    void shouldExecuteSequentialCallsIndependently() {
+        // Given
+        UUID resourceUuid = UUID.randomUUID();
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        coalescer.execute(OPERATION, resourceUuid, executions::incrementAndGet);
+        coalescer.execute(OPERATION, resourceUuid, executions::incrementAndGet);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not share executions between different resources")
+    void shouldNotShareExecutionsBetweenDifferentResources() {
+        // When
+        String first = coalescer.execute(OPERATION, UUID.randomUUID(), () -> "first");
+        String second = coalescer.execute(OPERATION, UUID.randomUUID(), () -> "second");
+
+        // Then
+        assertAll(
+                () -> assertThat(first).isEqualTo("first"),
+                () -> assertThat(second).isEqualTo("second")
+        );
+    }
+
+    @Test
+    @DisplayName("Should execute directly when waiting for the in-flight execution times out")
+    void shouldExecuteDirectlyWhenFollowerTimesOut() throws Exception {
+        // Given
+        coalescer = new RequestCoalescer(meterRegistry, Duration.ofMillis(50));
+        UUID resourceUuid = UUID.randomUUID();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> coalescer.execute(OPERATION, resourceUuid, () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return "slow result";
+        }));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        String result = coalescer.execute(OPERATION, resourceUuid, () -> "direct result");
+        releaseLeader.countDown();
+        leader.join(TimeUnit.SECONDS.toMillis(5));
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isEqualTo("direct result"),
+                () -> assertThat(meterRegistry.counter(RequestCoalescer.TIMEOUTS_METRIC, "operation", OPERATION).count())
+                        .isEqualTo(1.0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should execute directly inside a read-write transaction")
+    void shouldExecuteDirectlyInsideReadWriteTransaction() throws Exception {
+        // Given
+        UUID resourceUuid = UUID.randomUUID();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> coalescer.execute(OPERATION, resourceUuid, () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return "committed result";
+        }));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        String result;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            result = coalescer.execute(OPERATION, resourceUuid, () -> "uncommitted result");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            releaseLeader.countDown();
+            leader.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isEqualTo("uncommitted result"),
+                () -> assertThat(meterRegistry.counter(RequestCoalescer.SAVED_METRIC, "operation", OPERATION).count())
+                        .isZero()
+        );
+    }
+
+    private List<Thread> startFollowers(Runnable call) {
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            Thread follower = new Thread(call);
+            follower.start();
+            followers.add(follower);
+        }
+        return followers;
+    }
+
+    private void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            boolean allWaiting = threads.stream()
+                    .allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING);
+            if (allWaiting) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Followers did not start waiting on the in-flight execution");
+    }
+
+    private void joinAll(Thread leader, List<Thread> followers) throws InterruptedException {
+        leader.join(TimeUnit.SECONDS.toMillis(5));
+        for (Thread follower : followers) {
+            follower.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private static void captureFailure(Queue<Throwable> failures, Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException ex) {
+            failures.add(ex);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
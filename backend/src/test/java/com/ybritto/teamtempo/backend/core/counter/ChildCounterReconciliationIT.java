@@ -0,0 +1,169 @@
+package com.ybritto.teamtempo.backend.core.counter;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks the child counters kept by the triggers of {@code V7__Add_Child_Counters.sql} and their reconciliation.
+ * H2 runs no PL/pgSQL triggers, so these tests are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("Child counters Integration Tests")
+class ChildCounterReconciliationIT {
+
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 6);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static ChildCounterRepository childCounterRepository;
+    private static long userId;
+
+    private long teamId;
+    private long otherTeamId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        childCounterRepository = new ChildCounterRepository(new NamedParameterJdbcTemplate(dataSource));
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO app_user (name, email, password)
+                VALUES ('Counter user', 'counter-user@example.com', 'password123')
+                RETURNING key_id
+                """, Long.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        teamId = insertTeam();
+        otherTeamId = insertTeam();
+    }
+
+    @Test
+    @DisplayName("Should count the projects of a team as they are inserted, moved and deleted")
+    void shouldMaintainProjectCount() {
+        // Given
+        long moved = insertProject(teamId);
+        long deleted = insertProject(teamId);
+        insertProject(teamId);
+
+        // When
+        jdbcTemplate.update("UPDATE project SET team_id = ? WHERE key_id = ?", otherTeamId, moved);
+        jdbcTemplate.update("DELETE FROM project WHERE key_id = ?", deleted);
+
+        // Then
+        assertAll(
+                () -> assertThat(projectCount(teamId)).isEqualTo(1),
+                () -> assertThat(projectCount(otherTeamId)).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should count the iterations of a project as they are inserted, moved and deleted")
+    void shouldMaintainIterationCount() {
+        // Given
+        long projectId = insertProject(teamId);
+        long otherProjectId = insertProject(teamId);
+        UUID moved = insertIteration(projectId, START_DATE);
+        UUID deleted = insertIteration(projectId, START_DATE.plusWeeks(2));
+        UUID rescheduled = insertIteration(projectId, START_DATE.plusWeeks(4));
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET project_key_id = ? WHERE uuid = ?", otherProjectId, moved);
+        jdbcTemplate.update("DELETE FROM iteration WHERE uuid = ?", deleted);
+        // A new planned start date moves the row to another partition, it is still one iteration
+        jdbcTemplate.update("UPDATE iteration SET planned_start_date = ? WHERE uuid = ?",
+                START_DATE.plusMonths(3), rescheduled);
+
+        // Then
+        assertAll(
+                () -> assertThat(iterationCount(projectId)).isEqualTo(1),
+                () -> assertThat(iterationCount(otherProjectId)).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should correct drifted counters and count the corrections")
+    void shouldReconcileDriftedCounters() {
+        // Given
+        long projectId = insertProject(teamId);
+        insertIteration(projectId, START_DATE);
+        insertIteration(projectId, START_DATE.plusWeeks(2));
+        jdbcTemplate.update("UPDATE team SET project_count = 7 WHERE key_id = ?", teamId);
+        jdbcTemplate.update("UPDATE project SET iteration_count = 0 WHERE key_id = ?", projectId);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChildCounterReconciliationJob job = new ChildCounterReconciliationJob(childCounterRepository,
+                new ShardSelector(Optional.empty()), meterRegistry);
+
+        // When
+        job.reconcile();
+
+        // Then
+        assertAll(
+                () -> assertThat(projectCount(teamId)).isEqualTo(1),
+                () -> assertThat(iterationCount(projectId)).isEqualTo(2),
+                () -> assertThat(meterRegistry.counter("teamtempo.child-counters.corrected").count()).isEqualTo(2.0),
+                () -> assertThat(childCounterRepository.reconcileProjectCounts()).isZero(),
+                () -> assertThat(childCounterRepository.reconcileIterationCounts()).isZero()
+        );
+    }
+
+    private static long insertTeam() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO team (uuid, name, description, start_date, app_user_id)
+                VALUES (?, 'Counter test', 'Counter test team', ?, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), START_DATE, userId);
+    }
+
+    private static long insertProject(long team) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO project (uuid, name, description, start_date, team_id)
+                VALUES (?, 'Counter test', 'Counter test project', ?, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), START_DATE, team);
+    }
+
+    private static UUID insertIteration(long project, LocalDate startDate) {
+        UUID uuid = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO iteration (uuid, name, project_key_id, planned_start_date, planned_end_date)
+                VALUES (?, 'Counter test', ?, ?, ?)
+                """, uuid, project, startDate, startDate.plusDays(13));
+        return uuid;
+    }
+
+    private static int projectCount(long team) {
+        return jdbcTemplate.queryForObject("SELECT project_count FROM team WHERE key_id = ?", Integer.class, team);
+    }
+
+    private static int iterationCount(long project) {
+        return jdbcTemplate.queryForObject("SELECT iteration_count FROM project WHERE key_id = ?", Integer.class,
+                project);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ybritto.teamtempo.backend.core.datasource;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_READ = "com.ybritto.teamtempo.backend.features.team.service.TeamService.getMyTeams";
+    private static final String SERVICE_WRITE = "com.ybritto.teamtempo.backend.features.team.service.TeamService.createTeam";
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findAll";
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should route read-only service transactions to the replica")
+    void shouldRouteReadOnlyServiceTransactionsToReplica() {
+        // Given
+        RoutedDatabase database = routed("SELECT 0");
+
+        // When & Then
+        assertAll(
+                () -> assertThat(database.node(SERVICE_READ, true)).isEqualTo("replica"),
+                () -> assertThat(meterRegistry.counter("teamtempo.datasource.routing",
+                        "target", "replica", "reason", "read_only").count()).isEqualTo(1.0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should route read-write and repository default transactions to the primary")
+    void shouldRouteOtherTransactionsToPrimary() {
+        // Given
+        RoutedDatabase database = routed("SELECT 0");
+
+        // When & Then
+        assertAll(
+                () -> assertThat(database.node(SERVICE_WRITE, false)).isEqualTo("primary"),
+                () -> assertThat(database.node(REPOSITORY_READ, true)).isEqualTo("primary"),
+                () -> assertThat(database.jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep users on the primary right after their own writes")
+    void shouldKeepWritersOnPrimary() {
+        // Given
+        RoutedDatabase database = routed("SELECT 0");
+        authenticate(1L);
+        database.node(SERVICE_WRITE, false);
+
+        // When
+        String writerNode = database.node(SERVICE_READ, true);
+        authenticate(2L);
+        String otherUserNode = database.node(SERVICE_READ, true);
+
+        // Then
+        assertAll(
+                () -> assertThat(writerNode).isEqualTo("primary"),
+                () -> assertThat(otherUserNode).isEqualTo("replica")
+        );
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when the replica lag is unknown")
+    void shouldReadFromPrimaryWhenReplicaLagIsUnknown() {
+        // Given
+        RoutedDatabase database = routed("SELECT lag FROM missing_table");
+
+        // When & Then
+        assertThat(database.node(SERVICE_READ, true)).isEqualTo("primary");
+    }
+
+    private RoutedDatabase routed(String lagQuery) {
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, lagQuery, Duration.ofSeconds(5), meterRegistry);
+        lagMonitor.refresh();
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica,
+                "com.ybritto.teamtempo.backend", Duration.ofMinutes(1), lagMonitor, meterRegistry);
+        return new RoutedDatabase(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name varchar(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(Long userId) {
+        UserEntity user = UserEntity.builder()
+                .id(userId)
+                .email("user" + userId + "@example.com")
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static class RoutedDatabase {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final DataSourceTransactionManager transactionManager;
+
+        RoutedDatabase(DataSource dataSource) {
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionManager = new DataSourceTransactionManager(dataSource);
+        }
+
+        String node(String transactionName, boolean readOnly) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setName(transactionName);
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.ContentTooLargeException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("IdempotencyFilter Unit Tests")
+class IdempotencyFilterTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String CREATED_BODY = "{\"name\":\"Team\"}";
+
+    // Maps the exceptions the way GlobalRestExceptionHandler does, without the web context
+    private static final HandlerExceptionResolver EXCEPTION_RESOLVER = (request, response, handler, exception) -> {
+        if (exception instanceof ConflictException) {
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+        } else if (exception instanceof ContentTooLargeException) {
+            response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        } else {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        }
+        return new ModelAndView();
+    };
+
+    private InMemoryIdempotencyRepository repository;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryIdempotencyRepository();
+        filter = filterWith(repository);
+        executions = new AtomicInteger();
+        UserEntity user = UserEntity.builder().id(USER_ID).email("user@teamtempo.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response of a retried request")
+    void shouldReplayStoredResponse() throws Exception {
+        // Given
+        send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+
+        // When
+        MockHttpServletResponse retry = send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+
+        // Then
+        assertAll(
+                () -> assertThat(executions).hasValue(1),
+                () -> assertThat(retry.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED),
+                () -> assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true"),
+                () -> assertThat(retry.getContentAsString()).isEqualTo("{\"uuid\":\"created\"}")
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body")
+    void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+        // Given
+        send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+
+        // When
+        MockHttpServletResponse retry = send("{\"name\":\"Other\"}", respondWith(HttpServletResponse.SC_CREATED));
+
+        // Then
+        assertAll(
+                () -> assertThat(executions).hasValue(1),
+                () -> assertThat(retry.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a retry while the first request is in progress")
+    void shouldRejectRetryInProgress() throws Exception {
+        // Given
+        MockHttpServletResponse[] concurrent = new MockHttpServletResponse[1];
+        FilterChain firstRequest = (request, response) -> {
+            concurrent[0] = send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+            respondWith(HttpServletResponse.SC_CREATED).doFilter(request, response);
+        };
+
+        // When
+        MockHttpServletResponse first = send(CREATED_BODY, firstRequest);
+
+        // Then
+        assertAll(
+                () -> assertThat(first.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED),
+                () -> assertThat(concurrent[0].getStatus()).isEqualTo(HttpServletResponse.SC_CONFLICT),
+                () -> assertThat(executions).hasValue(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should run a retry again when the first request failed")
+    void shouldRunRetryOfFailedRequest() throws Exception {
+        // Given
+        send(CREATED_BODY, respondWith(HttpServletResponse.SC_INTERNAL_SERVER_ERROR));
+
+        // When
+        MockHttpServletResponse retry = send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+
+        // Then
+        assertAll(
+                () -> assertThat(executions).hasValue(2),
+                () -> assertThat(retry.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED),
+                () -> assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the key of a successful request whose response could not be stored")
+    void shouldKeepKeyWhenStoringResponseFails() throws Exception {
+        // Given
+        InMemoryIdempotencyRepository failingRepository = new InMemoryIdempotencyRepository() {
+            @Override
+            public void complete(Long userId, String key, int status, String contentType, byte[] body) {
+                throw new IllegalStateException("Database is unavailable");
+            }
+        };
+        filter = filterWith(failingRepository);
+
+        // When
+        MockHttpServletResponse response = send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+
+        // Then
+        assertAll(
+                () -> assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED),
+                () -> assertThat(response.getContentAsString()).isEqualTo("{\"uuid\":\"created\"}"),
+                () -> assertThat(failingRepository.rows).containsKey(USER_ID + ":key")
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a body above the limit without running or claiming the request")
+    void shouldRejectTooLargeBody() throws Exception {
+        // Given
+        filter = filterWith(repository, DataSize.ofBytes(CREATED_BODY.length() - 1));
+
+        // When
+        MockHttpServletResponse response = send(CREATED_BODY, respondWith(HttpServletResponse.SC_CREATED));
+
+        // Then
+        assertAll(
+                () -> assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE),
+                () -> assertThat(executions).hasValue(0),
+                () -> assertThat(repository.rows).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a body above the limit sent without a content length")
+    void shouldRejectTooLargeBodyWithoutContentLength() throws Exception {
+        // Given
+        filter = filterWith(repository, DataSize.ofBytes(CREATED_BODY.length() - 1));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/teams") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key");
+        request.setContent(CREATED_BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, respondWith(HttpServletResponse.SC_CREATED));
+
+        // Then
+        assertAll(
+                () -> assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE),
+                () -> assertThat(executions).hasValue(0)
+        );
+    }
+
+    private static IdempotencyFilter filterWith(IdempotencyRepository repository) {
+        return filterWith(repository, DataSize.ofMegabytes(1));
+    }
+
+    private static IdempotencyFilter filterWith(IdempotencyRepository repository, DataSize maxBodySize) {
+        IdempotencyService service = new IdempotencyService(repository, new ShardSelector(Optional.empty()),
+                Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofMinutes(10), 100);
+        return new IdempotencyFilter(EXCEPTION_RESOLVER, service, maxBodySize);
+    }
+
+    private MockHttpServletResponse send(String body, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/teams");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain respondWith(int status) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write("{\"uuid\":\"created\"}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("IdempotencyService Unit Tests")
+class IdempotencyServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private InMemoryIdempotencyRepository repository;
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryIdempotencyRepository();
+        service = new IdempotencyService(repository, new ShardSelector(Optional.empty()), Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofMinutes(10), 100);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an unused key")
+    void shouldReturnNothingForUnusedKey() {
+        // When
+        Optional<StoredResponse> result = service.findCompleted(USER_ID, "key", "hash");
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay the completed response from memory")
+    void shouldReplayCompletedResponse() {
+        // Given
+        service.claim(USER_ID, "key", "hash");
+        service.complete(USER_ID, "key", "hash", 200, "application/json", "{}".getBytes());
+        repository.rows.clear();
+
+        // When
+        Optional<StoredResponse> result = service.findCompleted(USER_ID, "key", "hash");
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isPresent(),
+                () -> assertThat(result.get().status()).isEqualTo(200),
+                () -> assertThat(result.get().body()).isEqualTo("{}".getBytes())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        // Given
+        service.claim(USER_ID, "key", "hash");
+        service.complete(USER_ID, "key", "hash", 200, "application/json", "{}".getBytes());
+
+        // When & Then
+        assertThatThrownBy(() -> service.findCompleted(USER_ID, "key", "other-hash"))
+                .isInstanceOf(InvalidParameterException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a key whose request is still in progress")
+    void shouldRejectKeyInProgress() {
+        // Given
+        service.claim(USER_ID, "key", "hash");
+
+        // When & Then
+        assertAll(
+                () -> assertThatThrownBy(() -> service.findCompleted(USER_ID, "key", "hash"))
+                        .isInstanceOf(ConflictException.class),
+                () -> assertThatThrownBy(() -> service.claim(USER_ID, "key", "hash"))
+                        .isInstanceOf(ConflictException.class)
+        );
+    }
+
+    @Test
+    @DisplayName("Should let a retry take over a key whose lease ran out")
+    void shouldTakeOverKeyWithExpiredLease() {
+        // Given
+        IdempotencyService shortLeaseService = new IdempotencyService(repository, new ShardSelector(Optional.empty()),
+                Duration.ofHours(24), Duration.ZERO, Duration.ofMinutes(10), 100);
+        shortLeaseService.claim(USER_ID, "key", "hash");
+
+        // When
+        Optional<StoredResponse> result = shortLeaseService.findCompleted(USER_ID, "key", "hash");
+        shortLeaseService.claim(USER_ID, "key", "hash");
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isEmpty(),
+                () -> assertThat(repository.rows).containsKey(USER_ID + ":key")
+        );
+    }
+
+    @Test
+    @DisplayName("Should free the key of a failed request")
+    void shouldFreeKeyOfFailedRequest() {
+        // Given
+        service.claim(USER_ID, "key", "hash");
+
+        // When
+        service.release(USER_ID, "key");
+
+        // Then
+        assertThat(service.findCompleted(USER_ID, "key", "hash")).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ybritto.teamtempo.backend.core.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency keys in memory, with the lease rules of the {@code idempotency_key} queries.
+ */
+class InMemoryIdempotencyRepository extends IdempotencyRepository {
+
+    final Map<String, StoredResponse> rows = new HashMap<>();
+    final Map<String, LocalDateTime> leases = new HashMap<>();
+
+    InMemoryIdempotencyRepository() {
+        super(null);
+    }
+
+    @Override
+    public Optional<StoredResponse> find(Long userId, String key, LocalDateTime now) {
+        return Optional.ofNullable(rows.get(userId + ":" + key))
+                .filter(row -> row.isCompleted() || leases.get(userId + ":" + key).isAfter(now));
+    }
+
+    @Override
+    public boolean claim(Long userId, String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt,
+                         LocalDateTime lockedUntil) {
+        if (find(userId, key, now).isPresent()) {
+            return false;
+        }
+        rows.put(userId + ":" + key, new StoredResponse(requestHash, null, null, null));
+        leases.put(userId + ":" + key, lockedUntil);
+        return true;
+    }
+
+    @Override
+    public void complete(Long userId, String key, int status, String contentType, byte[] body) {
+        rows.computeIfPresent(userId + ":" + key,
+                (id, row) -> new StoredResponse(row.requestHash(), status, contentType, body));
+    }
+
+    @Override
+    public void release(Long userId, String key) {
+        rows.computeIfPresent(userId + ":" + key, (id, row) -> row.isCompleted() ? row : null);
+    }
+}
@@ -0,0 +1,194 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ybritto.teamtempo.backend.core.sharding.ShardRoutingDataSourceTest.uuidPlacedOn;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("ShardRebalancer Unit Tests")
+class ShardRebalancerTest {
+
+    private static final String SCHEMA = """
+            CREATE TABLE shard_directory (
+                user_uuid uuid PRIMARY KEY,
+                email varchar(100) NOT NULL UNIQUE,
+                shard_index int NOT NULL,
+                created_at timestamp DEFAULT CURRENT_TIMESTAMP,
+                updated_at timestamp DEFAULT CURRENT_TIMESTAMP);
+            CREATE TABLE app_user (
+                key_id int PRIMARY KEY,
+                uuid uuid NOT NULL,
+                email varchar(100) NOT NULL);
+            CREATE TABLE working_calendar (
+                key_id int PRIMARY KEY,
+                app_user_id int NOT NULL REFERENCES app_user (key_id));
+            CREATE TABLE working_calendar_year (
+                working_calendar_id int NOT NULL REFERENCES working_calendar (key_id) ON DELETE CASCADE,
+                calendar_year int NOT NULL,
+                PRIMARY KEY (working_calendar_id, calendar_year));
+            CREATE TABLE team (
+                key_id int PRIMARY KEY,
+                uuid uuid NOT NULL,
+                app_user_id int NOT NULL REFERENCES app_user (key_id),
+                working_calendar_id int REFERENCES working_calendar (key_id) ON DELETE SET NULL,
+                project_count int NOT NULL DEFAULT 0);
+            CREATE TABLE team_member (
+                key_id int PRIMARY KEY,
+                team_id int NOT NULL REFERENCES team (key_id),
+                app_user_id int NOT NULL REFERENCES app_user (key_id));
+            CREATE TABLE project (
+                key_id int PRIMARY KEY,
+                uuid uuid NOT NULL,
+                team_id int NOT NULL REFERENCES team (key_id),
+                iteration_count int NOT NULL DEFAULT 0);
+            CREATE TABLE project_configuration (
+                key_id int PRIMARY KEY,
+                project_id int NOT NULL REFERENCES project (key_id));
+            CREATE TABLE iteration (
+                key_id int PRIMARY KEY,
+                project_key_id int NOT NULL REFERENCES project (key_id));
+            CREATE TABLE change_log (
+                key_id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                entity_uuid uuid NOT NULL,
+                project_uuid uuid);
+            """;
+
+    private List<DataSource> shards;
+    private ShardDirectory shardDirectory;
+    private ShardRebalancer shardRebalancer;
+
+    @BeforeEach
+    void setUp() {
+        shards = List.of(database("shard0"), database("shard1"));
+        shardDirectory = new ShardDirectory(shards.getFirst(), shards.size(), Duration.ofMinutes(1), 100);
+        shardRebalancer = new ShardRebalancer(shards, shardDirectory);
+    }
+
+    @Test
+    @DisplayName("Should register existing users and move them with their data to the shard of their uuid")
+    void shouldMoveUsersToTheirShard() {
+        // Given
+        UUID userUuid = uuidPlacedOn(1);
+        UUID stayingUserUuid = uuidPlacedOn(0);
+        createTenant(0, 1, userUuid);
+        createTenant(0, 11, stayingUserUuid);
+
+        // When
+        ShardRebalancer.Result result = shardRebalancer.rebalance();
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isEqualTo(new ShardRebalancer.Result(1, 0, 0, 0)),
+                () -> assertThat(shardDirectory.find(userUuid)).map(ShardDirectory.Assignment::shard).contains(1),
+                () -> assertThat(shardDirectory.find(stayingUserUuid)).map(ShardDirectory.Assignment::shard).contains(0),
+                () -> assertThat(count(1, "app_user")).isEqualTo(1),
+                () -> assertThat(count(1, "working_calendar")).isEqualTo(1),
+                () -> assertThat(count(1, "working_calendar_year")).isEqualTo(2),
+                () -> assertThat(count(1, "team")).isEqualTo(1),
+                () -> assertThat(jdbc(1).queryForObject("SELECT working_calendar_id FROM team", Integer.class))
+                        .isEqualTo(8),
+                () -> assertThat(count(1, "team_member")).isEqualTo(1),
+                () -> assertThat(count(1, "project")).isEqualTo(1),
+                () -> assertThat(count(1, "project_configuration")).isEqualTo(1),
+                () -> assertThat(count(1, "iteration")).isEqualTo(2),
+                () -> assertThat(count(1, "change_log")).isEqualTo(2),
+                () -> assertThat(count(0, "app_user")).isEqualTo(1),
+                () -> assertThat(count(0, "working_calendar")).isEqualTo(1),
+                () -> assertThat(count(0, "working_calendar_year")).isEqualTo(2),
+                () -> assertThat(count(0, "iteration")).isEqualTo(2),
+                () -> assertThat(count(0, "change_log")).isEqualTo(2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should not move users sharing a team with users of other shards")
+    void shouldNotMoveUsersSharingTeams() {
+        // Given
+        UUID ownerUuid = uuidPlacedOn(1);
+        UUID memberUuid = uuidPlacedOn(0);
+        createTenant(0, 1, ownerUuid);
+        createTenant(0, 11, memberUuid);
+        jdbc(0).update("INSERT INTO team_member (key_id, team_id, app_user_id) VALUES (21, 2, 11)");
+
+        // When
+        ShardRebalancer.Result result = shardRebalancer.rebalance();
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isEqualTo(new ShardRebalancer.Result(0, 1, 0, 0)),
+                () -> assertThat(shardDirectory.find(ownerUuid)).map(ShardDirectory.Assignment::shard).contains(0),
+                () -> assertThat(count(1, "app_user")).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("Should delete the rows left on the source shard by an interrupted move")
+    void shouldDeleteLeftoversOfInterruptedMoves() {
+        // Given
+        UUID userUuid = uuidPlacedOn(1);
+        createTenant(0, 1, userUuid);
+        createTenant(1, 1, userUuid);
+        shardDirectory.register(userUuid, "user1@example.com", 1);
+
+        // When
+        ShardRebalancer.Result result = shardRebalancer.rebalance();
+
+        // Then
+        assertAll(
+                () -> assertThat(result).isEqualTo(new ShardRebalancer.Result(0, 0, 1, 0)),
+                () -> assertThat(count(0, "app_user")).isZero(),
+                () -> assertThat(count(0, "working_calendar")).isZero(),
+                () -> assertThat(count(0, "change_log")).isZero(),
+                () -> assertThat(count(1, "iteration")).isEqualTo(2)
+        );
+    }
+
+    private void createTenant(int shard, int userId, UUID userUuid) {
+        JdbcTemplate jdbcTemplate = jdbc(shard);
+        UUID teamUuid = UUID.randomUUID();
+        UUID projectUuid = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO app_user (key_id, uuid, email) VALUES (?, ?, ?)",
+                userId, userUuid, "user" + userId + "@example.com");
+        jdbcTemplate.update("INSERT INTO working_calendar (key_id, app_user_id) VALUES (?, ?)", userId + 7, userId);
+        jdbcTemplate.update("INSERT INTO working_calendar_year (working_calendar_id, calendar_year) VALUES (?, 2025), (?, 2026)",
+                userId + 7, userId + 7);
+        jdbcTemplate.update("""
+                INSERT INTO team (key_id, uuid, app_user_id, working_calendar_id, project_count) VALUES (?, ?, ?, ?, 1)
+                """, userId + 1, teamUuid, userId, userId + 7);
+        jdbcTemplate.update("INSERT INTO team_member (key_id, team_id, app_user_id) VALUES (?, ?, ?)",
+                userId + 2, userId + 1, userId);
+        jdbcTemplate.update("INSERT INTO project (key_id, uuid, team_id, iteration_count) VALUES (?, ?, ?, 2)",
+                userId + 3, projectUuid, userId + 1);
+        jdbcTemplate.update("INSERT INTO project_configuration (key_id, project_id) VALUES (?, ?)",
+                userId + 4, userId + 3);
+        jdbcTemplate.update("INSERT INTO iteration (key_id, project_key_id) VALUES (?, ?), (?, ?)",
+                userId + 5, userId + 3, userId + 6, userId + 3);
+        jdbcTemplate.update("INSERT INTO change_log (entity_uuid, project_uuid) VALUES (?, NULL), (?, ?)",
+                teamUuid, projectUuid, projectUuid);
+    }
+
+    private int count(int shard, String table) {
+        return jdbc(shard).queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.get(shard));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute(SCHEMA);
+        return dataSource;
+    }
+}
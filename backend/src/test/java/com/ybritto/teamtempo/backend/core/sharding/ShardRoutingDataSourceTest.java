@@ -0,0 +1,157 @@
+package com.ybritto.teamtempo.backend.core.sharding;
+
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("ShardRoutingDataSource Unit Tests")
+class ShardRoutingDataSourceTest {
+
+    private List<DataSource> shards;
+    private ShardDirectory shardDirectory;
+    private JdbcTemplate routedJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        shards = List.of(database("shard0"), database("shard1"));
+        new JdbcTemplate(shards.getFirst()).execute("""
+                CREATE TABLE shard_directory (
+                    user_uuid uuid PRIMARY KEY,
+                    email varchar(100) NOT NULL UNIQUE,
+                    shard_index int NOT NULL,
+                    created_at timestamp DEFAULT CURRENT_TIMESTAMP,
+                    updated_at timestamp DEFAULT CURRENT_TIMESTAMP)
+                """);
+        shardDirectory = new ShardDirectory(shards.getFirst(), shards.size(), Duration.ofMinutes(1), 100);
+        routedJdbcTemplate = new JdbcTemplate(new ShardRoutingDataSource(shards, shardDirectory));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should route to the shard selected for the current thread")
+    void shouldRouteToSelectedShard() {
+        // When
+        String selected = ShardContext.callOn(1, this::node);
+        String afterwards = node();
+
+        // Then
+        assertAll(
+                () -> assertThat(selected).isEqualTo("shard1"),
+                () -> assertThat(afterwards).isEqualTo("shard0")
+        );
+    }
+
+    @Test
+    @DisplayName("Should route authenticated users to the shard recorded in the directory")
+    void shouldRouteAuthenticatedUserToItsShard() {
+        // Given
+        shardDirectory.register(UUID.randomUUID(), "moved@example.com", 1);
+
+        // When
+        authenticate("moved@example.com");
+        String movedUserNode = node();
+        authenticate("unknown@example.com");
+        String unknownUserNode = node();
+
+        // Then
+        assertAll(
+                () -> assertThat(movedUserNode).isEqualTo("shard1"),
+                () -> assertThat(unknownUserNode).isEqualTo("shard0")
+        );
+    }
+
+    @Test
+    @DisplayName("Should create new users on the shard of their uuid and drop the placement when creation fails")
+    void shouldPlaceNewUsersByUuid() {
+        // Given
+        ShardSelector shardSelector = new ShardSelector(Optional.of(shardDirectory));
+        UUID userUuid = uuidPlacedOn(1);
+        UUID failingUserUuid = uuidPlacedOn(1);
+
+        // When
+        String createdOn = shardSelector.callForNewUser(userUuid, "new@example.com", this::node);
+        Throwable failure = catchThrowable(() -> shardSelector.callForNewUser(failingUserUuid, "failing@example.com",
+                () -> {
+                    throw new IllegalStateException("insert failed");
+                }));
+
+        // Then
+        assertAll(
+                () -> assertThat(createdOn).isEqualTo("shard1"),
+                () -> assertThat(shardDirectory.shardOf("new@example.com")).isEqualTo(1),
+                () -> assertThat(failure).isInstanceOf(IllegalStateException.class),
+                () -> assertThat(shardDirectory.find(failingUserUuid)).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Should only move users to the new shard when a shard is added")
+    void shouldOnlyMoveUsersToNewShard() {
+        // Given
+        List<UUID> users = IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // When
+        long movedToExistingShards = users.stream()
+                .filter(user -> ShardDirectory.placementOf(user, 3) != ShardDirectory.placementOf(user, 2))
+                .filter(user -> ShardDirectory.placementOf(user, 3) != 2)
+                .count();
+        long movedToNewShard = users.stream()
+                .filter(user -> ShardDirectory.placementOf(user, 3) == 2)
+                .count();
+
+        // Then
+        assertAll(
+                () -> assertThat(movedToExistingShards).isZero(),
+                () -> assertThat(movedToNewShard).isBetween(250L, 420L)
+        );
+    }
+
+    private String node() {
+        return routedJdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    static UUID uuidPlacedOn(int shard) {
+        UUID uuid;
+        do {
+            uuid = UUID.randomUUID();
+        } while (ShardDirectory.placementOf(uuid, 2) != shard);
+        return uuid;
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name varchar(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String email) {
+        UserEntity user = UserEntity.builder()
+                .email(email)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ybritto.teamtempo.backend.features.accuracy.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("AccuracyStream Unit Tests")
+class AccuracyStreamTest {
+
+    @Test
+    @DisplayName("Should compute mean absolute error, bias and hit rate of a project")
+    void shouldComputeProjectAccuracy() {
+        // Given
+        List<ProjectAccuracy> emitted = new ArrayList<>();
+        AccuracyStream stream = new AccuracyStream(0.1, emitted::add);
+
+        // When
+        stream.accept(1, 7, 20, 22, 40, 30);
+        stream.accept(1, 7, 20, 14, 40, 40);
+        stream.accept(1, 7, 10, 10, 40, 44);
+        stream.finish();
+
+        // Then
+        ProjectAccuracy accuracy = emitted.getFirst();
+        assertAll(
+                () -> assertThat(emitted).hasSize(1),
+                () -> assertThat(accuracy.projectId()).isEqualTo(1),
+                () -> assertThat(accuracy.dataVersion()).isEqualTo(7),
+                () -> assertThat(accuracy.forecast()).isEqualTo(new AccuracyStats(3, 8, -4, 2)),
+                () -> assertThat(accuracy.forecast().meanAbsoluteError()).isCloseTo(8 / 3.0, within(1e-9)),
+                () -> assertThat(accuracy.forecast().bias()).isCloseTo(-4 / 3.0, within(1e-9)),
+                () -> assertThat(accuracy.forecast().hitRate()).isCloseTo(2 / 3.0, within(1e-9)),
+                () -> assertThat(accuracy.capacity()).isEqualTo(new AccuracyStats(3, 14, -6, 2))
+        );
+    }
+
+    @Test
+    @DisplayName("Should emit each project when the next one starts")
+    void shouldEmitProjectsInTurn() {
+        // Given
+        List<ProjectAccuracy> emitted = new ArrayList<>();
+        AccuracyStream stream = new AccuracyStream(0.1, emitted::add);
+
+        // When
+        stream.accept(1, 1, 10, 12, null, null);
+        int emittedBeforeNextProject = emitted.size();
+        stream.accept(2, 3, 5, 5, 8, 8);
+        stream.finish();
+
+        // Then
+        assertAll(
+                () -> assertThat(emittedBeforeNextProject).isZero(),
+                () -> assertThat(emitted).extracting(ProjectAccuracy::projectId).containsExactly(1L, 2L),
+                () -> assertThat(emitted.getFirst().forecast()).isEqualTo(new AccuracyStats(1, 2, 2, 0)),
+                () -> assertThat(emitted.getFirst().capacity()).isEqualTo(AccuracyStats.EMPTY),
+                () -> assertThat(emitted.get(1).forecast()).isEqualTo(new AccuracyStats(1, 0, 0, 1))
+        );
+    }
+
+    @Test
+    @DisplayName("Should emit projects without finished iterations with empty statistics")
+    void shouldEmitProjectWithoutIterations() {
+        // Given
+        List<ProjectAccuracy> emitted = new ArrayList<>();
+        AccuracyStream stream = new AccuracyStream(0.1, emitted::add);
+
+        // When
+        stream.accept(4, 2, null, null, null, null);
+        stream.finish();
+        stream.finish();
+
+        // Then
+        assertAll(
+                () -> assertThat(emitted).hasSize(1),
+                () -> assertThat(emitted.getFirst().forecast()).isEqualTo(AccuracyStats.EMPTY),
+                () -> assertThat(emitted.getFirst().forecast().meanAbsoluteError()).isNull(),
+                () -> assertThat(emitted.getFirst().forecast().hitRate()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Should add up the statistics of projects")
+    void shouldAddUpStatistics() {
+        // Given
+        AccuracyStats first = new AccuracyStats(3, 8, -4, 2);
+        AccuracyStats second = new AccuracyStats(1, 2, 2, 0);
+
+        // When
+        AccuracyStats total = first.plus(second);
+
+        // Then
+        assertAll(
+                () -> assertThat(total).isEqualTo(new AccuracyStats(4, 10, -2, 2)),
+                () -> assertThat(total.hitRate()).isEqualTo(0.5)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a negative hit tolerance")
+    void shouldRejectNegativeTolerance() {
+        // When & Then
+        assertThatThrownBy(() -> new AccuracyStream(-0.1, accuracy -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ybritto.teamtempo.backend.features.allocation.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to allocate a synthetic portfolio of 1,000 projects, 100 teams of 10 projects over 12 iterations with demand
+ * above capacity, solving the teams in parallel for a growing number of threads. The target is 50 ms per portfolio on 4 threads; a plain timing loop
+ * on 4 threads measured about 11 ms.
+ * <p>
+ * Run after {@code mvn test-compile} with the main method of this class from the IDE, or with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main CapacityAllocatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CapacityAllocatorBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private List<AllocationProblem> portfolio;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        portfolio = CapacityAllocatorTest.randomProblems(100, 10, 12, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<AllocationResult> portfolio() {
+        return pool.submit(() -> portfolio.parallelStream().map(CapacityAllocator::solve).toList()).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CapacityAllocatorBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ybritto.teamtempo.backend.features.allocation.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("CapacityAllocator Unit Tests")
+class CapacityAllocatorTest {
+
+    @Test
+    @DisplayName("Should serve every demand when the capacity is enough")
+    void shouldServeEveryDemandWithEnoughCapacity() {
+        // Given
+        AllocationProblem problem = new AllocationProblem(2, new int[]{20, 20}, new int[]{1, 2},
+                new int[]{5, 8, 10, 7});
+
+        // When
+        AllocationResult result = CapacityAllocator.solve(problem);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.feasible()).isTrue(),
+                () -> assertThat(result.cost()).isZero(),
+                () -> assertThat(result.allocation()).containsExactly(5, 8, 10, 7)
+        );
+    }
+
+    @Test
+    @DisplayName("Should favour the project with the highest priority when the capacity is short")
+    void shouldFavourHighestPriority() {
+        // Given
+        AllocationProblem problem = new AllocationProblem(3, new int[]{10, 10, 10}, new int[]{3, 1},
+                new int[]{8, 8, 8, 8, 8, 8});
+
+        // When
+        AllocationResult result = CapacityAllocator.solve(problem);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.feasible()).isFalse(),
+                () -> assertThat(result.backlog(0, 2)).isLessThan(result.backlog(1, 2)),
+                () -> assertThat(result.allocated(1, 0)).isPositive()
+        );
+    }
+
+    @Test
+    @DisplayName("Should never exceed the capacity and keep backlogs consistent with the allocation")
+    void shouldRespectCapacityAndCarryOverDemand() {
+        // Given
+        List<AllocationProblem> problems = randomProblems(20, 8, 12, 7L);
+
+        for (AllocationProblem problem : problems) {
+            // When
+            AllocationResult result = CapacityAllocator.solve(problem);
+
+            // Then
+            for (int iteration = 0; iteration < problem.iterations(); iteration++) {
+                assertThat(result.allocatedIn(iteration)).isLessThanOrEqualTo(problem.capacities()[iteration]);
+                for (int project = 0; project < problem.projects(); project++) {
+                    int carried = iteration == 0 ? 0 : result.backlog(project, iteration - 1);
+                    int demand = problem.demand()[project * problem.iterations() + iteration];
+                    assertThat(result.allocated(project, iteration)).isNotNegative();
+                    assertThat(result.backlog(project, iteration)).isNotNegative()
+                            .isEqualTo(carried + demand - result.allocated(project, iteration));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject demand that does not cover every iteration of every project")
+    void shouldRejectIncompleteDemand() {
+        // When & Then
+        assertThatThrownBy(() -> new AllocationProblem(2, new int[]{10, 10}, new int[]{1, 1}, new int[]{1, 2, 3}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static List<AllocationProblem> randomProblems(int count, int projects, int iterations, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<AllocationProblem> problems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int[] capacities = new int[iterations];
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                capacities[iteration] = 10 * projects + random.nextInt(6 * projects);
+            }
+            int[] priorities = new int[projects];
+            for (int project = 0; project < projects; project++) {
+                priorities[project] = 1 + random.nextInt(5);
+            }
+            int[] demand = new int[projects * iterations];
+            for (int j = 0; j < demand.length; j++) {
+                demand[j] = random.nextInt(30);
+            }
+            problems.add(new AllocationProblem(iterations, capacities, priorities, demand));
+        }
+        return problems;
+    }
+}
@@ -0,0 +1,293 @@
+package com.ybritto.teamtempo.backend.features.allocation.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.ForbiddenException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.AllocationDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationProjectRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.AllocationRequestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest(properties = "app.allocation.max-iterations=6")
+@ActiveProfiles("test")
+@DisplayName("AllocationService Integration Tests")
+class AllocationServiceIT {
+
+    private static final LocalDate NEXT_WEEK = LocalDate.now().plusWeeks(1);
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private TeamAccessService teamAccessService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private IterationRepository iterationRepository;
+
+    private UserEntity owner;
+    private UserEntity outsider;
+    private TeamEntity team;
+    private ProjectEntity alpha;
+    private ProjectEntity beta;
+    private ProjectEntity archived;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+        outsider = saveUser("outsider");
+        team = saveTeam(owner);
+        alpha = saveProject(team, "Alpha", true);
+        beta = saveProject(team, "Beta", true);
+        archived = saveProject(team, "Archived", false);
+
+        saveIteration(alpha, NEXT_WEEK, 10, 6, null);
+        saveIteration(alpha, NEXT_WEEK.plusWeeks(2), 10, 6, null);
+        // Finished and past iterations are not upcoming
+        saveIteration(alpha, NEXT_WEEK.minusWeeks(2), 50, 50, NEXT_WEEK.minusWeeks(1));
+        saveIteration(alpha, LocalDate.now().minusWeeks(4), 50, 50, null);
+        saveIteration(beta, NEXT_WEEK, 5, 8, null);
+        saveIteration(beta, NEXT_WEEK.plusWeeks(2), 5, 8, null);
+        saveIteration(archived, NEXT_WEEK, 100, 1, null);
+        authenticate(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        List<TeamEntity> teams = teamRepository.findByUser(owner);
+        List<ProjectEntity> projects = projectRepository.findAllByTeamIn(teams);
+        iterationRepository.deleteAll(iterationRepository.findAllByProjectIn(projects));
+        projectRepository.deleteAll(projects);
+        teams.forEach(ownedTeam -> teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(ownedTeam)));
+        teamRepository.deleteAll(teams);
+        userRepository.deleteAll(List.of(owner, outsider));
+    }
+
+    @Test
+    @DisplayName("Should allocate the planned capacity to the planned forecasts of the active projects")
+    void shouldAllocatePlannedCapacityToActiveProjects() {
+        // When
+        AllocationDto allocation = allocationService.allocateTeamCapacity(team.getUuid().toString(),
+                new AllocationRequestDto().iterations(2));
+
+        // Then
+        Map<String, AllocationProjectDto> projects = byUuid(allocation);
+        assertAll(
+                () -> assertThat(allocation.getTeamUuid()).isEqualTo(team.getUuid().toString()),
+                () -> assertThat(allocation.getCapacities()).containsExactly(15, 15),
+                () -> assertThat(allocation.getFeasible()).isTrue(),
+                () -> assertThat(projects).containsOnlyKeys(alpha.getUuid().toString(), beta.getUuid().toString()),
+                () -> assertThat(projects.get(alpha.getUuid().toString()).getDemand()).containsExactly(6, 6),
+                () -> assertThat(projects.get(alpha.getUuid().toString()).getAllocated()).containsExactly(6, 6),
+                () -> assertThat(projects.get(beta.getUuid().toString()).getName()).isEqualTo("Beta"),
+                () -> assertThat(projects.get(beta.getUuid().toString()).getPriority()).isEqualTo(1),
+                () -> assertThat(projects.get(beta.getUuid().toString()).getDemand()).containsExactly(8, 8),
+                () -> assertThat(allocation.getAllocated()).containsExactly(14, 14)
+        );
+    }
+
+    @Test
+    @DisplayName("Should apply requested capacities, demand and priorities, including inactive projects asked for")
+    void shouldApplyRequestOverrides() {
+        // Given
+        AllocationRequestDto request = new AllocationRequestDto()
+                .iterations(2)
+                .capacities(List.of(10, 0))
+                .projects(List.of(
+                        new AllocationProjectRequestDto().projectUuid(beta.getUuid().toString()).priority(5)
+                                .demand(List.of(10, 0)),
+                        new AllocationProjectRequestDto().projectUuid(archived.getUuid().toString())));
+
+        // When
+        AllocationDto allocation = allocationService.allocateTeamCapacity(team.getUuid().toString(), request);
+
+        // Then
+        Map<String, AllocationProjectDto> projects = byUuid(allocation);
+        assertAll(
+                () -> assertThat(allocation.getCapacities()).containsExactly(10, 0),
+                () -> assertThat(allocation.getFeasible()).isFalse(),
+                () -> assertThat(projects).containsKey(archived.getUuid().toString()),
+                () -> assertThat(projects.get(archived.getUuid().toString()).getDemand()).containsExactly(1, 0),
+                () -> assertThat(projects.get(beta.getUuid().toString()).getPriority()).isEqualTo(5),
+                () -> assertThat(projects.get(beta.getUuid().toString()).getDemand()).containsExactly(10, 0),
+                () -> assertThat(allocation.getAllocated()).containsExactly(10, 0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject invalid requests")
+    void shouldRejectInvalidRequests() {
+        // Given
+        String teamUuid = team.getUuid().toString();
+        String betaUuid = beta.getUuid().toString();
+        ProjectEntity foreign = saveProject(saveTeam(owner), "Foreign", true);
+
+        // When / Then
+        assertAll(
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().iterations(0)))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("between 1 and 6"),
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().iterations(7)))
+                        .isInstanceOf(InvalidParameterException.class),
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().iterations(2).capacities(List.of(10))))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("one value per iteration"),
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().iterations(2).projects(List.of(
+                                new AllocationProjectRequestDto().projectUuid(betaUuid).demand(List.of(1, -1))))))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("negative"),
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().projects(List.of(
+                                new AllocationProjectRequestDto().projectUuid(betaUuid).priority(0)))))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("Priority"),
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().projects(List.of(
+                                new AllocationProjectRequestDto().projectUuid(betaUuid),
+                                new AllocationProjectRequestDto().projectUuid(betaUuid)))))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("more than once"),
+                () -> assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid,
+                        new AllocationRequestDto().projects(List.of(
+                                new AllocationProjectRequestDto().projectUuid(foreign.getUuid().toString())))))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("do not belong")
+        );
+    }
+
+    @Test
+    @DisplayName("Should require the viewer role on the team")
+    void shouldRequireViewerRole() {
+        // Given
+        String teamUuid = team.getUuid().toString();
+        authenticate(outsider);
+
+        // When / Then
+        assertThatThrownBy(() -> allocationService.allocateTeamCapacity(teamUuid, new AllocationRequestDto()))
+                .isInstanceOf(ForbiddenException.class);
+
+        // Given
+        teamMemberRepository.save(TeamMemberEntity.builder()
+                .team(team)
+                .user(outsider)
+                .role(TeamMemberRoleEnum.VIEWER)
+                .build());
+        teamAccessService.onMembershipChanged(List.of(outsider.getId()));
+
+        // When / Then
+        assertThat(allocationService.allocateTeamCapacity(teamUuid, new AllocationRequestDto()).getIterations())
+                .isEqualTo(6);
+    }
+
+    private UserEntity saveUser(String name) {
+        return userRepository.save(UserEntity.builder()
+                .name("Allocation " + name)
+                .email("allocation-" + name + "-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+    }
+
+    private TeamEntity saveTeam(UserEntity user) {
+        TeamEntity saved = teamRepository.save(TeamEntity.builder()
+                .name("Allocation Team")
+                .description("Allocation test team")
+                .startDate(LocalDate.now())
+                .user(user)
+                .build());
+        teamMemberRepository.save(TeamMemberEntity.builder()
+                .team(saved)
+                .user(user)
+                .role(TeamMemberRoleEnum.OWNER)
+                .build());
+        teamAccessService.onMembershipChanged(List.of(user.getId()));
+        return saved;
+    }
+
+    private ProjectEntity saveProject(TeamEntity owningTeam, String name, boolean active) {
+        return projectRepository.save(ProjectEntity.builder()
+                .name(name)
+                .description("Allocation test project")
+                .startDate(LocalDate.now())
+                .active(active)
+                .team(owningTeam)
+                .build());
+    }
+
+    private void saveIteration(ProjectEntity project, LocalDate startDate, int capacity, int forecast,
+                               LocalDate actualEndDate) {
+        IterationMetrics planned = new IterationMetrics();
+        planned.setStartDate(startDate);
+        planned.setEndDate(startDate.plusDays(13));
+        planned.setCapacity(capacity);
+        planned.setForecast(forecast);
+        IterationMetrics actual = new IterationMetrics();
+        actual.setEndDate(actualEndDate);
+        iterationRepository.save(IterationEntity.builder()
+                .name("Allocation iteration")
+                .project(project)
+                .planned(planned)
+                .actual(actual)
+                .build());
+    }
+
+    private static void authenticate(UserEntity user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static Map<String, AllocationProjectDto> byUuid(AllocationDto allocation) {
+        return allocation.getProjects().stream()
+                .collect(Collectors.toMap(AllocationProjectDto::getProjectUuid, Function.identity()));
+    }
+}
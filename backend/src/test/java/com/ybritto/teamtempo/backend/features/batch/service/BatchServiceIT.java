@@ -0,0 +1,179 @@
+package com.ybritto.teamtempo.backend.features.batch.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.gen.model.BatchMethodEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchOperationDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.BatchResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BatchService Integration Tests")
+class BatchServiceIT {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(UserEntity.builder()
+                .name("Batch User")
+                .email("batch-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        List<TeamEntity> teams = teamRepository.findByUser(user);
+        teams.forEach(team -> {
+            projectRepository.deleteAll(projectRepository.findAllByTeam(team));
+            teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(team));
+        });
+        teamRepository.deleteAll(teams);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should create a team and a project referencing it in one batch")
+    void shouldExecuteOperationsWithReferences() {
+        // Given
+        BatchRequestDto request = batch(
+                operation("team", BatchMethodEnumDto.POST, "/teams", teamBody("Batch Team")),
+                operation("project", BatchMethodEnumDto.POST, "/teams/$ref:team.uuid/projects",
+                        Map.of("name", "Batch Project", "description", "Created by $ref:team.name",
+                                "startDate", "2025-01-06")));
+
+        // When
+        BatchResponseDto response = batchService.executeBatch(request);
+
+        // Then
+        List<TeamEntity> teams = teamRepository.findByUser(user);
+        assertAll(
+                () -> assertThat(response.getResults()).extracting("status").containsExactly(200, 200),
+                () -> assertThat(teams).extracting(TeamEntity::getName).containsExactly("Batch Team"),
+                () -> assertThat(projectRepository.findAllByTeam(teams.getFirst()))
+                        .extracting(ProjectEntity::getDescription).containsExactly("Created by Batch Team")
+        );
+    }
+
+    @Test
+    @DisplayName("Should roll back the earlier operations when one fails")
+    void shouldRollBackWhenOperationFails() {
+        // Given
+        BatchRequestDto request = batch(
+                operation("team", BatchMethodEnumDto.POST, "/teams", teamBody("Rolled Back Team")),
+                operation("missing", BatchMethodEnumDto.DELETE, "/projects/" + UUID.randomUUID(), null));
+
+        // When / Then
+        assertThatThrownBy(() -> batchService.executeBatch(request))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(teamRepository.findByUser(user)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should validate operation bodies like the controllers do")
+    void shouldRejectInvalidBody() {
+        // Given
+        BatchRequestDto request = batch(
+                operation("team", BatchMethodEnumDto.POST, "/teams", teamBody("Valid Team")),
+                operation("long", BatchMethodEnumDto.POST, "/teams", teamBody("x".repeat(201))));
+
+        // When / Then
+        assertThatThrownBy(() -> batchService.executeBatch(request))
+                .isInstanceOf(InvalidParameterException.class)
+                .hasMessageContaining("name");
+        assertThat(teamRepository.findByUser(user)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject references to operations that do not come earlier")
+    void shouldRejectForwardReferences() {
+        // Given
+        BatchRequestDto request = batch(
+                operation("project", BatchMethodEnumDto.POST, "/teams/$ref:team.uuid/projects",
+                        Map.of("name", "Orphan Project")),
+                operation("team", BatchMethodEnumDto.POST, "/teams", teamBody("Late Team")));
+
+        // When / Then
+        assertThatThrownBy(() -> batchService.executeBatch(request))
+                .isInstanceOf(InvalidParameterException.class);
+        assertThat(teamRepository.findByUser(user)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported operations")
+    void shouldRejectUnsupportedOperation() {
+        // Given
+        BatchRequestDto request = batch(operation("batch", BatchMethodEnumDto.POST, "/batch", Map.of()));
+
+        // When / Then
+        assertThatThrownBy(() -> batchService.executeBatch(request))
+                .isInstanceOf(InvalidParameterException.class)
+                .hasMessageContaining("not supported");
+    }
+
+    private static Map<String, Object> teamBody(String name) {
+        return Map.of("name", name, "description", "Batch test team", "startDate", "2025-01-01");
+    }
+
+    private static BatchOperationDto operation(String id, BatchMethodEnumDto method, String path, Object body) {
+        BatchOperationDto operation = new BatchOperationDto();
+        operation.setId(id);
+        operation.setMethod(method);
+        operation.setPath(path);
+        operation.setBody(body);
+        return operation;
+    }
+
+    private static BatchRequestDto batch(BatchOperationDto... operations) {
+        BatchRequestDto request = new BatchRequestDto();
+        request.setOperations(List.of(operations));
+        return request;
+    }
+}
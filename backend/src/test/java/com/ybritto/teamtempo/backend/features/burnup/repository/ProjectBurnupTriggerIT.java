@@ -0,0 +1,320 @@
+package com.ybritto.teamtempo.backend.features.burnup.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks the series the statement triggers merge into {@code project_burnup} against series recomputed from the
+ * iterations. H2 runs no PL/pgSQL triggers, so these tests are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("Project burn-up triggers Integration Tests")
+class ProjectBurnupTriggerIT {
+
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 6);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static BurnupRepository burnupRepository;
+
+    private long projectId;
+    private long otherProjectId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        burnupRepository = new BurnupRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @BeforeEach
+    void setUp() {
+        projectId = insertProject();
+        otherProjectId = insertProject();
+    }
+
+    @Test
+    @DisplayName("Should merge inserted iterations, summing the ones ending on the same day")
+    void shouldMergeInsertedIterations() {
+        // When
+        insertIteration(projectId, 0, 10, 8);
+        insertIteration(projectId, 0, 5, null);
+        insertIteration(projectId, 1, 12, 12);
+
+        // Then
+        Series series = seriesOf(projectId);
+        assertAll(
+                () -> assertThat(series.startEpochDay()).isEqualTo((int) endDate(0).toEpochDay()),
+                () -> assertThat(series.plannedOffsets()).containsExactly(0, 14),
+                () -> assertThat(series.plannedIncrements()).containsExactly(15, 12),
+                () -> assertThat(series.actualIncrements()).containsExactly(8, 12),
+                () -> assertThat(series).isEqualTo(recomputedSeriesOf(projectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should replace the contribution of updated iterations and ignore updates of other columns")
+    void shouldMergeUpdatedIterations() {
+        // Given
+        UUID updated = insertIteration(projectId, 0, 10, null);
+        insertIteration(projectId, 1, 12, null);
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET planned_capacity = 20, actual_end_date = planned_end_date, "
+                + "actual_capacity = 18 WHERE uuid = ?", updated);
+        jdbcTemplate.update("UPDATE iteration SET name = 'Renamed' WHERE uuid = ?", updated);
+
+        // Then
+        Series series = seriesOf(projectId);
+        assertAll(
+                () -> assertThat(series.plannedIncrements()).containsExactly(20, 12),
+                () -> assertThat(series.actualOffsets()).containsExactly(0),
+                () -> assertThat(series.actualIncrements()).containsExactly(18),
+                () -> assertThat(series).isEqualTo(recomputedSeriesOf(projectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should move the contribution of an iteration rescheduled to another day")
+    void shouldMoveIterationBetweenDays() {
+        // Given
+        insertIteration(projectId, 0, 10, 10);
+        UUID moved = insertIteration(projectId, 1, 12, null);
+
+        // When
+        // A later planned start date also moves the row to another partition
+        jdbcTemplate.update("UPDATE iteration SET planned_start_date = ?, planned_end_date = ? WHERE uuid = ?",
+                START_DATE.plusMonths(2), START_DATE.plusMonths(2).plusDays(13), moved);
+
+        // Then
+        Series series = seriesOf(projectId);
+        assertAll(
+                () -> assertThat(series.plannedOffsets()).hasSize(2),
+                () -> assertThat(series.plannedOffsets()[1]).isEqualTo(
+                        (int) (START_DATE.plusMonths(2).plusDays(13).toEpochDay() - endDate(0).toEpochDay())),
+                () -> assertThat(series).isEqualTo(recomputedSeriesOf(projectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should move the contribution of an iteration moved to another project")
+    void shouldMoveIterationBetweenProjects() {
+        // Given
+        UUID moved = insertIteration(projectId, 0, 10, 9);
+        insertIteration(projectId, 1, 12, null);
+        insertIteration(otherProjectId, 2, 7, null);
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET project_key_id = ? WHERE uuid = ?", otherProjectId, moved);
+
+        // Then
+        assertAll(
+                () -> assertThat(seriesOf(projectId).actualOffsets()).isEmpty(),
+                () -> assertThat(seriesOf(projectId).startEpochDay()).isEqualTo((int) endDate(1).toEpochDay()),
+                () -> assertThat(seriesOf(otherProjectId).actualIncrements()).containsExactly(9),
+                () -> assertThat(seriesOf(projectId)).isEqualTo(recomputedSeriesOf(projectId)),
+                () -> assertThat(seriesOf(otherProjectId)).isEqualTo(recomputedSeriesOf(otherProjectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop the days emptied by deleted iterations")
+    void shouldDropEmptiedDays() {
+        // Given
+        UUID first = insertIteration(projectId, 0, 10, 10);
+        UUID sameDay = insertIteration(projectId, 0, 4, null);
+        UUID last = insertIteration(projectId, 1, 12, null);
+
+        // When
+        jdbcTemplate.update("DELETE FROM iteration WHERE uuid = ?", sameDay);
+
+        // Then
+        assertAll(
+                () -> assertThat(seriesOf(projectId).plannedIncrements()).containsExactly(10, 12),
+                () -> assertThat(seriesOf(projectId)).isEqualTo(recomputedSeriesOf(projectId))
+        );
+
+        // When
+        jdbcTemplate.update("DELETE FROM iteration WHERE uuid = ?", first);
+
+        // Then
+        assertAll(
+                () -> assertThat(seriesOf(projectId).startEpochDay()).isEqualTo((int) endDate(1).toEpochDay()),
+                () -> assertThat(seriesOf(projectId).plannedOffsets()).containsExactly(0),
+                () -> assertThat(seriesOf(projectId).actualOffsets()).isEmpty(),
+                () -> assertThat(seriesOf(projectId)).isEqualTo(recomputedSeriesOf(projectId))
+        );
+
+        // When
+        jdbcTemplate.update("DELETE FROM iteration WHERE uuid = ?", last);
+
+        // Then
+        assertAll(
+                () -> assertThat(seriesOf(projectId).startEpochDay()).isNull(),
+                () -> assertThat(seriesOf(projectId).plannedOffsets()).isEmpty(),
+                () -> assertThat(seriesOf(projectId)).isEqualTo(recomputedSeriesOf(projectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should match the rebuilt series after a statement writing several projects")
+    void shouldMatchRebuiltSeries() {
+        // Given
+        insertIteration(projectId, 0, 10, null);
+        insertIteration(projectId, 1, 12, null);
+        insertIteration(otherProjectId, 0, 6, null);
+
+        // When
+        jdbcTemplate.update("""
+                UPDATE iteration
+                SET actual_end_date = planned_end_date + 1,
+                    actual_capacity = planned_capacity - 1
+                WHERE project_key_id IN (?, ?)
+                """, projectId, otherProjectId);
+        Series triggered = seriesOf(projectId);
+        Series otherTriggered = seriesOf(otherProjectId);
+        burnupRepository.rebuild(projectId);
+        burnupRepository.rebuild(otherProjectId);
+
+        // Then
+        assertAll(
+                () -> assertThat(triggered).isEqualTo(recomputedSeriesOf(projectId)),
+                () -> assertThat(otherTriggered).isEqualTo(recomputedSeriesOf(otherProjectId)),
+                () -> assertThat(seriesOf(projectId)).isEqualTo(triggered),
+                () -> assertThat(seriesOf(otherProjectId)).isEqualTo(otherTriggered)
+        );
+    }
+
+    private static long insertProject() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO project (name, description, start_date, team_id)
+                SELECT 'Burn-up test', 'Burn-up trigger test project', ?, min(key_id) FROM team
+                RETURNING key_id
+                """, Long.class, START_DATE);
+    }
+
+    /**
+     * Inserts an iteration ending with the iteration at {@code index} of a project with two week iterations, finished
+     * on its planned end date when it has an actual capacity.
+     */
+    private static UUID insertIteration(long project, int index, int plannedCapacity, Integer actualCapacity) {
+        UUID uuid = UUID.randomUUID();
+        LocalDate startDate = START_DATE.plusWeeks(2L * index);
+        LocalDate actualEndDate = actualCapacity == null ? null : endDate(index);
+        jdbcTemplate.update("""
+                INSERT INTO iteration (uuid, name, project_key_id, planned_start_date, planned_end_date,
+                                       planned_capacity, actual_end_date, actual_capacity)
+                VALUES (?, 'Burn-up test', ?, ?, ?, ?, ?, ?)
+                """, uuid, project, startDate, endDate(index), plannedCapacity, actualEndDate, actualCapacity);
+        return uuid;
+    }
+
+    private static LocalDate endDate(int index) {
+        return START_DATE.plusWeeks(2L * index).plusDays(13);
+    }
+
+    private static Series seriesOf(long project) {
+        ProjectBurnup burnup = burnupRepository.findByProjectId(project);
+        return new Series(burnup.startEpochDay(), burnup.plannedOffsets(), burnup.plannedIncrements(),
+                burnup.actualOffsets(), burnup.actualIncrements());
+    }
+
+    /**
+     * Sums the capacities of the iterations of a project per end date, the way the series are defined, without the
+     * merge function.
+     */
+    private static Series recomputedSeriesOf(long project) {
+        NavigableMap<Integer, Integer> planned = new TreeMap<>();
+        NavigableMap<Integer, Integer> actual = new TreeMap<>();
+        List<Map<String, Object>> iterations = jdbcTemplate.queryForList("""
+                SELECT planned_end_date, planned_capacity, actual_end_date, actual_capacity
+                FROM iteration
+                WHERE project_key_id = ?
+                """, project);
+        for (Map<String, Object> iteration : iterations) {
+            add(planned, iteration.get("planned_end_date"), iteration.get("planned_capacity"));
+            add(actual, iteration.get("actual_end_date"), iteration.get("actual_capacity"));
+        }
+        planned.values().removeIf(total -> total == 0);
+        actual.values().removeIf(total -> total == 0);
+
+        Integer start = null;
+        if (!planned.isEmpty() || !actual.isEmpty()) {
+            start = Math.min(planned.isEmpty() ? Integer.MAX_VALUE : planned.firstKey(),
+                    actual.isEmpty() ? Integer.MAX_VALUE : actual.firstKey());
+        }
+        int origin = start == null ? 0 : start;
+        return new Series(start,
+                planned.keySet().stream().mapToInt(day -> day - origin).toArray(),
+                planned.values().stream().mapToInt(Integer::intValue).toArray(),
+                actual.keySet().stream().mapToInt(day -> day - origin).toArray(),
+                actual.values().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void add(Map<Integer, Integer> series, Object date, Object capacity) {
+        if (date != null && capacity != null) {
+            int day = (int) ((Date) date).toLocalDate().toEpochDay();
+            series.merge(day, ((Number) capacity).intValue(), Integer::sum);
+        }
+    }
+
+    /**
+     * Series compared by value, which records holding arrays are not.
+     */
+    private record Series(Integer startEpochDay, int[] plannedOffsets, int[] plannedIncrements,
+                          int[] actualOffsets, int[] actualIncrements) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Series series
+                    && Objects.equals(startEpochDay, series.startEpochDay)
+                    && Arrays.equals(plannedOffsets, series.plannedOffsets)
+                    && Arrays.equals(plannedIncrements, series.plannedIncrements)
+                    && Arrays.equals(actualOffsets, series.actualOffsets)
+                    && Arrays.equals(actualIncrements, series.actualIncrements);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(startEpochDay, Arrays.hashCode(plannedOffsets),
+                    Arrays.hashCode(plannedIncrements), Arrays.hashCode(actualOffsets),
+                    Arrays.hashCode(actualIncrements));
+        }
+
+        @Override
+        public String toString() {
+            return "Series[start=" + startEpochDay + ", planned=" + Arrays.toString(plannedOffsets) + "/"
+                    + Arrays.toString(plannedIncrements) + ", actual=" + Arrays.toString(actualOffsets) + "/"
+                    + Arrays.toString(actualIncrements) + "]";
+        }
+    }
+}
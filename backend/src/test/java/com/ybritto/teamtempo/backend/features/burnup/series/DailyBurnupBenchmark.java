@@ -0,0 +1,153 @@
+package com.ybritto.teamtempo.backend.features.burnup.series;
+
+import com.ybritto.teamtempo.backend.features.burnup.repository.ProjectBurnup;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build the daily burn-up of a project of two-week iterations, from its iteration entities as the series were
+ * built before {@code project_burnup} existed, and from the delta encoded series of {@link ProjectBurnup}. Loading
+ * the entities is not measured, so the gap understates the saving of the endpoint.
+ * <p>
+ * Run with {@code -prof gc} to compare allocations. Run after {@code mvn test-compile} with the main method of this
+ * class from the IDE, or with {@code java -cp <test classpath> org.openjdk.jmh.Main DailyBurnupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DailyBurnupBenchmark {
+
+    @Param({"26", "130", "520"})
+    private int iterations;
+
+    private List<IterationEntity> entities;
+    private ProjectBurnup burnup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate start = LocalDate.of(2020, 1, 6);
+        entities = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) {
+            LocalDate plannedEnd = start.plusWeeks(2L * i + 2);
+            IterationMetrics planned = new IterationMetrics();
+            planned.setEndDate(plannedEnd);
+            planned.setCapacity(20 + random.nextInt(10));
+            IterationMetrics actual = new IterationMetrics();
+            if (i < iterations * 3 / 4) {
+                actual.setEndDate(plannedEnd.plusDays(random.nextInt(3)));
+                actual.setCapacity(15 + random.nextInt(15));
+            }
+            entities.add(IterationEntity.builder().uuid(UUID.randomUUID()).planned(planned).actual(actual).build());
+        }
+        burnup = encode(entities);
+    }
+
+    @Benchmark
+    public DailyBurnup entities() {
+        Map<LocalDate, Integer> plannedByDay = new HashMap<>();
+        Map<LocalDate, Integer> actualByDay = new HashMap<>();
+        LocalDate first = null;
+        LocalDate last = null;
+        for (IterationEntity entity : entities) {
+            IterationMetrics planned = entity.getPlanned();
+            if (planned.getEndDate() != null && planned.getCapacity() != null) {
+                plannedByDay.merge(planned.getEndDate(), planned.getCapacity(), Integer::sum);
+            }
+            IterationMetrics actual = entity.getActual();
+            if (actual.getEndDate() != null && actual.getCapacity() != null) {
+                actualByDay.merge(actual.getEndDate(), actual.getCapacity(), Integer::sum);
+            }
+        }
+        for (LocalDate day : plannedByDay.keySet()) {
+            first = first == null || day.isBefore(first) ? day : first;
+            last = last == null || day.isAfter(last) ? day : last;
+        }
+        for (LocalDate day : actualByDay.keySet()) {
+            first = first == null || day.isBefore(first) ? day : first;
+            last = last == null || day.isAfter(last) ? day : last;
+        }
+        List<Integer> planned = new ArrayList<>();
+        List<Integer> completed = new ArrayList<>();
+        int plannedTotal = 0;
+        int completedTotal = 0;
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            plannedTotal += plannedByDay.getOrDefault(day, 0);
+            completedTotal += actualByDay.getOrDefault(day, 0);
+            planned.add(plannedTotal);
+            completed.add(completedTotal);
+        }
+        int[] remaining = new int[planned.size()];
+        for (int day = 0; day < remaining.length; day++) {
+            remaining[day] = plannedTotal - completed.get(day);
+        }
+        return new DailyBurnup(first,
+                planned.stream().mapToInt(Integer::intValue).toArray(),
+                completed.stream().mapToInt(Integer::intValue).toArray(),
+                remaining);
+    }
+
+    @Benchmark
+    public DailyBurnup compact() {
+        return DailyBurnup.decode(burnup);
+    }
+
+    /**
+     * Encodes the entities as the triggers of {@code V13__Create_Project_Burnup.sql} do.
+     */
+    private static ProjectBurnup encode(List<IterationEntity> entities) {
+        TreeMap<Long, Integer> plannedByDay = new TreeMap<>();
+        TreeMap<Long, Integer> actualByDay = new TreeMap<>();
+        for (IterationEntity entity : entities) {
+            IterationMetrics planned = entity.getPlanned();
+            if (planned.getEndDate() != null && planned.getCapacity() != null) {
+                plannedByDay.merge(planned.getEndDate().toEpochDay(), planned.getCapacity(), Integer::sum);
+            }
+            IterationMetrics actual = entity.getActual();
+            if (actual.getEndDate() != null && actual.getCapacity() != null) {
+                actualByDay.merge(actual.getEndDate().toEpochDay(), actual.getCapacity(), Integer::sum);
+            }
+        }
+        long start = Math.min(plannedByDay.firstKey(), actualByDay.firstKey());
+        return new ProjectBurnup(UUID.randomUUID(), (int) start,
+                plannedByDay.keySet().stream().mapToInt(day -> (int) (day - start)).toArray(),
+                plannedByDay.values().stream().mapToInt(Integer::intValue).toArray(),
+                actualByDay.keySet().stream().mapToInt(day -> (int) (day - start)).toArray(),
+                actualByDay.values().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DailyBurnupBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ybritto.teamtempo.backend.features.burnup.series;
+
+import com.ybritto.teamtempo.backend.features.burnup.repository.ProjectBurnup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("DailyBurnup Unit Tests")
+class DailyBurnupTest {
+
+    private static final int START = (int) LocalDate.of(2025, 1, 6).toEpochDay();
+
+    @Test
+    @DisplayName("Should expand delta encoded series into cumulative daily values")
+    void shouldExpandDeltaEncodedSeries() {
+        // Given
+        ProjectBurnup burnup = new ProjectBurnup(UUID.randomUUID(), START,
+                new int[]{0, 3, 5}, new int[]{10, 20, 5},
+                new int[]{1, 4}, new int[]{8, 15});
+
+        // When
+        DailyBurnup daily = DailyBurnup.decode(burnup);
+
+        // Then
+        assertAll(
+                () -> assertThat(daily.startDate()).isEqualTo(LocalDate.of(2025, 1, 6)),
+                () -> assertThat(daily.endDate()).isEqualTo(LocalDate.of(2025, 1, 11)),
+                () -> assertThat(daily.planned()).containsExactly(10, 10, 10, 30, 30, 35),
+                () -> assertThat(daily.completed()).containsExactly(0, 8, 8, 8, 23, 23),
+                () -> assertThat(daily.remaining()).containsExactly(35, 27, 27, 27, 12, 12)
+        );
+    }
+
+    @Test
+    @DisplayName("Should extend the series to the last actual end date when it follows the planned ones")
+    void shouldExtendToLastActualEndDate() {
+        // Given
+        ProjectBurnup burnup = new ProjectBurnup(UUID.randomUUID(), START,
+                new int[]{0}, new int[]{10},
+                new int[]{2}, new int[]{12});
+
+        // When
+        DailyBurnup daily = DailyBurnup.decode(burnup);
+
+        // Then
+        assertAll(
+                () -> assertThat(daily.planned()).containsExactly(10, 10, 10),
+                () -> assertThat(daily.completed()).containsExactly(0, 0, 12),
+                () -> assertThat(daily.remaining()).containsExactly(10, 10, -2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should return empty series when the project has no change point")
+    void shouldReturnEmptySeriesWithoutChangePoints() {
+        // Given
+        ProjectBurnup burnup = new ProjectBurnup(UUID.randomUUID(), null,
+                new int[0], new int[0], new int[0], new int[0]);
+
+        // When
+        DailyBurnup daily = DailyBurnup.decode(burnup);
+
+        // Then
+        assertAll(
+                () -> assertThat(daily.startDate()).isNull(),
+                () -> assertThat(daily.endDate()).isNull(),
+                () -> assertThat(daily.planned()).isEmpty(),
+                () -> assertThat(burnup.changePoints()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("Should size the stored series by their number of change points")
+    void shouldSizeStoredSeriesByChangePoints() {
+        // Given
+        ProjectBurnup small = new ProjectBurnup(UUID.randomUUID(), START,
+                new int[]{0}, new int[]{10}, new int[0], new int[0]);
+        ProjectBurnup large = new ProjectBurnup(UUID.randomUUID(), START,
+                new int[]{0, 14, 28}, new int[]{10, 10, 10}, new int[]{14}, new int[]{9});
+
+        // When
+        long smallSize = small.sizeInBytes();
+        long largeSize = large.sizeInBytes();
+
+        // Then
+        assertAll(
+                () -> assertThat(large.changePoints()).isEqualTo(4),
+                () -> assertThat(largeSize - smallSize).isEqualTo(3L * 2 * Integer.BYTES)
+        );
+    }
+}
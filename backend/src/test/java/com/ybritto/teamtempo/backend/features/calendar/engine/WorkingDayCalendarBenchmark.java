@@ -0,0 +1,83 @@
+package com.ybritto.teamtempo.backend.features.calendar.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range queries per second of {@link WorkingDayCalendar#workingDays} on a calendar of 51 years with ten holidays a
+ * year, for ranges of up to two years starting anywhere from a year before to a year after the calendar.
+ * <p>
+ * Run after {@code mvn test-compile} with the main method of this class from the IDE, or with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main WorkingDayCalendarBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkingDayCalendarBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    private WorkingDayCalendar calendar;
+    private LocalDate[] startDates;
+    private LocalDate[] endDates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<LocalDate> holidays = new ArrayList<>();
+        for (int year = 2000; year <= 2050; year++) {
+            for (int i = 0; i < 10; i++) {
+                holidays.add(LocalDate.ofYearDay(year, 1 + random.nextInt(365)));
+            }
+        }
+        calendar = WorkingDayCalendar.of(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), holidays);
+        startDates = new LocalDate[QUERIES];
+        endDates = new LocalDate[QUERIES];
+        LocalDate origin = LocalDate.of(1999, 1, 1);
+        for (int i = 0; i < QUERIES; i++) {
+            startDates[i] = origin.plusDays(random.nextInt(365 * 53));
+            endDates[i] = startDates[i].plusDays(random.nextInt(730));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long workingDays() {
+        long total = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            total += calendar.workingDays(startDates[i], endDates[i]);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WorkingDayCalendarBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,175 @@
+package com.ybritto.teamtempo.backend.features.calendar.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("WorkingDayCalendar Unit Tests")
+class WorkingDayCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    private final List<LocalDate> holidays = List.of(
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 12, 25),
+            // A Saturday, not worked anyway
+            LocalDate.of(2025, 11, 1),
+            LocalDate.of(2025, 12, 25),
+            LocalDate.of(2026, 5, 1));
+
+    @Test
+    @DisplayName("Should count the working days of a range without weekends and holidays")
+    void shouldCountWorkingDays() {
+        // Given
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(WEEKEND, holidays);
+
+        // When / Then
+        assertAll(
+                // Monday 22 to Friday 26 December 2025, with Christmas
+                () -> assertThat(calendar.workingDays(LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 26))).isEqualTo(4),
+                () -> assertThat(calendar.workingDays(LocalDate.of(2025, 12, 27), LocalDate.of(2025, 12, 28))).isZero(),
+                () -> assertThat(calendar.workingDays(LocalDate.of(2025, 12, 29), LocalDate.of(2025, 12, 29))).isEqualTo(1),
+                () -> assertThat(calendar.workingDays(LocalDate.of(2025, 12, 29), LocalDate.of(2025, 12, 28))).isZero(),
+                () -> assertThat(calendar.isWorkingDay(LocalDate.of(2026, 5, 1))).isFalse(),
+                () -> assertThat(calendar.isWorkingDay(LocalDate.of(2026, 5, 4))).isTrue(),
+                () -> assertThat(calendar.holidays()).isEqualTo(4)
+        );
+    }
+
+    @Test
+    @DisplayName("Should count as a day by day walk for ranges inside, around and outside of the calendar years")
+    void shouldMatchDayByDayCount() {
+        // Given
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(WEEKEND, holidays);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate origin = LocalDate.of(2021, 1, 1);
+
+        // When / Then
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate startDate = origin.plusDays(random.nextInt(365 * 8));
+            LocalDate endDate = startDate.plusDays(random.nextInt(400));
+            assertThat(calendar.workingDays(startDate, endDate))
+                    .as("%s to %s", startDate, endDate)
+                    .isEqualTo(countDayByDay(startDate, endDate));
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild the same calendar from its year bitsets")
+    void shouldRoundTripYearBitsets() {
+        // Given
+        WorkingDayCalendar calendar = WorkingDayCalendar.of(WEEKEND, holidays);
+
+        // When
+        Map<Integer, byte[]> yearBitsets = calendar.yearBitsets();
+        WorkingDayCalendar rebuilt = WorkingDayCalendar.ofYears(calendar.weekendDays(), yearBitsets);
+
+        // Then
+        assertAll(
+                () -> assertThat(yearBitsets).containsOnlyKeys(2024, 2025, 2026),
+                () -> assertThat(yearBitsets.values()).allSatisfy(bitset -> assertThat(bitset).hasSize(46)),
+                () -> assertThat(rebuilt.firstYear()).isEqualTo(2024),
+                () -> assertThat(rebuilt.lastYear()).isEqualTo(2026),
+                () -> assertThat(rebuilt.holidays()).isEqualTo(calendar.holidays()),
+                () -> assertThat(rebuilt.workingDays(LocalDate.of(2023, 6, 1), LocalDate.of(2027, 6, 1)))
+                        .isEqualTo(calendar.workingDays(LocalDate.of(2023, 6, 1), LocalDate.of(2027, 6, 1)))
+        );
+    }
+
+    @Test
+    @DisplayName("Should read every day of an event as a holiday, up to its exclusive end date")
+    void shouldParseIcsEvents() {
+        // Given
+        String ics = """
+                BEGIN:VCALENDAR
+                BEGIN:VEVENT
+                SUMMARY:Christmas
+                DTSTART;VALUE=DATE:20251225
+                DTEND;VALUE=DATE:20251227
+                END:VEVENT
+                BEGIN:VEVENT
+                SUMMARY:Labour
+                  Day
+                DTSTART:20260501T000000Z
+                END:VEVENT
+                END:VCALENDAR
+                """;
+
+        // When
+        Set<LocalDate> parsed = HolidayFileParser.parseIcs(ics);
+
+        // Then
+        assertThat(parsed).containsExactly(
+                LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26), LocalDate.of(2026, 5, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject recurring ICS events")
+    void shouldRejectRecurringIcsEvents() {
+        // Given
+        String ics = """
+                BEGIN:VEVENT
+                DTSTART;VALUE=DATE:20250101
+                RRULE:FREQ=YEARLY
+                END:VEVENT
+                """;
+
+        // When / Then
+        assertThatThrownBy(() -> HolidayFileParser.parseIcs(ics))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read the first field of CSV rows, skipping the header and comments")
+    void shouldParseCsvRows() {
+        // Given
+        String csv = """
+                date;name
+                # Public holidays
+                2025-12-25;Christmas
+                "2026-01-01",New Year
+
+                2026-05-01\tLabour Day
+                """;
+
+        // When
+        Set<LocalDate> parsed = HolidayFileParser.parseCsv(csv);
+
+        // Then
+        assertThat(parsed).containsExactly(
+                LocalDate.of(2025, 12, 25), LocalDate.of(2026, 1, 1), LocalDate.of(2026, 5, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV row without a date after the first one")
+    void shouldRejectInvalidCsvRow() {
+        // Given
+        String csv = """
+                2025-12-25,Christmas
+                26/12/2025,Boxing Day
+                """;
+
+        // When / Then
+        assertThatThrownBy(() -> HolidayFileParser.parseCsv(csv))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Row 2");
+    }
+
+    private int countDayByDay(LocalDate startDate, LocalDate endDate) {
+        Set<LocalDate> holidaySet = new TreeSet<>(holidays);
+        return (int) startDate.datesUntil(endDate.plusDays(1))
+                .filter(date -> !WEEKEND.contains(date.getDayOfWeek()) && !holidaySet.contains(date))
+                .count();
+    }
+}
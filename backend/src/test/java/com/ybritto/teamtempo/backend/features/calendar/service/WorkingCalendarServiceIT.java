@@ -0,0 +1,248 @@
+package com.ybritto.teamtempo.backend.features.calendar.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.features.calendar.repository.WorkingCalendarRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamMemberService;
+import com.ybritto.teamtempo.backend.features.team.service.TeamService;
+import com.ybritto.teamtempo.backend.gen.model.CalendarFormatEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberRoleEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarImportDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest(properties = "app.calendars.max-years=2")
+@ActiveProfiles("test")
+@DisplayName("WorkingCalendarService Integration Tests")
+class WorkingCalendarServiceIT {
+
+    @Autowired
+    private WorkingCalendarService workingCalendarService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private WorkingCalendarRepository workingCalendarRepository;
+
+    private UserEntity user;
+    private UserEntity otherUser;
+    private String teamUuid;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser("calendar-");
+        authenticate(user);
+        teamUuid = createTeam();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        deleteUser(user);
+        if (otherUser != null) {
+            deleteUser(otherUser);
+        }
+    }
+
+    @Test
+    @DisplayName("Should import the holidays of a CSV file over the default weekend days")
+    void shouldImportCsvCalendar() {
+        // When
+        WorkingCalendarDto calendar = workingCalendarService.importCalendar(csv("date,name\n2025-01-01,New Year\n"
+                + "2025-01-04,Saturday\n2026-01-01,New Year\n"));
+
+        // Then
+        assertAll(
+                () -> assertThat(calendar.getUuid()).isNotNull(),
+                () -> assertThat(calendar.getFirstYear()).isEqualTo(2025),
+                () -> assertThat(calendar.getLastYear()).isEqualTo(2026),
+                () -> assertThat(calendar.getHolidays()).isEqualTo(2),
+                () -> assertThat(workingCalendarService.getWorkingDays(calendar.getUuid(),
+                        LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 5)).getWorkingDays()).isEqualTo(4)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject calendars without content, with an invalid file or spanning too many years")
+    void shouldRejectInvalidImports() {
+        // When / Then
+        assertAll(
+                () -> assertThatThrownBy(() -> workingCalendarService.importCalendar(new WorkingCalendarImportDto()
+                        .name("No format")
+                        .content("2025-01-01")))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("required"),
+                () -> assertThatThrownBy(() -> workingCalendarService.importCalendar(csv("2025-01-01\nnot a date\n")))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("Invalid calendar file"),
+                () -> assertThatThrownBy(() -> workingCalendarService.importCalendar(csv("2025-01-01\n2027-01-01\n")))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("at most 2 years"),
+                () -> assertThat(workingCalendarRepository.findAll())
+                        .noneMatch(calendar -> calendar.getUser().getId().equals(user.getId()))
+        );
+    }
+
+    @Test
+    @DisplayName("Should attach a calendar to a team and detach it")
+    void shouldAttachAndDetachTeamCalendar() {
+        // Given
+        WorkingCalendarDto calendar = workingCalendarService.importCalendar(csv("2025-01-01\n"));
+
+        // When
+        TeamCalendarDto attached = workingCalendarService.setTeamCalendar(teamUuid,
+                new TeamCalendarDto().calendarUuid(calendar.getUuid()));
+        TeamCalendarDto read = workingCalendarService.getTeamCalendar(teamUuid);
+        TeamEntity attachedTeam = teamRepository.findByUuid(UUID.fromString(teamUuid)).orElseThrow();
+
+        // Then
+        assertAll(
+                () -> assertThat(attached.getCalendarUuid()).isEqualTo(calendar.getUuid()),
+                () -> assertThat(attached.getCalendarName()).isEqualTo("Holidays"),
+                () -> assertThat(read).isEqualTo(attached),
+                () -> assertThat(workingCalendarService.findTeamCalendar(attachedTeam))
+                        .map(teamCalendar -> teamCalendar.uuid().toString()).contains(calendar.getUuid())
+        );
+
+        // When
+        TeamCalendarDto detached = workingCalendarService.setTeamCalendar(teamUuid, new TeamCalendarDto());
+        TeamEntity detachedTeam = teamRepository.findByUuid(UUID.fromString(teamUuid)).orElseThrow();
+
+        // Then
+        assertAll(
+                () -> assertThat(detached.getCalendarUuid()).isNull(),
+                () -> assertThat(workingCalendarService.getTeamCalendar(teamUuid).getCalendarUuid()).isNull(),
+                () -> assertThat(workingCalendarService.findTeamCalendar(detachedTeam)).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject attaching an unknown calendar")
+    void shouldRejectUnknownTeamCalendar() {
+        // When / Then
+        assertThatThrownBy(() -> workingCalendarService.setTeamCalendar(teamUuid,
+                new TeamCalendarDto().calendarUuid(UUID.randomUUID().toString())))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(workingCalendarService.getTeamCalendar(teamUuid).getCalendarUuid()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should neither list, read nor attach the calendars of another user")
+    void shouldHideCalendarsOfOtherUsers() {
+        // Given
+        WorkingCalendarDto calendar = workingCalendarService.importCalendar(csv("2025-01-01\n"));
+        otherUser = saveUser("calendar-other-");
+        authenticate(otherUser);
+        String otherTeamUuid = createTeam();
+
+        // When / Then
+        assertAll(
+                () -> assertThat(workingCalendarService.getCalendars()).isEmpty(),
+                () -> assertThatThrownBy(() -> workingCalendarService.getWorkingDays(calendar.getUuid(),
+                        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 5)))
+                        .isInstanceOf(NotFoundException.class),
+                () -> assertThatThrownBy(() -> workingCalendarService.setTeamCalendar(otherTeamUuid,
+                        new TeamCalendarDto().calendarUuid(calendar.getUuid())))
+                        .isInstanceOf(NotFoundException.class),
+                () -> assertThat(workingCalendarService.getTeamCalendar(otherTeamUuid).getCalendarUuid()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Should only attach the calendars of the owner of the team")
+    void shouldOnlyAttachCalendarsOfTeamOwner() {
+        // Given
+        otherUser = saveUser("calendar-other-");
+        teamMemberService.addTeamMember(teamUuid, new TeamMemberDto()
+                .email(otherUser.getEmail())
+                .role(TeamMemberRoleEnumDto.EDITOR));
+        authenticate(otherUser);
+        WorkingCalendarDto editorCalendar = workingCalendarService.importCalendar(csv("2025-01-01\n"));
+
+        // When / Then
+        assertThatThrownBy(() -> workingCalendarService.setTeamCalendar(teamUuid,
+                new TeamCalendarDto().calendarUuid(editorCalendar.getUuid())))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(workingCalendarService.getTeamCalendar(teamUuid).getCalendarUuid()).isNull();
+    }
+
+    private UserEntity saveUser(String emailPrefix) {
+        return userRepository.save(UserEntity.builder()
+                .name("Calendar User")
+                .email(emailPrefix + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+    }
+
+    private static void authenticate(UserEntity authenticated) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(authenticated, null, authenticated.getAuthorities()));
+    }
+
+    private String createTeam() {
+        return teamService.createTeam(new TeamDto()
+                .name("Calendar Team")
+                .description("Calendar test team")
+                .startDate(LocalDate.of(2025, 1, 6))).getUuid();
+    }
+
+    private void deleteUser(UserEntity deleted) {
+        List<TeamEntity> teams = teamRepository.findByUser(deleted);
+        teams.forEach(team -> teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(team)));
+        teamRepository.deleteAll(teams);
+        teamMemberRepository.deleteAll(teamMemberRepository.findAll().stream()
+                .filter(member -> member.getUser().getId().equals(deleted.getId()))
+                .toList());
+        workingCalendarRepository.deleteAll(workingCalendarRepository.findAll().stream()
+                .filter(calendar -> calendar.getUser().getId().equals(deleted.getId()))
+                .toList());
+        userRepository.delete(deleted);
+    }
+
+    private static WorkingCalendarImportDto csv(String content) {
+        return new WorkingCalendarImportDto()
+                .name("Holidays")
+                .format(CalendarFormatEnumDto.CSV)
+                .content(content);
+    }
+}
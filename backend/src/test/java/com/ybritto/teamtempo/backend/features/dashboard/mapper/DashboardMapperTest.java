@@ -0,0 +1,58 @@
+package com.ybritto.teamtempo.backend.features.dashboard.mapper;
+
+import com.ybritto.teamtempo.backend.features.dashboard.repository.TeamSummary;
+import com.ybritto.teamtempo.backend.gen.model.TeamSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("DashboardMapper Unit Tests")
+class DashboardMapperTest {
+
+    private DashboardMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = Mappers.getMapper(DashboardMapper.class);
+    }
+
+    @Test
+    @DisplayName("Should map TeamSummary to TeamSummaryDto")
+    void shouldMapTeamSummaryToDto() {
+        // Given
+        UUID teamUuid = UUID.randomUUID();
+        UUID iterationUuid = UUID.randomUUID();
+        TeamSummary teamSummary = new TeamSummary(teamUuid, "Team", 3, 2, List.of("STORY_POINTS"), List.of("STORIES"),
+                40, 35,
+                new TeamSummary.IterationSummary(iterationUuid, "Sprint 1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14)),
+                null);
+
+        // When
+        TeamSummaryDto result = mapper.mapToDto(teamSummary);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getTeamUuid()).isEqualTo(teamUuid.toString()),
+                () -> assertThat(result.getTeamName()).isEqualTo("Team"),
+                () -> assertThat(result.getProjectCount()).isEqualTo(3),
+                () -> assertThat(result.getActiveProjectCount()).isEqualTo(2),
+                () -> assertThat(result.getCapacityUnits()).containsExactly("STORY_POINTS"),
+                () -> assertThat(result.getForecastUnits()).containsExactly("STORIES"),
+                () -> assertThat(result.getPlannedCapacityTotal()).isEqualTo(40L),
+                () -> assertThat(result.getActualCapacityTotal()).isEqualTo(35L),
+                () -> assertThat(result.getCurrentIteration().getUuid()).isEqualTo(iterationUuid.toString()),
+                () -> assertThat(result.getCurrentIteration().getName()).isEqualTo("Sprint 1"),
+                () -> assertThat(result.getCurrentIteration().getStartDate()).isEqualTo(LocalDate.of(2024, 1, 1)),
+                () -> assertThat(result.getCurrentIteration().getEndDate()).isEqualTo(LocalDate.of(2024, 1, 14)),
+                () -> assertThat(result.getNextIteration()).isNull()
+        );
+    }
+}
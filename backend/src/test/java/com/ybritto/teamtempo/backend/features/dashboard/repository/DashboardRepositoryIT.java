@@ -0,0 +1,173 @@
+package com.ybritto.teamtempo.backend.features.dashboard.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks the figures of the dashboard summary query. H2 lacks the aggregate filters and arrays it uses, so these
+ * tests are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("DashboardRepository Integration Tests")
+class DashboardRepositoryIT {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 16);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static DashboardRepository dashboardRepository;
+    private static long userId;
+    private static long otherUserId;
+    private static UUID currentUuid;
+    private static UUID nextUuid;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dashboardRepository = new DashboardRepository(new NamedParameterJdbcTemplate(dataSource));
+
+        userId = insertUser("dashboard-user@example.com");
+        otherUserId = insertUser("dashboard-other@example.com");
+
+        long alphaTeamId = insertTeam(userId, "Alpha Team");
+        long apollo = insertProject(alphaTeamId, "Apollo", true);
+        long hermes = insertProject(alphaTeamId, "Hermes", false);
+        insertConfiguration(apollo, "STORY_POINTS", true);
+        insertConfiguration(apollo, "T_SHIRT", false);
+        insertConfiguration(hermes, "STORY_POINTS", true);
+        insertIteration(apollo, TODAY.minusDays(28), TODAY.minusDays(15), 10, 8);
+        currentUuid = insertIteration(apollo, TODAY.minusDays(3), TODAY.plusDays(10), 12, null);
+        nextUuid = insertIteration(apollo, TODAY.plusDays(11), TODAY.plusDays(24), 14, null);
+        insertIteration(apollo, TODAY.plusDays(25), TODAY.plusDays(38), 16, null);
+        // An older iteration still running is not the current one, the latest one started is
+        insertIteration(hermes, TODAY.minusDays(20), null, 5, 4);
+
+        insertTeam(userId, "Beta Team");
+
+        long otherTeamId = insertTeam(otherUserId, "Other Team");
+        long otherProject = insertProject(otherTeamId, "Hidden", true);
+        insertConfiguration(otherProject, "T_SHIRT", true);
+        insertIteration(otherProject, TODAY.minusDays(1), TODAY.plusDays(12), 1000, 1000);
+    }
+
+    @Test
+    @DisplayName("Should count the projects, sum the capacities and pick the current and next iteration of each team")
+    void shouldSummarizeTeams() {
+        // When
+        List<TeamSummary> summaries = dashboardRepository.findTeamSummaries(userId, TODAY);
+
+        // Then
+        TeamSummary alpha = summaries.getFirst();
+        assertAll(
+                () -> assertThat(summaries).extracting(TeamSummary::teamName).containsExactly("Alpha Team", "Beta Team"),
+                () -> assertThat(alpha.projectCount()).isEqualTo(2),
+                () -> assertThat(alpha.activeProjectCount()).isEqualTo(1),
+                () -> assertThat(alpha.capacityUnits()).containsExactly("STORY_POINTS"),
+                () -> assertThat(alpha.forecastUnits()).containsExactly("MAN_DAYS"),
+                () -> assertThat(alpha.plannedCapacityTotal()).isEqualTo(57),
+                () -> assertThat(alpha.actualCapacityTotal()).isEqualTo(12),
+                () -> assertThat(alpha.currentIteration().uuid()).isEqualTo(currentUuid),
+                () -> assertThat(alpha.currentIteration().startDate()).isEqualTo(TODAY.minusDays(3)),
+                () -> assertThat(alpha.nextIteration().uuid()).isEqualTo(nextUuid),
+                () -> assertThat(alpha.nextIteration().endDate()).isEqualTo(TODAY.plusDays(24))
+        );
+    }
+
+    @Test
+    @DisplayName("Should report a team without projects with empty figures")
+    void shouldSummarizeEmptyTeam() {
+        // When
+        TeamSummary beta = dashboardRepository.findTeamSummaries(userId, TODAY).getLast();
+
+        // Then
+        assertAll(
+                () -> assertThat(beta.projectCount()).isZero(),
+                () -> assertThat(beta.capacityUnits()).isEmpty(),
+                () -> assertThat(beta.plannedCapacityTotal()).isZero(),
+                () -> assertThat(beta.currentIteration()).isNull(),
+                () -> assertThat(beta.nextIteration()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Should only summarize the teams the user is a member of")
+    void shouldScopeToTeamsOfUser() {
+        // When
+        List<TeamSummary> summaries = dashboardRepository.findTeamSummaries(otherUserId, TODAY);
+
+        // Then
+        assertAll(
+                () -> assertThat(summaries).extracting(TeamSummary::teamName).containsExactly("Other Team"),
+                () -> assertThat(summaries.getFirst().plannedCapacityTotal()).isEqualTo(1000),
+                () -> assertThat(summaries.getFirst().capacityUnits()).containsExactly("T_SHIRT")
+        );
+    }
+
+    private static long insertUser(String email) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO app_user (name, email, password) VALUES ('Dashboard user', ?, 'password123')
+                RETURNING key_id
+                """, Long.class, email);
+    }
+
+    private static long insertTeam(long ownerId, String name) {
+        long teamId = jdbcTemplate.queryForObject("""
+                INSERT INTO team (uuid, name, description, start_date, app_user_id)
+                VALUES (?, ?, 'Dashboard test team', CURRENT_DATE, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), name, ownerId);
+        jdbcTemplate.update("INSERT INTO team_member (team_id, app_user_id, role) VALUES (?, ?, 'OWNER')",
+                teamId, ownerId);
+        return teamId;
+    }
+
+    private static long insertProject(long teamId, String name, boolean active) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO project (uuid, name, description, start_date, is_active, team_id)
+                VALUES (?, ?, 'Dashboard test project', CURRENT_DATE, ?, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), name, active, teamId);
+    }
+
+    private static void insertConfiguration(long projectId, String capacityUnit, boolean active) {
+        jdbcTemplate.update("""
+                INSERT INTO project_configuration (iteration_duration, iteration_duration_unit, capacity_unit,
+                                                   forcast_unit, is_active, project_id)
+                VALUES (2, 'WEEKS', ?, 'MAN_DAYS', ?, ?)
+                """, capacityUnit, active, projectId);
+    }
+
+    private static UUID insertIteration(long projectId, LocalDate startDate, LocalDate endDate,
+                                        int plannedCapacity, Integer actualCapacity) {
+        UUID uuid = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO iteration (uuid, name, project_key_id, planned_start_date, planned_end_date,
+                                       planned_capacity, actual_capacity)
+                VALUES (?, 'Dashboard iteration', ?, ?, ?, ?, ?)
+                """, uuid, projectId, startDate, endDate, plannedCapacity, actualCapacity);
+        return uuid;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ybritto.teamtempo.backend.features.forecast.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trials per second of {@link MonteCarloSimulation} for a growing number of threads, from a history of 50 iterations
+ * and a remaining work of about 20 iterations.
+ * <p>
+ * Run after {@code mvn test-compile} with the main method of this class from the IDE, or with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main MonteCarloSimulationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonteCarloSimulationBenchmark {
+
+    private static final int TRIALS = 1_000_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private int[] samples;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        SplittableRandom random = new SplittableRandom(42);
+        samples = new int[50];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 15 + random.nextInt(20);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIALS)
+    public SimulationResult trials() {
+        return MonteCarloSimulation.run(pool, samples, 500, TRIALS, 520, seed++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MonteCarloSimulationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.ybritto.teamtempo.backend.features.forecast.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("MonteCarloSimulation Unit Tests")
+class MonteCarloSimulationTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should need an exact number of iterations when every sample is the same")
+    void shouldNeedExactIterationsWithConstantSamples() {
+        // Given
+        int[] samples = {10, 10, 10};
+
+        // When
+        SimulationResult result = MonteCarloSimulation.run(pool, samples, 35, 20_000, 100, 1L);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.iterationsAt(1)).isEqualTo(4),
+                () -> assertThat(result.iterationsAt(100)).isEqualTo(4),
+                () -> assertThat(result.probabilityWithin(3)).isZero(),
+                () -> assertThat(result.probabilityWithin(4)).isEqualTo(1.0),
+                () -> assertThat(Arrays.stream(result.histogram()).sum()).isEqualTo(20_000)
+        );
+    }
+
+    @Test
+    @DisplayName("Should return the same outcomes for the same seed whatever the parallelism")
+    void shouldBeReproducibleAcrossParallelism() {
+        // Given
+        int[] samples = {5, 8, 13, 21, 3, 0, 12};
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+
+        try {
+            // When
+            SimulationResult parallel = MonteCarloSimulation.run(pool, samples, 200, 100_000, 200, 42L);
+            SimulationResult sequential = MonteCarloSimulation.run(singleThreadPool, samples, 200, 100_000, 200, 42L);
+
+            // Then
+            assertThat(parallel.histogram()).isEqualTo(sequential.histogram());
+        } finally {
+            singleThreadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return increasing iterations for increasing percentiles")
+    void shouldReturnIncreasingIterationsForIncreasingPercentiles() {
+        // Given
+        int[] samples = {5, 8, 13, 21, 3, 12};
+
+        // When
+        SimulationResult result = MonteCarloSimulation.run(pool, samples, 300, 50_000, 200, 7L);
+
+        // Then
+        assertThat(result.iterationsAt(50)).isPositive();
+        assertThat(result.iterationsAt(85)).isGreaterThanOrEqualTo(result.iterationsAt(50));
+        assertThat(result.iterationsAt(95)).isGreaterThanOrEqualTo(result.iterationsAt(85));
+    }
+
+    @Test
+    @DisplayName("Should report trials not done within the maximum iterations")
+    void shouldReportTrialsBeyondMaxIterations() {
+        // Given
+        int[] samples = {0, 0, 1};
+
+        // When
+        SimulationResult result = MonteCarloSimulation.run(pool, samples, 1_000, 10_000, 10, 3L);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.iterationsAt(50)).isEqualTo(-1),
+                () -> assertThat(result.histogram()[11]).isEqualTo(10_000)
+        );
+    }
+
+    @Test
+    @DisplayName("Should scale the daily rates by the working days of each upcoming iteration")
+    void shouldScaleDailyRatesByWorkingDays() {
+        // Given
+        double[] dailyRates = {2.0, 2.0};
+        int[] iterationWorkingDays = {10, 5, 10};
+
+        // When
+        SimulationResult result = MonteCarloSimulation.runByWorkingDays(pool, dailyRates, iterationWorkingDays, 35,
+                20_000, 100, 1L);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.iterationsAt(1)).isEqualTo(3),
+                () -> assertThat(result.iterationsAt(100)).isEqualTo(3),
+                () -> assertThat(Arrays.stream(result.histogram()).sum()).isEqualTo(20_000)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject an empty history")
+    void shouldRejectEmptySamples() {
+        assertThatThrownBy(() -> MonteCarloSimulation.run(pool, new int[0], 10, 10_000, 10, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
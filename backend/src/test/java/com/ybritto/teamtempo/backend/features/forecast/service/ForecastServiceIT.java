@@ -0,0 +1,388 @@
+package com.ybritto.teamtempo.backend.features.forecast.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.features.calendar.repository.WorkingCalendarRepository;
+import com.ybritto.teamtempo.backend.features.calendar.service.WorkingCalendarService;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.project.service.ProjectService;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.CapacityUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.DurationUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ForecastUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.repository.ProjectConfigurationRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamService;
+import com.ybritto.teamtempo.backend.gen.model.CalendarFormatEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastMetricEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastPercentileDto;
+import com.ybritto.teamtempo.backend.gen.model.ForecastRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.ProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamCalendarDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import com.ybritto.teamtempo.backend.gen.model.WorkingCalendarImportDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest(properties = "app.forecast.max-trials=20000")
+@ActiveProfiles("test")
+@DisplayName("ForecastService Integration Tests")
+class ForecastServiceIT {
+
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 6);
+    private static final long SEED = 42L;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectConfigurationRepository projectConfigurationRepository;
+
+    @Autowired
+    private IterationRepository iterationRepository;
+
+    @Autowired
+    private WorkingCalendarService workingCalendarService;
+
+    @Autowired
+    private WorkingCalendarRepository workingCalendarRepository;
+
+    private UserEntity user;
+    private ProjectEntity project;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(UserEntity.builder()
+                .name("Forecast User")
+                .email("forecast-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        TeamDto team = teamService.createTeam(new TeamDto()
+                .name("Forecast Team")
+                .description("Forecast test team")
+                .startDate(START_DATE));
+        ProjectDto created = projectService.createProjectForTeam(team.getUuid(), new ProjectDto()
+                .name("Forecast Project")
+                .description("Forecast test project")
+                .startDate(START_DATE));
+        project = projectRepository.findByUuid(UUID.fromString(created.getUuid())).orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        List<TeamEntity> teams = teamRepository.findByUser(user);
+        List<ProjectEntity> projects = teams.isEmpty() ? List.of() : projectRepository.findAllByTeamIn(teams);
+        if (!projects.isEmpty()) {
+            iterationRepository.deleteAll(iterationRepository.findAllByProjectIn(projects));
+            projectConfigurationRepository.deleteAll(projectConfigurationRepository.findAllByProjectIn(projects));
+        }
+        projectRepository.deleteAll(projects);
+        teams.forEach(team -> teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(team)));
+        teamRepository.deleteAll(teams);
+        workingCalendarRepository.deleteAll(workingCalendarRepository.findAll().stream()
+                .filter(calendar -> calendar.getUser().getId().equals(user.getId()))
+                .toList());
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should draw from the actual forecasts by default and from the actual capacities when asked")
+    void shouldDrawFromSelectedMetric() {
+        // Given
+        saveConfiguration();
+        saveFinishedIteration(0, 100, 10);
+        saveFinishedIteration(1, 100, 10);
+
+        // When
+        ForecastDto byForecast = forecastService.forecastProject(project.getUuid().toString(), request(30));
+        ForecastDto byCapacity = forecastService.forecastProject(project.getUuid().toString(),
+                request(30).metric(ForecastMetricEnumDto.CAPACITY));
+
+        // Then
+        assertAll(
+                () -> assertThat(byForecast.getMetric()).isEqualTo(ForecastMetricEnumDto.FORECAST),
+                () -> assertThat(byForecast.getSampleSize()).isEqualTo(2),
+                () -> assertThat(byForecast.getPercentiles()).extracting(ForecastPercentileDto::getIterations)
+                        .containsOnly(3),
+                () -> assertThat(byCapacity.getMetric()).isEqualTo(ForecastMetricEnumDto.CAPACITY),
+                () -> assertThat(byCapacity.getPercentiles()).extracting(ForecastPercentileDto::getIterations)
+                        .containsOnly(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should date the percentiles from the end of the last finished iteration")
+    void shouldDatePercentilesFromLastFinishedIteration() {
+        // Given
+        saveConfiguration();
+        saveFinishedIteration(0, 100, 10);
+
+        // When
+        ForecastDto forecast = forecastService.forecastProject(project.getUuid().toString(), request(30));
+
+        // Then
+        LocalDate lastEndDate = endDate(0);
+        assertAll(
+                () -> assertThat(forecast.getStartDate()).isEqualTo(lastEndDate),
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getDate)
+                        .containsOnly(lastEndDate.plusWeeks(6))
+        );
+    }
+
+    @Test
+    @DisplayName("Should forecast iterations without dates for a project without configuration")
+    void shouldForecastWithoutDatesWithoutConfiguration() {
+        // Given
+        saveFinishedIteration(0, 100, 10);
+
+        // When
+        ForecastDto forecast = forecastService.forecastProject(project.getUuid().toString(), request(30));
+
+        // Then
+        assertAll(
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getIterations)
+                        .containsOnly(3),
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getDate)
+                        .containsOnlyNulls()
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a project without finished iterations")
+    void shouldRejectProjectWithoutFinishedIterations() {
+        // Given
+        saveConfiguration();
+
+        // When / Then
+        assertThatThrownBy(() -> forecastService.forecastProject(project.getUuid().toString(), request(30)))
+                .isInstanceOf(InvalidParameterException.class)
+                .hasMessageContaining("no finished iteration");
+    }
+
+    @Test
+    @DisplayName("Should reject trials outside the configured bounds")
+    void shouldRejectTrialsOutsideBounds() {
+        // Given
+        saveFinishedIteration(0, 100, 10);
+        String projectUuid = project.getUuid().toString();
+
+        // When / Then
+        assertAll(
+                () -> assertThatThrownBy(() -> forecastService.forecastProject(projectUuid, request(30).trials(20_001)))
+                        .isInstanceOf(InvalidParameterException.class)
+                        .hasMessageContaining("between 10000 and 20000"),
+                () -> assertThatThrownBy(() -> forecastService.forecastProject(projectUuid, request(30).trials(9_999)))
+                        .isInstanceOf(InvalidParameterException.class),
+                () -> assertThat(forecastService.forecastProject(projectUuid, request(30).trials(20_000)).getTrials())
+                        .isEqualTo(20_000)
+        );
+    }
+
+    @Test
+    @DisplayName("Should recompute a cached forecast once an iteration of the project changed")
+    void shouldRecomputeAfterIterationChange() {
+        // Given
+        saveConfiguration();
+        IterationEntity iteration = saveFinishedIteration(0, 100, 10);
+        String projectUuid = project.getUuid().toString();
+        ForecastDto before = forecastService.forecastProject(projectUuid, request(30));
+        IterationMetrics actual = iteration.getActual();
+        actual.setForecast(30);
+        iterationRepository.save(iteration.toBuilder().actual(actual).build());
+
+        // When
+        ForecastDto after = forecastService.forecastProject(projectUuid, request(30));
+
+        // Then
+        assertAll(
+                () -> assertThat(before.getPercentiles()).extracting(ForecastPercentileDto::getIterations).containsOnly(3),
+                () -> assertThat(after.getPercentiles()).extracting(ForecastPercentileDto::getIterations).containsOnly(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should recompute a cached forecast once the configuration of the project changed")
+    void shouldRecomputeAfterConfigurationChange() {
+        // Given
+        ProjectConfigurationEntity configuration = saveConfiguration();
+        saveFinishedIteration(0, 100, 10);
+        String projectUuid = project.getUuid().toString();
+        ForecastDto before = forecastService.forecastProject(projectUuid, request(30));
+        projectConfigurationRepository.save(configuration.toBuilder().iterationDuration(1).build());
+
+        // When
+        ForecastDto after = forecastService.forecastProject(projectUuid, request(30));
+
+        // Then
+        assertAll(
+                () -> assertThat(before.getPercentiles()).extracting(ForecastPercentileDto::getDate)
+                        .containsOnly(endDate(0).plusWeeks(6)),
+                () -> assertThat(after.getPercentiles()).extracting(ForecastPercentileDto::getDate)
+                        .containsOnly(endDate(0).plusWeeks(3))
+        );
+    }
+
+    @Test
+    @DisplayName("Should serve a cached forecast unchanged whatever callers did with earlier copies")
+    void shouldNotShareCachedForecast() {
+        // Given
+        saveConfiguration();
+        saveFinishedIteration(0, 100, 10);
+        String projectUuid = project.getUuid().toString();
+        ForecastDto first = forecastService.forecastProject(projectUuid, request(30));
+        first.setTrials(1);
+        first.getPercentiles().getFirst().setIterations(99);
+        first.getPercentiles().removeLast();
+
+        // When
+        ForecastDto second = forecastService.forecastProject(projectUuid, request(30));
+
+        // Then
+        assertAll(
+                () -> assertThat(second).isNotSameAs(first),
+                () -> assertThat(second.getTrials()).isEqualTo(10_000),
+                () -> assertThat(second.getPercentiles()).hasSize(3),
+                () -> assertThat(second.getPercentiles()).extracting(ForecastPercentileDto::getIterations).containsOnly(3)
+        );
+    }
+
+    @Test
+    @DisplayName("Should scale the work per working day to the working days of the upcoming iterations with a team calendar")
+    void shouldForecastByWorkingDaysWithTeamCalendar() {
+        // Given
+        saveConfiguration();
+        // 10 working days delivering 10 man-days, then a first upcoming iteration with a week of holidays
+        saveFinishedIteration(0, 100, 10);
+        String calendarUuid = attachCalendar("2025-01-20\n2025-01-21\n2025-01-22\n2025-01-23\n2025-01-24");
+
+        // When
+        ForecastDto forecast = forecastService.forecastProject(project.getUuid().toString(), request(30));
+
+        // Then
+        assertAll(
+                () -> assertThat(forecast.getCalendarUuid()).isEqualTo(calendarUuid),
+                () -> assertThat(forecast.getSampleSize()).isEqualTo(1),
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getIterations)
+                        .containsOnly(4),
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getDate)
+                        .containsOnly(endDate(0).plusWeeks(8))
+        );
+    }
+
+    @Test
+    @DisplayName("Should draw whole iterations with a team calendar when the configuration has no iteration duration")
+    void shouldForecastByIterationsWithoutIterationDuration() {
+        // Given
+        saveConfiguration(0);
+        saveFinishedIteration(0, 100, 10);
+        attachCalendar("2025-01-20");
+
+        // When
+        ForecastDto forecast = forecastService.forecastProject(project.getUuid().toString(), request(30));
+
+        // Then
+        assertAll(
+                () -> assertThat(forecast.getCalendarUuid()).isNull(),
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getIterations)
+                        .containsOnly(3),
+                () -> assertThat(forecast.getPercentiles()).extracting(ForecastPercentileDto::getDate)
+                        .containsOnlyNulls()
+        );
+    }
+
+    private static ForecastRequestDto request(int remainingWork) {
+        return new ForecastRequestDto()
+                .remainingWork(remainingWork)
+                .trials(10_000)
+                .seed(SEED);
+    }
+
+    private ProjectConfigurationEntity saveConfiguration() {
+        return saveConfiguration(2);
+    }
+
+    private ProjectConfigurationEntity saveConfiguration(int iterationDuration) {
+        return projectConfigurationRepository.save(ProjectConfigurationEntity.builder()
+                .iterationDuration(iterationDuration)
+                .iterationDurationUnit(DurationUnitEnum.WEEKS)
+                .capacityUnit(CapacityUnitEnum.STORY_POINTS)
+                .forecastUnit(ForecastUnitEnum.MAN_DAYS)
+                .active(true)
+                .project(project)
+                .build());
+    }
+
+    private String attachCalendar(String holidays) {
+        String calendarUuid = workingCalendarService.importCalendar(new WorkingCalendarImportDto()
+                .name("Forecast Calendar")
+                .format(CalendarFormatEnumDto.CSV)
+                .content(holidays)).getUuid();
+        workingCalendarService.setTeamCalendar(project.getTeam().getUuid().toString(),
+                new TeamCalendarDto().calendarUuid(calendarUuid));
+        return calendarUuid;
+    }
+
+    private IterationEntity saveFinishedIteration(int index, int capacity, int forecast) {
+        IterationMetrics actual = new IterationMetrics();
+        actual.setStartDate(START_DATE.plusWeeks(2L * index));
+        actual.setEndDate(endDate(index));
+        actual.setCapacity(capacity);
+        actual.setForecast(forecast);
+        return iterationRepository.save(IterationEntity.builder()
+                .name("Iteration " + (index + 1))
+                .project(project)
+                .actual(actual)
+                .build());
+    }
+
+    private static LocalDate endDate(int index) {
+        return START_DATE.plusWeeks(2L * index).plusDays(13);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ybritto.teamtempo.backend.features.graphql.controller;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("GraphQueryController Integration Tests")
+class GraphQueryControllerIT {
+
+    private static final int TEAMS = 3;
+    private static final int PROJECTS_PER_TEAM = 2;
+    private static final int ITERATIONS_PER_PROJECT = 2;
+
+    @Autowired
+    private ExecutionGraphQlService executionGraphQlService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private IterationRepository iterationRepository;
+
+    private ExecutionGraphQlServiceTester graphQlTester;
+    private Statistics statistics;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        graphQlTester = ExecutionGraphQlServiceTester.create(executionGraphQlService);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = userRepository.save(UserEntity.builder()
+                .name("Graph User")
+                .email("graph-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+
+        for (int t = 0; t < TEAMS; t++) {
+            TeamEntity team = teamRepository.save(TeamEntity.builder()
+                    .name("Team " + t)
+                    .startDate(LocalDate.of(2024, 1, 1))
+                    .endDate(LocalDate.of(2024, 12, 31))
+                    .user(user)
+                    .build());
+            teamMemberRepository.save(TeamMemberEntity.builder()
+                    .team(team)
+                    .user(user)
+                    .role(TeamMemberRoleEnum.OWNER)
+                    .build());
+
+            for (int p = 0; p < PROJECTS_PER_TEAM; p++) {
+                ProjectEntity project = projectRepository.save(ProjectEntity.builder()
+                        .name("Project " + t + "." + p)
+                        .startDate(LocalDate.of(2024, 1, 1))
+                        .endDate(LocalDate.of(2024, 6, 30))
+                        .active(true)
+                        .team(team)
+                        .build());
+
+                for (int i = 0; i < ITERATIONS_PER_PROJECT; i++) {
+                    iterationRepository.save(IterationEntity.builder()
+                            .name("Iteration " + t + "." + p + "." + i)
+                            .project(project)
+                            .build());
+                }
+            }
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        // The context is shared with the other tests, so the data of each test is removed after it
+        List<TeamEntity> teams = teamRepository.findByUser(user);
+        List<ProjectEntity> projects = teams.isEmpty() ? List.of() : projectRepository.findAllByTeamIn(teams);
+        if (!projects.isEmpty()) {
+            iterationRepository.deleteAll(iterationRepository.findAllByProjectIn(projects));
+        }
+        projectRepository.deleteAll(projects);
+        teams.forEach(team -> teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(team)));
+        teamRepository.deleteAll(teams);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should load a three-level query with at most one statement per level")
+    void shouldLoadThreeLevelQueryWithOneStatementPerLevel() {
+        // Given
+        statistics.clear();
+
+        // When
+        graphQlTester.document("""
+                        {
+                          myTeams {
+                            name
+                            projects {
+                              name
+                              iterations { name }
+                            }
+                          }
+                        }
+                        """)
+                .execute()
+                .path("myTeams[*].projects[*].iterations[*].name")
+                .entityList(String.class)
+                .hasSize(TEAMS * PROJECTS_PER_TEAM * ITERATIONS_PER_PROJECT);
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount())
+                .as("teams, projects and iterations should each be loaded by a single statement")
+                .isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject queries above the complexity limit")
+    void shouldRejectQueriesAboveComplexityLimit() {
+        // Given - every alias repeats the whole selection
+        StringBuilder query = new StringBuilder("{");
+        for (int i = 0; i < 100; i++) {
+            query.append(" t").append(i).append(": myTeams { name projects { name } }");
+        }
+        query.append(" }");
+
+        // When / Then
+        graphQlTester.document(query.toString())
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).isNotEmpty());
+    }
+}
@@ -0,0 +1,147 @@
+package com.ybritto.teamtempo.backend.features.history.listener;
+
+import com.ybritto.teamtempo.backend.core.sharding.ShardSelector;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogEntry;
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("ChangeLogWriter Unit Tests")
+class ChangeLogWriterTest {
+
+    private RecordingChangeLogRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RecordingChangeLogRepository();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should write queued entries in batches on flush")
+    void shouldWriteQueuedEntriesInBatches() {
+        // Given
+        ChangeLogWriter writer = new ChangeLogWriter(repository, new ShardSelector(Optional.empty()), meterRegistry, 100, 4, Duration.ofMillis(50));
+        writer.enqueue(entries(10));
+
+        // When
+        writer.flush();
+
+        // Then
+        assertAll(
+                () -> assertThat(repository.batches).extracting(List::size).containsExactly(4, 4, 2),
+                () -> assertThat(meterRegistry.counter("teamtempo.change-log.written").count()).isEqualTo(10.0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should write the backlog on the calling thread when the queue is full")
+    void shouldWriteBacklogWhenQueueIsFull() {
+        // Given
+        ChangeLogWriter writer = new ChangeLogWriter(repository, new ShardSelector(Optional.empty()), meterRegistry, 3, 10, Duration.ofMillis(50));
+
+        // When
+        writer.enqueue(entries(4));
+
+        // Then
+        assertThat(repository.batches).singleElement().satisfies(batch -> assertThat(batch).hasSize(4));
+    }
+
+    @Test
+    @DisplayName("Should write entries from the background thread")
+    void shouldWriteEntriesFromBackgroundThread() throws InterruptedException {
+        // Given
+        ChangeLogWriter writer = new ChangeLogWriter(repository, new ShardSelector(Optional.empty()), meterRegistry, 100, 10, Duration.ofMillis(20));
+        writer.start();
+
+        // When
+        writer.enqueue(entries(3));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (repository.writtenEntries() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.stop();
+
+        // Then
+        assertAll(
+                () -> assertThat(repository.writtenEntries()).isEqualTo(3),
+                () -> assertThat(repository.threadNames).containsOnly("change-log-writer")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep writing from the background thread after a batch failed")
+    void shouldKeepWritingAfterFailedBatch() throws InterruptedException {
+        // Given
+        repository.failuresLeft.set(1);
+        ChangeLogWriter writer = new ChangeLogWriter(repository, new ShardSelector(Optional.empty()), meterRegistry, 100, 10, Duration.ofMillis(20));
+        writer.start();
+
+        // When
+        writer.enqueue(entries(1));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.counter("teamtempo.change-log.failed").count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.enqueue(entries(2));
+        while (repository.writtenEntries() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.stop();
+
+        // Then
+        assertAll(
+                () -> assertThat(meterRegistry.counter("teamtempo.change-log.failed").count()).isEqualTo(1.0),
+                () -> assertThat(repository.writtenEntries()).isEqualTo(2),
+                () -> assertThat(meterRegistry.counter("teamtempo.change-log.written").count()).isEqualTo(2.0)
+        );
+    }
+
+    private static List<ChangeLogEntry> entries(int count) {
+        UUID projectUuid = UUID.randomUUID();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ChangeLogEntry(ChangeLogEntry.EntityType.PROJECT, projectUuid, projectUuid,
+                        ChangeLogEntry.Operation.UPDATE, "name", "Name " + i, "Name " + (i + 1),
+                        "test@example.com", LocalDateTime.now()))
+                .toList();
+    }
+
+    private static class RecordingChangeLogRepository extends ChangeLogRepository {
+
+        private final List<List<ChangeLogEntry>> batches = new CopyOnWriteArrayList<>();
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+
+        RecordingChangeLogRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insertAll(List<ChangeLogEntry> entries) {
+            if (failuresLeft.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+                throw new IllegalStateException("Insert failed");
+            }
+            batches.add(List.copyOf(entries));
+            threadNames.add(Thread.currentThread().getName());
+        }
+
+        int writtenEntries() {
+            return batches.stream().mapToInt(List::size).sum();
+        }
+    }
+}
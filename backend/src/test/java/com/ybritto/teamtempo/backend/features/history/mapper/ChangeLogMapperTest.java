@@ -0,0 +1,70 @@
+package com.ybritto.teamtempo.backend.features.history.mapper;
+
+import com.ybritto.teamtempo.backend.features.history.repository.ChangeLogEntry;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogEntityTypeEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogEntryDto;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogOperationEnumDto;
+import com.ybritto.teamtempo.backend.gen.model.ChangeLogPageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("ChangeLogMapper Unit Tests")
+class ChangeLogMapperTest {
+
+    private ChangeLogMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = Mappers.getMapper(ChangeLogMapper.class);
+    }
+
+    @Test
+    @DisplayName("Should map ChangeLogEntry to ChangeLogEntryDto")
+    void shouldMapChangeLogEntryToDto() {
+        // Given
+        UUID iterationUuid = UUID.randomUUID();
+        ChangeLogEntry entry = new ChangeLogEntry(ChangeLogEntry.EntityType.ITERATION, iterationUuid, UUID.randomUUID(),
+                ChangeLogEntry.Operation.UPDATE, "planned.capacity", "10", "12", "test@example.com",
+                LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        // When
+        ChangeLogEntryDto result = mapper.mapToDto(entry);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getEntityType()).isEqualTo(ChangeLogEntityTypeEnumDto.ITERATION),
+                () -> assertThat(result.getEntityUuid()).isEqualTo(iterationUuid.toString()),
+                () -> assertThat(result.getOperation()).isEqualTo(ChangeLogOperationEnumDto.UPDATE),
+                () -> assertThat(result.getFieldName()).isEqualTo("planned.capacity"),
+                () -> assertThat(result.getOldValue()).isEqualTo("10"),
+                () -> assertThat(result.getNewValue()).isEqualTo("12"),
+                () -> assertThat(result.getChangedBy()).isEqualTo("test@example.com"),
+                () -> assertThat(result.getChangedAt().toLocalDateTime()).isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 0))
+        );
+    }
+
+    @Test
+    @DisplayName("Should compute the number of pages from the total")
+    void shouldComputeTotalPages() {
+        // When
+        ChangeLogPageDto result = mapper.mapToPageDto(List.of(), 2, 20, 41);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getItems()).isEmpty(),
+                () -> assertThat(result.getPage()).isEqualTo(2),
+                () -> assertThat(result.getSize()).isEqualTo(20),
+                () -> assertThat(result.getTotalElements()).isEqualTo(41),
+                () -> assertThat(result.getTotalPages()).isEqualTo(3)
+        );
+    }
+}
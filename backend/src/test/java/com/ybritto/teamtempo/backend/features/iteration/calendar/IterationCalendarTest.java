@@ -0,0 +1,89 @@
+package com.ybritto.teamtempo.backend.features.iteration.calendar;
+
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.DurationUnitEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("IterationCalendar Unit Tests")
+class IterationCalendarTest {
+
+    @Test
+    @DisplayName("Should lay out back-to-back iterations from the project start")
+    void shouldLayOutBackToBackIterations() {
+        // Given
+        IterationCalendar calendar = new IterationCalendar(LocalDate.of(2025, 1, 6), null, 2, DurationUnitEnum.WEEKS);
+
+        // When
+        List<IterationCalendar.Slot> slots = calendar.slotsAfter(LocalDate.of(2025, 1, 1), 3);
+
+        // Then
+        assertThat(slots).containsExactly(
+                new IterationCalendar.Slot(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 19)),
+                new IterationCalendar.Slot(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 2)),
+                new IterationCalendar.Slot(LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 16)));
+    }
+
+    @Test
+    @DisplayName("Should resume with the first iteration starting after the given day")
+    void shouldResumeAfterGivenDay() {
+        // Given
+        IterationCalendar calendar = new IterationCalendar(LocalDate.of(2025, 1, 6), null, 2, DurationUnitEnum.WEEKS);
+
+        // When
+        List<IterationCalendar.Slot> onBoundary = calendar.slotsAfter(LocalDate.of(2025, 1, 20), 1);
+        List<IterationCalendar.Slot> inside = calendar.slotsAfter(LocalDate.of(2025, 1, 25), 1);
+
+        // Then
+        assertAll(
+                () -> assertThat(onBoundary.getFirst().startDate()).isEqualTo(LocalDate.of(2025, 2, 3)),
+                () -> assertThat(inside.getFirst().startDate()).isEqualTo(LocalDate.of(2025, 2, 3))
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the day of month of the project start for monthly iterations")
+    void shouldKeepDayOfMonthForMonthlyIterations() {
+        // Given
+        IterationCalendar calendar = new IterationCalendar(LocalDate.of(2025, 1, 31), null, 1, DurationUnitEnum.MONTHS);
+
+        // When
+        List<IterationCalendar.Slot> slots = calendar.slotsAfter(LocalDate.of(2025, 2, 15), 3);
+
+        // Then
+        assertThat(slots).extracting(IterationCalendar.Slot::startDate).containsExactly(
+                LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30));
+    }
+
+    @Test
+    @DisplayName("Should stop at the project end date and cut the last iteration")
+    void shouldStopAtProjectEndDate() {
+        // Given
+        IterationCalendar calendar = new IterationCalendar(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 25), 10,
+                DurationUnitEnum.DAYS);
+
+        // When
+        List<IterationCalendar.Slot> slots = calendar.slotsAfter(LocalDate.of(2024, 12, 1), 100);
+
+        // Then
+        assertAll(
+                () -> assertThat(slots).hasSize(3),
+                () -> assertThat(slots.getLast()).isEqualTo(
+                        new IterationCalendar.Slot(LocalDate.of(2025, 1, 21), LocalDate.of(2025, 1, 25)))
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a duration that is not positive")
+    void shouldRejectNonPositiveDuration() {
+        // When & Then
+        assertThatThrownBy(() -> new IterationCalendar(LocalDate.of(2025, 1, 1), null, 0, DurationUnitEnum.DAYS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ybritto.teamtempo.backend.features.iteration.mapper;
+
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.gen.model.IterationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("IterationMapper Unit Tests")
+class IterationMapperTest {
+
+    private IterationMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = Mappers.getMapper(IterationMapper.class);
+    }
+
+    @Test
+    @DisplayName("Should map IterationDto to IterationEntity with planned and actual metrics")
+    void shouldMapDtoToEntity() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        IterationDto dto = new IterationDto()
+                .uuid(uuid.toString())
+                .name("Sprint 1")
+                .plannedStartDate(LocalDate.of(2024, 1, 1))
+                .plannedEndDate(LocalDate.of(2024, 1, 14))
+                .plannedCapacity(40)
+                .plannedForecast(30)
+                .actualStartDate(LocalDate.of(2024, 1, 2))
+                .actualEndDate(LocalDate.of(2024, 1, 15))
+                .actualCapacity(35)
+                .actualForecast(28);
+
+        // When
+        IterationEntity entity = mapper.mapToEntity(dto, 7L);
+
+        // Then
+        assertAll(
+                () -> assertThat(entity.getId()).isEqualTo(7L),
+                () -> assertThat(entity.getUuid()).isEqualTo(uuid),
+                () -> assertThat(entity.getName()).isEqualTo("Sprint 1"),
+                () -> assertThat(entity.getProject()).isNull(),
+                () -> assertThat(entity.getPlanned().getStartDate()).isEqualTo(LocalDate.of(2024, 1, 1)),
+                () -> assertThat(entity.getPlanned().getEndDate()).isEqualTo(LocalDate.of(2024, 1, 14)),
+                () -> assertThat(entity.getPlanned().getCapacity()).isEqualTo(40),
+                () -> assertThat(entity.getPlanned().getForecast()).isEqualTo(30),
+                () -> assertThat(entity.getActual().getStartDate()).isEqualTo(LocalDate.of(2024, 1, 2)),
+                () -> assertThat(entity.getActual().getEndDate()).isEqualTo(LocalDate.of(2024, 1, 15)),
+                () -> assertThat(entity.getActual().getCapacity()).isEqualTo(35),
+                () -> assertThat(entity.getActual().getForecast()).isEqualTo(28)
+        );
+    }
+
+    @Test
+    @DisplayName("Should map IterationEntity back to the same IterationDto")
+    void shouldRoundTripDto() {
+        // Given
+        IterationDto dto = new IterationDto()
+                .uuid(UUID.randomUUID().toString())
+                .name("Sprint 2")
+                .plannedStartDate(LocalDate.of(2024, 2, 1))
+                .plannedCapacity(20);
+
+        // When
+        IterationDto result = mapper.mapToDtoWithoutProject(mapper.mapToEntity(dto, null));
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getUuid()).isEqualTo(dto.getUuid()),
+                () -> assertThat(result.getName()).isEqualTo("Sprint 2"),
+                () -> assertThat(result.getPlannedStartDate()).isEqualTo(LocalDate.of(2024, 2, 1)),
+                () -> assertThat(result.getPlannedCapacity()).isEqualTo(20),
+                () -> assertThat(result.getActualStartDate()).isNull(),
+                () -> assertThat(result.getProject()).isNull()
+        );
+    }
+}
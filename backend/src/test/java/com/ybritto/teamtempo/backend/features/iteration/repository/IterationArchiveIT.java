@@ -0,0 +1,115 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import com.ybritto.teamtempo.backend.core.counter.ChildCounterRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks that the iterations of detached partitions stay counted by every aggregate of their project, rebuilt or
+ * not. H2 has no partitioning, so these tests are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("Iteration archive Integration Tests")
+class IterationArchiveIT {
+
+    private static final LocalDate ARCHIVED_MONTH = LocalDate.of(2001, 3, 1);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static ChildCounterRepository childCounterRepository;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        childCounterRepository = new ChildCounterRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @Test
+    @DisplayName("Should keep counting archived iterations after reconciling and rebuilding the aggregates")
+    void shouldKeepCountingArchivedIterations() {
+        // Given
+        long projectId = jdbcTemplate.queryForObject("""
+                INSERT INTO project (name, description, start_date, team_id)
+                SELECT 'Archive test', 'Archive test project', ?, min(key_id) FROM team
+                RETURNING key_id
+                """, Long.class, ARCHIVED_MONTH);
+        jdbcTemplate.queryForObject("SELECT create_iteration_partitions(?, ?)", Integer.class,
+                ARCHIVED_MONTH, ARCHIVED_MONTH);
+        insertIteration(projectId, ARCHIVED_MONTH, 10, 8);
+        insertIteration(projectId, ARCHIVED_MONTH.plusDays(14), 12, 11);
+        insertIteration(projectId, LocalDate.now().withDayOfMonth(1), 14, 13);
+        Map<String, Object> counted = aggregatesOf(projectId);
+
+        // When
+        Integer detached = jdbcTemplate.queryForObject("SELECT detach_iteration_partitions(?)", Integer.class,
+                ARCHIVED_MONTH.plusMonths(1));
+        Map<String, Object> detachedAggregates = aggregatesOf(projectId);
+        int correctedCounts = childCounterRepository.reconcileIterationCounts();
+        jdbcTemplate.queryForObject("SELECT rebuild_project_velocity(?::int)", Object.class, projectId);
+        jdbcTemplate.queryForObject("SELECT rebuild_project_burnup(?::int)", Object.class, projectId);
+        Integer correctedBuckets = jdbcTemplate.queryForObject("SELECT rebuild_project_month_rollup(?::int)",
+                Integer.class, projectId);
+
+        // Then
+        assertAll(
+                () -> assertThat(detached).isEqualTo(1),
+                () -> assertThat(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM iteration_archive WHERE project_key_id = ?", Integer.class, projectId))
+                        .isEqualTo(2),
+                () -> assertThat(counted.get("iteration_count")).isEqualTo(3),
+                () -> assertThat(counted.get("completed_count")).isEqualTo(3),
+                () -> assertThat(detachedAggregates).isEqualTo(counted),
+                () -> assertThat(correctedCounts).isZero(),
+                () -> assertThat(correctedBuckets).isZero(),
+                () -> assertThat(aggregatesOf(projectId)).isEqualTo(counted)
+        );
+    }
+
+    private static void insertIteration(long project, LocalDate startDate, int actualCapacity, int actualForecast) {
+        LocalDate endDate = startDate.plusDays(13);
+        jdbcTemplate.update("""
+                INSERT INTO iteration (name, project_key_id, planned_start_date, planned_end_date, planned_capacity,
+                                       actual_start_date, actual_end_date, actual_capacity, actual_forecast)
+                VALUES ('Archive test', ?, ?, ?, ?, ?, ?, ?, ?)
+                """, project, startDate, endDate, actualCapacity, startDate, endDate, actualCapacity, actualForecast);
+    }
+
+    private static Map<String, Object> aggregatesOf(long project) {
+        return jdbcTemplate.queryForMap("""
+                SELECT p.iteration_count,
+                       v.completed_count, v.capacity_sum, v.forecast_sum, v.recent_forecasts::text AS recent_forecasts,
+                       b.start_epoch_day, b.planned_offsets::text AS planned_offsets,
+                       b.actual_increments::text AS actual_increments,
+                       (SELECT string_agg(r.month || ':' || r.planned_capacity || ':' || r.actual_forecast, ','
+                                          ORDER BY r.month)
+                        FROM project_month_rollup r
+                        WHERE r.project_key_id = p.key_id) AS buckets
+                FROM project p
+                JOIN project_velocity v ON v.project_key_id = p.key_id
+                JOIN project_burnup b ON b.project_key_id = p.key_id
+                WHERE p.key_id = ?
+                """, project);
+    }
+}
@@ -0,0 +1,256 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks the plans of the partitioned iteration table with EXPLAIN and the uuid registry kept across its
+ * partitions. H2 has no partitioning, so these tests are
+ * skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("Iteration partitioning Integration Tests")
+class IterationPartitionIT {
+
+    private static final Pattern SCANNED_TABLE = Pattern.compile(" on (iteration_\\w+)");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+    private long projectId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        projectId = jdbcTemplate.queryForObject("SELECT min(key_id) FROM project", Long.class);
+    }
+
+    @Test
+    @DisplayName("Should only scan the partition of the month a query is filtered on")
+    void shouldPruneToOneMonth() {
+        // When
+        List<String> scanned = scannedTables("""
+                SELECT * FROM iteration
+                WHERE planned_start_date >= DATE '%s' AND planned_start_date < DATE '%s'
+                """.formatted(currentMonth, currentMonth.plusMonths(1)));
+
+        // Then
+        assertThat(scanned).containsExactly(partitionOf(currentMonth));
+    }
+
+    @Test
+    @DisplayName("Should only scan the partitions of the months of a date range")
+    void shouldPruneToDateRange() {
+        // When
+        List<String> scanned = scannedTables("""
+                SELECT * FROM iteration
+                WHERE project_key_id = %d
+                  AND planned_start_date BETWEEN DATE '%s' AND DATE '%s'
+                """.formatted(projectId, currentMonth.plusDays(10), currentMonth.plusMonths(1).plusDays(10)));
+
+        // Then
+        assertThat(scanned).containsExactlyInAnyOrder(partitionOf(currentMonth), partitionOf(currentMonth.plusMonths(1)));
+    }
+
+    @Test
+    @DisplayName("Should prune partitions for dates only known when the statement executes")
+    void shouldPruneAtExecution() {
+        // When
+        List<String> scanned = scannedTables("""
+                SELECT * FROM iteration
+                WHERE planned_start_date >= date_trunc('month', CURRENT_DATE)::date
+                  AND planned_start_date < (date_trunc('month', CURRENT_DATE) + INTERVAL '1 month')::date
+                """, "EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF) ");
+
+        // Then
+        assertThat(scanned).containsExactly(partitionOf(currentMonth));
+    }
+
+    @Test
+    @DisplayName("Should move an iteration to the partition of its new planned start date")
+    void shouldMoveUpdatedIterationToItsPartition() {
+        // Given
+        UUID uuid = insertIteration(currentMonth.plusDays(3));
+        int iterationCount = iterationCount();
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET planned_start_date = ? WHERE uuid = ?",
+                currentMonth.plusMonths(2).plusDays(3), uuid);
+
+        // Then
+        assertAll(
+                () -> assertThat(partitionHolding(uuid)).isEqualTo(partitionOf(currentMonth.plusMonths(2))),
+                () -> assertThat(iterationCount()).isEqualTo(iterationCount)
+        );
+    }
+
+    @Test
+    @DisplayName("Should move iterations out of the default partition when their month gets a partition")
+    void shouldMoveIterationsOutOfDefaultPartition() {
+        // Given
+        LocalDate farMonth = currentMonth.plusYears(5);
+        UUID uuid = insertIteration(farMonth.plusDays(1));
+        int iterationCount = iterationCount();
+        String partitionBefore = partitionHolding(uuid);
+
+        // When
+        Integer created = jdbcTemplate.queryForObject("SELECT create_iteration_partitions(?, ?)", Integer.class,
+                farMonth, farMonth);
+
+        // Then
+        assertAll(
+                () -> assertThat(partitionBefore).isEqualTo("iteration_default"),
+                () -> assertThat(created).isEqualTo(1),
+                () -> assertThat(partitionHolding(uuid)).isEqualTo(partitionOf(farMonth)),
+                () -> assertThat(iterationCount()).isEqualTo(iterationCount)
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep detached partitions as archive tables")
+    void shouldArchiveDetachedPartitions() {
+        // Given
+        LocalDate oldMonth = LocalDate.of(2001, 3, 1);
+        jdbcTemplate.queryForObject("SELECT create_iteration_partitions(?, ?)", Integer.class, oldMonth, oldMonth);
+        UUID uuid = insertIteration(oldMonth.plusDays(4));
+
+        // When
+        Integer detached = jdbcTemplate.queryForObject("SELECT detach_iteration_partitions(?)", Integer.class,
+                oldMonth.plusMonths(1));
+
+        // Then
+        assertAll(
+                () -> assertThat(detached).isEqualTo(1),
+                () -> assertThat(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM iteration WHERE uuid = ?", Integer.class, uuid)).isZero(),
+                () -> assertThat(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM iteration_archive_2001_03 WHERE uuid = ?", Integer.class, uuid)).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject an iteration reusing a uuid with another planned start date")
+    void shouldRejectDuplicateUuidAcrossPartitions() {
+        // Given
+        UUID uuid = insertIteration(currentMonth.plusDays(3));
+
+        // When / Then
+        assertThatThrownBy(() -> insertIteration(uuid, currentMonth.plusMonths(1).plusDays(3)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an iteration reusing a uuid without planned start date")
+    void shouldRejectDuplicateUuidWithoutPlannedStart() {
+        // Given
+        UUID uuid = insertIteration(null);
+
+        // When / Then
+        assertThatThrownBy(() -> insertIteration(uuid, null))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep the uuid of a moved iteration registered and release the uuid of a deleted one")
+    void shouldRegisterUuidsOfMovedAndDeletedIterations() {
+        // Given
+        UUID moved = insertIteration(currentMonth.plusDays(3));
+        UUID deleted = insertIteration(currentMonth.plusDays(5));
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET planned_start_date = ? WHERE uuid = ?",
+                currentMonth.plusMonths(2).plusDays(3), moved);
+        jdbcTemplate.update("DELETE FROM iteration WHERE uuid = ?", deleted);
+
+        // Then
+        assertAll(
+                () -> assertThat(registeredKeyId(moved)).isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT key_id FROM iteration WHERE uuid = ?", Long.class, moved)),
+                () -> assertThat(registeredKeyId(deleted)).isNull(),
+                () -> assertThatThrownBy(() -> insertIteration(moved, currentMonth.plusDays(3)))
+                        .isInstanceOf(DuplicateKeyException.class),
+                () -> assertThat(insertIteration(deleted, currentMonth.plusDays(5))).isEqualTo(deleted)
+        );
+    }
+
+    private List<String> scannedTables(String query) {
+        return scannedTables(query, "EXPLAIN (COSTS OFF) ");
+    }
+
+    private List<String> scannedTables(String query, String explain) {
+        List<String> plan = jdbcTemplate.queryForList(explain + query, String.class);
+        return plan.stream()
+                // Partitions pruned at execution are reported as never executed
+                .filter(line -> !line.contains("(never executed)"))
+                // Bitmap index scans name the index of the partition instead of the partition
+                .filter(line -> !line.contains("Bitmap Index Scan"))
+                .map(SCANNED_TABLE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .distinct()
+                .toList();
+    }
+
+    private UUID insertIteration(LocalDate plannedStartDate) {
+        return insertIteration(UUID.randomUUID(), plannedStartDate);
+    }
+
+    private UUID insertIteration(UUID uuid, LocalDate plannedStartDate) {
+        jdbcTemplate.update("""
+                INSERT INTO iteration (uuid, name, project_key_id, planned_start_date, planned_end_date)
+                VALUES (?, 'Partition test', ?, ?, ?)
+                """, uuid, projectId, plannedStartDate, plannedStartDate == null ? null : plannedStartDate.plusDays(13));
+        return uuid;
+    }
+
+    private Long registeredKeyId(UUID uuid) {
+        return jdbcTemplate.query("SELECT key_id FROM iteration_uuid WHERE uuid = ?",
+                (rs, rowNum) -> rs.getLong("key_id"), uuid).stream().findFirst().orElse(null);
+    }
+
+    private String partitionHolding(UUID uuid) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM iteration WHERE uuid = ?",
+                String.class, uuid);
+    }
+
+    private int iterationCount() {
+        return jdbcTemplate.queryForObject("SELECT iteration_count FROM project WHERE key_id = ?", Integer.class,
+                projectId);
+    }
+
+    private static String partitionOf(LocalDate month) {
+        return "iteration_p%d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
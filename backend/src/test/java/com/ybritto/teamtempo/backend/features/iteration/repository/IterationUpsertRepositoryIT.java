@@ -0,0 +1,125 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationUpsertRepository.UpsertedIteration;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and saves iteration batches with the upsert statement. H2 has no arrays of rows nor advisory locks, so these tests
+ * are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("IterationUpsertRepository Integration Tests")
+class IterationUpsertRepositoryIT {
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static IterationUpsertRepository iterationUpsertRepository;
+
+    private final LocalDate startDate = LocalDate.now().withDayOfMonth(1);
+    private long projectId;
+    private long otherProjectId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        iterationUpsertRepository = new IterationUpsertRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Long> projectIds = jdbcTemplate.queryForList("SELECT key_id FROM project ORDER BY key_id LIMIT 2", Long.class);
+        projectId = projectIds.get(0);
+        otherProjectId = projectIds.get(1);
+    }
+
+    @Test
+    @DisplayName("Should insert new uuids and update the existing ones")
+    void shouldInsertAndUpdateByUuid() {
+        // Given
+        UUID existing = UUID.randomUUID();
+        upsert(projectId, iteration(existing, "Existing"));
+        UUID created = UUID.randomUUID();
+
+        // When
+        List<UpsertedIteration> upserted = upsert(projectId, iteration(existing, "Renamed"), iteration(created, "Created"));
+
+        // Then
+        assertAll(
+                () -> assertThat(upserted).containsExactlyInAnyOrder(
+                        new UpsertedIteration(existing, false), new UpsertedIteration(created, true)),
+                () -> assertThat(nameOf(existing)).isEqualTo("Renamed"),
+                () -> assertThat(nameOf(created)).isEqualTo("Created")
+        );
+    }
+
+    @Test
+    @DisplayName("Should leave out the iterations of another project")
+    void shouldLeaveOutIterationsOfAnotherProject() {
+        // Given
+        UUID foreign = UUID.randomUUID();
+        upsert(otherProjectId, iteration(foreign, "Foreign"));
+
+        // When
+        List<UpsertedIteration> upserted = upsert(projectId, iteration(foreign, "Taken over"));
+
+        // Then
+        assertAll(
+                () -> assertThat(upserted).isEmpty(),
+                () -> assertThat(nameOf(foreign)).isEqualTo("Foreign"),
+                () -> assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM iteration WHERE uuid = ?",
+                        Integer.class, foreign)).isEqualTo(1)
+        );
+    }
+
+    private List<UpsertedIteration> upsert(long project, IterationEntity... iterations) {
+        return transactionTemplate.execute(status ->
+                iterationUpsertRepository.upsertAll(project, List.of(iterations), LocalDateTime.now()));
+    }
+
+    private IterationEntity iteration(UUID uuid, String name) {
+        IterationMetrics planned = new IterationMetrics();
+        planned.setStartDate(startDate);
+        planned.setEndDate(startDate.plusDays(13));
+        return IterationEntity.builder()
+                .uuid(uuid)
+                .name(name)
+                .planned(planned)
+                .build();
+    }
+
+    private String nameOf(UUID uuid) {
+        return jdbcTemplate.queryForObject("SELECT name FROM iteration WHERE uuid = ?", String.class, uuid);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ybritto.teamtempo.backend.features.iteration.repository;
+
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationUpsertRepository.UpsertedIteration;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replaces the upsert statement, which needs PostgreSQL arrays and advisory locks, by entity saves with the same
+ * results, so the services saving iteration batches can be tested on H2. {@link IterationUpsertRepositoryIT} covers
+ * the statement itself.
+ */
+@TestConfiguration
+public class IterationUpsertTestConfiguration {
+
+    @Bean
+    @Primary
+    IterationUpsertRepository entityIterationUpsertRepository(IterationRepository iterationRepository,
+                                                              ProjectRepository projectRepository) {
+        return new IterationUpsertRepository(null) {
+            @Override
+            public List<UpsertedIteration> upsertAll(Long projectId, List<IterationEntity> iterations, LocalDateTime now) {
+                ProjectEntity project = projectRepository.findById(projectId).orElseThrow();
+                List<UpsertedIteration> upserted = new ArrayList<>();
+                for (IterationEntity iteration : iterations) {
+                    Optional<IterationEntity> existing = iterationRepository.findByUuid(iteration.getUuid());
+                    if (existing.isPresent() && !existing.get().getProject().getId().equals(projectId)) {
+                        continue;
+                    }
+                    iterationRepository.save(iteration.toBuilder()
+                            .id(existing.map(IterationEntity::getId).orElse(null))
+                            .project(project)
+                            .createdAt(existing.map(IterationEntity::getCreatedAt).orElse(now))
+                            .updatedAt(now)
+                            .build());
+                    upserted.add(new UpsertedIteration(iteration.getUuid(), existing.isEmpty()));
+                }
+                return upserted;
+            }
+        };
+    }
+}
@@ -0,0 +1,329 @@
+package com.ybritto.teamtempo.backend.features.iteration.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationUpsertTestConfiguration;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.project.service.ProjectService;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.CapacityUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.DurationUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ForecastUnitEnum;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.entity.ProjectConfigurationEntity;
+import com.ybritto.teamtempo.backend.features.projectConfiguration.repository.ProjectConfigurationRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamService;
+import com.ybritto.teamtempo.backend.gen.model.IterationDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationGenerationDto;
+import com.ybritto.teamtempo.backend.gen.model.IterationGenerationRequestDto;
+import com.ybritto.teamtempo.backend.gen.model.ProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest(properties = "app.iterations.max-batch-size=3")
+@Import(IterationUpsertTestConfiguration.class)
+@ActiveProfiles("test")
+@DisplayName("IterationService Integration Tests")
+class IterationServiceIT {
+
+    private static final LocalDate START_DATE = LocalDate.now().plusDays(7);
+
+    @Autowired
+    private IterationService iterationService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectConfigurationRepository projectConfigurationRepository;
+
+    @Autowired
+    private IterationRepository iterationRepository;
+
+    private UserEntity user;
+    private ProjectEntity project;
+    private ProjectEntity otherProject;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(UserEntity.builder()
+                .name("Iteration User")
+                .email("iteration-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        project = createProject("Iteration Project", START_DATE);
+        otherProject = createProject("Other Project", START_DATE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        List<TeamEntity> teams = teamRepository.findByUser(user);
+        List<ProjectEntity> projects = teams.isEmpty() ? List.of() : projectRepository.findAllByTeamIn(teams);
+        if (!projects.isEmpty()) {
+            iterationRepository.deleteAll(iterationRepository.findAllByProjectIn(projects));
+            projectConfigurationRepository.deleteAll(projectConfigurationRepository.findAllByProjectIn(projects));
+        }
+        projectRepository.deleteAll(projects);
+        teams.forEach(team -> teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(team)));
+        teamRepository.deleteAll(teams);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should create and update the iterations of a batch in request order")
+    void shouldUpsertBatchInRequestOrder() {
+        // Given
+        IterationEntity existing = saveIteration(project, "Existing");
+        IterationDto update = iteration("Renamed").uuid(existing.getUuid().toString());
+
+        // When
+        List<IterationDto> saved = iterationService.upsertIterations(project.getUuid().toString(),
+                List.of(iteration("Created"), update));
+
+        // Then
+        assertAll(
+                () -> assertThat(saved).extracting(IterationDto::getName).containsExactly("Created", "Renamed"),
+                () -> assertThat(saved.getFirst().getUuid()).isNotNull(),
+                () -> assertThat(iterationRepository.findAllByProject(project)).hasSize(2),
+                () -> assertThat(iterationRepository.findByUuid(existing.getUuid()))
+                        .get().extracting(IterationEntity::getName).isEqualTo("Renamed")
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a batch larger than the configured limit")
+    void shouldRejectBatchOverLimit() {
+        // Given
+        List<IterationDto> batch = List.of(iteration("1"), iteration("2"), iteration("3"), iteration("4"));
+
+        // When / Then
+        assertThatThrownBy(() -> iterationService.upsertIterations(project.getUuid().toString(), batch))
+                .isInstanceOf(InvalidParameterException.class)
+                .hasMessageContaining("At most 3");
+        assertThat(iterationRepository.findAllByProject(project)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a batch with the same uuid twice")
+    void shouldRejectDuplicateUuids() {
+        // Given
+        String uuid = UUID.randomUUID().toString();
+        List<IterationDto> batch = List.of(iteration("First").uuid(uuid), iteration("Second").uuid(uuid));
+
+        // When / Then
+        assertThatThrownBy(() -> iterationService.upsertIterations(project.getUuid().toString(), batch))
+                .isInstanceOf(InvalidParameterException.class)
+                .hasMessageContaining("more than once");
+        assertThat(iterationRepository.findAllByProject(project)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when an iteration belongs to another project")
+    void shouldRejectIterationOfAnotherProject() {
+        // Given
+        IterationEntity foreign = saveIteration(otherProject, "Foreign");
+        List<IterationDto> batch = List.of(iteration("Created"),
+                iteration("Taken over").uuid(foreign.getUuid().toString()));
+
+        // When / Then
+        assertThatThrownBy(() -> iterationService.upsertIterations(project.getUuid().toString(), batch))
+                .isInstanceOf(InvalidParameterException.class)
+                .hasMessageContaining("another project");
+        assertAll(
+                () -> assertThat(iterationRepository.findAllByProject(project)).isEmpty(),
+                () -> assertThat(iterationRepository.findByUuid(foreign.getUuid()))
+                        .get().extracting(IterationEntity::getName).isEqualTo("Foreign")
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject the creation of an iteration with the uuid of an existing one")
+    void shouldRejectCreationWithExistingUuid() {
+        // Given
+        IterationEntity foreign = saveIteration(otherProject, "Foreign");
+        IterationDto duplicate = iteration("Duplicate").uuid(foreign.getUuid().toString());
+
+        // When / Then
+        assertThatThrownBy(() -> iterationService.createIteration(project.getUuid().toString(), duplicate))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("same uuid");
+        assertAll(
+                () -> assertThat(iterationRepository.findAllByProject(project)).isEmpty(),
+                () -> assertThat(iterationRepository.findByUuid(foreign.getUuid()))
+                        .get().extracting(IterationEntity::getName).isEqualTo("Foreign")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep started and matching iterations, move shifted ones and delete the surplus")
+    void shouldRegenerateAgainstExistingIterations() {
+        // Given
+        LocalDate projectStart = LocalDate.now().minusWeeks(4);
+        ProjectEntity generated = createGeneratedProject(projectStart);
+        IterationEntity started = iterationRepository.findAllByProject(generated).getFirst();
+        IterationEntity matching = savePendingIteration(generated, "Matching", projectStart.plusWeeks(6));
+        IterationEntity shifted = savePendingIteration(generated, "Shifted", projectStart.plusWeeks(8).plusDays(4));
+        IterationEntity surplus = savePendingIteration(generated, "Surplus", projectStart.plusWeeks(12));
+
+        // When
+        IterationGenerationDto generation = iterationService.generateIterations(generated.getUuid().toString(),
+                new IterationGenerationRequestDto().count(2));
+
+        // Then
+        IterationEntity moved = iterationRepository.findByUuid(shifted.getUuid()).orElseThrow();
+        IterationEntity startedAfter = iterationRepository.findByUuid(started.getUuid()).orElseThrow();
+        assertAll(
+                () -> assertThat(generation.getCreated()).isZero(),
+                () -> assertThat(generation.getUpdated()).isEqualTo(1),
+                () -> assertThat(generation.getUnchanged()).isEqualTo(1),
+                () -> assertThat(generation.getDeleted()).isEqualTo(1),
+                () -> assertThat(generation.getIterations()).extracting(IterationDto::getUuid)
+                        .containsExactly(matching.getUuid().toString(), shifted.getUuid().toString()),
+                () -> assertThat(moved.getName()).isEqualTo("Shifted"),
+                () -> assertThat(moved.getPlanned().getStartDate()).isEqualTo(projectStart.plusWeeks(8)),
+                () -> assertThat(moved.getPlanned().getEndDate()).isEqualTo(projectStart.plusWeeks(10).minusDays(1)),
+                () -> assertThat(moved.getPlanned().getCapacity()).isEqualTo(20),
+                () -> assertThat(iterationRepository.findByUuid(surplus.getUuid())).isEmpty(),
+                () -> assertThat(startedAfter.getPlanned().getStartDate()).isEqualTo(projectStart),
+                () -> assertThat(startedAfter.getPlanned().getEndDate()).isEqualTo(projectStart.plusDays(13)),
+                () -> assertThat(startedAfter.getActual().getCapacity()).isEqualTo(18)
+        );
+    }
+
+    @Test
+    @DisplayName("Should create the iterations missing from the calendar after the pending ones")
+    void shouldCreateMissingIterations() {
+        // Given
+        LocalDate projectStart = LocalDate.now().minusWeeks(4);
+        ProjectEntity generated = createGeneratedProject(projectStart);
+        savePendingIteration(generated, "Matching", projectStart.plusWeeks(6));
+
+        // When
+        IterationGenerationDto generation = iterationService.generateIterations(generated.getUuid().toString(),
+                new IterationGenerationRequestDto().count(3).namePrefix("Sprint").plannedCapacity(25));
+
+        // Then
+        assertAll(
+                () -> assertThat(generation.getCreated()).isEqualTo(2),
+                () -> assertThat(generation.getUnchanged()).isEqualTo(1),
+                () -> assertThat(generation.getIterations()).extracting(IterationDto::getName)
+                        .containsExactly("Matching", "Sprint 3", "Sprint 4"),
+                () -> assertThat(generation.getIterations()).extracting(IterationDto::getPlannedStartDate)
+                        .containsExactly(projectStart.plusWeeks(6), projectStart.plusWeeks(8), projectStart.plusWeeks(10)),
+                () -> assertThat(generation.getIterations().get(1).getPlannedCapacity()).isEqualTo(25),
+                () -> assertThat(iterationRepository.findAllByProject(generated)).hasSize(4)
+        );
+    }
+
+    private ProjectEntity createProject(String name, LocalDate startDate) {
+        TeamDto team = teamService.createTeam(new TeamDto()
+                .name(name + " Team")
+                .description("Iteration test team")
+                .startDate(startDate));
+        ProjectDto created = projectService.createProjectForTeam(team.getUuid(), new ProjectDto()
+                .name(name)
+                .description("Iteration test project")
+                .startDate(startDate));
+        return projectRepository.findByUuid(UUID.fromString(created.getUuid())).orElseThrow();
+    }
+
+    /**
+     * A project of two-week iterations that started four weeks ago, whose first iteration is finished. The calendar
+     * resumes with the iteration starting six weeks after the project start.
+     */
+    private ProjectEntity createGeneratedProject(LocalDate projectStart) {
+        ProjectEntity generated = createProject("Generated Project", projectStart);
+        projectConfigurationRepository.save(ProjectConfigurationEntity.builder()
+                .iterationDuration(2)
+                .iterationDurationUnit(DurationUnitEnum.WEEKS)
+                .capacityUnit(CapacityUnitEnum.STORY_POINTS)
+                .forecastUnit(ForecastUnitEnum.MAN_DAYS)
+                .active(true)
+                .project(generated)
+                .build());
+        IterationMetrics actual = metrics(projectStart, projectStart.plusDays(13), 18);
+        iterationRepository.save(IterationEntity.builder()
+                .name("Iteration 1")
+                .project(generated)
+                .planned(metrics(projectStart, projectStart.plusDays(13), 20))
+                .actual(actual)
+                .build());
+        return generated;
+    }
+
+    private IterationEntity savePendingIteration(ProjectEntity owner, String name, LocalDate startDate) {
+        return iterationRepository.save(IterationEntity.builder()
+                .name(name)
+                .project(owner)
+                .planned(metrics(startDate, startDate.plusDays(13), 20))
+                .actual(new IterationMetrics())
+                .build());
+    }
+
+    private static IterationMetrics metrics(LocalDate startDate, LocalDate endDate, Integer capacity) {
+        IterationMetrics metrics = new IterationMetrics();
+        metrics.setStartDate(startDate);
+        metrics.setEndDate(endDate);
+        metrics.setCapacity(capacity);
+        return metrics;
+    }
+
+    private IterationEntity saveIteration(ProjectEntity owner, String name) {
+        return iterationRepository.save(IterationEntity.builder()
+                .name(name)
+                .project(owner)
+                .build());
+    }
+
+    private static IterationDto iteration(String name) {
+        return new IterationDto()
+                .name(name)
+                .plannedStartDate(START_DATE)
+                .plannedEndDate(START_DATE.plusDays(13));
+    }
+}
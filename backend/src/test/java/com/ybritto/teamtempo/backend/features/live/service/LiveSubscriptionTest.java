@@ -0,0 +1,197 @@
+package com.ybritto.teamtempo.backend.features.live.service;
+
+import com.ybritto.teamtempo.backend.core.event.DataChangedEvent;
+import com.ybritto.teamtempo.backend.features.live.listener.DataChangeNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("LiveSubscription Unit Tests")
+class LiveSubscriptionTest {
+
+    private static final long USER_ID = 7L;
+    private static final Duration COALESCING_WINDOW = Duration.ofMillis(20);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofMinutes(1);
+
+    private final RecordingSink sink = new RecordingSink();
+
+    @Test
+    @DisplayName("Should send identical changes of a burst once")
+    void shouldCoalesceIdenticalChanges() throws InterruptedException {
+        // Given
+        LiveSubscription subscription = subscription(Set.of(1L), 10);
+        LiveChange change = iterationChange(UUID.randomUUID());
+        LiveChange otherChange = iterationChange(UUID.randomUUID());
+
+        // When
+        boolean accepted = subscription.offer(change) & subscription.offer(change) & subscription.offer(otherChange);
+        subscription.start(() -> {
+        });
+
+        // Then
+        List<String> sent = sink.take(2);
+        assertAll(
+                () -> assertThat(accepted).isTrue(),
+                () -> assertThat(sent).containsExactly("change:" + change.projectUuid(), "change:" + otherChange.projectUuid()),
+                () -> assertThat(sink.poll()).isNull()
+        );
+        subscription.close();
+    }
+
+    @Test
+    @DisplayName("Should drop the changes of a client falling behind and ask it to resync")
+    void shouldResyncWhenFallingBehind() throws InterruptedException {
+        // Given
+        LiveSubscription subscription = subscription(Set.of(1L), 2);
+
+        // When
+        boolean first = subscription.offer(iterationChange(UUID.randomUUID()));
+        boolean second = subscription.offer(iterationChange(UUID.randomUUID()));
+        boolean third = subscription.offer(iterationChange(UUID.randomUUID()));
+        boolean fourth = subscription.offer(iterationChange(UUID.randomUUID()));
+        subscription.start(() -> {
+        });
+
+        // Then
+        List<String> sent = sink.take(1);
+        assertAll(
+                () -> assertThat(first).isTrue(),
+                () -> assertThat(second).isTrue(),
+                () -> assertThat(third).isFalse(),
+                () -> assertThat(fourth).isFalse(),
+                () -> assertThat(sent).containsExactly("resync"),
+                () -> assertThat(sink.poll()).isNull()
+        );
+        subscription.close();
+    }
+
+    @Test
+    @DisplayName("Should only see changes of the teams of the user and of its own memberships")
+    void shouldFilterByTeamsAndUser() {
+        // Given
+        LiveSubscription subscription = subscription(Set.of(1L), 10);
+
+        // When & Then
+        assertAll(
+                () -> assertThat(subscription.canSee(notification(DataChangedEvent.EntityType.PROJECT, 1L, null))).isTrue(),
+                () -> assertThat(subscription.canSee(notification(DataChangedEvent.EntityType.PROJECT, 2L, null))).isFalse(),
+                () -> assertThat(subscription.canSee(notification(DataChangedEvent.EntityType.TEAM_MEMBER, 2L, USER_ID))).isTrue(),
+                () -> assertThat(subscription.canSee(notification(DataChangedEvent.EntityType.TEAM_MEMBER, 2L, 8L))).isFalse()
+        );
+    }
+
+    @Test
+    @DisplayName("Should reload the teams of the user after a membership change")
+    void shouldReloadTeamsAfterMembershipChange() throws InterruptedException {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        LiveSubscription subscription = new LiveSubscription(USER_ID, 0,
+                () -> loads.incrementAndGet() == 1 ? Set.of(1L) : Set.of(1L, 2L),
+                sink, 10, COALESCING_WINDOW, HEARTBEAT_INTERVAL);
+        boolean seenBefore = subscription.canSee(notification(DataChangedEvent.EntityType.PROJECT, 2L, null));
+
+        // When
+        subscription.offer(new LiveChange(DataChangedEvent.EntityType.TEAM_MEMBER, UUID.randomUUID(), null));
+        subscription.start(() -> {
+        });
+        sink.take(1);
+
+        // Then
+        assertAll(
+                () -> assertThat(seenBefore).isFalse(),
+                () -> assertThat(loads).hasValue(2),
+                () -> assertThat(subscription.canSee(notification(DataChangedEvent.EntityType.PROJECT, 2L, null))).isTrue()
+        );
+        subscription.close();
+    }
+
+    @Test
+    @DisplayName("Should close the subscription when sending fails")
+    void shouldCloseWhenSendingFails() throws InterruptedException {
+        // Given
+        sink.failing = true;
+        LiveSubscription subscription = subscription(Set.of(1L), 10);
+        CountDownLatch closed = new CountDownLatch(1);
+
+        // When
+        subscription.offer(iterationChange(UUID.randomUUID()));
+        subscription.start(closed::countDown);
+
+        // Then
+        assertAll(
+                () -> assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue(),
+                () -> assertThat(sink.take(1)).containsExactly("close")
+        );
+    }
+
+    private LiveSubscription subscription(Set<Long> teamIds, int maxPending) {
+        return new LiveSubscription(USER_ID, 0, () -> teamIds, sink, maxPending, COALESCING_WINDOW, HEARTBEAT_INTERVAL);
+    }
+
+    private static LiveChange iterationChange(UUID projectUuid) {
+        return new LiveChange(DataChangedEvent.EntityType.ITERATION, UUID.randomUUID(), projectUuid);
+    }
+
+    private static DataChangeNotification notification(DataChangedEvent.EntityType entity, Long teamId, Long userId) {
+        return new DataChangeNotification(entity, teamId, UUID.randomUUID(), null, userId);
+    }
+
+    private static class RecordingSink implements LiveSubscription.Sink {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private volatile boolean failing;
+
+        @Override
+        public void send(LiveChange change) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add("change:" + change.projectUuid());
+        }
+
+        @Override
+        public void resync() {
+            sent.add("resync");
+        }
+
+        @Override
+        public void heartbeat() {
+            sent.add("heartbeat");
+        }
+
+        @Override
+        public void close() {
+            sent.add("close");
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String event = sent.poll(5, TimeUnit.SECONDS);
+                if (event == null) {
+                    break;
+                }
+                taken.add(event);
+            }
+            return taken;
+        }
+
+        String poll() throws InterruptedException {
+            return sent.poll(COALESCING_WINDOW.multipliedBy(5).toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
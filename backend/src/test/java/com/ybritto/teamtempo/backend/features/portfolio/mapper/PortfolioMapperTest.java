@@ -0,0 +1,74 @@
+package com.ybritto.teamtempo.backend.features.portfolio.mapper;
+
+import com.ybritto.teamtempo.backend.features.portfolio.repository.PortfolioRollupRow;
+import com.ybritto.teamtempo.backend.gen.model.PortfolioRollupDto;
+import com.ybritto.teamtempo.backend.gen.model.PortfolioRollupRowDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("PortfolioMapper Unit Tests")
+class PortfolioMapperTest {
+
+    private PortfolioMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = Mappers.getMapper(PortfolioMapper.class);
+    }
+
+    @Test
+    @DisplayName("Should map a team row to PortfolioRollupRowDto")
+    void shouldMapTeamRowToDto() {
+        // Given
+        UUID teamUuid = UUID.randomUUID();
+        PortfolioRollupRow row = new PortfolioRollupRow(teamUuid, "Team Alpha", null,
+                4, 160L, 120L, 3, 110L, 95L, 2);
+
+        // When
+        PortfolioRollupRowDto result = mapper.mapToDto(row);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getTeamUuid()).isEqualTo(teamUuid.toString()),
+                () -> assertThat(result.getTeamName()).isEqualTo("Team Alpha"),
+                () -> assertThat(result.getMonth()).isNull(),
+                () -> assertThat(result.getPlannedIterations()).isEqualTo(4),
+                () -> assertThat(result.getPlannedCapacity()).isEqualTo(160L),
+                () -> assertThat(result.getPlannedForecast()).isEqualTo(120L),
+                () -> assertThat(result.getActualIterations()).isEqualTo(3),
+                () -> assertThat(result.getActualCapacity()).isEqualTo(110L),
+                () -> assertThat(result.getActualForecast()).isEqualTo(95L),
+                () -> assertThat(result.getActiveProjects()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should map month rows into a PortfolioRollupDto")
+    void shouldMapMonthRowsToRollupDto() {
+        // Given
+        List<PortfolioRollupRow> rows = List.of(
+                new PortfolioRollupRow(null, null, LocalDate.of(2024, 1, 1), 2, 80L, 60L, 2, 75L, 58L, 1),
+                new PortfolioRollupRow(null, null, LocalDate.of(2024, 2, 1), 2, 80L, 60L, 0, 0L, 0L, 1));
+
+        // When
+        PortfolioRollupDto result = mapper.mapToRollupDto("month", rows);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getGroupBy()).isEqualTo("month"),
+                () -> assertThat(result.getRows()).extracting(PortfolioRollupRowDto::getMonth)
+                        .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)),
+                () -> assertThat(result.getRows()).extracting(PortfolioRollupRowDto::getTeamUuid)
+                        .containsOnlyNulls()
+        );
+    }
+}
@@ -0,0 +1,287 @@
+package com.ybritto.teamtempo.backend.features.portfolio.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks the buckets the statement triggers keep in {@code project_month_rollup}, their rebuild and the rollups
+ * read from them. H2 runs no PL/pgSQL triggers, so these tests are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("PortfolioRollupRepository Integration Tests")
+class PortfolioRollupRepositoryIT {
+
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2025, 2, 1);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static PortfolioRollupRepository portfolioRollupRepository;
+
+    private long userId;
+    private long projectId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        portfolioRollupRepository = new PortfolioRollupRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO app_user (name, email, password) VALUES ('Rollup user', ?, 'password123')
+                RETURNING key_id
+                """, Long.class, "rollup-" + UUID.randomUUID() + "@example.com");
+        projectId = insertProject(insertTeam("Rollup Team"), true);
+    }
+
+    @Test
+    @DisplayName("Should add inserted iterations to the buckets of their end months")
+    void shouldAddInsertedIterations() {
+        // When
+        insertIteration(projectId, JANUARY.plusDays(13), 10, 8, JANUARY.plusDays(13), 6, 4);
+        insertIteration(projectId, JANUARY.plusDays(27), 12, 9, FEBRUARY.plusDays(2), 11, null);
+
+        // Then
+        Map<String, Object> january = bucketOf(projectId, JANUARY);
+        Map<String, Object> february = bucketOf(projectId, FEBRUARY);
+        assertAll(
+                () -> assertThat(january.get("planned_iterations")).isEqualTo(2),
+                () -> assertThat(january.get("planned_capacity")).isEqualTo(22L),
+                () -> assertThat(january.get("planned_forecast")).isEqualTo(17L),
+                () -> assertThat(january.get("actual_iterations")).isEqualTo(1),
+                () -> assertThat(february.get("planned_iterations")).isEqualTo(0),
+                () -> assertThat(february.get("actual_iterations")).isEqualTo(1),
+                () -> assertThat(february.get("actual_capacity")).isEqualTo(11L),
+                () -> assertThat(february.get("actual_forecast")).isEqualTo(0L),
+                () -> assertThat(portfolioRollupRepository.rebuild(projectId)).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("Should move the figures of an iteration rescheduled to another month and drop emptied buckets")
+    void shouldMoveUpdatedIterations() {
+        // Given
+        UUID moved = insertIteration(projectId, JANUARY.plusDays(13), 10, 8, null, null, null);
+        insertIteration(projectId, FEBRUARY.plusDays(13), 5, 5, null, null, null);
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET planned_end_date = ?, planned_capacity = 7 WHERE uuid = ?",
+                FEBRUARY.plusDays(20), moved);
+
+        // Then
+        assertAll(
+                () -> assertThat(bucketCount(projectId, JANUARY)).isZero(),
+                () -> assertThat(bucketOf(projectId, FEBRUARY).get("planned_iterations")).isEqualTo(2),
+                () -> assertThat(bucketOf(projectId, FEBRUARY).get("planned_capacity")).isEqualTo(12L),
+                () -> assertThat(portfolioRollupRepository.rebuild(projectId)).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop the bucket of the last deleted iteration of a month")
+    void shouldDropBucketOfDeletedIterations() {
+        // Given
+        UUID deleted = insertIteration(projectId, JANUARY.plusDays(13), 10, 8, JANUARY.plusDays(13), 9, 7);
+
+        // When
+        jdbcTemplate.update("DELETE FROM iteration WHERE uuid = ?", deleted);
+
+        // Then
+        assertThat(bucketCount(projectId, JANUARY)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild drifted, missing and stale buckets of a project only")
+    void shouldRebuildDriftedBuckets() {
+        // Given
+        long otherProjectId = insertProject(insertTeam("Other Rollup Team"), true);
+        insertIteration(projectId, JANUARY.plusDays(13), 10, 8, null, null, null);
+        insertIteration(projectId, FEBRUARY.plusDays(13), 5, 5, null, null, null);
+        insertIteration(otherProjectId, JANUARY.plusDays(13), 3, 3, null, null, null);
+        jdbcTemplate.update("UPDATE project_month_rollup SET planned_capacity = 99 WHERE project_key_id IN (?, ?)",
+                projectId, otherProjectId);
+        jdbcTemplate.update("DELETE FROM project_month_rollup WHERE project_key_id = ? AND month = ?",
+                projectId, FEBRUARY);
+        jdbcTemplate.update("INSERT INTO project_month_rollup (project_key_id, month, planned_iterations) "
+                + "VALUES (?, ?, 1)", projectId, JANUARY.plusMonths(5));
+
+        // When
+        int corrected = portfolioRollupRepository.rebuild(projectId);
+
+        // Then
+        assertAll(
+                () -> assertThat(corrected).isEqualTo(3),
+                () -> assertThat(bucketOf(projectId, JANUARY).get("planned_capacity")).isEqualTo(10L),
+                () -> assertThat(bucketOf(projectId, FEBRUARY).get("planned_capacity")).isEqualTo(5L),
+                () -> assertThat(bucketCount(projectId, JANUARY.plusMonths(5))).isZero(),
+                () -> assertThat(bucketOf(otherProjectId, JANUARY).get("planned_capacity")).isEqualTo(99L)
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the buckets of the iterations of detached partitions when rebuilding")
+    void shouldKeepBucketsOfDetachedPartitions() {
+        // Given
+        LocalDate oldMonth = LocalDate.of(2001, 3, 1);
+        jdbcTemplate.queryForObject("SELECT create_iteration_partitions(?, ?)", Integer.class, oldMonth, oldMonth);
+        insertIteration(projectId, oldMonth, oldMonth.plusDays(13), 10, 8, oldMonth.plusDays(13), 9, 7);
+        jdbcTemplate.queryForObject("SELECT detach_iteration_partitions(?)", Integer.class, oldMonth.plusMonths(1));
+
+        // When
+        int corrected = portfolioRollupRepository.rebuild(projectId);
+
+        // Then
+        assertAll(
+                () -> assertThat(corrected).isZero(),
+                () -> assertThat(bucketOf(projectId, oldMonth).get("planned_capacity")).isEqualTo(10L),
+                () -> assertThat(bucketOf(projectId, oldMonth).get("actual_capacity")).isEqualTo(9L)
+        );
+    }
+
+    @Test
+    @DisplayName("Should sum the buckets of the teams of the user per team, with teams without projects")
+    void shouldRollupByTeam() {
+        // Given
+        long idleProjectId = insertProject(insertTeam("Alpha Team"), false);
+        insertTeam("Beta Team");
+        insertIteration(idleProjectId, JANUARY.plusDays(13), 10, 8, JANUARY.plusDays(13), 9, 7);
+        insertIteration(idleProjectId, FEBRUARY.plusDays(13), 5, 4, null, null, null);
+        insertIteration(projectId, JANUARY.plusDays(13), 100, 100, null, null, null);
+        long foreignTeam = insertTeam(insertOtherUser(), "Foreign Team");
+        insertIteration(insertProject(foreignTeam, true), JANUARY.plusDays(13), 1000, 1000, null, null, null);
+
+        // When
+        List<PortfolioRollupRow> rows = portfolioRollupRepository.findByTeam(userId, FEBRUARY, null);
+
+        // Then
+        assertAll(
+                () -> assertThat(rows).extracting(PortfolioRollupRow::teamName)
+                        .containsExactly("Alpha Team", "Beta Team", "Rollup Team"),
+                () -> assertThat(rows.get(0).plannedIterations()).isEqualTo(1),
+                () -> assertThat(rows.get(0).plannedCapacity()).isEqualTo(5),
+                () -> assertThat(rows.get(0).actualIterations()).isZero(),
+                () -> assertThat(rows.get(0).activeProjects()).isZero(),
+                () -> assertThat(rows.get(1).plannedCapacity()).isZero(),
+                () -> assertThat(rows.get(2).plannedCapacity()).isZero(),
+                () -> assertThat(rows.get(2).activeProjects()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("Should sum the buckets of the teams of the user per month")
+    void shouldRollupByMonth() {
+        // Given
+        long otherProjectId = insertProject(insertTeam("Alpha Team"), true);
+        insertIteration(projectId, JANUARY.plusDays(13), 10, 8, JANUARY.plusDays(13), 9, 7);
+        insertIteration(otherProjectId, JANUARY.plusDays(20), 5, 4, FEBRUARY.plusDays(1), 6, 6);
+        long foreignTeam = insertTeam(insertOtherUser(), "Foreign Team");
+        insertIteration(insertProject(foreignTeam, true), JANUARY.plusDays(13), 1000, 1000, null, null, null);
+
+        // When
+        List<PortfolioRollupRow> rows = portfolioRollupRepository.findByMonth(userId, null, FEBRUARY);
+
+        // Then
+        assertAll(
+                () -> assertThat(rows).extracting(PortfolioRollupRow::month).containsExactly(JANUARY, FEBRUARY),
+                () -> assertThat(rows.get(0).plannedIterations()).isEqualTo(2),
+                () -> assertThat(rows.get(0).plannedCapacity()).isEqualTo(15),
+                () -> assertThat(rows.get(0).actualCapacity()).isEqualTo(9),
+                () -> assertThat(rows.get(0).activeProjects()).isEqualTo(2),
+                () -> assertThat(rows.get(1).plannedIterations()).isZero(),
+                () -> assertThat(rows.get(1).actualForecast()).isEqualTo(6)
+        );
+    }
+
+    private long insertTeam(String name) {
+        return insertTeam(userId, name);
+    }
+
+    private static long insertTeam(long ownerId, String name) {
+        long teamId = jdbcTemplate.queryForObject("""
+                INSERT INTO team (uuid, name, description, start_date, app_user_id)
+                VALUES (?, ?, 'Rollup test team', ?, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), name, JANUARY, ownerId);
+        jdbcTemplate.update("INSERT INTO team_member (team_id, app_user_id, role) VALUES (?, ?, 'OWNER')",
+                teamId, ownerId);
+        return teamId;
+    }
+
+    private static long insertOtherUser() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO app_user (name, email, password) VALUES ('Other rollup user', ?, 'password123')
+                RETURNING key_id
+                """, Long.class, "rollup-other-" + UUID.randomUUID() + "@example.com");
+    }
+
+    private static long insertProject(long teamId, boolean active) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO project (uuid, name, description, start_date, is_active, team_id)
+                VALUES (?, 'Rollup test', 'Rollup test project', ?, ?, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), JANUARY, active, teamId);
+    }
+
+    private static UUID insertIteration(long project, LocalDate plannedEndDate, int plannedCapacity,
+                                        int plannedForecast, LocalDate actualEndDate, Integer actualCapacity,
+                                        Integer actualForecast) {
+        return insertIteration(project, plannedEndDate.minusDays(13), plannedEndDate, plannedCapacity,
+                plannedForecast, actualEndDate, actualCapacity, actualForecast);
+    }
+
+    private static UUID insertIteration(long project, LocalDate plannedStartDate, LocalDate plannedEndDate,
+                                        int plannedCapacity, int plannedForecast, LocalDate actualEndDate,
+                                        Integer actualCapacity, Integer actualForecast) {
+        UUID uuid = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO iteration (uuid, name, project_key_id, planned_start_date, planned_end_date,
+                                       planned_capacity, planned_forecast, actual_end_date, actual_capacity,
+                                       actual_forecast)
+                VALUES (?, 'Rollup test', ?, ?, ?, ?, ?, ?, ?, ?)
+                """, uuid, project, plannedStartDate, plannedEndDate, plannedCapacity, plannedForecast,
+                actualEndDate, actualCapacity, actualForecast);
+        return uuid;
+    }
+
+    private static Map<String, Object> bucketOf(long project, LocalDate month) {
+        return jdbcTemplate.queryForMap("""
+                SELECT planned_iterations, planned_capacity, planned_forecast,
+                       actual_iterations, actual_capacity, actual_forecast
+                FROM project_month_rollup
+                WHERE project_key_id = ? AND month = ?
+                """, project, month);
+    }
+
+    private static int bucketCount(long project, LocalDate month) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM project_month_rollup WHERE project_key_id = ? AND month = ?",
+                Integer.class, project, month);
+    }
+}
@@ -0,0 +1,174 @@
+package com.ybritto.teamtempo.backend.features.scenario.engine;
+
+import com.ybritto.teamtempo.backend.features.forecast.engine.SimulationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("PlanSnapshot Unit Tests")
+class PlanSnapshotTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 6);
+
+    private final ScenarioProject alpha = project("Alpha", finished(0, 10), planned(1, 12));
+    private final ScenarioProject beta = project("Beta", finished(0, 8));
+
+    @Test
+    @DisplayName("Should share the unedited projects with the snapshot it was derived from")
+    void shouldShareUneditedProjects() {
+        // Given
+        PlanSnapshot base = PlanSnapshot.of(List.of(alpha, beta));
+
+        // When
+        PlanSnapshot edited = base.with(alpha.dropped());
+
+        // Then
+        assertAll(
+                () -> assertThat(edited.projects()).hasSize(2),
+                () -> assertThat(edited.projects().get(0).active()).isFalse(),
+                () -> assertThat(edited.projects().get(1)).isSameAs(beta),
+                () -> assertThat(edited.isEdited(alpha.uuid())).isTrue(),
+                () -> assertThat(edited.editedProjects()).hasSize(1),
+                () -> assertThat(edited.baseProject(alpha.uuid())).containsSame(alpha),
+                () -> assertThat(base.project(alpha.uuid())).containsSame(alpha),
+                () -> assertThat(base.editedProjects()).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Should forget the edit of a project set back to its base")
+    void shouldRevertToBaseProject() {
+        // Given
+        PlanSnapshot edited = PlanSnapshot.of(List.of(alpha, beta)).with(beta.dropped());
+
+        // When
+        PlanSnapshot reverted = edited.with(beta);
+
+        // Then
+        assertAll(
+                () -> assertThat(reverted.isEdited(beta.uuid())).isFalse(),
+                () -> assertThat(reverted.editedProjects()).isEmpty(),
+                () -> assertThat(reverted.project(beta.uuid())).containsSame(beta)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a project that is not part of the plan")
+    void shouldRejectUnknownProject() {
+        // Given
+        PlanSnapshot base = PlanSnapshot.of(List.of(alpha));
+
+        // When / Then
+        assertThatThrownBy(() -> base.with(beta))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should replace, append and remove iterations while keeping the others")
+    void shouldEditIterations() {
+        // Given
+        ScenarioIteration finished = alpha.iterations().get(0);
+        ScenarioIteration updated = planned(1, 20);
+        ScenarioIteration replacement = new ScenarioIteration(alpha.iterations().get(1).uuid(), "Replaced",
+                updated.plannedStartDate(), updated.plannedEndDate(), 15, 15, null, null, null, null);
+        ScenarioIteration added = planned(2, 12);
+
+        // When
+        ScenarioProject replaced = alpha.withIteration(replacement);
+        ScenarioProject appended = replaced.withIteration(added);
+        ScenarioProject removed = appended.withoutIteration(replacement.uuid());
+
+        // Then
+        assertAll(
+                () -> assertThat(replaced.iterations()).containsExactly(finished, replacement),
+                () -> assertThat(appended.iterations()).containsExactly(finished, replacement, added),
+                () -> assertThat(removed.iterations()).containsExactly(finished, added),
+                () -> assertThat(removed.iterations().get(0)).isSameAs(finished),
+                () -> assertThat(alpha.iterations()).hasSize(2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should only reuse a project holding the same data")
+    void shouldCompareProjectData() {
+        // Given
+        ScenarioProject reloaded = new ScenarioProject(alpha.id(), alpha.uuid(), alpha.name(), true,
+                alpha.dataVersion(), List.of());
+        ScenarioProject changed = new ScenarioProject(alpha.id(), alpha.uuid(), alpha.name(), true,
+                alpha.dataVersion() + 1, List.of());
+
+        // When / Then
+        assertAll(
+                () -> assertThat(reloaded.sameAs(alpha)).isTrue(),
+                () -> assertThat(changed.sameAs(alpha)).isFalse(),
+                () -> assertThat(alpha.dropped().sameAs(alpha)).isFalse()
+        );
+    }
+
+    @Test
+    @DisplayName("Should not simulate a project without finished iterations")
+    void shouldNotSimulateWithoutSamples() {
+        // Given
+        ScenarioProject project = project("Gamma", planned(0, 10), planned(1, 10));
+
+        // When
+        ScenarioForecast forecast = ScenarioForecast.of(project, (samples, remainingWork, seed) -> {
+            throw new AssertionError("No simulation expected");
+        });
+
+        // Then
+        assertAll(
+                () -> assertThat(forecast.remainingIterations()).isEqualTo(2),
+                () -> assertThat(forecast.remainingWork()).isEqualTo(20),
+                () -> assertThat(forecast.plannedEndDate()).isEqualTo(START.plusWeeks(4).minusDays(1)),
+                () -> assertThat(forecast.iterationsP50()).isNull(),
+                () -> assertThat(forecast.fitsPlan()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Should simulate the remaining work from the finished iterations")
+    void shouldSimulateRemainingWork() {
+        // Given
+        int[] simulatedSamples = new int[1];
+
+        // When
+        ScenarioForecast forecast = ScenarioForecast.of(alpha, (samples, remainingWork, seed) -> {
+            simulatedSamples[0] = samples[0];
+            return new SimulationResult(10, 3, new int[]{0, 5, 5, 0, 0});
+        });
+
+        // Then
+        assertAll(
+                () -> assertThat(simulatedSamples[0]).isEqualTo(10),
+                () -> assertThat(forecast.remainingIterations()).isEqualTo(1),
+                () -> assertThat(forecast.remainingWork()).isEqualTo(12),
+                () -> assertThat(forecast.iterationsP50()).isEqualTo(1),
+                () -> assertThat(forecast.iterationsP85()).isEqualTo(2),
+                () -> assertThat(forecast.fitsPlan()).isFalse()
+        );
+    }
+
+    private static ScenarioProject project(String name, ScenarioIteration... iterations) {
+        return new ScenarioProject(name.hashCode(), UUID.randomUUID(), name, true, 3, List.of(iterations));
+    }
+
+    private static ScenarioIteration finished(int index, int forecast) {
+        LocalDate startDate = START.plusWeeks(2L * index);
+        return new ScenarioIteration(UUID.randomUUID(), "Iteration " + (index + 1), startDate, startDate.plusDays(13),
+                forecast, forecast, startDate, startDate.plusDays(13), forecast, forecast);
+    }
+
+    private static ScenarioIteration planned(int index, int forecast) {
+        LocalDate startDate = START.plusWeeks(2L * index);
+        return new ScenarioIteration(UUID.randomUUID(), "Iteration " + (index + 1), startDate, startDate.plusDays(13),
+                forecast, forecast, null, null, null, null);
+    }
+}
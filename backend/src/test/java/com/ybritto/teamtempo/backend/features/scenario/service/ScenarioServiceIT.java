@@ -0,0 +1,296 @@
+package com.ybritto.teamtempo.backend.features.scenario.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.authentication.repository.UserRepository;
+import com.ybritto.teamtempo.backend.core.exception.ConflictException;
+import com.ybritto.teamtempo.backend.core.exception.ForbiddenException;
+import com.ybritto.teamtempo.backend.core.exception.NotFoundException;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationEntity;
+import com.ybritto.teamtempo.backend.features.iteration.entity.IterationMetrics;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationRepository;
+import com.ybritto.teamtempo.backend.features.iteration.repository.IterationUpsertTestConfiguration;
+import com.ybritto.teamtempo.backend.features.project.entity.ProjectEntity;
+import com.ybritto.teamtempo.backend.features.project.repository.ProjectRepository;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamMemberRepository;
+import com.ybritto.teamtempo.backend.features.team.repository.TeamRepository;
+import com.ybritto.teamtempo.backend.features.team.service.TeamAccessService;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioEditDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioProjectDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioPromotionDto;
+import com.ybritto.teamtempo.backend.gen.model.ScenarioRequestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest
+@Import(IterationUpsertTestConfiguration.class)
+@ActiveProfiles("test")
+@DisplayName("ScenarioService Integration Tests")
+class ScenarioServiceIT {
+
+    private static final LocalDate NEXT_WEEK = LocalDate.now().plusWeeks(1);
+
+    @Autowired
+    private ScenarioService scenarioService;
+
+    @Autowired
+    private TeamAccessService teamAccessService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private IterationRepository iterationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity owner;
+    private UserEntity viewer;
+    private UserEntity editor;
+    private TeamEntity team;
+    private ProjectEntity alpha;
+    private ProjectEntity beta;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+        viewer = saveUser("viewer");
+        editor = saveUser("editor");
+        team = saveTeam(owner);
+        saveMember(viewer, TeamMemberRoleEnum.VIEWER);
+        saveMember(editor, TeamMemberRoleEnum.EDITOR);
+        alpha = saveProject("Alpha");
+        beta = saveProject("Beta");
+        saveIteration(alpha, NEXT_WEEK);
+        saveIteration(beta, NEXT_WEEK);
+        authenticate(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        List<TeamEntity> teams = teamRepository.findByUser(owner);
+        List<ProjectEntity> projects = projectRepository.findAllByTeamIn(teams);
+        iterationRepository.deleteAll(iterationRepository.findAllByProjectIn(projects));
+        projectRepository.deleteAll(projects);
+        teams.forEach(ownedTeam -> teamMemberRepository.deleteAll(teamMemberRepository.findAllByTeam(ownedTeam)));
+        teamRepository.deleteAll(teams);
+        userRepository.deleteAll(List.of(owner, viewer, editor));
+    }
+
+    @Test
+    @DisplayName("Should save the added iterations and deactivate the dropped projects on promotion")
+    void shouldPromoteEditsAndDeactivateDroppedProjects() {
+        // Given
+        String scenarioUuid = createScenario();
+        scenarioService.editScenario(scenarioUuid, List.of(addIteration(alpha), dropProject(beta)));
+
+        // When
+        ScenarioPromotionDto promotion = scenarioService.promoteScenario(scenarioUuid);
+
+        // Then
+        assertAll(
+                () -> assertThat(promotion.getProjectsDropped()).isEqualTo(1),
+                () -> assertThat(promotion.getIterationsSaved()).isEqualTo(1),
+                () -> assertThat(promotion.getIterationsDeleted()).isZero(),
+                () -> assertThat(iterationRepository.findAllByProject(alpha)).hasSize(2),
+                () -> assertThat(projectRepository.findByUuid(beta.getUuid()))
+                        .get().extracting(ProjectEntity::isActive).isEqualTo(false),
+                () -> assertThat(projectRepository.findByUuid(alpha.getUuid()))
+                        .get().extracting(ProjectEntity::isActive).isEqualTo(true),
+                () -> assertThatThrownBy(() -> scenarioService.getScenario(scenarioUuid))
+                        .isInstanceOf(NotFoundException.class)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject the promotion when a project changed since the scenario was created")
+    void shouldRejectPromotionOfChangedProject() {
+        // Given
+        String scenarioUuid = createScenario();
+        scenarioService.editScenario(scenarioUuid, List.of(addIteration(alpha), dropProject(beta)));
+        // H2 has no triggers, the data version is bumped as they would on a write of the project data
+        jdbcTemplate.update("UPDATE project SET data_version = data_version + 1 WHERE key_id = ?", alpha.getId());
+
+        // When / Then
+        assertThatThrownBy(() -> scenarioService.promoteScenario(scenarioUuid))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Alpha");
+        assertAll(
+                () -> assertThat(iterationRepository.findAllByProject(alpha)).hasSize(1),
+                () -> assertThat(projectRepository.findByUuid(beta.getUuid()))
+                        .get().extracting(ProjectEntity::isActive).isEqualTo(true),
+                () -> assertThat(scenarioService.getScenario(scenarioUuid).getChangedProjects()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should leave the plan unchanged when one of the edits fails")
+    void shouldKeepPlanWhenAnEditFails() {
+        // Given
+        String scenarioUuid = createScenario();
+        List<ScenarioEditDto> edits = List.of(addIteration(alpha), dropProject(beta),
+                new ScenarioEditDto()
+                        .type(ScenarioEditDto.TypeEnum.REMOVE_ITERATION)
+                        .projectUuid(alpha.getUuid().toString())
+                        .iterationUuid(UUID.randomUUID().toString()));
+
+        // When / Then
+        assertThatThrownBy(() -> scenarioService.editScenario(scenarioUuid, edits))
+                .isInstanceOf(NotFoundException.class);
+        ScenarioDto scenario = scenarioService.getScenario(scenarioUuid);
+        assertAll(
+                () -> assertThat(scenario.getChangedProjects()).isZero(),
+                () -> assertThat(scenario.getProjects()).extracting(ScenarioProjectDto::getActive)
+                        .containsExactly(true, true),
+                () -> assertThat(scenario.getProjects()).allSatisfy(project ->
+                        assertThat(project.getIterations()).hasSize(1))
+        );
+    }
+
+    @Test
+    @DisplayName("Should only let the creator of a scenario and the editors of the team edit or delete it")
+    void shouldRestrictChangesToCreatorAndEditors() {
+        // Given
+        String ownerScenario = createScenario();
+        authenticate(viewer);
+        String viewerScenario = createScenario();
+
+        // When / Then
+        assertAll(
+                () -> assertThatThrownBy(() -> scenarioService.editScenario(ownerScenario, List.of(dropProject(beta))))
+                        .isInstanceOf(ForbiddenException.class),
+                () -> assertThatThrownBy(() -> scenarioService.deleteScenario(ownerScenario))
+                        .isInstanceOf(ForbiddenException.class),
+                () -> assertThat(scenarioService.getScenario(ownerScenario).getChangedProjects()).isZero(),
+                () -> assertThat(scenarioService.editScenario(viewerScenario, List.of(dropProject(beta)))
+                        .getChangedProjects()).isEqualTo(1)
+        );
+
+        // Given
+        authenticate(editor);
+
+        // When
+        scenarioService.editScenario(ownerScenario, List.of(dropProject(beta)));
+        scenarioService.deleteScenario(viewerScenario);
+
+        // Then
+        assertAll(
+                () -> assertThat(scenarioService.getScenario(ownerScenario).getChangedProjects()).isEqualTo(1),
+                () -> assertThatThrownBy(() -> scenarioService.getScenario(viewerScenario))
+                        .isInstanceOf(NotFoundException.class)
+        );
+    }
+
+    private String createScenario() {
+        return scenarioService.createScenario(team.getUuid().toString(), new ScenarioRequestDto().name("What if"))
+                .getUuid();
+    }
+
+    private static ScenarioEditDto addIteration(ProjectEntity project) {
+        return new ScenarioEditDto()
+                .type(ScenarioEditDto.TypeEnum.ADD_ITERATION)
+                .projectUuid(project.getUuid().toString());
+    }
+
+    private static ScenarioEditDto dropProject(ProjectEntity project) {
+        return new ScenarioEditDto()
+                .type(ScenarioEditDto.TypeEnum.DROP_PROJECT)
+                .projectUuid(project.getUuid().toString());
+    }
+
+    private UserEntity saveUser(String name) {
+        return userRepository.save(UserEntity.builder()
+                .name("Scenario " + name)
+                .email("scenario-" + name + "-" + UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+    }
+
+    private TeamEntity saveTeam(UserEntity user) {
+        TeamEntity saved = teamRepository.save(TeamEntity.builder()
+                .name("Scenario Team")
+                .description("Scenario test team")
+                .startDate(LocalDate.now())
+                .user(user)
+                .build());
+        teamMemberRepository.save(TeamMemberEntity.builder()
+                .team(saved)
+                .user(user)
+                .role(TeamMemberRoleEnum.OWNER)
+                .build());
+        teamAccessService.onMembershipChanged(List.of(user.getId()));
+        return saved;
+    }
+
+    private void saveMember(UserEntity user, TeamMemberRoleEnum role) {
+        teamMemberRepository.save(TeamMemberEntity.builder()
+                .team(team)
+                .user(user)
+                .role(role)
+                .build());
+        teamAccessService.onMembershipChanged(List.of(user.getId()));
+    }
+
+    private ProjectEntity saveProject(String name) {
+        return projectRepository.save(ProjectEntity.builder()
+                .name(name)
+                .description("Scenario test project")
+                .startDate(LocalDate.now())
+                .active(true)
+                .team(team)
+                .build());
+    }
+
+    private void saveIteration(ProjectEntity project, LocalDate startDate) {
+        IterationMetrics planned = new IterationMetrics();
+        planned.setStartDate(startDate);
+        planned.setEndDate(startDate.plusDays(13));
+        planned.setCapacity(10);
+        planned.setForecast(8);
+        iterationRepository.save(IterationEntity.builder()
+                .name("Scenario iteration")
+                .project(project)
+                .planned(planned)
+                .actual(new IterationMetrics())
+                .build());
+    }
+
+    private static void authenticate(UserEntity user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ybritto.teamtempo.backend.features.search.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and searches teams and projects through the full-text and trigram indexes. H2 has neither, so these tests are
+ * skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("SearchRepository Integration Tests")
+class SearchRepositoryIT {
+
+    private static JdbcTemplate jdbcTemplate;
+    private static SearchRepository searchRepository;
+    private static long userId;
+    private static long otherUserId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        searchRepository = new SearchRepository(new NamedParameterJdbcTemplate(dataSource));
+
+        userId = insertUser("search-user@example.com");
+        otherUserId = insertUser("search-other@example.com");
+        long teamId = insertTeam(userId, "Zephyr Platform", "Runs the zephyr build farm");
+        insertProject(teamId, "Zephyr Migration", "Moves services to the new cluster");
+        insertProject(teamId, "Billing Revamp", "Rewrites invoices for zephyr customers");
+        insertTeam(otherUserId, "Zephyr Mobile", "Not visible to the first user");
+    }
+
+    @Test
+    @DisplayName("Should only find the teams and projects of the teams of the user, best ranked first")
+    void shouldFindVisibleMatches() {
+        // When
+        SearchPage page = searchRepository.findPage(userId, "zephyr", 0, 10);
+
+        // Then
+        assertAll(
+                () -> assertThat(page.totalElements()).isEqualTo(3),
+                () -> assertThat(page.hits()).extracting(SearchHit::name)
+                        .containsExactlyInAnyOrder("Zephyr Platform", "Zephyr Migration", "Billing Revamp"),
+                () -> assertThat(page.hits().getLast().name()).isEqualTo("Billing Revamp")
+        );
+    }
+
+    @Test
+    @DisplayName("Should match a part of a word")
+    void shouldMatchPartialWord() {
+        // When
+        SearchPage page = searchRepository.findPage(userId, "igrat", 0, 10);
+
+        // Then
+        assertThat(page.hits()).extracting(SearchHit::name).containsExactly("Zephyr Migration");
+    }
+
+    @Test
+    @DisplayName("Should report the total of all matches on every page, including past the last one")
+    void shouldReportTotalOnEveryPage() {
+        // When
+        SearchPage secondPage = searchRepository.findPage(userId, "zephyr", 2, 2);
+        SearchPage pastLastPage = searchRepository.findPage(userId, "zephyr", 10, 2);
+
+        // Then
+        assertAll(
+                () -> assertThat(secondPage.hits()).hasSize(1),
+                () -> assertThat(secondPage.totalElements()).isEqualTo(3),
+                () -> assertThat(pastLastPage.hits()).isEmpty(),
+                () -> assertThat(pastLastPage.totalElements()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    @DisplayName("Should read LIKE wildcards in the query as plain characters")
+    void shouldEscapeWildcards() {
+        // When
+        SearchPage page = searchRepository.findPage(userId, "%", 0, 10);
+
+        // Then
+        assertThat(page.totalElements()).isZero();
+    }
+
+    private static long insertUser(String email) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO app_user (name, email, password) VALUES ('Search user', ?, 'password123')
+                RETURNING key_id
+                """, Long.class, email);
+    }
+
+    private static long insertTeam(long ownerId, String name, String description) {
+        long teamId = jdbcTemplate.queryForObject("""
+                INSERT INTO team (uuid, name, description, start_date, app_user_id)
+                VALUES (?, ?, ?, CURRENT_DATE, ?)
+                RETURNING key_id
+                """, Long.class, UUID.randomUUID(), name, description, ownerId);
+        jdbcTemplate.update("INSERT INTO team_member (team_id, app_user_id, role) VALUES (?, ?, 'OWNER')",
+                teamId, ownerId);
+        return teamId;
+    }
+
+    private static void insertProject(long teamId, String name, String description) {
+        jdbcTemplate.update("""
+                INSERT INTO project (uuid, name, description, start_date, team_id)
+                VALUES (?, ?, ?, CURRENT_DATE, ?)
+                """, UUID.randomUUID(), name, description, teamId);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ybritto.teamtempo.backend.features.search.service;
+
+import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
+import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
+import com.ybritto.teamtempo.backend.core.exception.InvalidParameterException;
+import com.ybritto.teamtempo.backend.features.search.mapper.SearchMapper;
+import com.ybritto.teamtempo.backend.features.search.repository.SearchHit;
+import com.ybritto.teamtempo.backend.features.search.repository.SearchPage;
+import com.ybritto.teamtempo.backend.features.search.repository.SearchRepository;
+import com.ybritto.teamtempo.backend.gen.model.SearchResultPageDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("SearchService Unit Tests")
+class SearchServiceTest {
+
+    private RecordingSearchRepository searchRepository;
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchRepository = new RecordingSearchRepository();
+        searchService = new SearchService(searchRepository, Mappers.getMapper(SearchMapper.class));
+        UserEntity user = UserEntity.builder()
+                .id(7L)
+                .name("Search User")
+                .email("search@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should search the trimmed query at the offset of the page")
+    void shouldSearchPage() {
+        // Given
+        searchRepository.page = new SearchPage(List.of(new SearchHit(SearchHit.Type.TEAM, UUID.randomUUID(),
+                "Platform", "Platform team", UUID.randomUUID(), 1.5)), 21);
+
+        // When
+        SearchResultPageDto result = searchService.search("  platform ", 2, 10);
+
+        // Then
+        assertAll(
+                () -> assertThat(searchRepository.calls).containsExactly("7:platform:20:10"),
+                () -> assertThat(result.getItems()).hasSize(1),
+                () -> assertThat(result.getTotalElements()).isEqualTo(21),
+                () -> assertThat(result.getTotalPages()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    @DisplayName("Should use the first page of 20 results by default")
+    void shouldUseDefaultPagination() {
+        // When
+        SearchResultPageDto result = searchService.search("platform", null, null);
+
+        // Then
+        assertAll(
+                () -> assertThat(searchRepository.calls).containsExactly("7:platform:0:20"),
+                () -> assertThat(result.getItems()).isEmpty(),
+                () -> assertThat(result.getTotalPages()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject empty, too long and badly paginated queries")
+    void shouldRejectInvalidQueries() {
+        assertAll(
+                () -> assertThatThrownBy(() -> searchService.search(" ", 0, 10))
+                        .isInstanceOf(InvalidParameterException.class),
+                () -> assertThatThrownBy(() -> searchService.search("a".repeat(201), 0, 10))
+                        .isInstanceOf(InvalidParameterException.class),
+                () -> assertThatThrownBy(() -> searchService.search("platform", -1, 10))
+                        .isInstanceOf(InvalidParameterException.class),
+                () -> assertThatThrownBy(() -> searchService.search("platform", 0, 101))
+                        .isInstanceOf(InvalidParameterException.class),
+                () -> assertThat(searchRepository.calls).isEmpty()
+        );
+    }
+
+    private static class RecordingSearchRepository extends SearchRepository {
+
+        private final List<String> calls = new ArrayList<>();
+        private SearchPage page = new SearchPage(List.of(), 0);
+
+        RecordingSearchRepository() {
+            super(null);
+        }
+
+        @Override
+        public SearchPage findPage(Long userId, String term, long offset, int limit) {
+            calls.add(userId + ":" + term + ":" + offset + ":" + limit);
+            return page;
+        }
+    }
+}
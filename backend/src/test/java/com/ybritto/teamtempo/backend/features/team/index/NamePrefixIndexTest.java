@@ -0,0 +1,140 @@
+package com.ybritto.teamtempo.backend.features.team.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("NamePrefixIndex Unit Tests")
+class NamePrefixIndexTest {
+
+    private UUID teamUuid;
+    private NamePrefixIndex.Entry team;
+    private NamePrefixIndex.Entry webProject;
+    private NamePrefixIndex.Entry mobileProject;
+    private NamePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        teamUuid = UUID.randomUUID();
+        team = new NamePrefixIndex.Entry(NamePrefixIndex.Type.TEAM, teamUuid, "Development Team", teamUuid);
+        webProject = new NamePrefixIndex.Entry(NamePrefixIndex.Type.PROJECT, UUID.randomUUID(),
+                "Web Application Development", teamUuid);
+        mobileProject = new NamePrefixIndex.Entry(NamePrefixIndex.Type.PROJECT, UUID.randomUUID(),
+                "Mobile App Development", teamUuid);
+        index = NamePrefixIndex.of(List.of(team, webProject, mobileProject));
+    }
+
+    @Test
+    @DisplayName("Should match prefixes at the start of any word")
+    void shouldMatchPrefixesAtWordStarts() {
+        // When
+        List<NamePrefixIndex.Entry> appMatches = index.lookup("app", 10);
+        List<NamePrefixIndex.Entry> devMatches = index.lookup("dev", 10);
+
+        // Then
+        assertAll(
+                () -> assertThat(appMatches).containsExactlyInAnyOrder(webProject, mobileProject),
+                () -> assertThat(devMatches).containsExactlyInAnyOrder(team, webProject, mobileProject)
+        );
+    }
+
+    @Test
+    @DisplayName("Should ignore case, accents and surrounding whitespace")
+    void shouldNormalizePrefix() {
+        // When
+        List<NamePrefixIndex.Entry> matches = index.lookup("  MÓBILE ", 10);
+
+        // Then
+        assertThat(matches).containsExactly(mobileProject);
+    }
+
+    @Test
+    @DisplayName("Should not match text in the middle of a word")
+    void shouldNotMatchInsideWords() {
+        // When
+        List<NamePrefixIndex.Entry> matches = index.lookup("velop", 10);
+
+        // Then
+        assertThat(matches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should respect the limit and return each entry once")
+    void shouldRespectLimitAndDeduplicate() {
+        // Given
+        NamePrefixIndex.Entry repeated = new NamePrefixIndex.Entry(NamePrefixIndex.Type.PROJECT, UUID.randomUUID(),
+                "Test Test Test", teamUuid);
+        NamePrefixIndex indexWithRepeats = index.withEntry(repeated);
+
+        // When
+        List<NamePrefixIndex.Entry> limited = index.lookup("d", 2);
+        List<NamePrefixIndex.Entry> repeatedMatches = indexWithRepeats.lookup("test", 10);
+
+        // Then
+        assertAll(
+                () -> assertThat(limited).hasSize(2),
+                () -> assertThat(repeatedMatches).containsExactly(repeated)
+        );
+    }
+
+    @Test
+    @DisplayName("Should replace an entry when it is renamed")
+    void shouldReplaceRenamedEntry() {
+        // Given
+        NamePrefixIndex.Entry renamed = new NamePrefixIndex.Entry(NamePrefixIndex.Type.PROJECT, webProject.uuid(),
+                "Customer Portal", teamUuid);
+
+        // When
+        NamePrefixIndex updated = index.withEntry(renamed);
+
+        // Then
+        assertAll(
+                () -> assertThat(updated.lookup("web", 10)).isEmpty(),
+                () -> assertThat(updated.lookup("portal", 10)).containsExactly(renamed),
+                () -> assertThat(index.lookup("web", 10)).containsExactly(webProject)
+        );
+    }
+
+    @Test
+    @DisplayName("Should remove a team together with its projects")
+    void shouldRemoveTeamWithProjects() {
+        // When
+        NamePrefixIndex updated = index.withoutTeam(teamUuid);
+
+        // Then
+        assertAll(
+                () -> assertThat(updated.lookup("d", 10)).isEmpty(),
+                () -> assertThat(updated.containsTeam(teamUuid)).isFalse(),
+                () -> assertThat(updated.keyCount()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("Should remove a single project")
+    void shouldRemoveSingleProject() {
+        // When
+        NamePrefixIndex updated = index.withoutEntry(mobileProject.uuid());
+
+        // Then
+        assertAll(
+                () -> assertThat(updated.lookup("dev", 10)).containsExactlyInAnyOrder(team, webProject),
+                () -> assertThat(updated.containsTeam(teamUuid)).isTrue()
+        );
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an empty prefix")
+    void shouldReturnNothingForEmptyPrefix() {
+        // When
+        List<NamePrefixIndex.Entry> matches = index.lookup(" ", 10);
+
+        // Then
+        assertThat(matches).isEmpty();
+    }
+}
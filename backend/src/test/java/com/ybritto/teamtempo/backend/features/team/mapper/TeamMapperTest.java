@@ -2,7 +2,11 @@ package com.ybritto.teamtempo.backend.features.team.mapper;
 
 import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
 import com.ybritto.teamtempo.backend.gen.model.TeamDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberDto;
+import com.ybritto.teamtempo.backend.gen.model.TeamMemberRoleEnumDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -388,5 +392,29 @@ class TeamMapperTest {
                 () -> assertThat(result.get(0).getEndDate()).isEqualTo(endDate)
         );
     }
-}
 
+    @Test
+    @DisplayName("Should map TeamMemberEntity to TeamMemberDto with the user details")
+    void shouldMapTeamMemberEntityToDto() {
+        // Given
+        UUID memberUuid = UUID.randomUUID();
+        TeamMemberEntity member = TeamMemberEntity.builder()
+                .id(1L)
+                .uuid(memberUuid)
+                .team(TeamEntity.builder().id(1L).uuid(UUID.randomUUID()).name("Team").user(testUser).build())
+                .user(testUser)
+                .role(TeamMemberRoleEnum.EDITOR)
+                .build();
+
+        // When
+        TeamMemberDto result = mapper.mapToMemberDto(member);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getUuid()).isEqualTo(memberUuid.toString()),
+                () -> assertThat(result.getEmail()).isEqualTo("test@example.com"),
+                () -> assertThat(result.getName()).isEqualTo("Test User"),
+                () -> assertThat(result.getRole()).isEqualTo(TeamMemberRoleEnumDto.EDITOR)
+        );
+    }
+}
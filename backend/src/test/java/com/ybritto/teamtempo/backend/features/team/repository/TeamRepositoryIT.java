@@ -3,6 +3,8 @@ package com.ybritto.teamtempo.backend.features.team.repository;
 import com.ybritto.teamtempo.backend.authentication.entity.SecurityRoleEnum;
 import com.ybritto.teamtempo.backend.authentication.entity.UserEntity;
 import com.ybritto.teamtempo.backend.features.team.entity.TeamEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberEntity;
+import com.ybritto.teamtempo.backend.features.team.entity.TeamMemberRoleEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -282,6 +284,44 @@ class TeamRepositoryIT {
         assertThat(user2Teams.get(0).getName()).isEqualTo("User2 Team");
     }
 
+    @Test
+    @DisplayName("Should find teams by membership instead of creator")
+    void shouldFindTeamsByMembership() {
+        // Given
+        UserEntity owner = entityManager.persistAndFlush(testUser);
+        UserEntity viewer = entityManager.persistAndFlush(UserEntity.builder()
+                .name("Viewer User")
+                .email("viewer@example.com")
+                .password("password123")
+                .enabled(true)
+                .role(SecurityRoleEnum.USER)
+                .build());
+
+        TeamEntity sharedTeam = entityManager.persistAndFlush(testTeam.toBuilder()
+                .name("Shared Team")
+                .user(owner)
+                .build());
+        entityManager.persistAndFlush(testTeam.toBuilder()
+                .name("Private Team")
+                .user(owner)
+                .build());
+
+        entityManager.persistAndFlush(TeamMemberEntity.builder()
+                .team(sharedTeam)
+                .user(viewer)
+                .role(TeamMemberRoleEnum.VIEWER)
+                .build());
+
+        // When
+        List<TeamEntity> viewerTeams = teamRepository.findByMember(viewer);
+        List<TeamEntity> ownerTeams = teamRepository.findByMember(owner);
+
+        // Then
+        assertThat(viewerTeams).extracting(TeamEntity::getName).containsExactly("Shared Team");
+        assertThat(viewerTeams.get(0).getUser().getEmail()).isEqualTo("test@example.com");
+        assertThat(ownerTeams).isEmpty();
+    }
+
     @Test
     @DisplayName("Should use team_key_id_seq sequence and nothing else")
     void shouldUseTeamKeyIdSeqSequenceAndNothingElse() throws NoSuchFieldException {
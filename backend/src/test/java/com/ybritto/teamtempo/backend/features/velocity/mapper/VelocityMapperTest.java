@@ -0,0 +1,74 @@
+package com.ybritto.teamtempo.backend.features.velocity.mapper;
+
+import com.ybritto.teamtempo.backend.features.velocity.repository.ProjectVelocity;
+import com.ybritto.teamtempo.backend.gen.model.ProjectVelocityDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("VelocityMapper Unit Tests")
+class VelocityMapperTest {
+
+    private VelocityMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = Mappers.getMapper(VelocityMapper.class);
+    }
+
+    @Test
+    @DisplayName("Should map ProjectVelocity to ProjectVelocityDto")
+    void shouldMapProjectVelocityToDto() {
+        // Given
+        UUID projectUuid = UUID.randomUUID();
+        ProjectVelocity projectVelocity = new ProjectVelocity(projectUuid, 3, LocalDate.of(2024, 2, 11),
+                new ProjectVelocity.Metric(3, 120, 40.0, List.of(45, 40, 35), 40.0, 41.5),
+                new ProjectVelocity.Metric(2, 50, 25.0, List.of(30, 20), 25.0, 27.0));
+
+        // When
+        ProjectVelocityDto result = mapper.mapToDto(projectVelocity);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getProjectUuid()).isEqualTo(projectUuid.toString()),
+                () -> assertThat(result.getCompletedIterations()).isEqualTo(3),
+                () -> assertThat(result.getLastIterationEndDate()).isEqualTo(LocalDate.of(2024, 2, 11)),
+                () -> assertThat(result.getCapacity().getIterationCount()).isEqualTo(3),
+                () -> assertThat(result.getCapacity().getTotal()).isEqualTo(120L),
+                () -> assertThat(result.getCapacity().getAverage()).isEqualTo(40.0),
+                () -> assertThat(result.getCapacity().getRecent()).containsExactly(45, 40, 35),
+                () -> assertThat(result.getCapacity().getEwma()).isEqualTo(41.5),
+                () -> assertThat(result.getForecast().getRecent()).containsExactly(30, 20),
+                () -> assertThat(result.getForecast().getRecentAverage()).isEqualTo(25.0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep averages empty for a project without finished iterations")
+    void shouldMapEmptyVelocity() {
+        // Given
+        ProjectVelocity projectVelocity = new ProjectVelocity(UUID.randomUUID(), 0, null,
+                new ProjectVelocity.Metric(0, 0, null, List.of(), null, null),
+                new ProjectVelocity.Metric(0, 0, null, List.of(), null, null));
+
+        // When
+        ProjectVelocityDto result = mapper.mapToDto(projectVelocity);
+
+        // Then
+        assertAll(
+                () -> assertThat(result.getCompletedIterations()).isZero(),
+                () -> assertThat(result.getLastIterationEndDate()).isNull(),
+                () -> assertThat(result.getCapacity().getAverage()).isNull(),
+                () -> assertThat(result.getCapacity().getRecent()).isEmpty(),
+                () -> assertThat(result.getForecast().getEwma()).isNull()
+        );
+    }
+}
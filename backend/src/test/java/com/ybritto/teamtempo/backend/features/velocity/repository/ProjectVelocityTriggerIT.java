@@ -0,0 +1,186 @@
+package com.ybritto.teamtempo.backend.features.velocity.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the migrations against the PostgreSQL database of {@code TEAMTEMPO_IT_POSTGRES_URL}, which is cleaned first,
+ * and checks the figures the statement triggers keep in {@code project_velocity}. H2 runs no PL/pgSQL triggers, so
+ * these tests are skipped without that database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEAMTEMPO_IT_POSTGRES_URL", matches = ".+")
+@DisplayName("Project velocity triggers Integration Tests")
+class ProjectVelocityTriggerIT {
+
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 6);
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private long projectId;
+    private long otherProjectId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEAMTEMPO_IT_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_USERNAME", "teamtempo_admin"),
+                System.getenv().getOrDefault("TEAMTEMPO_IT_POSTGRES_PASSWORD", "teamtempo_password"));
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        projectId = insertProject();
+        otherProjectId = insertProject();
+    }
+
+    @Test
+    @DisplayName("Should append iterations that finish after the last folded one")
+    void shouldAppendFinishedIterations() {
+        // Given
+        insertIteration(projectId, 0, 10);
+        insertIteration(projectId, 1, 14);
+
+        // When
+        Map<String, Object> velocity = velocityOf(projectId);
+
+        // Then
+        assertAll(
+                () -> assertThat(velocity.get("completed_count")).isEqualTo(2),
+                () -> assertThat(velocity.get("forecast_sum")).isEqualTo(24L),
+                () -> assertThat(velocity.get("recent_forecasts").toString()).isEqualTo("{14,10}"),
+                () -> assertThat(velocity.get("last_end_date").toString()).isEqualTo(endDate(1).toString())
+        );
+    }
+
+    @Test
+    @DisplayName("Should rebuild the figures when an iteration finishes before the last folded one")
+    void shouldRebuildWhenEarlierIterationFinishes() {
+        // Given
+        UUID first = insertIteration(projectId, 0, null);
+        insertIteration(projectId, 1, 14);
+
+        // When
+        finish(first, 0, 10);
+
+        // Then
+        assertAll(
+                () -> assertThat(velocityOf(projectId).get("recent_forecasts").toString()).isEqualTo("{14,10}"),
+                () -> assertThat(velocityOf(projectId)).isEqualTo(rebuiltVelocityOf(projectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should append to one project and rebuild another in the same statement")
+    void shouldAppendAndRebuildInOneStatement() {
+        // Given
+        insertIteration(projectId, 0, 10);
+        UUID appended = insertIteration(projectId, 1, null);
+        UUID edited = insertIteration(otherProjectId, 0, 8);
+        insertIteration(otherProjectId, 1, 12);
+
+        // When
+        jdbcTemplate.update("""
+                UPDATE iteration
+                SET actual_start_date = planned_start_date,
+                    actual_end_date   = planned_end_date,
+                    actual_forecast   = CASE WHEN uuid = ? THEN 14 ELSE 20 END
+                WHERE uuid IN (?, ?)
+                """, appended, appended, edited);
+
+        // Then
+        assertAll(
+                () -> assertThat(velocityOf(projectId).get("forecast_sum")).isEqualTo(24L),
+                () -> assertThat(velocityOf(otherProjectId).get("forecast_sum")).isEqualTo(32L),
+                () -> assertThat(velocityOf(projectId)).isEqualTo(rebuiltVelocityOf(projectId)),
+                () -> assertThat(velocityOf(otherProjectId)).isEqualTo(rebuiltVelocityOf(otherProjectId))
+        );
+    }
+
+    @Test
+    @DisplayName("Should rebuild both projects when a finished iteration moves to another project")
+    void shouldRebuildBothProjectsWhenIterationMoves() {
+        // Given
+        UUID moved = insertIteration(projectId, 0, 10);
+        insertIteration(projectId, 1, 14);
+        insertIteration(otherProjectId, 1, 12);
+
+        // When
+        jdbcTemplate.update("UPDATE iteration SET project_key_id = ? WHERE uuid = ?", otherProjectId, moved);
+
+        // Then
+        assertAll(
+                () -> assertThat(velocityOf(projectId).get("completed_count")).isEqualTo(1),
+                () -> assertThat(velocityOf(otherProjectId).get("completed_count")).isEqualTo(2),
+                () -> assertThat(velocityOf(otherProjectId).get("recent_forecasts").toString()).isEqualTo("{12,10}"),
+                () -> assertThat(velocityOf(otherProjectId)).isEqualTo(rebuiltVelocityOf(otherProjectId))
+        );
+    }
+
+    private static long insertProject() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO project (name, description, start_date, team_id)
+                SELECT 'Velocity test', 'Velocity trigger test project', ?, min(key_id) FROM team
+                RETURNING key_id
+                """, Long.class, START_DATE);
+    }
+
+    /**
+     * Inserts the iteration at {@code index} of a project with two week iterations, finished when it has a forecast.
+     */
+    private static UUID insertIteration(long project, int index, Integer actualForecast) {
+        UUID uuid = UUID.randomUUID();
+        LocalDate startDate = START_DATE.plusWeeks(2L * index);
+        LocalDate actualEndDate = actualForecast == null ? null : endDate(index);
+        jdbcTemplate.update("""
+                INSERT INTO iteration (uuid, name, project_key_id, planned_start_date, planned_end_date,
+                                       actual_start_date, actual_end_date, actual_forecast)
+                VALUES (?, 'Velocity test', ?, ?, ?, ?, ?, ?)
+                """, uuid, project, startDate, endDate(index),
+                actualEndDate == null ? null : startDate, actualEndDate, actualForecast);
+        return uuid;
+    }
+
+    private static void finish(UUID iteration, int index, int actualForecast) {
+        jdbcTemplate.update("""
+                UPDATE iteration SET actual_start_date = ?, actual_end_date = ?, actual_forecast = ? WHERE uuid = ?
+                """, START_DATE.plusWeeks(2L * index), endDate(index), actualForecast, iteration);
+    }
+
+    private static LocalDate endDate(int index) {
+        return START_DATE.plusWeeks(2L * index).plusDays(13);
+    }
+
+    private static Map<String, Object> velocityOf(long project) {
+        return jdbcTemplate.queryForMap("""
+                SELECT completed_count, forecast_count, forecast_sum, recent_forecasts::text AS recent_forecasts,
+                       forecast_ewma, last_end_date, last_iteration_key_id
+                FROM project_velocity
+                WHERE project_key_id = ?
+                """, project);
+    }
+
+    private static Map<String, Object> rebuiltVelocityOf(long project) {
+        jdbcTemplate.queryForObject("SELECT rebuild_project_velocity(?::int)", Object.class, project);
+        return velocityOf(project);
+    }
+}